@@ -1,12 +1,20 @@
 import gui.JanelaPrincipal;
+import simulation.ExecucaoHeadless;
 
 import javax.swing.*;
+import java.io.IOException;
 
 /**
  * Classe principal que inicia a aplicação de simulação de escalonamento de processos.
  */
 public class Principal {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException, IOException {
+        // Com argumentos, executa a simulação sem interface gráfica
+        if (args.length > 0) {
+            ExecucaoHeadless.main(args);
+            return;
+        }
+
         // Configura o look and feel para parecer com o sistema operacional
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
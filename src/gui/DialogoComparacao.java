@@ -0,0 +1,207 @@
+package gui;
+
+import simulation.ComparadorEscalonadores;
+import simulation.HistoricoExecucao;
+import simulation.MotorDeSimulacao;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Janela com o resultado de uma comparação de algoritmos sobre a mesma carga: uma tabela com
+ * as diferenças de espera, turnaround e vazão em relação ao primeiro algoritmo e os gráficos
+ * de Gantt empilhados, todos na mesma escala de tempo.
+ */
+public class DialogoComparacao extends JDialog {
+    private static final int ALTURA_GANTT_POR_THREAD = 28;
+
+    private final ComparadorEscalonadores.Comparacao comparacao;
+    private final Map<String, Color> coresProcessos;
+    private final int tempoMaximo;
+
+    /**
+     * Cria a janela de comparação.
+     *
+     * @param dono Janela principal
+     * @param comparacao Resultado da comparação
+     * @param coresProcessos Cor de cada processo, a mesma em todos os gráficos
+     */
+    public DialogoComparacao(Frame dono, ComparadorEscalonadores.Comparacao comparacao,
+                             Map<String, Color> coresProcessos) {
+        super(dono, "Comparação de algoritmos", false);
+        this.comparacao = comparacao;
+        this.coresProcessos = coresProcessos;
+
+        int maximo = 0;
+        for (ComparadorEscalonadores.Execucao execucao : comparacao.getExecucoes()) {
+            HistoricoExecucao historico = execucao.getHistorico();
+            if (historico != null) {
+                maximo = Math.max(maximo, historico.obterTempoMaximo());
+            }
+        }
+        this.tempoMaximo = maximo;
+
+        setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        setSize(900, 650);
+        setLocationRelativeTo(dono);
+        inicializarUI();
+    }
+
+    /**
+     * Inicializa os componentes da janela.
+     */
+    private void inicializarUI() {
+        JPanel painelPrincipal = new JPanel(new BorderLayout());
+
+        // Tabela de diferenças no topo
+        JTable tabela = new JTable(new ModeloTabelaDiferencas(comparacao.getExecucoes()));
+        tabela.setPreferredScrollableViewportSize(new Dimension(850, tabela.getRowHeight()
+                * (comparacao.getExecucoes().size() + 1)));
+        JPanel painelTabela = new JPanel(new BorderLayout());
+        painelTabela.setBorder(BorderFactory.createTitledBorder("Diferenças em relação a "
+                + comparacao.getExecucoes().get(0).getNomeAlgoritmo()));
+        painelTabela.add(new JScrollPane(tabela), BorderLayout.CENTER);
+        painelPrincipal.add(painelTabela, BorderLayout.NORTH);
+
+        // Gráficos de Gantt empilhados, um por algoritmo
+        JPanel painelGraficos = new JPanel();
+        painelGraficos.setLayout(new BoxLayout(painelGraficos, BoxLayout.Y_AXIS));
+        for (ComparadorEscalonadores.Execucao execucao : comparacao.getExecucoes()) {
+            painelGraficos.add(new PainelGantt(execucao));
+        }
+        painelPrincipal.add(new JScrollPane(painelGraficos), BorderLayout.CENTER);
+
+        // Tempo real da comparação comparado com a soma das execuções
+        JLabel rotuloTempo = new JLabel(String.format("Tempo total: %d ms (soma das execuções: %d ms)",
+                comparacao.getTempoDecorrido(), comparacao.getSomaTempos()));
+        rotuloTempo.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+        painelPrincipal.add(rotuloTempo, BorderLayout.SOUTH);
+
+        add(painelPrincipal);
+    }
+
+    /**
+     * Modelo da tabela de diferenças, com uma linha por algoritmo.
+     */
+    private static class ModeloTabelaDiferencas extends AbstractTableModel {
+        private static final String[] COLUNAS = {
+                "Algoritmo", "Espera média", "Δ espera", "Turnaround médio", "Δ turnaround",
+                "Vazão", "Δ vazão", "Trocas de contexto", "Tempo (ms)"
+        };
+
+        private final List<ComparadorEscalonadores.Execucao> execucoes;
+
+        ModeloTabelaDiferencas(List<ComparadorEscalonadores.Execucao> execucoes) {
+            this.execucoes = execucoes;
+        }
+
+        @Override
+        public int getRowCount() {
+            return execucoes.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUNAS.length;
+        }
+
+        @Override
+        public String getColumnName(int coluna) {
+            return COLUNAS[coluna];
+        }
+
+        @Override
+        public Object getValueAt(int linha, int coluna) {
+            ComparadorEscalonadores.Execucao execucao = execucoes.get(linha);
+            ComparadorEscalonadores.Execucao referencia = execucoes.get(0);
+            MotorDeSimulacao.ResultadoSimulacao resultado = execucao.getResultado();
+            switch (coluna) {
+                case 0:
+                    return execucao.getNomeAlgoritmo();
+                case 1:
+                    return String.format("%.2f", resultado.getTempoMedioEspera());
+                case 2:
+                    return ComparadorEscalonadores.formatarVariacao(resultado.getTempoMedioEspera(),
+                            referencia.getResultado().getTempoMedioEspera());
+                case 3:
+                    return String.format("%.2f", resultado.getTempoMedioRetorno());
+                case 4:
+                    return ComparadorEscalonadores.formatarVariacao(resultado.getTempoMedioRetorno(),
+                            referencia.getResultado().getTempoMedioRetorno());
+                case 5:
+                    return String.format("%.4f", execucao.getVazao());
+                case 6:
+                    return ComparadorEscalonadores.formatarVariacao(execucao.getVazao(), referencia.getVazao());
+                case 7:
+                    return resultado.getTotalTrocasContexto();
+                case 8:
+                    return resultado.getTempoExecucao();
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Gráfico de Gantt de uma execução, com uma faixa por thread e a escala de tempo comum a
+     * todos os gráficos da comparação.
+     */
+    private class PainelGantt extends JPanel {
+        private final HistoricoExecucao historico;
+
+        PainelGantt(ComparadorEscalonadores.Execucao execucao) {
+            this.historico = execucao.getHistorico();
+            int numeroThreads = historico == null ? 1 : historico.obterNumeroThreads();
+            setBackground(Color.WHITE);
+            setBorder(BorderFactory.createTitledBorder(execucao.getNomeAlgoritmo()));
+            Dimension tamanho = new Dimension(800, numeroThreads * ALTURA_GANTT_POR_THREAD + 50);
+            setPreferredSize(tamanho);
+            setMaximumSize(new Dimension(Integer.MAX_VALUE, tamanho.height));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (historico == null || tempoMaximo == 0) {
+                return;
+            }
+
+            int largura = getWidth();
+            int altura = getHeight();
+            double escalaTempo = (largura - 100) / (double) tempoMaximo;
+
+            // Eixo do tempo
+            g.setColor(Color.BLACK);
+            g.drawLine(50, altura - 20, largura - 50, altura - 20);
+            int passoMarcacao = Math.max(5, (tempoMaximo / 20 + 4) / 5 * 5);
+            for (int t = 0; t <= tempoMaximo; t += passoMarcacao) {
+                int x = 50 + (int) (t * escalaTempo);
+                g.drawLine(x, altura - 23, x, altura - 17);
+                g.drawString(String.valueOf(t), x - 5, altura - 5);
+            }
+
+            // Intervalos executados em cada thread
+            for (int idThread = 0; idThread < historico.obterNumeroThreads(); idThread++) {
+                int y = 20 + idThread * ALTURA_GANTT_POR_THREAD;
+                g.setColor(Color.BLACK);
+                g.drawString("T" + idThread, 10, y + ALTURA_GANTT_POR_THREAD / 2);
+
+                historico.consultar(idThread, 0, tempoMaximo, (thread, indiceProcesso, inicio, fim) -> {
+                    String idProcesso = historico.obterProcesso(indiceProcesso).getId();
+                    int x1 = 50 + (int) (inicio * escalaTempo);
+                    int larguraEvento = Math.max(1, (int) ((fim - inicio) * escalaTempo));
+                    g.setColor(coresProcessos.getOrDefault(idProcesso, Color.GRAY));
+                    g.fillRect(x1, y, larguraEvento, ALTURA_GANTT_POR_THREAD - 6);
+                    g.setColor(Color.BLACK);
+                    g.drawRect(x1, y, larguraEvento, ALTURA_GANTT_POR_THREAD - 6);
+                    if (larguraEvento > g.getFontMetrics().stringWidth(idProcesso) + 4) {
+                        g.drawString(idProcesso, x1 + 2, y + ALTURA_GANTT_POR_THREAD / 2 + 2);
+                    }
+                });
+            }
+        }
+    }
+}
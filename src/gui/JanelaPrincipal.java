@@ -1,20 +1,31 @@
 package gui;
 
+import metrics.AcumuladorMetricas;
 import model.Processo;
-import scheduler.EscalonadorRoundRobin;
-import scheduler.EscalonadorSJF;
 import scheduler.Escalonador;
+import scheduler.FabricaEscalonador;
+import scheduler.ParametroEscalonador;
+import scheduler.RegistroEscalonadores;
+import simulation.ComparadorEscalonadores;
+import simulation.ConfiguracaoSimulacao;
+import simulation.ExportadorGantt;
 import simulation.GeradorDeProcessos;
+import simulation.HistoricoExecucao;
 import simulation.MotorDeSimulacao;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Janela principal da aplicação que contém a interface gráfica para a simulação.
@@ -23,12 +34,20 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
     private static final int QUANTIDADE_PROCESSOS_PADRAO = 10;
 
     // Componentes da GUI
-    private JComboBox<String> comboBoxAlgoritmo;
+    private JComboBox<FabricaEscalonador> comboBoxAlgoritmo;
+    private JPanel painelParametros;
+    private Map<String, JSpinner> spinnersParametros;
+    private Map<String, JComboBox<String>> combosEscalonadores;
     private JComboBox<Integer> comboBoxNumeroThreads;
+    private JSpinner spinnerCustoTroca;
+    private JSpinner spinnerCustoCache;
     private JButton botaoIniciar;
     private JButton botaoParar;
+    private JButton botaoComparar;
+    private JButton botaoExportar;
     private JTable tabelaProcessos;
-    private DefaultTableModel modeloTabela;
+    private ModeloTabelaProcessos modeloTabela;
+    private JComboBox<Object> comboBoxFiltroEstado;
     private JPanel painelGantt;
     private JTextArea areaResultados;
 
@@ -37,34 +56,7 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
     private Escalonador escalonador;
     private MotorDeSimulacao motorDeSimulacao;
     private Map<String, Color> coresProcessos;
-    private Map<Integer, java.util.List<EventoExecucao>> eventosExecucaoPorThread;
-
-    /**
-     * Classe para armazenar eventos de execução para o gráfico de Gantt.
-     */
-    private static class EventoExecucao {
-        private final String idProcesso;
-        private final int tempoInicio;
-        private final int tempoFim;
-
-        public EventoExecucao(String idProcesso, int tempoInicio, int tempoFim) {
-            this.idProcesso = idProcesso;
-            this.tempoInicio = tempoInicio;
-            this.tempoFim = tempoFim;
-        }
-
-        public String getIdProcesso() {
-            return idProcesso;
-        }
-
-        public int getTempoInicio() {
-            return tempoInicio;
-        }
-
-        public int getTempoFim() {
-            return tempoFim;
-        }
-    }
+    private MotorDeSimulacao.ResultadoSimulacao ultimoResultado;
 
     /**
      * Construtor da janela principal.
@@ -77,11 +69,16 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
 
         // Inicializa componentes da simulação
         geradorDeProcessos = new GeradorDeProcessos();
-        escalonador = new EscalonadorRoundRobin(); // Algoritmo padrão
+        List<FabricaEscalonador> fabricas = RegistroEscalonadores.listar();
+        if (fabricas.isEmpty()) {
+            throw new IllegalStateException("Nenhum algoritmo de escalonamento registrado");
+        }
+        escalonador = fabricas.get(0).criar(new HashMap<String, Number>()); // Algoritmo padrão
+        spinnersParametros = new LinkedHashMap<>();
+        combosEscalonadores = new LinkedHashMap<>();
         motorDeSimulacao = new MotorDeSimulacao(escalonador, 2); // 2 threads por padrão
         motorDeSimulacao.adicionarOuvinte(this);
         coresProcessos = new HashMap<>();
-        eventosExecucaoPorThread = new HashMap<>();
 
         // Inicializa a interface gráfica
         inicializarUI();
@@ -136,7 +133,15 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
 
         // Seleção de algoritmo
         painel.add(new JLabel("Algoritmo:"));
-        comboBoxAlgoritmo = new JComboBox<>(new String[]{"Round Robin (RR)", "Shortest Job First (SJF)"});
+        comboBoxAlgoritmo = new JComboBox<>(RegistroEscalonadores.listar().toArray(new FabricaEscalonador[0]));
+        comboBoxAlgoritmo.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> lista, Object valor, int indice,
+                                                          boolean selecionado, boolean foco) {
+                Object texto = valor instanceof FabricaEscalonador ? ((FabricaEscalonador) valor).obterNome() : valor;
+                return super.getListCellRendererComponent(lista, texto, indice, selecionado, foco);
+            }
+        });
         comboBoxAlgoritmo.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -145,6 +150,11 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
         });
         painel.add(comboBoxAlgoritmo);
 
+        // Parâmetros do algoritmo selecionado
+        painelParametros = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        painel.add(painelParametros);
+        atualizarPainelParametros();
+
         // Seleção de número de threads
         painel.add(new JLabel("Threads:"));
         comboBoxNumeroThreads = new JComboBox<>(new Integer[]{1, 2, 4, 6});
@@ -156,6 +166,14 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
         });
         painel.add(comboBoxNumeroThreads);
 
+        // Custos de troca de contexto e aquecimento de cache (em unidades de tempo)
+        painel.add(new JLabel("Troca de contexto:"));
+        spinnerCustoTroca = new JSpinner(new SpinnerNumberModel(0, 0, 20, 1));
+        painel.add(spinnerCustoTroca);
+        painel.add(new JLabel("Cache:"));
+        spinnerCustoCache = new JSpinner(new SpinnerNumberModel(0, 0, 20, 1));
+        painel.add(spinnerCustoCache);
+
         // Botões de controle
         botaoIniciar = new JButton("Iniciar Simulação");
         botaoIniciar.addActionListener(new ActionListener() {
@@ -176,6 +194,25 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
         });
         painel.add(botaoParar);
 
+        botaoComparar = new JButton("Comparar...");
+        botaoComparar.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                compararAlgoritmos();
+            }
+        });
+        painel.add(botaoComparar);
+
+        botaoExportar = new JButton("Exportar...");
+        botaoExportar.setEnabled(false);
+        botaoExportar.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                exportarResultado();
+            }
+        });
+        painel.add(botaoExportar);
+
         return painel;
     }
 
@@ -186,11 +223,52 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
         JPanel painel = new JPanel(new BorderLayout());
         painel.setBorder(BorderFactory.createTitledBorder("Processos"));
 
-        // Cria o modelo da tabela
-        String[] nomesColunas = {"ID", "Chegada", "Execução", "Início", "Término", "Espera (até início)", "Turnaround (total)"};
-        modeloTabela = new DefaultTableModel(nomesColunas, 0);
+        // Cria o modelo da tabela, que lê os valores diretamente dos processos
+        modeloTabela = new ModeloTabelaProcessos();
+        modeloTabela.setAoAtualizar(() -> {
+            painelGantt.repaint();
+            mostrarMetricasParciais();
+        });
         tabelaProcessos = new JTable(modeloTabela);
 
+        // Valores ainda não disponíveis são exibidos como "-"
+        tabelaProcessos.setDefaultRenderer(Integer.class, new DefaultTableCellRenderer() {
+            @Override
+            protected void setValue(Object valor) {
+                super.setValue(valor == null ? "-" : valor);
+            }
+        });
+
+        // Ordenação e filtro sem copiar as linhas; as linhas alteradas são reposicionadas a cada quadro
+        TableRowSorter<ModeloTabelaProcessos> ordenador = new TableRowSorter<>(modeloTabela);
+        ordenador.setSortsOnUpdates(true);
+        tabelaProcessos.setRowSorter(ordenador);
+
+        // Filtro por estado do processo
+        JPanel painelFiltro = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        painelFiltro.add(new JLabel("Estado:"));
+        comboBoxFiltroEstado = new JComboBox<>();
+        comboBoxFiltroEstado.addItem("Todos");
+        for (ModeloTabelaProcessos.Estado estado : ModeloTabelaProcessos.Estado.values()) {
+            comboBoxFiltroEstado.addItem(estado);
+        }
+        comboBoxFiltroEstado.addActionListener(e -> {
+            Object selecionado = comboBoxFiltroEstado.getSelectedItem();
+            if (selecionado instanceof ModeloTabelaProcessos.Estado) {
+                ordenador.setRowFilter(new RowFilter<ModeloTabelaProcessos, Integer>() {
+                    @Override
+                    public boolean include(Entry<? extends ModeloTabelaProcessos, ? extends Integer> linha) {
+                        Processo processo = linha.getModel().obterProcesso(linha.getIdentifier());
+                        return ModeloTabelaProcessos.obterEstado(processo) == selecionado;
+                    }
+                });
+            } else {
+                ordenador.setRowFilter(null);
+            }
+        });
+        painelFiltro.add(comboBoxFiltroEstado);
+        painel.add(painelFiltro, BorderLayout.NORTH);
+
         // Adiciona a tabela a um painel com scroll
         JScrollPane painelRolagem = new JScrollPane(tabelaProcessos);
         painel.add(painelRolagem, BorderLayout.CENTER);
@@ -222,16 +300,106 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
             return;
         }
 
-        int indiceSelecao = comboBoxAlgoritmo.getSelectedIndex();
-        if (indiceSelecao == 0) {
-            escalonador = new EscalonadorRoundRobin();
-        } else {
-            escalonador = new EscalonadorSJF();
+        atualizarPainelParametros();
+        criarEscalonadorSelecionado();
+    }
+
+    /**
+     * Cria o escalonador selecionado com os valores atuais dos parâmetros.
+     */
+    private void criarEscalonadorSelecionado() {
+        FabricaEscalonador fabrica = (FabricaEscalonador) comboBoxAlgoritmo.getSelectedItem();
+        if (fabrica == null) {
+            return;
         }
 
+        escalonador = fabrica.criar(lerParametros(), lerEscalonadores());
         motorDeSimulacao.setEscalonador(escalonador);
     }
 
+    /**
+     * Lê os valores atuais dos parâmetros do algoritmo selecionado.
+     */
+    private Map<String, Number> lerParametros() {
+        Map<String, Number> valores = new HashMap<>();
+        for (Map.Entry<String, JSpinner> entrada : spinnersParametros.entrySet()) {
+            valores.put(entrada.getKey(), (Number) entrada.getValue().getValue());
+        }
+        return valores;
+    }
+
+    /**
+     * Lê os algoritmos escolhidos para os parâmetros do tipo {@link ParametroEscalonador.Tipo#ESCALONADOR}.
+     */
+    private Map<String, String> lerEscalonadores() {
+        Map<String, String> escolhidos = new HashMap<>();
+        for (Map.Entry<String, JComboBox<String>> entrada : combosEscalonadores.entrySet()) {
+            escolhidos.put(entrada.getKey(), (String) entrada.getValue().getSelectedItem());
+        }
+        return escolhidos;
+    }
+
+    /**
+     * Recria os controles de parâmetros para o algoritmo selecionado.
+     */
+    private void atualizarPainelParametros() {
+        painelParametros.removeAll();
+        spinnersParametros.clear();
+        combosEscalonadores.clear();
+
+        FabricaEscalonador fabrica = (FabricaEscalonador) comboBoxAlgoritmo.getSelectedItem();
+        if (fabrica != null) {
+            for (ParametroEscalonador parametro : fabrica.obterParametros()) {
+                if (parametro.getTipo() == ParametroEscalonador.Tipo.ESCALONADOR) {
+                    // Qualquer algoritmo registrado, exceto o próprio
+                    JComboBox<String> combo = new JComboBox<>();
+                    for (FabricaEscalonador opcao : RegistroEscalonadores.listar()) {
+                        if (opcao != fabrica) {
+                            combo.addItem(opcao.obterId());
+                        }
+                    }
+                    combo.setSelectedItem(parametro.getPadraoEscalonador());
+                    painelParametros.add(new JLabel(parametro.getRotulo() + ":"));
+                    painelParametros.add(combo);
+                    combosEscalonadores.put(parametro.getChave(), combo);
+                    continue;
+                }
+                SpinnerNumberModel modelo = parametro.getTipo() == ParametroEscalonador.Tipo.INTEIRO
+                        ? new SpinnerNumberModel((int) parametro.getPadrao(), (int) parametro.getMinimo(),
+                                (int) parametro.getMaximo(), (int) parametro.getPasso())
+                        : new SpinnerNumberModel(parametro.getPadrao(), parametro.getMinimo(),
+                                parametro.getMaximo(), parametro.getPasso());
+                JSpinner spinner = new JSpinner(modelo);
+                painelParametros.add(new JLabel(parametro.getRotulo() + ":"));
+                painelParametros.add(spinner);
+                spinnersParametros.put(parametro.getChave(), spinner);
+            }
+        }
+
+        painelParametros.revalidate();
+        painelParametros.repaint();
+    }
+
+    /**
+     * Habilita ou desabilita os controles de configuração da simulação.
+     */
+    private void habilitarControles(boolean habilitado) {
+        botaoIniciar.setEnabled(habilitado);
+        botaoParar.setEnabled(!habilitado);
+        botaoComparar.setEnabled(habilitado);
+        botaoExportar.setEnabled(habilitado && ultimoResultado != null);
+        comboBoxAlgoritmo.setEnabled(habilitado);
+        comboBoxNumeroThreads.setEnabled(habilitado);
+        spinnerCustoTroca.setEnabled(habilitado);
+        spinnerCustoCache.setEnabled(habilitado);
+        for (JSpinner spinner : spinnersParametros.values()) {
+            spinner.setEnabled(habilitado);
+        }
+        for (JComboBox<String> combo : combosEscalonadores.values()) {
+            combo.setEnabled(habilitado);
+        }
+    }
+
     /**
      * Atualiza o número de threads com base na seleção do usuário.
      */
@@ -249,8 +417,6 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
      */
     private void iniciarSimulacao() {
         // Limpa dados anteriores
-        modeloTabela.setRowCount(0);
-        eventosExecucaoPorThread.clear();
         coresProcessos.clear();
         areaResultados.setText("");
 
@@ -262,23 +428,22 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
             coresProcessos.put(processo.getId(), gerarCorAleatoria());
         }
 
-        // Adiciona processos ao escalonador
+        // Recria o escalonador com os parâmetros escolhidos e adiciona os processos
+        criarEscalonadorSelecionado();
         escalonador.reiniciar();
         escalonador.adicionarProcessos(processos);
 
-        // Atualiza a tabela com os processos
-        atualizarTabelaProcessos(processos);
+        // A tabela passa a exibir os novos processos
+        modeloTabela.definirProcessos(processos);
+        modeloTabela.iniciarAtualizacoes();
 
-        // Inicializa eventos de execução para cada thread
-        for (int i = 0; i < motorDeSimulacao.getNumeroThreads(); i++) {
-            eventosExecucaoPorThread.put(i, new java.util.ArrayList<>());
-        }
+        // Aplica o modelo de custo de troca de contexto
+        motorDeSimulacao.setCustoTrocaContexto((Integer) spinnerCustoTroca.getValue());
+        motorDeSimulacao.setCustoAquecimentoCache((Integer) spinnerCustoCache.getValue());
 
         // Atualiza estado dos botões
-        botaoIniciar.setEnabled(false);
-        botaoParar.setEnabled(true);
-        comboBoxAlgoritmo.setEnabled(false);
-        comboBoxNumeroThreads.setEnabled(false);
+        ultimoResultado = null;
+        habilitarControles(false);
 
         // Inicia a simulação
         motorDeSimulacao.iniciarSimulacao();
@@ -289,51 +454,158 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
      */
     private void pararSimulacao() {
         motorDeSimulacao.pararSimulacao();
+        modeloTabela.pararAtualizacoes();
 
         // Atualiza estado dos botões
-        botaoIniciar.setEnabled(true);
-        botaoParar.setEnabled(false);
-        comboBoxAlgoritmo.setEnabled(true);
-        comboBoxNumeroThreads.setEnabled(true);
+        habilitarControles(true);
     }
 
     /**
-     * Atualiza a tabela de processos.
-     * Garante que nenhum valor negativo seja exibido.
+     * Compara algoritmos escolhidos pelo usuário sobre uma mesma carga gerada. O algoritmo
+     * selecionado usa os parâmetros atuais; os demais usam os valores padrão. As simulações
+     * rodam ao mesmo tempo, fora da thread de eventos, e o resultado abre em outra janela.
      */
-    private void atualizarTabelaProcessos(List<Processo> processos) {
-        modeloTabela.setRowCount(0);
+    private void compararAlgoritmos() {
+        JList<FabricaEscalonador> listaAlgoritmos =
+                new JList<>(RegistroEscalonadores.listar().toArray(new FabricaEscalonador[0]));
+        listaAlgoritmos.setCellRenderer(comboBoxAlgoritmo.getRenderer());
+        listaAlgoritmos.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        listaAlgoritmos.setSelectedIndex(comboBoxAlgoritmo.getSelectedIndex());
+        JScrollPane painelLista = new JScrollPane(listaAlgoritmos);
+        painelLista.setPreferredSize(new Dimension(350, 200));
+        int opcao = JOptionPane.showConfirmDialog(this, painelLista,
+                "Algoritmos a comparar (Ctrl+clique para vários)", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE);
+        List<FabricaEscalonador> escolhidas = listaAlgoritmos.getSelectedValuesList();
+        if (opcao != JOptionPane.OK_OPTION || escolhidas.isEmpty()) {
+            return;
+        }
+
+        // O algoritmo selecionado na janela principal é a referência da comparação
+        FabricaEscalonador selecionada = (FabricaEscalonador) comboBoxAlgoritmo.getSelectedItem();
+        int numeroThreads = (Integer) comboBoxNumeroThreads.getSelectedItem();
+        int custoTroca = (Integer) spinnerCustoTroca.getValue();
+        int custoCache = (Integer) spinnerCustoCache.getValue();
+        List<ConfiguracaoSimulacao> configuracoes = new ArrayList<>();
+        if (escolhidas.contains(selecionada)) {
+            configuracoes.add(new ConfiguracaoSimulacao(selecionada.obterId(), lerParametros(), lerEscalonadores(),
+                    numeroThreads, custoTroca, custoCache, 0));
+        }
+        for (FabricaEscalonador fabrica : escolhidas) {
+            if (fabrica != selecionada) {
+                configuracoes.add(new ConfiguracaoSimulacao(fabrica.obterId(), new HashMap<String, Number>(),
+                        numeroThreads, custoTroca, custoCache));
+            }
+        }
 
+        // Uma única carga, com as mesmas cores em todos os gráficos
+        List<Processo> processos = geradorDeProcessos.gerarProcessos(QUANTIDADE_PROCESSOS_PADRAO);
+        Map<String, Color> cores = new HashMap<>();
         for (Processo processo : processos) {
-            // Garante que nenhum valor negativo seja exibido
-            int tempoChegada = Math.max(0, processo.getTempoChegada());
-            int tempoExecucao = Math.max(0, processo.getTempoExecucao());
-            Object tempoInicio = processo.isIniciado() ? Math.max(0, processo.getTempoInicio()) : "-";
-            Object tempoFim = processo.isFinalizado() ? Math.max(0, processo.getTempoFim()) : "-";
-            Object tempoEspera = processo.isFinalizado() ? Math.max(0, processo.getTempoEspera()) : "-";
-            Object tempoRetorno = processo.isFinalizado() ? Math.max(0, processo.getTempoRetorno()) : "-";
-
-            Object[] linha = {
-                processo.getId(),
-                tempoChegada,
-                tempoExecucao,
-                tempoInicio,
-                tempoFim,
-                tempoEspera,
-                tempoRetorno
-            };
-            modeloTabela.addRow(linha);
+            cores.put(processo.getId(), gerarCorAleatoria());
         }
+
+        habilitarControles(false);
+        botaoParar.setEnabled(false);
+        new SwingWorker<ComparadorEscalonadores.Comparacao, Void>() {
+            @Override
+            protected ComparadorEscalonadores.Comparacao doInBackground() throws InterruptedException {
+                return new ComparadorEscalonadores(configuracoes).comparar(processos);
+            }
+
+            @Override
+            protected void done() {
+                habilitarControles(true);
+                try {
+                    new DialogoComparacao(JanelaPrincipal.this, get(), cores).setVisible(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(JanelaPrincipal.this,
+                            "Falha na comparação: " + e.getCause().getMessage(), "Comparação",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Exporta o gráfico de Gantt e o relatório da última simulação para um diretório escolhido
+     * pelo usuário. A exportação roda fora da thread de eventos, com o progresso dos blocos em
+     * um monitor que também permite cancelá-la.
+     */
+    private void exportarResultado() {
+        JFileChooser seletor = new JFileChooser();
+        seletor.setDialogTitle("Diretório de exportação");
+        seletor.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (seletor.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File diretorio = seletor.getSelectedFile();
+
+        ExportadorGantt exportador = new ExportadorGantt(escalonador.obterNome(), ultimoResultado,
+                motorDeSimulacao.getHistorico());
+        exportador.setCores(coresProcessos);
+        ProgressMonitor monitor = new ProgressMonitor(this, "Exportando o gráfico de Gantt", null, 0, 100);
+        monitor.setMillisToDecideToPopup(200);
+
+        habilitarControles(false);
+        botaoParar.setEnabled(false);
+        SwingWorker<ExportadorGantt.Exportacao, Void> tarefa = new SwingWorker<ExportadorGantt.Exportacao, Void>() {
+            @Override
+            protected ExportadorGantt.Exportacao doInBackground() throws Exception {
+                exportador.setOuvinte((concluidos, total) -> setProgress(concluidos * 100 / total));
+                return exportador.exportar(diretorio.toPath());
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                habilitarControles(true);
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    ExportadorGantt.Exportacao exportacao = get();
+                    JOptionPane.showMessageDialog(JanelaPrincipal.this,
+                            String.format("%d blocos e relatório gravados em %s (%d ms)",
+                                    exportacao.getQuantidadeBlocos(), exportacao.getDiretorio(),
+                                    exportacao.getTempoExecucao()),
+                            "Exportação", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(JanelaPrincipal.this,
+                            "Falha na exportação: " + e.getCause().getMessage(), "Exportação",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        tarefa.addPropertyChangeListener(evento -> {
+            if ("progress".equals(evento.getPropertyName())) {
+                monitor.setProgress((Integer) evento.getNewValue());
+            }
+            if (monitor.isCanceled()) {
+                tarefa.cancel(true);
+            }
+        });
+        tarefa.execute();
     }
 
     /**
      * Desenha o gráfico de Gantt com melhorias visuais.
      */
     private void desenharGraficoGantt(Graphics g) {
+        HistoricoExecucao historico = motorDeSimulacao.getHistorico();
+        if (historico == null) {
+            return;
+        }
+
         int largura = painelGantt.getWidth();
         int altura = painelGantt.getHeight();
-        int alturaThread = altura / (motorDeSimulacao.getNumeroThreads() + 2); // +2 para deixar espaço para legenda
-        int tempoMaximo = 0;
+        int numeroThreads = historico.obterNumeroThreads();
+        int alturaThread = altura / (numeroThreads + 2); // +2 para deixar espaço para legenda
+        int tempoMaximo = historico.obterTempoMaximo();
         int tempoChegadaMinimo = Integer.MAX_VALUE;
 
         // Obtém todos os processos para mostrar informações de chegada
@@ -344,12 +616,6 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
             tempoChegadaMinimo = Math.min(tempoChegadaMinimo, processo.getTempoChegada());
         }
 
-        for (List<EventoExecucao> eventos : eventosExecucaoPorThread.values()) {
-            for (EventoExecucao evento : eventos) {
-                tempoMaximo = Math.max(tempoMaximo, evento.getTempoFim());
-            }
-        }
-
         // Se não houver eventos, não desenha nada
         if (tempoMaximo == 0) {
             return;
@@ -390,40 +656,38 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
         }
 
         // Desenha os eventos de execução para cada thread
-        for (int idThread = 0; idThread < motorDeSimulacao.getNumeroThreads(); idThread++) {
+        for (int idThread = 0; idThread < numeroThreads; idThread++) {
             int y = 30 + idThread * alturaThread;
 
             // Desenha o rótulo da thread
             g.setColor(Color.BLACK);
             g.drawString("Thread " + idThread, 5, y + alturaThread / 2);
 
-            // Desenha os eventos de execução
-            List<EventoExecucao> eventos = eventosExecucaoPorThread.get(idThread);
-            if (eventos != null) {
-                for (EventoExecucao evento : eventos) {
-                    int x1 = 50 + (int)(evento.getTempoInicio() * escalaTempo);
-                    int x2 = 50 + (int)(evento.getTempoFim() * escalaTempo);
-                    int larguraEvento = Math.max(x2 - x1, 10); // Garante uma largura mínima visível
-
-                    // Desenha o retângulo do evento
-                    Color corProcesso = coresProcessos.getOrDefault(evento.getIdProcesso(), Color.GRAY);
-                    g.setColor(corProcesso);
-                    g.fillRect(x1, y, larguraEvento, alturaThread - 10);
-
-                    // Desenha a borda do retângulo
-                    g.setColor(Color.BLACK);
-                    g.drawRect(x1, y, larguraEvento, alturaThread - 10);
-
-                    // Desenha o ID do processo
-                    g.drawString(evento.getIdProcesso(), x1 + 5, y + alturaThread / 2);
-
-                    // Desenha o tempo de início e fim
-                    g.setFont(new Font("Arial", Font.PLAIN, 9));
-                    g.drawString("" + evento.getTempoInicio(), x1, y - 2);
-                    g.drawString("" + evento.getTempoFim(), x1 + larguraEvento, y - 2);
-                    g.setFont(new Font("Arial", Font.PLAIN, 12)); // Restaura a fonte
-                }
-            }
+            // Desenha os intervalos de execução lidos do histórico
+            historico.consultar(idThread, 0, tempoMaximo, (thread, indiceProcesso, inicio, fim) -> {
+                String idProcesso = historico.obterProcesso(indiceProcesso).getId();
+                int x1 = 50 + (int)(inicio * escalaTempo);
+                int x2 = 50 + (int)(fim * escalaTempo);
+                int larguraEvento = Math.max(x2 - x1, 10); // Garante uma largura mínima visível
+
+                // Desenha o retângulo do evento
+                Color corProcesso = coresProcessos.getOrDefault(idProcesso, Color.GRAY);
+                g.setColor(corProcesso);
+                g.fillRect(x1, y, larguraEvento, alturaThread - 10);
+
+                // Desenha a borda do retângulo
+                g.setColor(Color.BLACK);
+                g.drawRect(x1, y, larguraEvento, alturaThread - 10);
+
+                // Desenha o ID do processo
+                g.drawString(idProcesso, x1 + 5, y + alturaThread / 2);
+
+                // Desenha o tempo de início e fim
+                g.setFont(new Font("Arial", Font.PLAIN, 9));
+                g.drawString("" + inicio, x1, y - 2);
+                g.drawString("" + fim, x1 + larguraEvento, y - 2);
+                g.setFont(new Font("Arial", Font.PLAIN, 12)); // Restaura a fonte
+            });
         }
 
         // Desenha a legenda
@@ -468,34 +732,39 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
 
     // Implementação dos métodos da interface OuvinteSimulacao
 
+    /**
+     * Mostra no painel de resultados as métricas dos processos concluídos até agora, enquanto a
+     * simulação está em andamento.
+     */
+    private void mostrarMetricasParciais() {
+        if (!motorDeSimulacao.isEmExecucao()) {
+            return;
+        }
+        AcumuladorMetricas.Instantaneo parciais = motorDeSimulacao.obterMetricasParciais();
+        if (parciais != null && parciais.getConcluidos() > 0) {
+            areaResultados.setText("Em andamento: " + parciais);
+        }
+    }
+
     @Override
     public void aoIniciarProcesso(Processo processo, int idThread, int tempo) {
-        // Registra o início da execução para o gráfico de Gantt
-        EventoExecucao evento = new EventoExecucao(processo.getId(), tempo, tempo + 1);
-        eventosExecucaoPorThread.get(idThread).add(evento);
-
-        // Atualiza a interface gráfica
-        SwingUtilities.invokeLater(() -> {
-            atualizarTabelaProcessos(escalonador.obterTodosProcessos());
-            painelGantt.repaint();
-        });
+        // O intervalo já foi registrado no histórico do motor; a tabela e o gráfico são
+        // atualizados no próximo quadro
+        modeloTabela.marcarAlterado(processo);
     }
 
     @Override
     public void aoFinalizarProcesso(Processo processo, int idThread, int tempo) {
-        // Atualiza a interface gráfica
-        SwingUtilities.invokeLater(() -> {
-            atualizarTabelaProcessos(escalonador.obterTodosProcessos());
-            painelGantt.repaint();
-        });
+        modeloTabela.marcarAlterado(processo);
     }
 
     @Override
     public void aoCompletarSimulacao(MotorDeSimulacao.ResultadoSimulacao resultado) {
         // Atualiza a interface gráfica
         SwingUtilities.invokeLater(() -> {
-            // Atualiza a tabela de processos
-            atualizarTabelaProcessos(resultado.getProcessos());
+            // Publica o estado final da tabela de processos
+            modeloTabela.marcarTodosAlterados();
+            modeloTabela.pararAtualizacoes();
 
             // Garante que nenhum valor negativo seja exibido nos resultados
             double tempoMedioEspera = Math.max(0, resultado.getTempoMedioEspera());
@@ -510,17 +779,35 @@ public class JanelaPrincipal extends JFrame implements MotorDeSimulacao.OuvinteS
             sb.append("Threads: ").append(motorDeSimulacao.getNumeroThreads()).append("\n");
             sb.append("Tempo médio de espera (até início): ").append(String.format("%.2f", tempoMedioEspera)).append("\n");
             sb.append("Tempo médio de turnaround (total): ").append(String.format("%.2f", tempoMedioRetorno)).append("\n");
+            AcumuladorMetricas.Instantaneo distribuicao = resultado.getDistribuicao();
+            if (distribuicao != null) {
+                sb.append(String.format("Espera: desvio padrão %.2f, p50 %.1f, p95 %.1f, p99 %.1f%n",
+                        distribuicao.getDesvioEspera(), distribuicao.getEsperaP50(),
+                        distribuicao.getEsperaP95(), distribuicao.getEsperaP99()));
+                sb.append(String.format("Turnaround: desvio padrão %.2f, p99 %.1f%n",
+                        distribuicao.getDesvioRetorno(), distribuicao.getRetornoP99()));
+            }
             sb.append("Uso de CPU: ").append(String.format("%.2f%%", usoCPU)).append("\n");
             sb.append("Uso de memória: ").append(usoMemoria / 1024).append(" KB\n");
             sb.append("Tempo de execução: ").append(tempoExecucao).append(" ms\n");
+            sb.append("Trocas de contexto: ").append(resultado.getTotalTrocasContexto())
+                    .append(" (utilização efetiva ").append(String.format("%.2f%%", resultado.getUtilizacaoEfetiva())).append(")\n");
+            for (MotorDeSimulacao.EstatisticasThread estatisticas : resultado.getEstatisticasThreads()) {
+                sb.append("  Thread ").append(estatisticas.getIdThread())
+                        .append(": ").append(estatisticas.getTrocasContexto()).append(" trocas, ")
+                        .append(estatisticas.getTempoOverhead()).append(" de overhead, ")
+                        .append(String.format("%.2f%%", estatisticas.getUtilizacaoEfetiva())).append(" efetiva, ")
+                        .append(estatisticas.getMigracoes()).append(" migrações\n");
+            }
+            for (Map.Entry<String, Object> metrica : resultado.getMetricasEscalonador().entrySet()) {
+                sb.append(metrica.getKey()).append(": ").append(metrica.getValue()).append("\n");
+            }
 
             areaResultados.setText(sb.toString());
 
             // Atualiza estado dos botões
-            botaoIniciar.setEnabled(true);
-            botaoParar.setEnabled(false);
-            comboBoxAlgoritmo.setEnabled(true);
-            comboBoxNumeroThreads.setEnabled(true);
+            ultimoResultado = resultado;
+            habilitarControles(true);
 
             // Redesenha o gráfico de Gantt
             painelGantt.repaint();
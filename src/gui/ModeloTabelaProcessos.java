@@ -0,0 +1,259 @@
+package gui;
+
+import model.Processo;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modelo da tabela de processos que lê os valores diretamente dos processos da simulação.
+ * Nenhuma linha é copiada: a tabela consulta apenas as células visíveis. As threads de
+ * simulação marcam os processos alterados e um temporizador na thread de eventos do Swing
+ * notifica apenas as linhas marcadas desde o último quadro.
+ */
+public class ModeloTabelaProcessos extends AbstractTableModel {
+    /**
+     * Intervalo entre as atualizações da tabela, em milissegundos.
+     */
+    private static final int INTERVALO_QUADRO_MS = 50;
+
+    /**
+     * Acima deste número de trechos alterados em um quadro a tabela inteira é notificada de uma vez.
+     */
+    private static final int LIMITE_TRECHOS = 64;
+
+    private static final String[] COLUNAS = {
+            "ID", "Chegada", "Execução", "Início", "Término", "Espera (até início)", "Turnaround (total)", "Estado"
+    };
+
+    /**
+     * Estado de um processo exibido na tabela e usado no filtro.
+     */
+    public enum Estado {
+        AGUARDANDO("Aguardando"),
+        EXECUTANDO("Executando"),
+        CONCLUIDO("Concluído");
+
+        private final String rotulo;
+
+        Estado(String rotulo) {
+            this.rotulo = rotulo;
+        }
+
+        @Override
+        public String toString() {
+            return rotulo;
+        }
+    }
+
+    private Processo[] processos;
+    private volatile Map<Processo, Integer> linhaPorProcesso;
+    private final BitSet alterados;
+    private final Timer temporizador;
+    private Runnable aoAtualizar;
+
+    public ModeloTabelaProcessos() {
+        this.processos = new Processo[0];
+        this.linhaPorProcesso = new IdentityHashMap<>();
+        this.alterados = new BitSet();
+        this.temporizador = new Timer(INTERVALO_QUADRO_MS, e -> publicarAlteracoes());
+        this.temporizador.setCoalesce(true);
+    }
+
+    /**
+     * Substitui os processos exibidos. Deve ser chamado na thread de eventos do Swing, antes
+     * de a simulação começar a marcar alterações.
+     *
+     * @param novosProcessos Processos exibidos, na ordem das linhas
+     */
+    public void definirProcessos(List<Processo> novosProcessos) {
+        Processo[] linhas = novosProcessos.toArray(new Processo[0]);
+        Map<Processo, Integer> indices = new IdentityHashMap<>(linhas.length * 2);
+        for (int i = 0; i < linhas.length; i++) {
+            indices.put(linhas[i], i);
+        }
+
+        synchronized (alterados) {
+            alterados.clear();
+        }
+        processos = linhas;
+        linhaPorProcesso = indices;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Marca um processo como alterado. Pode ser chamado de qualquer thread; a tabela é
+     * notificada no próximo quadro.
+     *
+     * @param processo Processo alterado
+     */
+    public void marcarAlterado(Processo processo) {
+        Integer linha = linhaPorProcesso.get(processo);
+        if (linha == null) {
+            return;
+        }
+        synchronized (alterados) {
+            alterados.set(linha);
+        }
+    }
+
+    /**
+     * Marca todas as linhas como alteradas.
+     */
+    public void marcarTodosAlterados() {
+        synchronized (alterados) {
+            alterados.set(0, linhaPorProcesso.size());
+        }
+    }
+
+    /**
+     * Inicia as atualizações periódicas da tabela.
+     */
+    public void iniciarAtualizacoes() {
+        temporizador.start();
+    }
+
+    /**
+     * Interrompe as atualizações periódicas, publicando as alterações pendentes.
+     */
+    public void pararAtualizacoes() {
+        temporizador.stop();
+        publicarAlteracoes();
+    }
+
+    /**
+     * Define uma ação executada na thread de eventos sempre que um quadro publica alterações
+     * (por exemplo, redesenhar o gráfico de Gantt).
+     *
+     * @param aoAtualizar Ação a executar ou null
+     */
+    public void setAoAtualizar(Runnable aoAtualizar) {
+        this.aoAtualizar = aoAtualizar;
+    }
+
+    /**
+     * Notifica a tabela das linhas alteradas desde o último quadro, agrupando linhas vizinhas
+     * em trechos contínuos.
+     */
+    private void publicarAlteracoes() {
+        BitSet pendentes;
+        synchronized (alterados) {
+            if (alterados.isEmpty()) {
+                return;
+            }
+            pendentes = (BitSet) alterados.clone();
+            alterados.clear();
+        }
+
+        // Marcações feitas para uma lista anterior de processos são descartadas
+        if (pendentes.length() > processos.length) {
+            pendentes.clear(processos.length, pendentes.length());
+        }
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        int trechos = 0;
+        for (int i = pendentes.nextSetBit(0); i >= 0 && trechos <= LIMITE_TRECHOS; i = pendentes.nextSetBit(i)) {
+            i = pendentes.nextClearBit(i);
+            trechos++;
+        }
+
+        if (trechos > LIMITE_TRECHOS) {
+            fireTableRowsUpdated(0, processos.length - 1);
+        } else {
+            for (int inicio = pendentes.nextSetBit(0); inicio >= 0; ) {
+                int fim = pendentes.nextClearBit(inicio);
+                fireTableRowsUpdated(inicio, fim - 1);
+                inicio = pendentes.nextSetBit(fim);
+            }
+        }
+
+        if (aoAtualizar != null) {
+            aoAtualizar.run();
+        }
+    }
+
+    /**
+     * Obtém o processo de uma linha do modelo.
+     *
+     * @param linha Índice da linha no modelo
+     * @return Processo da linha
+     */
+    public Processo obterProcesso(int linha) {
+        return processos[linha];
+    }
+
+    /**
+     * Obtém o estado atual de um processo.
+     *
+     * @param processo Processo
+     * @return Estado do processo
+     */
+    public static Estado obterEstado(Processo processo) {
+        if (processo.isFinalizado()) {
+            return Estado.CONCLUIDO;
+        }
+        return processo.isIniciado() ? Estado.EXECUTANDO : Estado.AGUARDANDO;
+    }
+
+    @Override
+    public int getRowCount() {
+        return processos.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return COLUNAS[coluna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        switch (coluna) {
+            case 0:
+                return String.class;
+            case 7:
+                return Estado.class;
+            default:
+                return Integer.class;
+        }
+    }
+
+    /**
+     * Valores ainda não disponíveis (por exemplo o término de um processo em execução) são
+     * retornados como null e exibidos como "-". Nenhum valor negativo é exibido.
+     */
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        Processo processo = processos[linha];
+        switch (coluna) {
+            case 0:
+                return processo.getId();
+            case 1:
+                return Math.max(0, processo.getTempoChegada());
+            case 2:
+                return Math.max(0, processo.getTempoExecucao());
+            case 3:
+                return processo.isIniciado() ? Math.max(0, processo.getTempoInicio()) : null;
+            case 4:
+                return processo.isFinalizado() ? Math.max(0, processo.getTempoFim()) : null;
+            case 5:
+                return processo.isFinalizado() ? Math.max(0, processo.getTempoEspera()) : null;
+            case 6:
+                return processo.isFinalizado() ? Math.max(0, processo.getTempoRetorno()) : null;
+            case 7:
+                return obterEstado(processo);
+            default:
+                throw new IndexOutOfBoundsException("Coluna inexistente: " + coluna);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package metrics;
+
+import java.io.Serializable;
+
+/**
+ * Acumula as métricas dos processos concluídos à medida que eles terminam: somas, média e
+ * variância pelo método de Welford e percentis em fluxo ({@link EstimadorQuantil}) da espera e
+ * do turnaround. Cada conclusão custa O(1) e a memória é constante, então as métricas finais e
+ * parciais ficam disponíveis a qualquer momento, sem percorrer os processos.
+ *
+ * Os métodos são sincronizados, porque as conclusões podem ser registradas por várias threads.
+ */
+public class AcumuladorMetricas {
+
+    /**
+     * Métricas acumuladas em um instante; o objeto não muda com as conclusões seguintes.
+     */
+    public static final class Instantaneo implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final long concluidos;
+        private final long somaEspera;
+        private final long somaRetorno;
+        private final long somaExecucao;
+        private final double mediaEspera;
+        private final double desvioEspera;
+        private final double mediaRetorno;
+        private final double desvioRetorno;
+        private final int maiorEspera;
+        private final double esperaP50;
+        private final double esperaP95;
+        private final double esperaP99;
+        private final double retornoP99;
+
+        Instantaneo(AcumuladorMetricas acumulador) {
+            this.concluidos = acumulador.concluidos;
+            this.somaEspera = acumulador.somaEspera;
+            this.somaRetorno = acumulador.somaRetorno;
+            this.somaExecucao = acumulador.somaExecucao;
+            this.mediaEspera = acumulador.mediaEspera;
+            this.desvioEspera = desvio(acumulador.m2Espera, acumulador.concluidos);
+            this.mediaRetorno = acumulador.mediaRetorno;
+            this.desvioRetorno = desvio(acumulador.m2Retorno, acumulador.concluidos);
+            this.maiorEspera = acumulador.maiorEspera;
+            this.esperaP50 = acumulador.esperaP50.obterEstimativa();
+            this.esperaP95 = acumulador.esperaP95.obterEstimativa();
+            this.esperaP99 = acumulador.esperaP99.obterEstimativa();
+            this.retornoP99 = acumulador.retornoP99.obterEstimativa();
+        }
+
+        private static double desvio(double m2, long quantidade) {
+            return quantidade > 1 ? Math.sqrt(m2 / (quantidade - 1)) : 0;
+        }
+
+        public long getConcluidos() {
+            return concluidos;
+        }
+
+        public long getSomaEspera() {
+            return somaEspera;
+        }
+
+        public long getSomaRetorno() {
+            return somaRetorno;
+        }
+
+        public long getSomaExecucao() {
+            return somaExecucao;
+        }
+
+        public double getMediaEspera() {
+            return mediaEspera;
+        }
+
+        /**
+         * Desvio padrão amostral da espera.
+         */
+        public double getDesvioEspera() {
+            return desvioEspera;
+        }
+
+        public double getMediaRetorno() {
+            return mediaRetorno;
+        }
+
+        /**
+         * Desvio padrão amostral do turnaround.
+         */
+        public double getDesvioRetorno() {
+            return desvioRetorno;
+        }
+
+        public int getMaiorEspera() {
+            return maiorEspera;
+        }
+
+        public double getEsperaP50() {
+            return esperaP50;
+        }
+
+        public double getEsperaP95() {
+            return esperaP95;
+        }
+
+        public double getEsperaP99() {
+            return esperaP99;
+        }
+
+        public double getRetornoP99() {
+            return retornoP99;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("concluídos=%d espera média=%.2f (dp %.2f) p50=%.1f p95=%.1f p99=%.1f máx=%d "
+                            + "turnaround médio=%.2f (dp %.2f) p99=%.1f",
+                    concluidos, mediaEspera, desvioEspera, esperaP50, esperaP95, esperaP99, maiorEspera,
+                    mediaRetorno, desvioRetorno, retornoP99);
+        }
+    }
+
+    private long concluidos;
+    private long somaEspera;
+    private long somaRetorno;
+    private long somaExecucao;
+    private double mediaEspera;
+    private double m2Espera;       // Soma dos quadrados das diferenças em relação à média (Welford)
+    private double mediaRetorno;
+    private double m2Retorno;
+    private int maiorEspera;
+    private final EstimadorQuantil esperaP50 = new EstimadorQuantil(0.50);
+    private final EstimadorQuantil esperaP95 = new EstimadorQuantil(0.95);
+    private final EstimadorQuantil esperaP99 = new EstimadorQuantil(0.99);
+    private final EstimadorQuantil retornoP99 = new EstimadorQuantil(0.99);
+
+    /**
+     * Registra a conclusão de um processo.
+     *
+     * @param espera Tempo de espera do processo
+     * @param retorno Tempo de turnaround do processo
+     * @param execucao Tempo de execução do processo
+     */
+    public synchronized void registrar(int espera, int retorno, int execucao) {
+        concluidos++;
+        somaEspera += espera;
+        somaRetorno += retorno;
+        somaExecucao += execucao;
+
+        double delta = espera - mediaEspera;
+        mediaEspera += delta / concluidos;
+        m2Espera += delta * (espera - mediaEspera);
+        delta = retorno - mediaRetorno;
+        mediaRetorno += delta / concluidos;
+        m2Retorno += delta * (retorno - mediaRetorno);
+
+        maiorEspera = Math.max(maiorEspera, espera);
+        esperaP50.adicionar(espera);
+        esperaP95.adicionar(espera);
+        esperaP99.adicionar(espera);
+        retornoP99.adicionar(retorno);
+    }
+
+    /**
+     * Retorna o número de conclusões registradas.
+     *
+     * @return Quantidade de processos concluídos
+     */
+    public synchronized long obterConcluidos() {
+        return concluidos;
+    }
+
+    /**
+     * Retorna as métricas acumuladas até agora.
+     *
+     * @return Instantâneo imutável das métricas
+     */
+    public synchronized Instantaneo obterInstantaneo() {
+        return new Instantaneo(this);
+    }
+}
@@ -0,0 +1,153 @@
+package metrics;
+
+/**
+ * Estimador de quantil em fluxo baseado no algoritmo P² (Jain e Chlamtac).
+ * Mantém apenas cinco marcadores, então a memória é constante independentemente
+ * da quantidade de observações, e cada observação custa O(1).
+ */
+public class EstimadorQuantil {
+    private final double quantil;
+    private final double[] alturas;      // Alturas dos marcadores
+    private final int[] posicoes;        // Posições reais dos marcadores
+    private final double[] desejadas;    // Posições desejadas dos marcadores
+    private final double[] incrementos;  // Incremento das posições desejadas por observação
+    private long contagem;
+
+    /**
+     * Construtor do estimador.
+     * 
+     * @param quantil Quantil desejado, entre 0 e 1 (por exemplo 0.8 para o percentil 80)
+     */
+    public EstimadorQuantil(double quantil) {
+        if (quantil <= 0 || quantil >= 1) {
+            throw new IllegalArgumentException("O quantil deve estar entre 0 e 1: " + quantil);
+        }
+        this.quantil = quantil;
+        this.alturas = new double[5];
+        this.posicoes = new int[5];
+        this.desejadas = new double[5];
+        this.incrementos = new double[] {0, quantil / 2, quantil, (1 + quantil) / 2, 1};
+        this.contagem = 0;
+    }
+
+    /**
+     * Registra uma nova observação.
+     * 
+     * @param valor Valor observado
+     */
+    public void adicionar(double valor) {
+        if (contagem < 5) {
+            // Fase inicial: guarda as cinco primeiras observações ordenadas
+            int i = (int) contagem;
+            alturas[i] = valor;
+            while (i > 0 && alturas[i - 1] > alturas[i]) {
+                double tmp = alturas[i - 1];
+                alturas[i - 1] = alturas[i];
+                alturas[i] = tmp;
+                i--;
+            }
+            contagem++;
+            if (contagem == 5) {
+                for (int j = 0; j < 5; j++) {
+                    posicoes[j] = j + 1;
+                }
+                desejadas[0] = 1;
+                desejadas[1] = 1 + 2 * quantil;
+                desejadas[2] = 1 + 4 * quantil;
+                desejadas[3] = 3 + 2 * quantil;
+                desejadas[4] = 5;
+            }
+            return;
+        }
+
+        // Encontra a célula em que a observação cai, ajustando os extremos se necessário
+        int k;
+        if (valor < alturas[0]) {
+            alturas[0] = valor;
+            k = 0;
+        } else if (valor >= alturas[4]) {
+            alturas[4] = valor;
+            k = 3;
+        } else {
+            k = 0;
+            while (k < 3 && valor >= alturas[k + 1]) {
+                k++;
+            }
+        }
+
+        for (int i = k + 1; i < 5; i++) {
+            posicoes[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desejadas[i] += incrementos[i];
+        }
+        contagem++;
+
+        // Ajusta as alturas dos marcadores intermediários
+        for (int i = 1; i <= 3; i++) {
+            double d = desejadas[i] - posicoes[i];
+            if ((d >= 1 && posicoes[i + 1] - posicoes[i] > 1) || (d <= -1 && posicoes[i - 1] - posicoes[i] < -1)) {
+                int sinal = d >= 0 ? 1 : -1;
+                double candidata = parabolica(i, sinal);
+                if (alturas[i - 1] < candidata && candidata < alturas[i + 1]) {
+                    alturas[i] = candidata;
+                } else {
+                    alturas[i] = linear(i, sinal);
+                }
+                posicoes[i] += sinal;
+            }
+        }
+    }
+
+    private double parabolica(int i, int d) {
+        return alturas[i] + (double) d / (posicoes[i + 1] - posicoes[i - 1])
+                * ((posicoes[i] - posicoes[i - 1] + d) * (alturas[i + 1] - alturas[i]) / (posicoes[i + 1] - posicoes[i])
+                + (posicoes[i + 1] - posicoes[i] - d) * (alturas[i] - alturas[i - 1]) / (posicoes[i] - posicoes[i - 1]));
+    }
+
+    private double linear(int i, int d) {
+        return alturas[i] + d * (alturas[i + d] - alturas[i]) / (posicoes[i + d] - posicoes[i]);
+    }
+
+    /**
+     * Retorna a estimativa atual do quantil.
+     * Com menos de cinco observações, retorna o quantil exato das observações guardadas.
+     * 
+     * @return Estimativa do quantil ou 0 se não houver observações
+     */
+    public double obterEstimativa() {
+        if (contagem == 0) {
+            return 0;
+        }
+        if (contagem < 5) {
+            int indice = (int) Math.ceil(quantil * contagem) - 1;
+            return alturas[Math.max(0, indice)];
+        }
+        return alturas[2];
+    }
+
+    /**
+     * Retorna o número de observações registradas.
+     * 
+     * @return Quantidade de observações
+     */
+    public long obterContagem() {
+        return contagem;
+    }
+
+    /**
+     * Retorna o quantil acompanhado por este estimador.
+     * 
+     * @return Quantil entre 0 e 1
+     */
+    public double obterQuantil() {
+        return quantil;
+    }
+
+    /**
+     * Descarta todas as observações.
+     */
+    public void reiniciar() {
+        contagem = 0;
+    }
+}
@@ -1,10 +1,19 @@
 package model;
 
+import java.io.Serializable;
+
 /**
  * Classe que representa um processo a ser escalonado.
  * Contém todos os atributos necessários para o cálculo de métricas de desempenho.
  */
-public class Processo {
+public class Processo implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Máscara de afinidade que permite todas as CPUs.
+     */
+    public static final long TODAS_AS_CPUS = -1L;
+
     private String id;              // Identificador do processo (P1, P2, etc.)
     private int tempoChegada;       // Tempo de chegada do processo
     private int tempoExecucao;      // Tempo de execução total necessário
@@ -15,6 +24,15 @@ public class Processo {
     private int tempoRetorno;       // Tempo total desde a chegada até a conclusão
     private boolean iniciado;       // Indica se o processo já começou a executar
     private boolean finalizado;     // Indica se o processo já terminou
+    private int indice;             // Posição do processo no histórico de execução (-1 se não registrado)
+    private long mascaraAfinidade;  // CPUs em que o processo pode executar (bit i = CPU i)
+    private volatile int ultimaCpu; // CPU em que o processo executou por último (-1 se nunca executou)
+    private String grupo;           // Caminho do grupo (inquilino) do processo, como "a/web" (null se nenhum)
+    private int prazo;              // Prazo relativo à chegada (0 se o processo não tem prazo)
+    private int periodo;            // Período de liberação de uma tarefa periódica (0 se aperiódica)
+    private int bilhetes;           // Bilhetes do processo nos escalonadores proporcionais
+    private int prioridade;         // Prioridade base (0 é a mais alta)
+    private int numeroThreads;      // Threads que precisam executar juntas (1 para um processo comum)
 
     /**
      * Construtor para criar um novo processo.
@@ -30,6 +48,31 @@ public class Processo {
         this.tempoRestante = tempoExecucao;
         this.iniciado = false;
         this.finalizado = false;
+        this.indice = -1;
+        this.mascaraAfinidade = TODAS_AS_CPUS;
+        this.ultimaCpu = -1;
+        this.bilhetes = 1;
+        this.numeroThreads = 1;
+    }
+
+    /**
+     * Cria uma cópia do processo como ele foi definido na carga de trabalho: identificador,
+     * chegada, tempo de execução, afinidade, grupo, prazo, período, bilhetes, prioridade e
+     * número de threads. O estado de execução não é copiado, então a cópia pode ser simulada de
+     * forma independente do original.
+     * 
+     * @return Novo processo ainda não executado
+     */
+    public Processo copiar() {
+        Processo copia = new Processo(id, tempoChegada, tempoExecucao);
+        copia.mascaraAfinidade = mascaraAfinidade;
+        copia.grupo = grupo;
+        copia.prazo = prazo;
+        copia.periodo = periodo;
+        copia.bilhetes = bilhetes;
+        copia.prioridade = prioridade;
+        copia.numeroThreads = numeroThreads;
+        return copia;
     }
 
     /**
@@ -125,6 +168,7 @@ public class Processo {
     public void setTempoFim(int tempoFim) {
         this.tempoFim = tempoFim;
         this.finalizado = true;
+        this.tempoRestante = 0;
         calcularMetricas();
     }
 
@@ -144,6 +188,196 @@ public class Processo {
         return finalizado;
     }
 
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public long getMascaraAfinidade() {
+        return mascaraAfinidade;
+    }
+
+    /**
+     * Define as CPUs em que o processo pode executar. O bit i corresponde à CPU i; CPUs a
+     * partir da 64 só são permitidas pela máscara {@link #TODAS_AS_CPUS}.
+     * 
+     * @param mascaraAfinidade Máscara de afinidade (não pode ser zero)
+     */
+    public void setMascaraAfinidade(long mascaraAfinidade) {
+        if (mascaraAfinidade == 0) {
+            throw new IllegalArgumentException("A máscara de afinidade deve permitir ao menos uma CPU");
+        }
+        this.mascaraAfinidade = mascaraAfinidade;
+    }
+
+    /**
+     * Verifica se a máscara de afinidade permite executar o processo em uma CPU.
+     * 
+     * @param cpu Índice da CPU
+     * @return true se o processo pode executar na CPU
+     */
+    public boolean podeExecutarEm(int cpu) {
+        if (mascaraAfinidade == TODAS_AS_CPUS) {
+            return true;
+        }
+        return cpu < Long.SIZE && (mascaraAfinidade & (1L << cpu)) != 0;
+    }
+
+    /**
+     * Conta as CPUs, entre as {@code numeroCpus} primeiras, em que a máscara de afinidade
+     * permite executar o processo.
+     * 
+     * @param numeroCpus Número de CPUs consideradas
+     * @return Número de CPUs permitidas
+     */
+    public int contarCpusPermitidas(int numeroCpus) {
+        if (mascaraAfinidade == TODAS_AS_CPUS) {
+            return numeroCpus;
+        }
+        long primeiras = numeroCpus >= Long.SIZE ? -1L : (1L << numeroCpus) - 1;
+        return Long.bitCount(mascaraAfinidade & primeiras);
+    }
+
+    public int getUltimaCpu() {
+        return ultimaCpu;
+    }
+
+    public void setUltimaCpu(int ultimaCpu) {
+        this.ultimaCpu = ultimaCpu;
+    }
+
+    public String getGrupo() {
+        return grupo;
+    }
+
+    /**
+     * Define o grupo do processo, usado por escalonadores de compartilhamento justo. Grupos
+     * aninhados são separados por "/", por exemplo "inquilinoA/web".
+     * 
+     * @param grupo Caminho do grupo ou null para nenhum
+     */
+    public void setGrupo(String grupo) {
+        this.grupo = grupo;
+    }
+
+    public int getPrazo() {
+        return prazo;
+    }
+
+    /**
+     * Define o prazo do processo, relativo ao tempo de chegada: o processo deve terminar até
+     * {@code tempoChegada + prazo}.
+     * 
+     * @param prazo Prazo relativo, ou 0 para nenhum prazo
+     * @throws IllegalArgumentException se o prazo for negativo
+     */
+    public void setPrazo(int prazo) {
+        if (prazo < 0) {
+            throw new IllegalArgumentException("O prazo não pode ser negativo: " + prazo);
+        }
+        this.prazo = prazo;
+    }
+
+    public boolean temPrazo() {
+        return prazo > 0;
+    }
+
+    /**
+     * Retorna o prazo absoluto do processo.
+     * 
+     * @return Tempo até o qual o processo deve terminar, ou {@link Long#MAX_VALUE} se ele não tem prazo
+     */
+    public long getPrazoAbsoluto() {
+        return prazo > 0 ? (long) tempoChegada + prazo : Long.MAX_VALUE;
+    }
+
+    /**
+     * Retorna quanto o processo terminou depois do prazo (negativo se terminou antes).
+     * Só faz sentido para processos finalizados e com prazo.
+     * 
+     * @return Tempo de término menos o prazo absoluto
+     */
+    public int getAtrasoPrazo() {
+        return tempoFim - (tempoChegada + prazo);
+    }
+
+    public int getPeriodo() {
+        return periodo;
+    }
+
+    /**
+     * Define o período de uma tarefa periódica. O processo representa então a primeira
+     * instância da tarefa; escalonadores de tempo real liberam uma nova instância, com o mesmo
+     * tempo de execução e prazo, a cada período.
+     * 
+     * @param periodo Período, ou 0 para um processo aperiódico
+     * @throws IllegalArgumentException se o período for negativo
+     */
+    public void setPeriodo(int periodo) {
+        if (periodo < 0) {
+            throw new IllegalArgumentException("O período não pode ser negativo: " + periodo);
+        }
+        this.periodo = periodo;
+    }
+
+    public int getBilhetes() {
+        return bilhetes;
+    }
+
+    /**
+     * Define os bilhetes do processo, que determinam a sua participação na CPU nos
+     * escalonadores proporcionais. Para alterar os bilhetes de um processo já entregue a um
+     * desses escalonadores use {@code EscalonadorProporcional.alterarBilhetes}.
+     * 
+     * @param bilhetes Número de bilhetes (padrão 1)
+     * @throws IllegalArgumentException se o número de bilhetes não for positivo
+     */
+    public void setBilhetes(int bilhetes) {
+        if (bilhetes <= 0) {
+            throw new IllegalArgumentException("O número de bilhetes deve ser positivo: " + bilhetes);
+        }
+        this.bilhetes = bilhetes;
+    }
+
+    public int getPrioridade() {
+        return prioridade;
+    }
+
+    /**
+     * Define a prioridade base do processo. Quanto menor o valor, maior a prioridade.
+     * 
+     * @param prioridade Prioridade base (padrão 0)
+     * @throws IllegalArgumentException se a prioridade for negativa
+     */
+    public void setPrioridade(int prioridade) {
+        if (prioridade < 0) {
+            throw new IllegalArgumentException("A prioridade não pode ser negativa: " + prioridade);
+        }
+        this.prioridade = prioridade;
+    }
+
+    public int getNumeroThreads() {
+        return numeroThreads;
+    }
+
+    /**
+     * Define o número de threads do processo. As threads sincronizam a cada unidade de trabalho,
+     * então no modo determinístico do motor o processo ocupa uma CPU por thread e só avança uma
+     * unidade nos passos em que todas executam juntas; o tempo de execução é o de cada thread.
+     * 
+     * @param numeroThreads Número de threads (padrão 1)
+     * @throws IllegalArgumentException se o número de threads não for positivo
+     */
+    public void setNumeroThreads(int numeroThreads) {
+        if (numeroThreads <= 0) {
+            throw new IllegalArgumentException("O número de threads deve ser positivo: " + numeroThreads);
+        }
+        this.numeroThreads = numeroThreads;
+    }
+
     @Override
     public String toString() {
         return "Processo{" +
@@ -0,0 +1,112 @@
+package scheduler;
+
+import model.Processo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Controle de chegadas e de conclusões compartilhado pelos escalonadores concorrentes.
+ * Mantém os processos que ainda não chegaram ordenados pelo tempo de chegada em uma
+ * skip list concorrente, de forma que cada thread admite as chegadas sem bloqueio e
+ * sem percorrer a lista completa de processos a cada unidade de tempo.
+ */
+class ChegadasConcorrentes {
+    private final ConcurrentSkipListMap<Long, Processo> processos;     // Por ordem de inserção
+    private final ConcurrentHashMap<Processo, Long> sequenciaPorProcesso;
+    private final ConcurrentSkipListMap<Chave, Processo> pendentes;
+    private final AtomicLong sequencia;
+    private final AtomicInteger total;
+    private final AtomicInteger concluidos;
+
+    /**
+     * Chave de ordenação das chegadas: tempo de chegada e ordem de inserção.
+     */
+    static final class Chave {
+        private final int tempo;
+        private final long sequencia;
+
+        Chave(int tempo, long sequencia) {
+            this.tempo = tempo;
+            this.sequencia = sequencia;
+        }
+    }
+
+    private static final Comparator<Chave> ORDEM = Comparator
+            .comparingInt((Chave c) -> c.tempo)
+            .thenComparingLong(c -> c.sequencia);
+
+    ChegadasConcorrentes() {
+        this.processos = new ConcurrentSkipListMap<>();
+        this.sequenciaPorProcesso = new ConcurrentHashMap<>();
+        this.pendentes = new ConcurrentSkipListMap<>(ORDEM);
+        this.sequencia = new AtomicLong();
+        this.total = new AtomicInteger();
+        this.concluidos = new AtomicInteger();
+    }
+
+    /**
+     * Registra um novo processo. Pode ser chamado durante a simulação.
+     */
+    void adicionar(Processo processo) {
+        long ordem = sequencia.getAndIncrement();
+        processos.put(ordem, processo);
+        sequenciaPorProcesso.put(processo, ordem);
+        total.incrementAndGet();
+        pendentes.put(new Chave(processo.getTempoChegada(), ordem), processo);
+    }
+
+    /**
+     * Move para a fila de prontos todos os processos com chegada até o tempo atual.
+     * Apenas a thread que consegue remover a entrada da skip list entrega o processo,
+     * então cada processo é admitido exatamente uma vez.
+     */
+    void admitir(int tempoAtual, Consumer<Processo> filaDeProntos) {
+        Map.Entry<Chave, Processo> primeiro;
+        while ((primeiro = pendentes.firstEntry()) != null && primeiro.getKey().tempo <= tempoAtual) {
+            if (pendentes.remove(primeiro.getKey(), primeiro.getValue())) {
+                filaDeProntos.accept(primeiro.getValue());
+            }
+        }
+    }
+
+    /**
+     * Registra a conclusão de um processo.
+     */
+    void registrarConclusao() {
+        concluidos.incrementAndGet();
+    }
+
+    /**
+     * Remove um processo concluído da lista de processos conhecidos.
+     */
+    void retirar(Processo processo) {
+        Long ordem = sequenciaPorProcesso.remove(processo);
+        if (ordem != null) {
+            processos.remove(ordem);
+        }
+    }
+
+    boolean estaFinalizado() {
+        return concluidos.get() >= total.get();
+    }
+
+    List<Processo> todos() {
+        return new ArrayList<>(processos.values());
+    }
+
+    void limpar() {
+        processos.clear();
+        sequenciaPorProcesso.clear();
+        pendentes.clear();
+        total.set(0);
+        concluidos.set(0);
+    }
+}
@@ -1,7 +1,9 @@
 package scheduler;
 
 import model.Processo;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface para algoritmos de escalonamento de processos.
@@ -31,6 +33,48 @@ public interface Escalonador {
      */
     Processo obterProximoProcesso(int tempoAtual);
 
+    /**
+     * Obtém o próximo processo a ser executado em uma CPU (thread) específica.
+     * Escalonadores que não mantêm estado por CPU simplesmente ignoram o identificador.
+     * 
+     * @param tempoAtual Tempo atual da simulação
+     * @param idCpu Identificador da CPU (thread) que está solicitando um processo
+     * @return O próximo processo a ser executado ou null se não houver processos disponíveis
+     */
+    default Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        return obterProximoProcesso(tempoAtual);
+    }
+
+    /**
+     * Informa ao escalonador as CPUs da simulação antes de ela começar. Escalonadores que não
+     * consideram a velocidade das CPUs simplesmente ignoram a informação.
+     * 
+     * @param velocidades Fator de velocidade de cada CPU (1 para uma CPU de referência)
+     */
+    default void configurarCpus(double[] velocidades) {
+    }
+
+    /**
+     * Devolve à fila de prontos o processo atribuído à CPU, como em uma preempção, e esquece o
+     * estado da CPU. Usado por escalonadores compostos que decidem, acima deste, quando a CPU
+     * passa a atender outro escalonador. Escalonadores sem estado por CPU não precisam fazer nada.
+     * 
+     * @param idCpu Identificador da CPU
+     */
+    default void liberarCpu(int idCpu) {
+    }
+
+    /**
+     * Indica se o escalonador entrega o mesmo processo a várias CPUs no mesmo passo, uma por
+     * thread ({@link Processo#getNumeroThreads()}). Sem isso as threads de um processo nunca
+     * executariam juntas, e o motor executa o processo como se ele tivesse uma única thread.
+     * 
+     * @return true se as threads de um processo são escalonadas em várias CPUs
+     */
+    default boolean coescalonaThreads() {
+        return false;
+    }
+
     /**
      * Verifica se todos os processos foram concluídos.
      * 
@@ -56,4 +100,33 @@ public interface Escalonador {
      * Reinicia o escalonador, preparando-o para uma nova simulação.
      */
     void reiniciar();
+
+    /**
+     * Remove um processo concluído do escalonador, liberando a memória associada a ele.
+     * Usado em simulações abertas, em que processos chegam continuamente e os concluídos
+     * são contabilizados apenas em métricas agregadas.
+     * 
+     * @param processo Processo concluído
+     */
+    default void retirarProcesso(Processo processo) {
+    }
+
+    /**
+     * Retorna a quantidade de processos prontos aguardando na fila.
+     * 
+     * @return Tamanho da fila de prontos
+     */
+    default int obterTamanhoFila() {
+        return (int) obterTodosProcessos().stream().filter(p -> !p.isFinalizado()).count();
+    }
+
+    /**
+     * Retorna métricas específicas deste algoritmo para serem incluídas no resultado da simulação.
+     * Cada entrada associa o nome da métrica ao seu valor.
+     * 
+     * @return Mapa de métricas, vazio se o algoritmo não produz métricas próprias
+     */
+    default Map<String, Object> obterMetricas() {
+        return Collections.emptyMap();
+    }
 }
\ No newline at end of file
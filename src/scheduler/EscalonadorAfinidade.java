@@ -0,0 +1,269 @@
+package scheduler;
+
+import model.Processo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Round Robin ciente de afinidade, para CPUs heterogêneas.
+ * Cada CPU só recebe processos cuja máscara de afinidade a permite. Entre os primeiros
+ * processos permitidos da fila de prontos (a janela de busca):
+ * - uma CPU rápida (mais rápida que a média) escolhe o de menor tempo restante, preferindo no
+ *   empate o que executou por último nela;
+ * - as demais CPUs escolhem o primeiro que executou por último nelas (cache quente) ou, se não
+ *   houver, o primeiro da fila.
+ * O processo mais antigo da fila pode ser preterido no máximo um número limitado de vezes;
+ * depois disso é escolhido pela próxima CPU que o permite, o que evita que processos longos ou
+ * de cache frio fiquem esperando indefinidamente.
+ */
+public class EscalonadorAfinidade implements Escalonador {
+    private final Set<Processo> processos;
+    private final List<Processo> chegadas;
+    private int proximaChegada;
+    private boolean chegadasOrdenadas;
+    private final Map<Processo, Integer> filaDeProntos;
+    private final int quantum;
+    private final int janelaBusca;
+    private final int saltosMaximos;
+    private Processo[] processoAtual;
+    private int[] tempoRestanteQuantum;
+    private double[] velocidades;
+    private double velocidadeMedia;
+
+    private long despachos;
+    private long despachosCacheQuente;
+    private long despachosCpuRapida;
+    private long despachosPorAntiguidade;
+
+    /**
+     * Construtor para o escalonador com afinidade.
+     *
+     * @param quantum Quantum (fatia de tempo) para cada processo
+     * @param janelaBusca Quantos processos permitidos do início da fila são considerados
+     * @param saltosMaximos Quantas vezes o processo mais antigo da fila pode ser preterido
+     */
+    public EscalonadorAfinidade(int quantum, int janelaBusca, int saltosMaximos) {
+        this.processos = new LinkedHashSet<>();
+        this.chegadas = new ArrayList<>();
+        this.chegadasOrdenadas = true;
+        this.filaDeProntos = new LinkedHashMap<>();
+        this.quantum = quantum;
+        this.janelaBusca = Math.max(1, janelaBusca);
+        this.saltosMaximos = Math.max(0, saltosMaximos);
+        this.processoAtual = new Processo[1];
+        this.tempoRestanteQuantum = new int[1];
+    }
+
+    @Override
+    public void adicionarProcesso(Processo processo) {
+        processos.add(processo);
+        chegadas.add(processo);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public void adicionarProcessos(List<Processo> processos) {
+        this.processos.addAll(processos);
+        chegadas.addAll(processos);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public void configurarCpus(double[] velocidades) {
+        this.velocidades = velocidades.clone();
+        double soma = 0;
+        for (double velocidade : velocidades) {
+            soma += velocidade;
+        }
+        this.velocidadeMedia = velocidades.length == 0 ? 0 : soma / velocidades.length;
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        if (idCpu >= processoAtual.length) {
+            processoAtual = Arrays.copyOf(processoAtual, idCpu + 1);
+            tempoRestanteQuantum = Arrays.copyOf(tempoRestanteQuantum, idCpu + 1);
+        }
+
+        admitirChegadas(tempoAtual);
+
+        Processo atual = processoAtual[idCpu];
+
+        // Se o processo atual ainda tem tempo de quantum e não terminou, continua com ele
+        if (atual != null && tempoRestanteQuantum[idCpu] > 0 && !atual.isFinalizado()) {
+            tempoRestanteQuantum[idCpu]--;
+            return atual;
+        }
+
+        // Se o processo atual terminou seu quantum mas não terminou a execução, volta para o fim da fila
+        if (atual != null && !atual.isFinalizado()) {
+            EventoPreempcao.registrar(atual, tempoAtual, quantum);
+            filaDeProntos.put(atual, 0);
+        }
+
+        atual = escolher(idCpu);
+        processoAtual[idCpu] = atual;
+        if (atual != null) {
+            filaDeProntos.remove(atual);
+            tempoRestanteQuantum[idCpu] = quantum - 1; // -1 porque vamos executar uma unidade agora
+            despachos++;
+            if (atual.getUltimaCpu() == idCpu) {
+                despachosCacheQuente++;
+            }
+        }
+        return atual;
+    }
+
+    @Override
+    public void liberarCpu(int idCpu) {
+        if (idCpu >= processoAtual.length || processoAtual[idCpu] == null) {
+            return;
+        }
+        if (!processoAtual[idCpu].isFinalizado()) {
+            filaDeProntos.put(processoAtual[idCpu], 0);
+        }
+        processoAtual[idCpu] = null;
+        tempoRestanteQuantum[idCpu] = 0;
+    }
+
+    /**
+     * Escolhe o processo da fila de prontos para a CPU, sem retirá-lo da fila. A fila guarda,
+     * para cada processo, quantas vezes ele foi preterido sendo o mais antigo permitido.
+     */
+    private Processo escolher(int idCpu) {
+        boolean cpuRapida = velocidades != null && idCpu < velocidades.length && velocidades[idCpu] > velocidadeMedia;
+
+        Processo escolhido = null;
+        Map.Entry<Processo, Integer> primeiroPermitido = null;
+        int examinados = 0;
+        for (Map.Entry<Processo, Integer> entrada : filaDeProntos.entrySet()) {
+            Processo candidato = entrada.getKey();
+            if (!candidato.podeExecutarEm(idCpu)) {
+                continue;
+            }
+            if (primeiroPermitido == null) {
+                primeiroPermitido = entrada;
+                // A fila está em ordem de entrada, então o primeiro permitido é o que espera há mais tempo
+                if (entrada.getValue() >= saltosMaximos) {
+                    despachosPorAntiguidade++;
+                    return candidato;
+                }
+            }
+            if (examinados++ >= janelaBusca) {
+                break;
+            }
+
+            boolean quente = candidato.getUltimaCpu() == idCpu;
+            if (cpuRapida) {
+                if (escolhido == null
+                        || candidato.getTempoRestante() < escolhido.getTempoRestante()
+                        || (candidato.getTempoRestante() == escolhido.getTempoRestante()
+                                && quente && escolhido.getUltimaCpu() != idCpu)) {
+                    escolhido = candidato;
+                }
+            } else if (quente) {
+                escolhido = candidato;
+                break;
+            }
+        }
+
+        if (primeiroPermitido == null) {
+            return null;
+        }
+        if (escolhido == null || escolhido == primeiroPermitido.getKey()) {
+            return primeiroPermitido.getKey();
+        }
+        if (cpuRapida) {
+            despachosCpuRapida++;
+        }
+        primeiroPermitido.setValue(primeiroPermitido.getValue() + 1);
+        return escolhido;
+    }
+
+    /**
+     * Move para a fila de prontos, em ordem de chegada, os processos que chegaram até o tempo atual.
+     */
+    private void admitirChegadas(int tempoAtual) {
+        if (!chegadasOrdenadas) {
+            chegadas.subList(0, proximaChegada).clear();
+            chegadas.sort(Comparator.comparingInt(Processo::getTempoChegada));
+            proximaChegada = 0;
+            chegadasOrdenadas = true;
+        }
+        while (proximaChegada < chegadas.size() && chegadas.get(proximaChegada).getTempoChegada() <= tempoAtual) {
+            Processo processo = chegadas.get(proximaChegada++);
+            if (!processo.isFinalizado()) {
+                filaDeProntos.put(processo, 0);
+            }
+        }
+    }
+
+    @Override
+    public boolean estaFinalizado() {
+        if (proximaChegada < chegadas.size() || !filaDeProntos.isEmpty()) {
+            return false;
+        }
+        for (Processo atual : processoAtual) {
+            if (atual != null && !atual.isFinalizado()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String obterNome() {
+        return "Afinidade (RR) - Quantum: " + quantum;
+    }
+
+    @Override
+    public List<Processo> obterTodosProcessos() {
+        return new ArrayList<>(processos);
+    }
+
+    @Override
+    public void retirarProcesso(Processo processo) {
+        processos.remove(processo);
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return filaDeProntos.size();
+    }
+
+    @Override
+    public void reiniciar() {
+        processos.clear();
+        chegadas.clear();
+        proximaChegada = 0;
+        chegadasOrdenadas = true;
+        filaDeProntos.clear();
+        processoAtual = new Processo[1];
+        tempoRestanteQuantum = new int[1];
+        despachos = 0;
+        despachosCacheQuente = 0;
+        despachosCpuRapida = 0;
+        despachosPorAntiguidade = 0;
+    }
+
+    @Override
+    public Map<String, Object> obterMetricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("Despachos", despachos);
+        metricas.put("Despachos com cache quente", despachosCacheQuente);
+        metricas.put("Despachos por menor restante em CPU rápida", despachosCpuRapida);
+        metricas.put("Despachos por antiguidade", despachosPorAntiguidade);
+        return metricas;
+    }
+}
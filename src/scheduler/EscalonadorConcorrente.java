@@ -0,0 +1,29 @@
+package scheduler;
+
+import model.Processo;
+
+/**
+ * Escalonador que pode ser chamado simultaneamente por várias threads sem bloqueio externo.
+ * O motor de simulação detecta esta interface e deixa de sincronizar no monitor do escalonador,
+ * de modo que cada thread despacha processos de forma independente.
+ */
+public interface EscalonadorConcorrente extends Escalonador {
+
+    /**
+     * Prepara o estado interno por thread antes do início da simulação.
+     * 
+     * @param numeroThreads Número de threads que irão solicitar processos
+     */
+    void prepararThreads(int numeroThreads);
+
+    /**
+     * Obtém o próximo processo para a thread informada.
+     * Deve ser seguro chamar este método concorrentemente a partir de threads diferentes.
+     * 
+     * @param tempoAtual Tempo atual da simulação
+     * @param idCpu Identificador da thread que está solicitando um processo
+     * @return O próximo processo a ser executado ou null se não houver processos disponíveis
+     */
+    @Override
+    Processo obterProximoProcesso(int tempoAtual, int idCpu);
+}
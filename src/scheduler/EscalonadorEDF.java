@@ -0,0 +1,423 @@
+package scheduler;
+
+import model.Processo;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Implementação do algoritmo Earliest Deadline First (EDF) preemptivo.
+ * A cada unidade de tempo cada CPU executa o processo pronto de menor prazo absoluto; um
+ * processo que chega com prazo menor que o do processo em execução o preempta. Processos sem
+ * prazo executam depois de todos os que têm prazo, em ordem de chegada. Os prontos ficam em um
+ * {@link HeapIndexado}, então a escolha custa O(log n).
+ *
+ * Um processo com período é uma tarefa periódica: ele é a primeira instância e o escalonador
+ * libera uma nova instância ("P1#2", "P1#3", ...) a cada período, até o horizonte.
+ *
+ * Com o teste de admissão ativo, uma tarefa periódica só é aceita se a densidade total
+ * (execução / min(prazo, período)) continuar dentro do limite de Goossens, Funk e Baruah para
+ * EDF global em m CPUs: U <= m - (m - 1) * umax. Com uma CPU o limite é U <= 1, que é exato
+ * quando o prazo é igual ao período. Processos aperiódicos são sempre aceitos.
+ */
+public class EscalonadorEDF implements Escalonador {
+    /**
+     * Resumo do cumprimento de prazos dos processos concluídos que tinham prazo.
+     */
+    public static class RelatorioPrazos implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private static final int MAIORES_ATRASOS_EXIBIDOS = 5;
+
+        private final String[] ids;
+        private final int[] atrasos;         // Lateness: término menos prazo absoluto
+        private final int[] atrasosOrdenados;
+        private final int perdidos;
+
+        public RelatorioPrazos(List<Processo> processos) {
+            List<Processo> comPrazo = new ArrayList<>();
+            for (Processo processo : processos) {
+                if (processo.temPrazo() && processo.isFinalizado()) {
+                    comPrazo.add(processo);
+                }
+            }
+            this.ids = new String[comPrazo.size()];
+            this.atrasos = new int[comPrazo.size()];
+            int perdas = 0;
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = comPrazo.get(i).getId();
+                atrasos[i] = comPrazo.get(i).getAtrasoPrazo();
+                if (atrasos[i] > 0) {
+                    perdas++;
+                }
+            }
+            this.perdidos = perdas;
+            this.atrasosOrdenados = atrasos.clone();
+            Arrays.sort(atrasosOrdenados);
+        }
+
+        public int getQuantidade() {
+            return ids.length;
+        }
+
+        public int getPerdidos() {
+            return perdidos;
+        }
+
+        /**
+         * @return Percentual de processos que terminaram depois do prazo
+         */
+        public double getTaxaPerda() {
+            return ids.length == 0 ? 0 : 100.0 * perdidos / ids.length;
+        }
+
+        /**
+         * Retorna um percentil da distribuição de lateness (término menos prazo absoluto).
+         *
+         * @param percentil Percentil entre 0 e 100
+         * @return Lateness no percentil, ou 0 se não houver processos
+         */
+        public int getLateness(double percentil) {
+            if (atrasosOrdenados.length == 0) {
+                return 0;
+            }
+            int posicao = (int) Math.ceil(percentil / 100.0 * atrasosOrdenados.length) - 1;
+            return atrasosOrdenados[Math.max(0, Math.min(atrasosOrdenados.length - 1, posicao))];
+        }
+
+        public double getLatenessMedia() {
+            long soma = 0;
+            for (int atraso : atrasos) {
+                soma += atraso;
+            }
+            return atrasos.length == 0 ? 0 : (double) soma / atrasos.length;
+        }
+
+        public double getTardinessMedia() {
+            long soma = 0;
+            for (int atraso : atrasos) {
+                soma += Math.max(0, atraso);
+            }
+            return atrasos.length == 0 ? 0 : (double) soma / atrasos.length;
+        }
+
+        /**
+         * Retorna a tardiness (atraso além do prazo, nunca negativo) de cada processo.
+         *
+         * @return Mapa do identificador do processo para a sua tardiness, na ordem dos processos
+         */
+        public Map<String, Integer> obterTardinessPorProcesso() {
+            Map<String, Integer> tardiness = new LinkedHashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                tardiness.put(ids[i], Math.max(0, atrasos[i]));
+            }
+            return tardiness;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(
+                    "lateness mín %d, p50 %d, p95 %d, p99 %d, máx %d; tardiness média %.2f",
+                    getLateness(0), getLateness(50), getLateness(95), getLateness(99), getLateness(100),
+                    getTardinessMedia()));
+            if (perdidos > 0) {
+                Integer[] indices = new Integer[ids.length];
+                for (int i = 0; i < indices.length; i++) {
+                    indices[i] = i;
+                }
+                Arrays.sort(indices, (a, b) -> Integer.compare(atrasos[b], atrasos[a]));
+                sb.append("; maiores atrasos:");
+                for (int i = 0; i < Math.min(MAIORES_ATRASOS_EXIBIDOS, perdidos); i++) {
+                    sb.append(' ').append(ids[indices[i]]).append('=').append(atrasos[indices[i]]);
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Próxima liberação de uma tarefa periódica.
+     */
+    private static final class Liberacao {
+        private final Processo tarefa;
+        private final int instancia;
+        private final int tempo;
+
+        Liberacao(Processo tarefa, int instancia, int tempo) {
+            this.tarefa = tarefa;
+            this.instancia = instancia;
+            this.tempo = tempo;
+        }
+    }
+
+    private static final Comparator<Processo> PRAZO = Comparator.comparingLong(Processo::getPrazoAbsoluto);
+
+    private final boolean testeAdmissao;
+    private final int cpusAdmissao;
+    private final int horizonte;
+
+    private final Set<Processo> processos;
+    private final List<Processo> chegadas;
+    private int proximaChegada;
+    private boolean chegadasOrdenadas;
+    private final PriorityQueue<Liberacao> liberacoes;
+    private final HeapIndexado<Processo> prontos;
+    private Processo[] processoAtual;
+
+    private double densidadeAdmitida;
+    private double densidadeMaxima;
+    private final List<String> rejeitados;
+    private long preempcoes;
+
+    /**
+     * Construtor para o escalonador EDF sem teste de admissão.
+     *
+     * @param horizonte Tempo até o qual as tarefas periódicas liberam instâncias
+     */
+    public EscalonadorEDF(int horizonte) {
+        this(horizonte, false, 1);
+    }
+
+    /**
+     * Construtor para o escalonador EDF.
+     *
+     * @param horizonte Tempo até o qual as tarefas periódicas liberam instâncias
+     * @param testeAdmissao Se as tarefas periódicas passam pelo teste de admissão
+     * @param cpusAdmissao Número de CPUs considerado no teste de admissão
+     */
+    public EscalonadorEDF(int horizonte, boolean testeAdmissao, int cpusAdmissao) {
+        this.horizonte = Math.max(0, horizonte);
+        this.testeAdmissao = testeAdmissao;
+        this.cpusAdmissao = Math.max(1, cpusAdmissao);
+        this.processos = new LinkedHashSet<>();
+        this.chegadas = new ArrayList<>();
+        this.chegadasOrdenadas = true;
+        this.liberacoes = new PriorityQueue<>(Comparator.comparingInt((Liberacao l) -> l.tempo)
+                .thenComparingInt(l -> l.instancia));
+        this.prontos = new HeapIndexado<>(PRAZO);
+        this.processoAtual = new Processo[1];
+        this.rejeitados = new ArrayList<>();
+    }
+
+    /**
+     * Adiciona um processo. Uma tarefa periódica sem prazo recebe o período como prazo; se for
+     * reprovada no teste de admissão, não é adicionada e aparece entre os rejeitados nas métricas.
+     */
+    @Override
+    public void adicionarProcesso(Processo processo) {
+        if (processo.getPeriodo() > 0) {
+            if (!processo.temPrazo()) {
+                processo.setPrazo(processo.getPeriodo());
+            }
+            if (!admitir(processo)) {
+                rejeitados.add(processo.getId());
+                return;
+            }
+            int proximaLiberacao = processo.getTempoChegada() + processo.getPeriodo();
+            if (proximaLiberacao < horizonte) {
+                liberacoes.add(new Liberacao(processo, 2, proximaLiberacao));
+            }
+        }
+        processos.add(processo);
+        chegadas.add(processo);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public void adicionarProcessos(List<Processo> processos) {
+        for (Processo processo : processos) {
+            adicionarProcesso(processo);
+        }
+    }
+
+    /**
+     * Aplica o teste de admissão a uma tarefa periódica, reservando a sua densidade se ela for aceita.
+     */
+    private boolean admitir(Processo tarefa) {
+        double densidade = (double) tarefa.getTempoExecucao() / Math.min(tarefa.getPrazo(), tarefa.getPeriodo());
+        if (testeAdmissao) {
+            double maxima = Math.max(densidadeMaxima, densidade);
+            double limite = cpusAdmissao - (cpusAdmissao - 1) * maxima;
+            if (densidadeAdmitida + densidade > limite + 1e-9) {
+                return false;
+            }
+        }
+        densidadeAdmitida += densidade;
+        densidadeMaxima = Math.max(densidadeMaxima, densidade);
+        return true;
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        if (idCpu >= processoAtual.length) {
+            processoAtual = Arrays.copyOf(processoAtual, idCpu + 1);
+        }
+
+        liberarInstancias(tempoAtual);
+        admitirChegadas(tempoAtual);
+
+        Processo atual = processoAtual[idCpu];
+        if (atual != null && atual.isFinalizado()) {
+            atual = null;
+        }
+
+        // O processo em execução só é preemptado por um de prazo estritamente menor
+        Processo candidato = prontos.primeiro(p -> p.podeExecutarEm(idCpu));
+        if (atual != null && (candidato == null || PRAZO.compare(candidato, atual) >= 0)) {
+            return atual;
+        }
+
+        if (atual != null) {
+            EventoPreempcao.registrar(atual, tempoAtual, 0);
+            prontos.adicionar(atual);
+            preempcoes++;
+        }
+        if (candidato != null) {
+            prontos.remover(candidato);
+        }
+        processoAtual[idCpu] = candidato;
+        return candidato;
+    }
+
+    /**
+     * Cria as instâncias das tarefas periódicas liberadas até o tempo atual.
+     */
+    private void liberarInstancias(int tempoAtual) {
+        while (!liberacoes.isEmpty() && liberacoes.peek().tempo <= tempoAtual) {
+            Liberacao liberacao = liberacoes.poll();
+            Processo tarefa = liberacao.tarefa;
+            Processo instancia = new Processo(tarefa.getId() + "#" + liberacao.instancia, liberacao.tempo,
+                    tarefa.getTempoExecucao());
+            instancia.setPrazo(tarefa.getPrazo());
+            instancia.setMascaraAfinidade(tarefa.getMascaraAfinidade());
+            instancia.setGrupo(tarefa.getGrupo());
+            processos.add(instancia);
+            if (instancia.getTempoExecucao() > 0) {
+                prontos.adicionar(instancia);
+            }
+
+            int proximaLiberacao = liberacao.tempo + tarefa.getPeriodo();
+            if (proximaLiberacao < horizonte) {
+                liberacoes.add(new Liberacao(tarefa, liberacao.instancia + 1, proximaLiberacao));
+            }
+        }
+    }
+
+    /**
+     * Move para o heap de prontos os processos que chegaram até o tempo atual.
+     */
+    private void admitirChegadas(int tempoAtual) {
+        if (!chegadasOrdenadas) {
+            chegadas.subList(0, proximaChegada).clear();
+            chegadas.sort(Comparator.comparingInt(Processo::getTempoChegada));
+            proximaChegada = 0;
+            chegadasOrdenadas = true;
+        }
+        while (proximaChegada < chegadas.size() && chegadas.get(proximaChegada).getTempoChegada() <= tempoAtual) {
+            Processo processo = chegadas.get(proximaChegada++);
+            // Processos sem tempo de execução nunca são escalonados
+            if (!processo.isFinalizado() && processo.getTempoExecucao() > 0) {
+                prontos.adicionar(processo);
+            }
+        }
+    }
+
+    @Override
+    public boolean estaFinalizado() {
+        if (proximaChegada < chegadas.size() || !liberacoes.isEmpty() || !prontos.estaVazio()) {
+            return false;
+        }
+        for (Processo atual : processoAtual) {
+            if (atual != null && !atual.isFinalizado()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void liberarCpu(int idCpu) {
+        if (idCpu >= processoAtual.length || processoAtual[idCpu] == null) {
+            return;
+        }
+        if (!processoAtual[idCpu].isFinalizado()) {
+            prontos.adicionar(processoAtual[idCpu]);
+        }
+        processoAtual[idCpu] = null;
+    }
+
+    @Override
+    public String obterNome() {
+        return "Earliest Deadline First (EDF)" + (testeAdmissao ? " com admissão em " + cpusAdmissao + " CPU(s)" : "");
+    }
+
+    @Override
+    public List<Processo> obterTodosProcessos() {
+        return new ArrayList<>(processos);
+    }
+
+    @Override
+    public void retirarProcesso(Processo processo) {
+        processos.remove(processo);
+        prontos.remover(processo);
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return prontos.tamanho();
+    }
+
+    @Override
+    public void reiniciar() {
+        processos.clear();
+        chegadas.clear();
+        proximaChegada = 0;
+        chegadasOrdenadas = true;
+        liberacoes.clear();
+        prontos.limpar();
+        processoAtual = new Processo[1];
+        densidadeAdmitida = 0;
+        densidadeMaxima = 0;
+        rejeitados.clear();
+        preempcoes = 0;
+    }
+
+    /**
+     * Retorna o relatório de prazos dos processos concluídos até agora.
+     *
+     * @return Relatório de prazos
+     */
+    public RelatorioPrazos obterRelatorioPrazos() {
+        return new RelatorioPrazos(new ArrayList<>(processos));
+    }
+
+    @Override
+    public Map<String, Object> obterMetricas() {
+        RelatorioPrazos relatorio = obterRelatorioPrazos();
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("Processos com prazo", relatorio.getQuantidade());
+        metricas.put("Prazos perdidos", relatorio.getPerdidos());
+        metricas.put("Taxa de perda de prazo (%)", relatorio.getTaxaPerda());
+        metricas.put("Lateness média", relatorio.getLatenessMedia());
+        metricas.put("Relatório de prazos", relatorio);
+        metricas.put("Preempções por prazo", preempcoes);
+        metricas.put("Densidade admitida", densidadeAdmitida);
+        if (testeAdmissao) {
+            metricas.put("Tarefas rejeitadas na admissão", Collections.unmodifiableList(new ArrayList<>(rejeitados)));
+        }
+        return metricas;
+    }
+}
@@ -0,0 +1,677 @@
+package scheduler;
+
+import model.Processo;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Compartilhamento justo hierárquico (hierarchical fair share).
+ * Os processos são agrupados em uma árvore de grupos pelo caminho {@link Processo#getGrupo()},
+ * por exemplo "inquilinoA/web". Em cada nível a CPU vai para o grupo filho de menor tempo
+ * virtual (CPU recebida dividida pelo peso), de modo que grupos irmãos com trabalho recebem CPU
+ * na proporção dos seus pesos. Os grupos ativos de cada nível ficam em um conjunto ordenado pelo
+ * tempo virtual, então a escolha custa O(log grupos) por nível.
+ * Um grupo pode ter uma cota de CPU por período (limite de banda): ao consumi-la, o grupo e os
+ * seus descendentes ficam estrangulados até o início do próximo período.
+ * Dentro de cada grupo folha os processos são escalonados por um escalonador comum (a política
+ * da folha), criado para cada grupo. Processos de um grupo que também tem subgrupos ficam no
+ * subgrupo implícito ".".
+ */
+public class EscalonadorFairShare implements Escalonador {
+    /**
+     * Nome do subgrupo implícito que guarda os processos do próprio grupo.
+     */
+    public static final String PROPRIOS = ".";
+
+    /**
+     * Estatísticas de um grupo ao final da simulação. Os valores de um grupo incluem os dos
+     * seus subgrupos.
+     */
+    public static class EstatisticasGrupo implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String caminho;
+        private final double peso;
+        private final int cota;
+        private final long concluidos;
+        private final long tempoCpu;
+        private final long tempoEstrangulado;
+        private final long estrangulamentos;
+        private final double vazao;
+
+        public EstatisticasGrupo(String caminho, double peso, int cota, long concluidos, long tempoCpu,
+                                 long tempoEstrangulado, long estrangulamentos, double vazao) {
+            this.caminho = caminho;
+            this.peso = peso;
+            this.cota = cota;
+            this.concluidos = concluidos;
+            this.tempoCpu = tempoCpu;
+            this.tempoEstrangulado = tempoEstrangulado;
+            this.estrangulamentos = estrangulamentos;
+            this.vazao = vazao;
+        }
+
+        public String getCaminho() {
+            return caminho;
+        }
+
+        public double getPeso() {
+            return peso;
+        }
+
+        /**
+         * @return Cota de CPU por período (0 se o grupo não tem limite)
+         */
+        public int getCota() {
+            return cota;
+        }
+
+        public long getConcluidos() {
+            return concluidos;
+        }
+
+        public long getTempoCpu() {
+            return tempoCpu;
+        }
+
+        public long getTempoEstrangulado() {
+            return tempoEstrangulado;
+        }
+
+        public long getEstrangulamentos() {
+            return estrangulamentos;
+        }
+
+        /**
+         * @return Processos concluídos por unidade de tempo, do início até a última conclusão do grupo
+         */
+        public double getVazao() {
+            return vazao;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("peso %.2f, cota %s, concluídos %d, vazão %.4f/u, CPU %d, estrangulado %d (%d vezes)",
+                    peso, cota > 0 ? String.valueOf(cota) : "-", concluidos, vazao, tempoCpu,
+                    tempoEstrangulado, estrangulamentos);
+        }
+    }
+
+    /**
+     * Nó da árvore de grupos. Um grupo folha tem o seu próprio escalonador; um grupo interno
+     * tem o conjunto dos filhos ativos, ordenado pelo tempo virtual.
+     */
+    private static final class Grupo {
+        private final long id;
+        private final String caminho;
+        private final Grupo pai;
+        private final Map<String, Grupo> filhos;
+        private final TreeSet<Grupo> ativos;
+        private double peso;
+        private int cota;
+        private Escalonador folha;
+        private int naoConcluidos;      // Processos da folha que já chegaram e não terminaram
+
+        private double tempoVirtual;
+        private double tempoVirtualMinimo; // Menor tempo virtual já visto entre os filhos ativos
+        private boolean ativo;          // Está no conjunto de ativos do pai
+        private boolean estrangulado;
+        private int consumoPeriodo;
+        private int inicioEstrangulamento;
+
+        private long concluidos;
+        private int ultimaConclusao;
+        private long tempoCpu;
+        private long tempoEstrangulado;
+        private long estrangulamentos;
+
+        Grupo(long id, String caminho, Grupo pai) {
+            this.id = id;
+            this.caminho = caminho;
+            this.pai = pai;
+            this.filhos = new LinkedHashMap<>();
+            this.ativos = new TreeSet<>(ORDEM);
+            this.peso = 1.0;
+        }
+
+        boolean temTrabalho() {
+            return folha != null ? naoConcluidos > 0 : !ativos.isEmpty();
+        }
+
+        void reiniciar() {
+            naoConcluidos = 0;
+            ativos.clear();
+            tempoVirtual = 0;
+            tempoVirtualMinimo = 0;
+            ativo = false;
+            estrangulado = false;
+            consumoPeriodo = 0;
+            inicioEstrangulamento = 0;
+            concluidos = 0;
+            ultimaConclusao = 0;
+            tempoCpu = 0;
+            tempoEstrangulado = 0;
+            estrangulamentos = 0;
+            if (folha != null) {
+                folha.reiniciar();
+            }
+        }
+    }
+
+    private static final Comparator<Grupo> ORDEM = Comparator
+            .comparingDouble((Grupo g) -> g.tempoVirtual)
+            .thenComparingLong(g -> g.id);
+
+    private final Supplier<Escalonador> politicaFolha;
+    private final String nomePoliticaFolha;
+    private final int periodo;
+    private final int granularidade;
+
+    private final Grupo raiz;
+    private final List<Grupo> grupos;
+    private long proximoIdGrupo;
+
+    private final Set<Processo> processos;
+    private final Map<Processo, Grupo> grupoDoProcesso;
+    private final List<Processo> chegadas;
+    private int proximaChegada;
+    private boolean chegadasOrdenadas;
+    private int naoConcluidos;
+
+    private double[] velocidades;
+    private Grupo[] grupoNaCpu;
+    private Processo[] processoNaCpu;
+    private int[] fatiasSeguidas;
+    private int inicioPeriodo;
+    private int ultimoTempo;
+    private boolean contabilidadeFechada;
+
+    /**
+     * Construtor para o escalonador de compartilhamento justo.
+     *
+     * @param politicaFolha Cria o escalonador de cada grupo folha
+     * @param periodo Período das cotas de CPU, em unidades de tempo
+     * @param granularidade Fatias seguidas que um grupo mantém uma CPU antes de ela ser
+     *                      disputada novamente entre os grupos
+     */
+    public EscalonadorFairShare(Supplier<Escalonador> politicaFolha, int periodo, int granularidade) {
+        this.politicaFolha = politicaFolha;
+        this.nomePoliticaFolha = politicaFolha.get().obterNome();
+        this.periodo = Math.max(1, periodo);
+        this.granularidade = Math.max(1, granularidade);
+        this.raiz = new Grupo(proximoIdGrupo++, "", null);
+        this.grupos = new ArrayList<>();
+        this.processos = new LinkedHashSet<>();
+        this.grupoDoProcesso = new IdentityHashMap<>();
+        this.chegadas = new ArrayList<>();
+        this.chegadasOrdenadas = true;
+        this.velocidades = new double[]{1.0};
+        prepararCpus(1);
+    }
+
+    /**
+     * Define o peso e a cota de um grupo, criando-o (e os seus ancestrais) se necessário.
+     *
+     * @param caminho Caminho do grupo, com níveis separados por "/"
+     * @param peso Peso do grupo entre os seus irmãos
+     * @param cota Unidades de CPU que o grupo pode consumir por período (0 para sem limite)
+     * @throws IllegalArgumentException se o caminho for vazio, o peso não for positivo ou a
+     *                                  cota for negativa
+     */
+    public void definirGrupo(String caminho, double peso, int cota) {
+        if (!(peso > 0) || Double.isInfinite(peso)) {
+            throw new IllegalArgumentException("O peso do grupo deve ser positivo: " + peso);
+        }
+        if (cota < 0) {
+            throw new IllegalArgumentException("A cota do grupo não pode ser negativa: " + cota);
+        }
+        Grupo grupo = obterGrupo(caminho);
+        if (grupo == raiz) {
+            throw new IllegalArgumentException("Caminho de grupo vazio");
+        }
+        grupo.peso = peso;
+        grupo.cota = cota;
+    }
+
+    /**
+     * Retorna o período das cotas de CPU.
+     *
+     * @return Período em unidades de tempo
+     */
+    public int obterPeriodo() {
+        return periodo;
+    }
+
+    @Override
+    public void adicionarProcesso(Processo processo) {
+        Grupo grupo = obterGrupoDeProcessos(processo.getGrupo());
+        grupo.folha.adicionarProcesso(processo);
+        grupoDoProcesso.put(processo, grupo);
+        processos.add(processo);
+        chegadas.add(processo);
+        chegadasOrdenadas = false;
+        naoConcluidos++;
+    }
+
+    @Override
+    public void adicionarProcessos(List<Processo> processos) {
+        for (Processo processo : processos) {
+            adicionarProcesso(processo);
+        }
+    }
+
+    @Override
+    public void configurarCpus(double[] velocidades) {
+        this.velocidades = velocidades.length == 0 ? new double[]{1.0} : velocidades.clone();
+        prepararCpus(this.velocidades.length);
+        for (Grupo grupo : grupos) {
+            configurarFolha(grupo.folha);
+        }
+        configurarFolha(raiz.folha);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        if (idCpu >= grupoNaCpu.length) {
+            prepararCpus(idCpu + 1);
+        }
+        ultimoTempo = Math.max(ultimoTempo, tempoAtual);
+        contabilidadeFechada = false;
+
+        // Cobra a fatia executada desde a chamada anterior para esta CPU
+        contabilizarCpu(idCpu, tempoAtual);
+        atualizarPeriodo(tempoAtual);
+        admitirChegadas(tempoAtual);
+
+        Grupo atual = grupoNaCpu[idCpu];
+        if (atual != null) {
+            if (fatiasSeguidas[idCpu] < granularidade && elegivel(atual)) {
+                Processo processo = atual.folha.obterProximoProcesso(tempoAtual, idCpu);
+                if (processo != null) {
+                    fatiasSeguidas[idCpu]++;
+                    processoNaCpu[idCpu] = processo;
+                    return processo;
+                }
+            }
+            atual.folha.liberarCpu(idCpu);
+            grupoNaCpu[idCpu] = null;
+        }
+
+        return escolher(raiz, tempoAtual, idCpu);
+    }
+
+    /**
+     * Desce a árvore a partir do grupo, visitando os filhos ativos em ordem de tempo virtual,
+     * até encontrar uma folha com processo para a CPU. Normalmente o primeiro filho de cada
+     * nível serve; os seguintes só são visitados quando todos os processos do primeiro estão
+     * em outras CPUs ou não podem executar nesta.
+     */
+    private Processo escolher(Grupo grupo, int tempoAtual, int idCpu) {
+        if (grupo.folha != null) {
+            Processo processo = grupo.folha.obterProximoProcesso(tempoAtual, idCpu);
+            if (processo != null) {
+                grupoNaCpu[idCpu] = grupo;
+                processoNaCpu[idCpu] = processo;
+                fatiasSeguidas[idCpu] = 1;
+            }
+            return processo;
+        }
+        for (Grupo filho : grupo.ativos) {
+            Processo processo = escolher(filho, tempoAtual, idCpu);
+            if (processo != null) {
+                return processo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cobra do grupo (e dos seus ancestrais) a fatia que a CPU executou e registra a conclusão
+     * do processo, se ele terminou. O tempo virtual cresce com a velocidade da CPU, de modo que
+     * uma fatia em uma CPU rápida pesa mais.
+     */
+    private void contabilizarCpu(int idCpu, int tempoAtual) {
+        Processo processo = processoNaCpu[idCpu];
+        if (processo == null) {
+            return;
+        }
+        processoNaCpu[idCpu] = null;
+
+        Grupo grupo = grupoNaCpu[idCpu];
+        double custo = idCpu < velocidades.length ? velocidades[idCpu] : 1.0;
+        raiz.tempoCpu++;
+        for (Grupo g = grupo; g != raiz; g = g.pai) {
+            g.tempoCpu++;
+            if (g.ativo) {
+                g.pai.ativos.remove(g);
+            }
+            g.tempoVirtual += custo / g.peso;
+            if (g.ativo) {
+                g.pai.ativos.add(g);
+                g.pai.tempoVirtualMinimo = Math.max(g.pai.tempoVirtualMinimo, g.pai.ativos.first().tempoVirtual);
+            }
+
+            g.consumoPeriodo++;
+            if (g.cota > 0 && !g.estrangulado && g.consumoPeriodo >= g.cota) {
+                g.estrangulado = true;
+                g.inicioEstrangulamento = tempoAtual;
+                g.estrangulamentos++;
+                atualizarAtividade(g);
+            }
+        }
+
+        if (processo.isFinalizado()) {
+            for (Grupo g = grupo; g != null; g = g.pai) {
+                g.concluidos++;
+                g.ultimaConclusao = tempoAtual;
+            }
+            grupo.naoConcluidos--;
+            naoConcluidos--;
+            atualizarAtividade(grupo);
+        }
+    }
+
+    /**
+     * No início de um novo período zera o consumo de todos os grupos e libera os estrangulados.
+     */
+    private void atualizarPeriodo(int tempoAtual) {
+        if (tempoAtual < inicioPeriodo + periodo) {
+            return;
+        }
+        inicioPeriodo = tempoAtual - (tempoAtual - inicioPeriodo) % periodo;
+        for (Grupo grupo : grupos) {
+            grupo.consumoPeriodo = 0;
+            if (grupo.estrangulado) {
+                grupo.estrangulado = false;
+                grupo.tempoEstrangulado += tempoAtual - grupo.inicioEstrangulamento;
+                atualizarAtividade(grupo);
+            }
+        }
+    }
+
+    /**
+     * Move para os grupos os processos que chegaram até o tempo atual. Cada folha já conhece
+     * os seus processos; aqui só se contam os que estão prontos para ativar o grupo.
+     */
+    private void admitirChegadas(int tempoAtual) {
+        if (!chegadasOrdenadas) {
+            chegadas.subList(0, proximaChegada).clear();
+            chegadas.sort(Comparator.comparingInt(Processo::getTempoChegada));
+            proximaChegada = 0;
+            chegadasOrdenadas = true;
+        }
+        while (proximaChegada < chegadas.size() && chegadas.get(proximaChegada).getTempoChegada() <= tempoAtual) {
+            Processo processo = chegadas.get(proximaChegada++);
+            Grupo grupo = grupoDoProcesso.get(processo);
+            if (processo.isFinalizado()) {
+                // Processos sem tempo de execução nunca são escalonados
+                for (Grupo g = grupo; g != null; g = g.pai) {
+                    g.concluidos++;
+                    g.ultimaConclusao = Math.max(g.ultimaConclusao, tempoAtual);
+                }
+                naoConcluidos--;
+            } else {
+                grupo.naoConcluidos++;
+                atualizarAtividade(grupo);
+            }
+        }
+    }
+
+    /**
+     * Coloca ou retira o grupo do conjunto de ativos do pai conforme ele tenha trabalho e não
+     * esteja estrangulado, propagando a mudança para cima.
+     */
+    private void atualizarAtividade(Grupo grupo) {
+        for (Grupo g = grupo; g.pai != null; g = g.pai) {
+            boolean deveEstarAtivo = !g.estrangulado && g.temTrabalho();
+            if (deveEstarAtivo == g.ativo) {
+                return;
+            }
+            Grupo pai = g.pai;
+            if (deveEstarAtivo) {
+                // Um grupo que volta a ter trabalho não acumula crédito pelo tempo em que esteve parado
+                double minimo = pai.ativos.isEmpty() ? pai.tempoVirtualMinimo : pai.ativos.first().tempoVirtual;
+                g.tempoVirtual = Math.max(g.tempoVirtual, minimo);
+                pai.ativos.add(g);
+            } else {
+                pai.ativos.remove(g);
+            }
+            g.ativo = deveEstarAtivo;
+        }
+    }
+
+    /**
+     * Indica se o grupo e todos os seus ancestrais estão ativos.
+     */
+    private boolean elegivel(Grupo grupo) {
+        for (Grupo g = grupo; g.pai != null; g = g.pai) {
+            if (!g.ativo) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtém o grupo do caminho, criando os níveis que faltam.
+     */
+    private Grupo obterGrupo(String caminho) {
+        Grupo grupo = raiz;
+        if (caminho == null) {
+            return grupo;
+        }
+        for (String nome : caminho.split("/")) {
+            if (nome.isEmpty()) {
+                continue;
+            }
+            Grupo filho = grupo.filhos.get(nome);
+            grupo = filho != null ? filho : criarFilho(grupo, nome);
+        }
+        return grupo;
+    }
+
+    /**
+     * Obtém o grupo folha que recebe os processos do caminho.
+     */
+    private Grupo obterGrupoDeProcessos(String caminho) {
+        Grupo grupo = obterGrupo(caminho);
+        if (!grupo.filhos.isEmpty()) {
+            Grupo proprios = grupo.filhos.get(PROPRIOS);
+            grupo = proprios != null ? proprios : criarFilho(grupo, PROPRIOS);
+        }
+        if (grupo.folha == null) {
+            grupo.folha = politicaFolha.get();
+            configurarFolha(grupo.folha);
+        }
+        return grupo;
+    }
+
+    private Grupo criarFilho(Grupo pai, String nome) {
+        if (pai.folha != null && !PROPRIOS.equals(nome)) {
+            // O grupo deixa de ser folha: os seus processos passam para o subgrupo implícito
+            Grupo proprios = novoGrupo(pai, PROPRIOS);
+            proprios.folha = pai.folha;
+            proprios.naoConcluidos = pai.naoConcluidos;
+            pai.folha = null;
+            pai.naoConcluidos = 0;
+            for (Map.Entry<Processo, Grupo> entrada : grupoDoProcesso.entrySet()) {
+                if (entrada.getValue() == pai) {
+                    entrada.setValue(proprios);
+                }
+            }
+            for (int i = 0; i < grupoNaCpu.length; i++) {
+                if (grupoNaCpu[i] == pai) {
+                    grupoNaCpu[i] = proprios;
+                }
+            }
+            atualizarAtividade(proprios);
+        }
+        return novoGrupo(pai, nome);
+    }
+
+    private Grupo novoGrupo(Grupo pai, String nome) {
+        String caminho = pai == raiz ? nome : pai.caminho + "/" + nome;
+        Grupo grupo = new Grupo(proximoIdGrupo++, caminho, pai);
+        pai.filhos.put(nome, grupo);
+        grupos.add(grupo);
+        return grupo;
+    }
+
+    private void configurarFolha(Escalonador folha) {
+        if (folha == null) {
+            return;
+        }
+        if (folha instanceof EscalonadorConcorrente) {
+            ((EscalonadorConcorrente) folha).prepararThreads(grupoNaCpu.length);
+        }
+        folha.configurarCpus(velocidades);
+    }
+
+    private void prepararCpus(int numeroCpus) {
+        if (grupoNaCpu == null) {
+            grupoNaCpu = new Grupo[numeroCpus];
+            processoNaCpu = new Processo[numeroCpus];
+            fatiasSeguidas = new int[numeroCpus];
+        } else if (numeroCpus > grupoNaCpu.length) {
+            grupoNaCpu = Arrays.copyOf(grupoNaCpu, numeroCpus);
+            processoNaCpu = Arrays.copyOf(processoNaCpu, numeroCpus);
+            fatiasSeguidas = Arrays.copyOf(fatiasSeguidas, numeroCpus);
+        }
+    }
+
+    @Override
+    public void liberarCpu(int idCpu) {
+        if (idCpu >= grupoNaCpu.length || grupoNaCpu[idCpu] == null) {
+            return;
+        }
+        contabilizarCpu(idCpu, ultimoTempo);
+        grupoNaCpu[idCpu].folha.liberarCpu(idCpu);
+        grupoNaCpu[idCpu] = null;
+    }
+
+    @Override
+    public boolean estaFinalizado() {
+        // Processos que terminaram na última fatia ainda não foram contabilizados
+        int pendentes = naoConcluidos;
+        for (Processo processo : processoNaCpu) {
+            if (processo != null && processo.isFinalizado()) {
+                pendentes--;
+            }
+        }
+        return pendentes <= 0;
+    }
+
+    @Override
+    public String obterNome() {
+        return "Fair Share Hierárquico (folha: " + nomePoliticaFolha + ")";
+    }
+
+    @Override
+    public List<Processo> obterTodosProcessos() {
+        return new ArrayList<>(processos);
+    }
+
+    @Override
+    public void retirarProcesso(Processo processo) {
+        processos.remove(processo);
+        Grupo grupo = grupoDoProcesso.remove(processo);
+        if (grupo != null) {
+            grupo.folha.retirarProcesso(processo);
+        }
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        int tamanho = raiz.folha != null ? raiz.folha.obterTamanhoFila() : 0;
+        for (Grupo grupo : grupos) {
+            if (grupo.folha != null) {
+                tamanho += grupo.folha.obterTamanhoFila();
+            }
+        }
+        return tamanho;
+    }
+
+    /**
+     * Esvazia o escalonador, mantendo a árvore de grupos com os seus pesos e cotas.
+     */
+    @Override
+    public void reiniciar() {
+        processos.clear();
+        grupoDoProcesso.clear();
+        chegadas.clear();
+        proximaChegada = 0;
+        chegadasOrdenadas = true;
+        naoConcluidos = 0;
+        raiz.reiniciar();
+        for (Grupo grupo : grupos) {
+            grupo.reiniciar();
+        }
+        Arrays.fill(grupoNaCpu, null);
+        Arrays.fill(processoNaCpu, null);
+        Arrays.fill(fatiasSeguidas, 0);
+        inicioPeriodo = 0;
+        ultimoTempo = 0;
+        contabilidadeFechada = false;
+    }
+
+    /**
+     * Retorna as estatísticas de cada grupo, na ordem de criação. As fatias executadas por
+     * último em cada CPU são contabilizadas antes, por isso deve ser chamado depois que a
+     * simulação termina.
+     *
+     * @return Estatísticas por grupo
+     */
+    public List<EstatisticasGrupo> obterEstatisticasGrupos() {
+        fecharContabilidade();
+        List<EstatisticasGrupo> estatisticas = new ArrayList<>();
+        // A última fatia executada termina uma unidade depois do último tempo visto
+        int duracao = ultimoTempo + 1;
+        for (Grupo grupo : grupos) {
+            long estrangulado = grupo.tempoEstrangulado;
+            if (grupo.estrangulado) {
+                estrangulado += Math.max(0, duracao - grupo.inicioEstrangulamento);
+            }
+            estatisticas.add(new EstatisticasGrupo(grupo.caminho, grupo.peso, grupo.cota, grupo.concluidos,
+                    grupo.tempoCpu, estrangulado, grupo.estrangulamentos,
+                    (double) grupo.concluidos / Math.max(1, grupo.ultimaConclusao)));
+        }
+        return estatisticas;
+    }
+
+    private void fecharContabilidade() {
+        if (contabilidadeFechada) {
+            return;
+        }
+        for (int i = 0; i < processoNaCpu.length; i++) {
+            contabilizarCpu(i, ultimoTempo + 1);
+        }
+        contabilidadeFechada = true;
+    }
+
+    @Override
+    public Map<String, Object> obterMetricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        long estranguladoTotal = 0;
+        for (EstatisticasGrupo grupo : obterEstatisticasGrupos()) {
+            metricas.put("Grupo " + grupo.getCaminho(), grupo);
+            estranguladoTotal += grupo.getTempoEstrangulado();
+        }
+        metricas.put("Tempo estrangulado total", estranguladoTotal);
+        return metricas;
+    }
+}
@@ -0,0 +1,589 @@
+package scheduler;
+
+import model.Processo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gang scheduling (coescalonamento) de processos com várias threads
+ * ({@link Processo#getNumeroThreads()}) sobre as CPUs do modo determinístico do motor.
+ *
+ * Os processos (gangs) são colocados em uma matriz de Ousterhout: cada linha é uma fatia de
+ * tempo e cada coluna uma CPU, e todas as threads de um gang ficam na mesma linha. As linhas
+ * não vazias executam em rodízio, {@code quantum} unidades cada, de modo que as threads de um
+ * gang sempre executam juntas. Colunas livres da linha ativa recebem gangs de outras linhas que
+ * cabem inteiros nelas (seleção alternativa), examinando no máximo {@link #LINHAS_ALTERNATIVAS}
+ * linhas. No modo livre do motor só a CPU 0 é consultada, então a matriz tem uma coluna e
+ * cada gang executa com uma única thread.
+ *
+ * Cada linha guarda as colunas ocupadas em um bitset, e uma árvore de segmentos sobre as linhas
+ * guarda o maior e o menor número de colunas livres de cada intervalo. Assim a primeira linha
+ * com espaço para um gang (first fit) e a próxima linha não vazia do rodízio são encontradas em
+ * O(log linhas), mesmo com milhares de gangs.
+ *
+ * Um gang nunca tem mais threads que as CPUs permitidas pela máscara de afinidade do processo,
+ * e um gang com afinidade só ocupa colunas permitidas: a sua linha é procurada percorrendo as
+ * linhas, e ele não participa da seleção alternativa.
+ *
+ * Sem coescalonamento, as threads de todos os gangs formam uma única fila circular: a cada
+ * {@code quantum} unidades as CPUs recebem as threads a partir do início da fila, que então
+ * avança uma thread, de modo que cada thread recebe a mesma fração da CPU.
+ * Um gang só avança quando todas as suas threads executam juntas, então as threads que executam
+ * sem as irmãs apenas ocupam a CPU; essa variante serve de referência para medir o ganho do
+ * coescalonamento.
+ */
+public class EscalonadorGang implements Escalonador {
+    /**
+     * Número máximo de linhas examinadas na seleção alternativa.
+     */
+    public static final int LINHAS_ALTERNATIVAS = 64;
+
+    /**
+     * Processo com as suas threads e a posição na matriz.
+     */
+    private static final class Gang {
+        private final Processo processo;
+        private final int tamanho;
+        private final long colunasPermitidas;   // Colunas abaixo de 64 permitidas, ou todas
+        private int linha = -1;
+        private int[] colunas;
+        private long marcaPasso = -1;   // Último passo em que o gang recebeu CPUs
+        private int colocadas;          // CPUs recebidas nesse passo
+
+        Gang(Processo processo, int tamanho, int numeroCpus) {
+            this.processo = processo;
+            this.tamanho = tamanho;
+            long mascara = processo.getMascaraAfinidade();
+            this.colunasPermitidas = mascara == Processo.TODAS_AS_CPUS || numeroCpus >= Long.SIZE
+                    ? mascara : mascara & ((1L << numeroCpus) - 1);
+        }
+
+        boolean temAfinidade() {
+            return colunasPermitidas != Processo.TODAS_AS_CPUS;
+        }
+
+        /**
+         * Colunas permitidas de uma palavra do bitset de uma linha.
+         */
+        long permitidasNaPalavra(int palavra) {
+            if (!temAfinidade()) {
+                return -1L;
+            }
+            return palavra == 0 ? colunasPermitidas : 0;
+        }
+    }
+
+    private final int quantum;
+    private final boolean coescalonar;
+
+    private final Set<Processo> processos;
+    private final List<Processo> chegadas;
+    private int proximaChegada;
+    private boolean chegadasOrdenadas;
+    private int numeroCpus;
+    private int gangsAtivos;
+
+    // Matriz de Ousterhout: linhas de bitsets com as colunas ocupadas
+    private int palavras;
+    private int capacidadeLinhas;
+    private long[] ocupacao;
+    private int[] livres;
+    private List<List<Gang>> membros;
+    private int[] maximoLivres;         // Árvore de segmentos: maior número de colunas livres
+    private int[] minimoLivres;         // Árvore de segmentos: menor número de colunas livres
+    private int linhasUsadas;
+    private int linhaAtiva;
+    private int inicioLinha;
+
+    // Sem coescalonamento: fila circular de threads, com um registro do gang por thread
+    private final ArrayDeque<Gang> filaThreads;
+    private Gang[] selecao;
+
+    // Atribuição do passo atual
+    private Gang[] atribuicao;
+    private int tempoAtribuicao;
+    private final List<Gang> emExecucao;
+
+    private long passos;
+    private long slotsOciosos;
+    private long slotsOciososComEspera;
+    private long slotsSemCoescalonamento;
+    private long selecoesAlternativas;
+    private int linhasMaximas;
+
+    /**
+     * Construtor para o escalonador gang.
+     *
+     * @param quantum Unidades de tempo de cada linha da matriz (ou de cada rodada de threads)
+     * @param coescalonar Se as threads de um gang executam sempre juntas
+     */
+    public EscalonadorGang(int quantum, boolean coescalonar) {
+        this.quantum = Math.max(1, quantum);
+        this.coescalonar = coescalonar;
+        this.processos = new LinkedHashSet<>();
+        this.chegadas = new ArrayList<>();
+        this.emExecucao = new ArrayList<>();
+        this.filaThreads = new ArrayDeque<>();
+        this.numeroCpus = 1;
+        reiniciarEstado();
+    }
+
+    /**
+     * As threads de um gang recebem várias CPUs no mesmo passo, inclusive sem coescalonamento.
+     */
+    @Override
+    public boolean coescalonaThreads() {
+        return true;
+    }
+
+    @Override
+    public void configurarCpus(double[] velocidades) {
+        numeroCpus = Math.max(1, velocidades.length);
+        reiniciarEstado();
+    }
+
+    @Override
+    public void adicionarProcesso(Processo processo) {
+        processos.add(processo);
+        chegadas.add(processo);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public void adicionarProcessos(List<Processo> processos) {
+        this.processos.addAll(processos);
+        chegadas.addAll(processos);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        if (tempoAtual != tempoAtribuicao) {
+            montarAtribuicao(tempoAtual);
+        }
+        Gang gang = idCpu < atribuicao.length ? atribuicao[idCpu] : null;
+        return gang == null || gang.processo.isFinalizado() ? null : gang.processo;
+    }
+
+    /**
+     * Decide, uma vez por unidade de tempo, o gang de cada CPU.
+     */
+    private void montarAtribuicao(int tempo) {
+        tempoAtribuicao = tempo;
+        admitirChegadas(tempo);
+        liberarConcluidos();
+        emExecucao.clear();
+        Arrays.fill(atribuicao, null);
+
+        if (coescalonar) {
+            atribuirLinha(tempo);
+        } else {
+            atribuirThreads(tempo);
+        }
+
+        // Contabilidade do passo: CPUs ociosas e threads que executam sem as irmãs
+        passos++;
+        int ocupadas = 0;
+        int gangsEmExecucao = 0;
+        for (Gang gang : atribuicao) {
+            if (gang == null) {
+                continue;
+            }
+            ocupadas++;
+            if (gang.marcaPasso != passos) {
+                gang.marcaPasso = passos;
+                gang.colocadas = 0;
+                gangsEmExecucao++;
+            }
+            gang.colocadas++;
+        }
+        for (Gang gang : atribuicao) {
+            if (gang != null && gang.colocadas < gang.tamanho) {
+                slotsSemCoescalonamento++;
+            }
+        }
+        slotsOciosos += numeroCpus - ocupadas;
+        if (gangsAtivos > gangsEmExecucao) {
+            slotsOciososComEspera += numeroCpus - ocupadas;
+        }
+    }
+
+    /**
+     * Executa a linha ativa da matriz e preenche as colunas livres com gangs de outras linhas.
+     */
+    private void atribuirLinha(int tempo) {
+        if (linhaAtiva < 0 || tempo - inicioLinha >= quantum || livres[linhaAtiva] == numeroCpus) {
+            linhaAtiva = proximaLinhaOcupada(linhaAtiva + 1);
+            if (linhaAtiva < 0) {
+                linhaAtiva = proximaLinhaOcupada(0);
+            }
+            inicioLinha = tempo;
+        }
+        if (linhaAtiva < 0) {
+            return;
+        }
+
+        for (Gang gang : membros.get(linhaAtiva)) {
+            for (int coluna : gang.colunas) {
+                atribuicao[coluna] = gang;
+            }
+            emExecucao.add(gang);
+        }
+
+        // Seleção alternativa: gangs de outras linhas que cabem inteiros nas colunas livres
+        int ociosas = livres[linhaAtiva];
+        int coluna = 0;
+        for (int k = 1; k <= LINHAS_ALTERNATIVAS && k < linhasUsadas && ociosas > 0; k++) {
+            int linha = (linhaAtiva + k) % linhasUsadas;
+            for (Gang gang : membros.get(linha)) {
+                // As colunas livres podem não ser permitidas a um gang com afinidade
+                if (gang.tamanho > ociosas || gang.temAfinidade()) {
+                    continue;
+                }
+                for (int colocadas = 0; colocadas < gang.tamanho; coluna++) {
+                    if (atribuicao[coluna] == null) {
+                        atribuicao[coluna] = gang;
+                        colocadas++;
+                    }
+                }
+                ociosas -= gang.tamanho;
+                emExecucao.add(gang);
+                selecoesAlternativas++;
+                if (ociosas == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sem coescalonamento: a cada {@code quantum} unidades cada CPU recebe a próxima thread da
+     * fila circular, sem considerar as irmãs.
+     */
+    private void atribuirThreads(int tempo) {
+        if (selecao == null || tempo - inicioLinha >= quantum) {
+            selecao = new Gang[numeroCpus];
+            inicioLinha = tempo;
+            List<Gang> examinadas = new ArrayList<>();
+            int cpusLivres = numeroCpus;
+            int disponiveis = filaThreads.size();
+            for (; cpusLivres > 0 && disponiveis > 0; disponiveis--) {
+                Gang gang = filaThreads.pollFirst();
+                // Threads de gangs concluídos saem da fila quando chegam à frente
+                if (gang.processo.isFinalizado()) {
+                    continue;
+                }
+                examinadas.add(gang);
+                // Cada thread vai para a primeira CPU livre que a afinidade permite; sem nenhuma,
+                // espera a próxima rodada
+                int cpu = 0;
+                while (cpu < numeroCpus && (selecao[cpu] != null || !gang.processo.podeExecutarEm(cpu))) {
+                    cpu++;
+                }
+                if (cpu < numeroCpus) {
+                    selecao[cpu] = gang;
+                    cpusLivres--;
+                }
+            }
+            // A rodada seguinte começa uma thread adiante. As threads de um gang ficam juntas na
+            // fila, então cada gang começa uma rodada, e executa inteiro, a cada volta da fila;
+            // avançar pelo número de threads examinadas pode repetir um ciclo de rodadas em que
+            // as threads de um gang nunca executam juntas
+            for (int i = examinadas.size() - 1; i >= 0; i--) {
+                filaThreads.addFirst(examinadas.get(i));
+            }
+            if (!filaThreads.isEmpty()) {
+                filaThreads.addLast(filaThreads.pollFirst());
+            }
+        }
+        for (int cpu = 0; cpu < numeroCpus; cpu++) {
+            Gang gang = selecao[cpu];
+            if (gang != null && !gang.processo.isFinalizado()) {
+                atribuicao[cpu] = gang;
+                emExecucao.add(gang);
+            }
+        }
+    }
+
+    /**
+     * Retira da matriz os gangs que terminaram desde o último passo.
+     */
+    private void liberarConcluidos() {
+        for (Gang gang : emExecucao) {
+            if (gang.processo.isFinalizado() && gang.marcaPasso != Long.MIN_VALUE) {
+                gang.marcaPasso = Long.MIN_VALUE;
+                gangsAtivos--;
+                if (gang.linha >= 0) {
+                    remover(gang);
+                }
+            }
+        }
+    }
+
+    /**
+     * Move para a matriz (ou para a fila de threads), em ordem de chegada, os processos que
+     * chegaram até o tempo atual.
+     */
+    private void admitirChegadas(int tempoAtual) {
+        if (!chegadasOrdenadas) {
+            chegadas.subList(0, proximaChegada).clear();
+            chegadas.sort(Comparator.comparingInt(Processo::getTempoChegada));
+            proximaChegada = 0;
+            chegadasOrdenadas = true;
+        }
+        while (proximaChegada < chegadas.size() && chegadas.get(proximaChegada).getTempoChegada() <= tempoAtual) {
+            Processo processo = chegadas.get(proximaChegada++);
+            // Processos sem tempo de execução nunca são escalonados
+            if (processo.isFinalizado() || processo.getTempoExecucao() <= 0) {
+                continue;
+            }
+            Gang gang = new Gang(processo,
+                    Math.min(processo.getNumeroThreads(), processo.contarCpusPermitidas(numeroCpus)), numeroCpus);
+            // Sem nenhuma CPU permitida o processo nunca é escalonado
+            if (gang.tamanho == 0) {
+                continue;
+            }
+            gangsAtivos++;
+            if (coescalonar) {
+                alocar(gang);
+            } else {
+                for (int i = 0; i < gang.tamanho; i++) {
+                    filaThreads.addLast(gang);
+                }
+            }
+        }
+    }
+
+    /**
+     * Coloca o gang na primeira linha com colunas livres suficientes, nas colunas livres de
+     * menor índice.
+     */
+    private void alocar(Gang gang) {
+        int linha = gang.temAfinidade() ? primeiraLinhaPermitida(gang) : primeiraLinhaComLivres(gang.tamanho);
+        if (linha < 0) {
+            crescer();
+            linha = gang.temAfinidade() ? primeiraLinhaPermitida(gang) : primeiraLinhaComLivres(gang.tamanho);
+        }
+
+        gang.linha = linha;
+        gang.colunas = new int[gang.tamanho];
+        int base = linha * palavras;
+        int colocadas = 0;
+        for (int palavra = 0; palavra < palavras && colocadas < gang.tamanho; palavra++) {
+            long livresPalavra = ~ocupacao[base + palavra] & gang.permitidasNaPalavra(palavra);
+            while (livresPalavra != 0 && colocadas < gang.tamanho) {
+                int coluna = palavra * 64 + Long.numberOfTrailingZeros(livresPalavra);
+                if (coluna >= numeroCpus) {
+                    break;
+                }
+                livresPalavra &= livresPalavra - 1;
+                ocupacao[base + palavra] |= 1L << (coluna & 63);
+                gang.colunas[colocadas++] = coluna;
+            }
+        }
+        membros.get(linha).add(gang);
+        atualizarLinha(linha, livres[linha] - gang.tamanho);
+        linhasUsadas = Math.max(linhasUsadas, linha + 1);
+        linhasMaximas = Math.max(linhasMaximas, linhasUsadas);
+    }
+
+    private void remover(Gang gang) {
+        int base = gang.linha * palavras;
+        for (int coluna : gang.colunas) {
+            ocupacao[base + (coluna >>> 6)] &= ~(1L << (coluna & 63));
+        }
+        membros.get(gang.linha).remove(gang);
+        atualizarLinha(gang.linha, livres[gang.linha] + gang.tamanho);
+        // As linhas vazias do fim da matriz deixam de fazer parte do rodízio
+        while (linhasUsadas > 0 && livres[linhasUsadas - 1] == numeroCpus) {
+            linhasUsadas--;
+        }
+        gang.linha = -1;
+    }
+
+    /**
+     * Primeira linha com pelo menos {@code quantidade} colunas livres, ou -1 se não houver.
+     */
+    private int primeiraLinhaComLivres(int quantidade) {
+        if (maximoLivres[1] < quantidade) {
+            return -1;
+        }
+        int no = 1;
+        while (no < capacidadeLinhas) {
+            no = maximoLivres[2 * no] >= quantidade ? 2 * no : 2 * no + 1;
+        }
+        return no - capacidadeLinhas;
+    }
+
+    /**
+     * Primeira linha com colunas livres e permitidas suficientes para um gang com afinidade, ou
+     * -1 se não houver. As colunas permitidas ficam na primeira palavra do bitset, mas a árvore
+     * só conta as colunas livres, então as linhas são percorridas uma a uma.
+     */
+    private int primeiraLinhaPermitida(Gang gang) {
+        for (int linha = 0; linha < capacidadeLinhas; linha++) {
+            if (Long.bitCount(~ocupacao[linha * palavras] & gang.colunasPermitidas) >= gang.tamanho) {
+                return linha;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Primeira linha não vazia a partir de {@code inicio}, ou -1 se não houver.
+     */
+    private int proximaLinhaOcupada(int inicio) {
+        return inicio >= capacidadeLinhas ? -1 : proximaLinhaOcupada(1, 0, capacidadeLinhas - 1, inicio);
+    }
+
+    private int proximaLinhaOcupada(int no, int esquerda, int direita, int inicio) {
+        if (direita < inicio || minimoLivres[no] >= numeroCpus) {
+            return -1;
+        }
+        if (esquerda == direita) {
+            return esquerda;
+        }
+        int meio = (esquerda + direita) >>> 1;
+        int resultado = proximaLinhaOcupada(2 * no, esquerda, meio, inicio);
+        return resultado >= 0 ? resultado : proximaLinhaOcupada(2 * no + 1, meio + 1, direita, inicio);
+    }
+
+    private void atualizarLinha(int linha, int colunasLivres) {
+        livres[linha] = colunasLivres;
+        int no = linha + capacidadeLinhas;
+        maximoLivres[no] = colunasLivres;
+        minimoLivres[no] = colunasLivres;
+        for (no >>>= 1; no >= 1; no >>>= 1) {
+            maximoLivres[no] = Math.max(maximoLivres[2 * no], maximoLivres[2 * no + 1]);
+            minimoLivres[no] = Math.min(minimoLivres[2 * no], minimoLivres[2 * no + 1]);
+        }
+    }
+
+    /**
+     * Dobra o número de linhas da matriz.
+     */
+    private void crescer() {
+        int capacidadeAnterior = capacidadeLinhas;
+        capacidadeLinhas *= 2;
+        ocupacao = Arrays.copyOf(ocupacao, capacidadeLinhas * palavras);
+        livres = Arrays.copyOf(livres, capacidadeLinhas);
+        Arrays.fill(livres, capacidadeAnterior, capacidadeLinhas, numeroCpus);
+        for (int linha = capacidadeAnterior; linha < capacidadeLinhas; linha++) {
+            membros.add(new ArrayList<>());
+        }
+        construirArvore();
+    }
+
+    private void construirArvore() {
+        maximoLivres = new int[2 * capacidadeLinhas];
+        minimoLivres = new int[2 * capacidadeLinhas];
+        for (int linha = 0; linha < capacidadeLinhas; linha++) {
+            maximoLivres[capacidadeLinhas + linha] = livres[linha];
+            minimoLivres[capacidadeLinhas + linha] = livres[linha];
+        }
+        for (int no = capacidadeLinhas - 1; no >= 1; no--) {
+            maximoLivres[no] = Math.max(maximoLivres[2 * no], maximoLivres[2 * no + 1]);
+            minimoLivres[no] = Math.min(minimoLivres[2 * no], minimoLivres[2 * no + 1]);
+        }
+    }
+
+    /**
+     * Esvazia a matriz, a fila de threads e as métricas, mantendo os processos adicionados.
+     */
+    private void reiniciarEstado() {
+        palavras = (numeroCpus + 63) >>> 6;
+        capacidadeLinhas = 16;
+        ocupacao = new long[capacidadeLinhas * palavras];
+        livres = new int[capacidadeLinhas];
+        Arrays.fill(livres, numeroCpus);
+        membros = new ArrayList<>();
+        for (int linha = 0; linha < capacidadeLinhas; linha++) {
+            membros.add(new ArrayList<>());
+        }
+        construirArvore();
+        linhasUsadas = 0;
+        linhaAtiva = -1;
+        inicioLinha = 0;
+        filaThreads.clear();
+        selecao = null;
+        atribuicao = new Gang[numeroCpus];
+        tempoAtribuicao = -1;
+        emExecucao.clear();
+        proximaChegada = 0;
+        chegadasOrdenadas = false;
+        chegadas.clear();
+        chegadas.addAll(processos);
+        gangsAtivos = 0;
+        passos = 0;
+        slotsOciosos = 0;
+        slotsOciososComEspera = 0;
+        slotsSemCoescalonamento = 0;
+        selecoesAlternativas = 0;
+        linhasMaximas = 0;
+    }
+
+    /**
+     * Libera os gangs concluídos antes de responder. O laço com bloqueio do motor consulta este
+     * método fora do monitor do escalonador, então ele o adquire para não alterar a matriz
+     * enquanto outra thread escolhe um processo.
+     */
+    @Override
+    public synchronized boolean estaFinalizado() {
+        liberarConcluidos();
+        return proximaChegada >= chegadas.size() && gangsAtivos == 0;
+    }
+
+    @Override
+    public String obterNome() {
+        return (coescalonar ? "Gang scheduling" : "Threads independentes") + " - Quantum: " + quantum;
+    }
+
+    @Override
+    public List<Processo> obterTodosProcessos() {
+        return new ArrayList<>(processos);
+    }
+
+    @Override
+    public void retirarProcesso(Processo processo) {
+        processos.remove(processo);
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return gangsAtivos;
+    }
+
+    @Override
+    public void reiniciar() {
+        processos.clear();
+        reiniciarEstado();
+    }
+
+    @Override
+    public Map<String, Object> obterMetricas() {
+        long slots = passos * numeroCpus;
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        if (coescalonar) {
+            metricas.put("Linhas da matriz (máximo)", linhasMaximas);
+            metricas.put("Seleções alternativas", selecoesAlternativas);
+        }
+        metricas.put("Slots ociosos", slotsOciosos);
+        metricas.put("Slots ociosos com gangs esperando", slotsOciososComEspera);
+        metricas.put("Slots sem coescalonamento", slotsSemCoescalonamento);
+        metricas.put("Fragmentação", String.format("%.2f%%", slots == 0 ? 0.0 : 100.0 * slotsOciososComEspera / slots));
+        return metricas;
+    }
+}
@@ -0,0 +1,185 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Escalonamento por loteria: a cada escolha é sorteado um bilhete entre os dos processos
+ * prontos e a CPU vai para o dono do bilhete. Os bilhetes ficam em uma árvore de Fenwick
+ * indexada pela posição de cada processo, então o sorteio, a inclusão, a retirada e a mudança
+ * de bilhetes custam O(log n). O sorteio usa uma semente fixa, de modo que a mesma carga
+ * produz o mesmo resultado.
+ */
+public class EscalonadorLoteria extends EscalonadorProporcional {
+    /**
+     * Sorteios tentados antes de procurar linearmente um processo que possa executar na CPU.
+     */
+    private static final int TENTATIVAS_SORTEIO = 32;
+
+    private final long semente;
+    private Random aleatorio;
+    private long[] arvore;           // Árvore de Fenwick (índices a partir de 1)
+    private Cliente[] porPosicao;
+    private int[] livres;
+    private int quantidadeLivres;
+    private int proximaPosicao;
+    private long totalBilhetes;
+    private long sorteiosRepetidos;
+
+    /**
+     * Construtor para o escalonador por loteria.
+     *
+     * @param quantum Unidades de tempo executadas a cada sorteio
+     * @param semente Semente do sorteio
+     */
+    public EscalonadorLoteria(int quantum, long semente) {
+        super(quantum);
+        this.semente = semente;
+        limparEstrutura();
+    }
+
+    private void limparEstrutura() {
+        aleatorio = new Random(semente);
+        arvore = new long[17];
+        porPosicao = new Cliente[17];
+        livres = new int[16];
+        quantidadeLivres = 0;
+        proximaPosicao = 1;
+        totalBilhetes = 0;
+        sorteiosRepetidos = 0;
+    }
+
+    @Override
+    protected void inserir(Cliente cliente) {
+        int posicao;
+        if (quantidadeLivres > 0) {
+            posicao = livres[--quantidadeLivres];
+        } else {
+            if (proximaPosicao == arvore.length) {
+                crescer();
+            }
+            posicao = proximaPosicao++;
+        }
+        porPosicao[posicao] = cliente;
+        cliente.posicao = posicao;
+        somar(posicao, cliente.bilhetes());
+    }
+
+    @Override
+    protected void retirar(Cliente cliente) {
+        somar(cliente.posicao, -cliente.bilhetes());
+        porPosicao[cliente.posicao] = null;
+        if (quantidadeLivres == livres.length) {
+            livres = Arrays.copyOf(livres, livres.length * 2);
+        }
+        livres[quantidadeLivres++] = cliente.posicao;
+        cliente.posicao = -1;
+    }
+
+    @Override
+    protected Cliente escolher(int idCpu) {
+        if (totalBilhetes == 0) {
+            return null;
+        }
+        for (int tentativa = 0; tentativa < TENTATIVAS_SORTEIO; tentativa++) {
+            Cliente sorteado = porPosicao[buscar(sortear(totalBilhetes))];
+            if (sorteado.processo.podeExecutarEm(idCpu)) {
+                return sorteado;
+            }
+            sorteiosRepetidos++;
+        }
+
+        // Poucos prontos podem executar nesta CPU: sorteia apenas entre eles
+        long permitidos = 0;
+        for (int posicao = 1; posicao < proximaPosicao; posicao++) {
+            Cliente cliente = porPosicao[posicao];
+            if (cliente != null && cliente.processo.podeExecutarEm(idCpu)) {
+                permitidos += cliente.bilhetes();
+            }
+        }
+        if (permitidos == 0) {
+            return null;
+        }
+        long bilhete = sortear(permitidos);
+        for (int posicao = 1; posicao < proximaPosicao; posicao++) {
+            Cliente cliente = porPosicao[posicao];
+            if (cliente != null && cliente.processo.podeExecutarEm(idCpu)) {
+                bilhete -= cliente.bilhetes();
+                if (bilhete < 0) {
+                    return cliente;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void aoAlterarBilhetes(Cliente cliente, int anteriores, boolean pronto) {
+        if (pronto) {
+            somar(cliente.posicao, cliente.bilhetes() - anteriores);
+        }
+    }
+
+    private long sortear(long limite) {
+        return Math.min(limite - 1, (long) (aleatorio.nextDouble() * limite));
+    }
+
+    private void somar(int posicao, long valor) {
+        totalBilhetes += valor;
+        for (int i = posicao; i < arvore.length; i += i & -i) {
+            arvore[i] += valor;
+        }
+    }
+
+    /**
+     * Retorna a posição que contém o bilhete informado (contado a partir de 0).
+     */
+    private int buscar(long bilhete) {
+        int posicao = 0;
+        for (int passo = Integer.highestOneBit(arvore.length - 1); passo > 0; passo >>= 1) {
+            int proxima = posicao + passo;
+            if (proxima < arvore.length && arvore[proxima] <= bilhete) {
+                posicao = proxima;
+                bilhete -= arvore[proxima];
+            }
+        }
+        return posicao + 1;
+    }
+
+    /**
+     * Dobra a capacidade e reconstrói a árvore em tempo linear.
+     */
+    private void crescer() {
+        int capacidade = (arvore.length - 1) * 2;
+        porPosicao = Arrays.copyOf(porPosicao, capacidade + 1);
+        arvore = new long[capacidade + 1];
+        for (int i = 1; i <= capacidade; i++) {
+            if (porPosicao[i] != null) {
+                arvore[i] += porPosicao[i].bilhetes();
+            }
+            int pai = i + (i & -i);
+            if (pai <= capacidade) {
+                arvore[pai] += arvore[i];
+            }
+        }
+    }
+
+    @Override
+    public String obterNome() {
+        return "Loteria - Quantum: " + quantum;
+    }
+
+    @Override
+    public void reiniciar() {
+        super.reiniciar();
+        limparEstrutura();
+    }
+
+    @Override
+    public Map<String, Object> obterMetricas() {
+        Map<String, Object> metricas = super.obterMetricas();
+        metricas.put("Sorteios repetidos por afinidade", sorteiosRepetidos);
+        return metricas;
+    }
+}
@@ -0,0 +1,375 @@
+package scheduler;
+
+import model.Processo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escalonamento por prioridade com envelhecimento (aging), nas variantes preemptiva e não
+ * preemptiva. Quanto menor {@link Processo#getPrioridade()}, maior a prioridade; valores acima
+ * de {@link #NIVEIS} - 1 são tratados como o último nível.
+ *
+ * Um processo pronto ganha um nível de prioridade a cada {@code intervaloEnvelhecimento}
+ * unidades de espera, ou seja, o seu nível efetivo no tempo t é
+ * {@code max(0, prioridade - (t - enfileiramento) / intervalo)}, com divisão inteira. Entre os
+ * prontos, o escolhido é o de menor chave fixa {@code prioridade * intervalo + enfileiramento},
+ * que ordena pela prioridade envelhecida sem arredondamento (e, no mesmo nível efetivo, pela
+ * espera); como a chave não muda, nenhum processo precisa ser atualizado com o passar do tempo:
+ * o envelhecimento custa O(1) por unidade de tempo, qualquer que seja o tamanho da fila.
+ *
+ * Os prontos ficam em uma fila por nível de prioridade base (bucket queue). Dentro de um nível
+ * os processos entram em ordem de enfileiramento, então o primeiro de cada nível tem a menor
+ * chave do nível e a escolha examina no máximo um processo por nível não vazio.
+ *
+ * Na variante preemptiva o processo em execução tem a sua prioridade base (não envelhece) e é
+ * preemptado, depois de executar pelo menos a fatia mínima, apenas por um pronto cujo nível
+ * efetivo seja estritamente menor que o seu; ao voltar para a fila ele perde o crédito de
+ * envelhecimento. Dois processos de mesma prioridade base se alternam, portanto, no máximo a
+ * cada {@code intervalo} unidades.
+ */
+public class EscalonadorPrioridade implements Escalonador {
+    /**
+     * Número de níveis de prioridade.
+     */
+    public static final int NIVEIS = 64;
+
+    /**
+     * Processo na fila de prontos, com o instante em que entrou nela.
+     */
+    private static final class Pronto {
+        private final Processo processo;
+        private final int nivel;
+        private final int enfileiramento;
+
+        Pronto(Processo processo, int nivel, int enfileiramento) {
+            this.processo = processo;
+            this.nivel = nivel;
+            this.enfileiramento = enfileiramento;
+        }
+    }
+
+    private final boolean preemptivo;
+    private final int intervaloEnvelhecimento;
+    private final int fatiaMinima;
+    private final int limiteInanicao;
+
+    private final Set<Processo> processos;
+    private final List<Processo> chegadas;
+    private int proximaChegada;
+    private boolean chegadasOrdenadas;
+    private final ArrayDeque<Pronto>[] filas = criarFilas();
+    private long niveisOcupados;     // Bit i ligado se a fila do nível i não está vazia
+    private int prontos;
+    private Processo[] processoAtual;
+    private int[] inicioFatia;
+    private int ultimoTempo;
+
+    private long despachos;
+    private long despachosPorEnvelhecimento;
+    private long preempcoes;
+    private long esperasAcimaDoLimite;
+    private long somaEsperas;
+    private final int[] esperaMaximaPorNivel;
+
+    /**
+     * Construtor para o escalonador por prioridade.
+     *
+     * @param preemptivo Se um pronto de prioridade efetiva melhor preempta o processo em execução
+     * @param intervaloEnvelhecimento Unidades de espera para ganhar um nível de prioridade
+     * @param fatiaMinima Unidades que um processo executa antes de poder ser preemptado
+     * @param limiteInanicao Espera a partir da qual um despacho é contado como inanição
+     */
+    public EscalonadorPrioridade(boolean preemptivo, int intervaloEnvelhecimento, int fatiaMinima,
+                                 int limiteInanicao) {
+        this.preemptivo = preemptivo;
+        this.intervaloEnvelhecimento = Math.max(1, intervaloEnvelhecimento);
+        this.fatiaMinima = Math.max(1, fatiaMinima);
+        this.limiteInanicao = Math.max(1, limiteInanicao);
+        this.processos = new LinkedHashSet<>();
+        this.chegadas = new ArrayList<>();
+        this.chegadasOrdenadas = true;
+        this.processoAtual = new Processo[1];
+        this.inicioFatia = new int[1];
+        this.esperaMaximaPorNivel = new int[NIVEIS];
+    }
+
+    @Override
+    public void adicionarProcesso(Processo processo) {
+        processos.add(processo);
+        chegadas.add(processo);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public void adicionarProcessos(List<Processo> processos) {
+        this.processos.addAll(processos);
+        chegadas.addAll(processos);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        if (idCpu >= processoAtual.length) {
+            processoAtual = Arrays.copyOf(processoAtual, idCpu + 1);
+            inicioFatia = Arrays.copyOf(inicioFatia, idCpu + 1);
+        }
+
+        ultimoTempo = Math.max(ultimoTempo, tempoAtual);
+        admitirChegadas(tempoAtual);
+
+        Processo atual = processoAtual[idCpu];
+        if (atual != null && atual.isFinalizado()) {
+            atual = null;
+            processoAtual[idCpu] = null;
+        }
+
+        if (atual != null) {
+            if (!preemptivo || tempoAtual - inicioFatia[idCpu] < fatiaMinima) {
+                return atual;
+            }
+            // O processo em execução não envelhece: só um nível efetivo estritamente melhor o preempta
+            Pronto melhor = escolher(idCpu);
+            if (melhor == null || nivelEfetivo(melhor, tempoAtual) >= nivel(atual)) {
+                return atual;
+            }
+            EventoPreempcao.registrar(atual, tempoAtual, fatiaMinima);
+            enfileirar(atual, tempoAtual);
+            preempcoes++;
+        }
+
+        Pronto escolhido = escolher(idCpu);
+        if (escolhido == null) {
+            processoAtual[idCpu] = null;
+            return null;
+        }
+        despachar(escolhido, idCpu, tempoAtual);
+        return escolhido.processo;
+    }
+
+    /**
+     * Escolhe, sem retirar, o pronto de menor chave que pode executar na CPU, examinando o
+     * primeiro processo permitido de cada nível não vazio.
+     */
+    private Pronto escolher(int idCpu) {
+        Pronto melhor = null;
+        for (long ocupados = niveisOcupados; ocupados != 0; ocupados &= ocupados - 1) {
+            int nivel = Long.numberOfTrailingZeros(ocupados);
+            Pronto candidato = primeiroPermitido(filas[nivel], idCpu);
+            if (candidato != null && (melhor == null || chave(candidato) < chave(melhor))) {
+                melhor = candidato;
+            }
+        }
+        return melhor;
+    }
+
+    private static Pronto primeiroPermitido(ArrayDeque<Pronto> fila, int idCpu) {
+        Pronto primeiro = fila.peekFirst();
+        if (primeiro.processo.podeExecutarEm(idCpu)) {
+            return primeiro;
+        }
+        for (Pronto pronto : fila) {
+            if (pronto.processo.podeExecutarEm(idCpu)) {
+                return pronto;
+            }
+        }
+        return null;
+    }
+
+    private void despachar(Pronto escolhido, int idCpu, int tempoAtual) {
+        ArrayDeque<Pronto> fila = filas[escolhido.nivel];
+        if (fila.peekFirst() == escolhido) {
+            fila.pollFirst();
+        } else {
+            fila.removeFirstOccurrence(escolhido);
+        }
+        if (fila.isEmpty()) {
+            niveisOcupados &= ~(1L << escolhido.nivel);
+        }
+        prontos--;
+
+        // Um nível de prioridade base melhor com processo esperando indica que o envelhecimento decidiu
+        if (Long.numberOfTrailingZeros(niveisOcupados) < escolhido.nivel) {
+            despachosPorEnvelhecimento++;
+        }
+
+        int espera = tempoAtual - escolhido.enfileiramento;
+        somaEsperas += espera;
+        esperaMaximaPorNivel[escolhido.nivel] = Math.max(esperaMaximaPorNivel[escolhido.nivel], espera);
+        if (espera >= limiteInanicao) {
+            esperasAcimaDoLimite++;
+        }
+        despachos++;
+
+        processoAtual[idCpu] = escolhido.processo;
+        inicioFatia[idCpu] = tempoAtual;
+    }
+
+    private void enfileirar(Processo processo, int tempoAtual) {
+        int nivel = nivel(processo);
+        filas[nivel].addLast(new Pronto(processo, nivel, tempoAtual));
+        niveisOcupados |= 1L << nivel;
+        prontos++;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArrayDeque<Pronto>[] criarFilas() {
+        ArrayDeque<Pronto>[] filas = new ArrayDeque[NIVEIS];
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            filas[nivel] = new ArrayDeque<>();
+        }
+        return filas;
+    }
+
+    /**
+     * Nível do pronto no tempo informado: um nível a menos por intervalo completo de espera.
+     */
+    private int nivelEfetivo(Pronto pronto, int tempoAtual) {
+        return Math.max(0, pronto.nivel - (tempoAtual - pronto.enfileiramento) / intervaloEnvelhecimento);
+    }
+
+    private static int nivel(Processo processo) {
+        return Math.min(processo.getPrioridade(), NIVEIS - 1);
+    }
+
+    private long chave(Pronto pronto) {
+        return chave(pronto.nivel, pronto.enfileiramento);
+    }
+
+    private long chave(int nivel, int enfileiramento) {
+        return (long) nivel * intervaloEnvelhecimento + enfileiramento;
+    }
+
+    /**
+     * Move para as filas, em ordem de chegada, os processos que chegaram até o tempo atual.
+     */
+    private void admitirChegadas(int tempoAtual) {
+        if (!chegadasOrdenadas) {
+            chegadas.subList(0, proximaChegada).clear();
+            chegadas.sort(Comparator.comparingInt(Processo::getTempoChegada));
+            proximaChegada = 0;
+            chegadasOrdenadas = true;
+        }
+        while (proximaChegada < chegadas.size() && chegadas.get(proximaChegada).getTempoChegada() <= tempoAtual) {
+            Processo processo = chegadas.get(proximaChegada++);
+            // Processos sem tempo de execução nunca são escalonados
+            if (!processo.isFinalizado() && processo.getTempoExecucao() > 0) {
+                enfileirar(processo, processo.getTempoChegada());
+            }
+        }
+    }
+
+    @Override
+    public void liberarCpu(int idCpu) {
+        if (idCpu >= processoAtual.length || processoAtual[idCpu] == null) {
+            return;
+        }
+        if (!processoAtual[idCpu].isFinalizado()) {
+            enfileirar(processoAtual[idCpu], ultimoTempo);
+        }
+        processoAtual[idCpu] = null;
+    }
+
+    @Override
+    public boolean estaFinalizado() {
+        if (proximaChegada < chegadas.size() || prontos > 0) {
+            return false;
+        }
+        for (Processo atual : processoAtual) {
+            if (atual != null && !atual.isFinalizado()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String obterNome() {
+        return "Prioridade " + (preemptivo ? "preemptiva" : "não preemptiva")
+                + " - Envelhecimento: " + intervaloEnvelhecimento;
+    }
+
+    @Override
+    public List<Processo> obterTodosProcessos() {
+        return new ArrayList<>(processos);
+    }
+
+    @Override
+    public void retirarProcesso(Processo processo) {
+        processos.remove(processo);
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            Iterator<Pronto> iterador = filas[nivel].iterator();
+            while (iterador.hasNext()) {
+                if (iterador.next().processo == processo) {
+                    iterador.remove();
+                    prontos--;
+                }
+            }
+            if (filas[nivel].isEmpty()) {
+                niveisOcupados &= ~(1L << nivel);
+            }
+        }
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return prontos;
+    }
+
+    @Override
+    public void reiniciar() {
+        processos.clear();
+        chegadas.clear();
+        proximaChegada = 0;
+        chegadasOrdenadas = true;
+        for (ArrayDeque<Pronto> fila : filas) {
+            fila.clear();
+        }
+        niveisOcupados = 0;
+        prontos = 0;
+        processoAtual = new Processo[1];
+        inicioFatia = new int[1];
+        ultimoTempo = 0;
+        despachos = 0;
+        despachosPorEnvelhecimento = 0;
+        preempcoes = 0;
+        esperasAcimaDoLimite = 0;
+        somaEsperas = 0;
+        Arrays.fill(esperaMaximaPorNivel, 0);
+    }
+
+    @Override
+    public Map<String, Object> obterMetricas() {
+        int esperaMaxima = 0;
+        Map<Integer, Integer> esperaMaximaPorPrioridade = new LinkedHashMap<>();
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            if (esperaMaximaPorNivel[nivel] > 0) {
+                esperaMaximaPorPrioridade.put(nivel, esperaMaximaPorNivel[nivel]);
+                esperaMaxima = Math.max(esperaMaxima, esperaMaximaPorNivel[nivel]);
+            }
+        }
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("Despachos", despachos);
+        metricas.put("Despachos por envelhecimento", despachosPorEnvelhecimento);
+        metricas.put("Preempções", preempcoes);
+        metricas.put("Espera média por despacho", despachos == 0 ? 0.0 : (double) somaEsperas / despachos);
+        metricas.put("Espera máxima na fila", esperaMaxima);
+        metricas.put("Espera máxima por prioridade", esperaMaximaPorPrioridade);
+        metricas.put("Despachos após inanição (espera >= " + limiteInanicao + ")", esperasAcimaDoLimite);
+        return metricas;
+    }
+}
@@ -0,0 +1,395 @@
+package scheduler;
+
+import model.Processo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base dos escalonadores de participação proporcional, em que cada processo recebe CPU na
+ * proporção dos seus bilhetes ({@link Processo#getBilhetes()}). Cuida das chegadas, do quantum
+ * de cada CPU e da medição da precisão das participações; as subclasses só mantêm o conjunto
+ * de prontos e escolhem o próximo processo.
+ *
+ * A precisão é medida contra a alocação ideal de um servidor fluido ponderado: a cada unidade
+ * de tempo a capacidade das CPUs é dividida entre os processos ativos (que chegaram e não
+ * terminaram) na proporção dos bilhetes. O direito de cada processo é acumulado por um tempo
+ * virtual global (capacidade por bilhete), sem percorrer os processos a cada unidade de tempo.
+ * Com uma CPU a alocação ideal é exata; com várias CPUs ela não limita um processo a uma CPU,
+ * então processos com muitos bilhetes em um sistema pouco carregado aparecem abaixo do direito.
+ */
+public abstract class EscalonadorProporcional implements Escalonador {
+
+    /**
+     * Estado de um processo no escalonador.
+     */
+    protected static final class Cliente {
+        protected final Processo processo;
+        protected double passo;          // Usado pelo stride scheduling
+        protected int posicao = -1;      // Usado pela loteria
+        private double direito;          // Direito acumulado até o marco
+        private double marcoVirtual;     // Tempo virtual do último acúmulo do direito
+        private long recebido;           // Unidades de tempo executadas
+        private boolean ativo;
+        private boolean retirado;        // Retirado do escalonador, contabilizado ao desativar
+
+        Cliente(Processo processo) {
+            this.processo = processo;
+        }
+
+        protected int bilhetes() {
+            return processo.getBilhetes();
+        }
+    }
+
+    protected final int quantum;
+    private final Set<Processo> processos;
+    private final List<Processo> chegadas;
+    private int proximaChegada;
+    private boolean chegadasOrdenadas;
+    private final Map<Processo, Cliente> clientes;
+    private Cliente[] clienteAtual;
+    private int[] tempoRestanteQuantum;
+    private int prontos;
+
+    private double tempoVirtual;
+    private long bilhetesAtivos;
+    private int ultimoTempo;
+    private int cpusVistas;
+    private long despachos;
+
+    // Precisão acumulada dos clientes já retirados (modo aberto)
+    private int clientesRetirados;
+    private double somaErrosRetirados;
+    private double somaDireitosRetirados;
+    private double erroMaximoRetirados;
+
+    protected EscalonadorProporcional(int quantum) {
+        this.quantum = Math.max(1, quantum);
+        this.processos = new LinkedHashSet<>();
+        this.chegadas = new ArrayList<>();
+        this.chegadasOrdenadas = true;
+        this.clientes = new LinkedHashMap<>();
+        this.clienteAtual = new Cliente[1];
+        this.tempoRestanteQuantum = new int[1];
+        this.cpusVistas = 1;
+    }
+
+    /**
+     * Inclui um cliente no conjunto de prontos.
+     */
+    protected abstract void inserir(Cliente cliente);
+
+    /**
+     * Retira um cliente do conjunto de prontos.
+     */
+    protected abstract void retirar(Cliente cliente);
+
+    /**
+     * Escolhe, sem retirar, o próximo cliente pronto que pode executar na CPU.
+     *
+     * @return Cliente escolhido ou null se nenhum pronto pode executar na CPU
+     */
+    protected abstract Cliente escolher(int idCpu);
+
+    /**
+     * Chamado quando um cliente passa a estar ativo, antes de ser inserido nos prontos.
+     */
+    protected void aoAtivar(Cliente cliente) {
+    }
+
+    /**
+     * Chamado a cada unidade de tempo executada pelo cliente.
+     */
+    protected void cobrar(Cliente cliente) {
+    }
+
+    /**
+     * Chamado depois que os bilhetes de um cliente ativo mudaram. Clientes prontos devem ser
+     * reposicionados pela subclasse.
+     *
+     * @param anteriores Bilhetes antes da mudança
+     * @param pronto Se o cliente está no conjunto de prontos (e não em uma CPU)
+     */
+    protected void aoAlterarBilhetes(Cliente cliente, int anteriores, boolean pronto) {
+    }
+
+    /**
+     * Retorna o tempo virtual global: capacidade de CPU acumulada por bilhete ativo.
+     */
+    protected double obterTempoVirtual() {
+        return tempoVirtual;
+    }
+
+    @Override
+    public void adicionarProcesso(Processo processo) {
+        processos.add(processo);
+        chegadas.add(processo);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public void adicionarProcessos(List<Processo> processos) {
+        this.processos.addAll(processos);
+        chegadas.addAll(processos);
+        chegadasOrdenadas = false;
+    }
+
+    /**
+     * Altera os bilhetes de um processo, inclusive durante a simulação. O custo é o de
+     * reposicionar o processo no conjunto de prontos, O(log n).
+     *
+     * @param processo Processo deste escalonador
+     * @param bilhetes Novo número de bilhetes
+     */
+    public void alterarBilhetes(Processo processo, int bilhetes) {
+        Cliente cliente = clientes.get(processo);
+        if (cliente == null || !cliente.ativo) {
+            processo.setBilhetes(bilhetes);
+            return;
+        }
+        int anteriores = processo.getBilhetes();
+        acumularDireito(cliente);
+        processo.setBilhetes(bilhetes);
+        bilhetesAtivos += bilhetes - anteriores;
+        aoAlterarBilhetes(cliente, anteriores, !estaEmCpu(cliente));
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        if (idCpu >= clienteAtual.length) {
+            clienteAtual = Arrays.copyOf(clienteAtual, idCpu + 1);
+            tempoRestanteQuantum = Arrays.copyOf(tempoRestanteQuantum, idCpu + 1);
+        }
+        cpusVistas = Math.max(cpusVistas, idCpu + 1);
+
+        avancarTempo(tempoAtual);
+        admitirChegadas(tempoAtual);
+
+        Cliente atual = clienteAtual[idCpu];
+        if (atual != null && tempoRestanteQuantum[idCpu] > 0 && !atual.processo.isFinalizado()) {
+            tempoRestanteQuantum[idCpu]--;
+            executar(atual);
+            return atual.processo;
+        }
+
+        // Fim do quantum: o processo volta para os prontos
+        if (atual != null && !atual.processo.isFinalizado()) {
+            EventoPreempcao.registrar(atual.processo, tempoAtual, quantum);
+            inserir(atual);
+            prontos++;
+        }
+
+        Cliente proximo = escolher(idCpu);
+        clienteAtual[idCpu] = proximo;
+        if (proximo == null) {
+            return null;
+        }
+        retirar(proximo);
+        prontos--;
+        despachos++;
+        tempoRestanteQuantum[idCpu] = quantum - 1; // -1 porque vamos executar uma unidade agora
+        executar(proximo);
+        return proximo.processo;
+    }
+
+    private void executar(Cliente cliente) {
+        cliente.recebido++;
+        cobrar(cliente);
+    }
+
+    /**
+     * Avança o tempo virtual até o tempo atual e encerra os processos que terminaram na última
+     * unidade de tempo, que ainda contam como ativos nela.
+     */
+    private void avancarTempo(int tempoAtual) {
+        if (tempoAtual <= ultimoTempo) {
+            return;
+        }
+        if (bilhetesAtivos > 0) {
+            tempoVirtual += (double) (tempoAtual - ultimoTempo) * cpusVistas / bilhetesAtivos;
+        }
+        ultimoTempo = tempoAtual;
+        for (Cliente cliente : clienteAtual) {
+            if (cliente != null && cliente.ativo && cliente.processo.isFinalizado()) {
+                desativar(cliente);
+            }
+        }
+    }
+
+    /**
+     * Move para os prontos, em ordem de chegada, os processos que chegaram até o tempo atual.
+     */
+    private void admitirChegadas(int tempoAtual) {
+        if (!chegadasOrdenadas) {
+            chegadas.subList(0, proximaChegada).clear();
+            chegadas.sort(Comparator.comparingInt(Processo::getTempoChegada));
+            proximaChegada = 0;
+            chegadasOrdenadas = true;
+        }
+        while (proximaChegada < chegadas.size() && chegadas.get(proximaChegada).getTempoChegada() <= tempoAtual) {
+            Processo processo = chegadas.get(proximaChegada++);
+            // Processos sem tempo de execução nunca são escalonados
+            if (processo.isFinalizado() || processo.getTempoExecucao() <= 0) {
+                continue;
+            }
+            Cliente cliente = new Cliente(processo);
+            clientes.put(processo, cliente);
+            cliente.ativo = true;
+            cliente.marcoVirtual = tempoVirtual;
+            bilhetesAtivos += processo.getBilhetes();
+            aoAtivar(cliente);
+            inserir(cliente);
+            prontos++;
+        }
+    }
+
+    private void acumularDireito(Cliente cliente) {
+        cliente.direito += cliente.bilhetes() * (tempoVirtual - cliente.marcoVirtual);
+        cliente.marcoVirtual = tempoVirtual;
+    }
+
+    private void desativar(Cliente cliente) {
+        acumularDireito(cliente);
+        cliente.ativo = false;
+        bilhetesAtivos -= cliente.bilhetes();
+        if (cliente.retirado) {
+            contabilizarRetirado(cliente);
+        }
+    }
+
+    /**
+     * Guarda a precisão final de um cliente retirado, que deixa de ser mantido no escalonador.
+     */
+    private void contabilizarRetirado(Cliente cliente) {
+        double erro = Math.abs(cliente.recebido - cliente.direito);
+        clientesRetirados++;
+        somaErrosRetirados += erro;
+        somaDireitosRetirados += cliente.direito;
+        erroMaximoRetirados = Math.max(erroMaximoRetirados, erro);
+    }
+
+    private boolean estaEmCpu(Cliente cliente) {
+        for (Cliente atual : clienteAtual) {
+            if (atual == cliente) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void liberarCpu(int idCpu) {
+        if (idCpu >= clienteAtual.length || clienteAtual[idCpu] == null) {
+            return;
+        }
+        Cliente atual = clienteAtual[idCpu];
+        if (!atual.processo.isFinalizado()) {
+            inserir(atual);
+            prontos++;
+        }
+        clienteAtual[idCpu] = null;
+        tempoRestanteQuantum[idCpu] = 0;
+    }
+
+    @Override
+    public boolean estaFinalizado() {
+        if (proximaChegada < chegadas.size() || prontos > 0) {
+            return false;
+        }
+        for (Cliente atual : clienteAtual) {
+            if (atual != null && !atual.processo.isFinalizado()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<Processo> obterTodosProcessos() {
+        return new ArrayList<>(processos);
+    }
+
+    @Override
+    public void retirarProcesso(Processo processo) {
+        processos.remove(processo);
+        Cliente cliente = clientes.remove(processo);
+        if (cliente == null) {
+            return;
+        }
+        // Um processo que terminou na última unidade de tempo ainda recebe o direito dela
+        if (cliente.ativo) {
+            cliente.retirado = true;
+        } else {
+            contabilizarRetirado(cliente);
+        }
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return prontos;
+    }
+
+    @Override
+    public void reiniciar() {
+        processos.clear();
+        chegadas.clear();
+        proximaChegada = 0;
+        chegadasOrdenadas = true;
+        clientes.clear();
+        clienteAtual = new Cliente[1];
+        tempoRestanteQuantum = new int[1];
+        prontos = 0;
+        tempoVirtual = 0;
+        bilhetesAtivos = 0;
+        ultimoTempo = 0;
+        cpusVistas = 1;
+        despachos = 0;
+        clientesRetirados = 0;
+        somaErrosRetirados = 0;
+        somaDireitosRetirados = 0;
+        erroMaximoRetirados = 0;
+    }
+
+    /**
+     * Métricas de precisão das participações: para cada processo, a diferença entre o tempo
+     * de CPU recebido e o direito na alocação ideal, somando os processos já retirados. O direito
+     * dos processos que terminaram na última unidade de tempo é encerrado antes do cálculo.
+     */
+    @Override
+    public Map<String, Object> obterMetricas() {
+        avancarTempo(ultimoTempo + 1);
+
+        double somaErros = somaErrosRetirados;
+        double somaDireitos = somaDireitosRetirados;
+        double erroMaximo = erroMaximoRetirados;
+        int totalClientes = clientesRetirados + clientes.size();
+        for (Cliente cliente : clientes.values()) {
+            if (cliente.ativo) {
+                acumularDireito(cliente);
+            }
+            double erro = Math.abs(cliente.recebido - cliente.direito);
+            somaErros += erro;
+            somaDireitos += cliente.direito;
+            erroMaximo = Math.max(erroMaximo, erro);
+        }
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("Despachos", despachos);
+        metricas.put("Erro médio de participação (unidades)", totalClientes == 0 ? 0.0 : somaErros / totalClientes);
+        metricas.put("Erro máximo de participação (unidades)", erroMaximo);
+        metricas.put("Erro relativo de participação (%)", somaDireitos == 0 ? 0.0 : 100.0 * somaErros / somaDireitos);
+        return metricas;
+    }
+}
@@ -2,21 +2,27 @@ package scheduler;
 
 import model.Processo;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Implementação do algoritmo de escalonamento Round Robin (RR).
  * Alterna entre os processos, dando a cada um uma fatia de tempo fixa (quantum).
+ * Cada CPU tem o seu processo atual e o seu quantum restante; chamadas sem identificador de
+ * CPU usam a CPU 0.
  */
 public class EscalonadorRoundRobin implements Escalonador {
-    private List<Processo> processos;
+    private Set<Processo> processos;    // Em ordem de inserção, com remoção em tempo constante
     private Queue<Processo> filaDeProcessos;
     private final int quantum;
-    private Processo processoAtual;
-    private int tempoRestanteQuantum;
+    private Processo[] processoAtual;
+    private int[] tempoRestanteQuantum;
 
     /**
      * Construtor para o escalonador Round Robin com quantum padrão de 4.
@@ -31,11 +37,11 @@ public class EscalonadorRoundRobin implements Escalonador {
      * @param quantum Quantum (fatia de tempo) para cada processo
      */
     public EscalonadorRoundRobin(int quantum) {
-        this.processos = new ArrayList<>();
+        this.processos = new LinkedHashSet<>();
         this.filaDeProcessos = new LinkedList<>();
         this.quantum = quantum;
-        this.processoAtual = null;
-        this.tempoRestanteQuantum = 0;
+        this.processoAtual = new Processo[1];
+        this.tempoRestanteQuantum = new int[1];
     }
 
     @Override
@@ -50,29 +56,43 @@ public class EscalonadorRoundRobin implements Escalonador {
 
     @Override
     public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        if (idCpu >= processoAtual.length) {
+            processoAtual = Arrays.copyOf(processoAtual, idCpu + 1);
+            tempoRestanteQuantum = Arrays.copyOf(tempoRestanteQuantum, idCpu + 1);
+        }
+
         // Atualiza a fila de prontos com processos que chegaram até o momento atual
         atualizarFilaDeProcessos(tempoAtual);
 
+        Processo atual = processoAtual[idCpu];
+
         // Se o processo atual ainda tem tempo de quantum e não terminou, continua com ele
-        if (processoAtual != null && tempoRestanteQuantum > 0 && !processoAtual.isFinalizado()) {
-            tempoRestanteQuantum--;
-            return processoAtual;
+        if (atual != null && tempoRestanteQuantum[idCpu] > 0 && !atual.isFinalizado()) {
+            tempoRestanteQuantum[idCpu]--;
+            return atual;
         }
 
         // Se o processo atual terminou seu quantum mas não terminou a execução, coloca de volta na fila
-        if (processoAtual != null && !processoAtual.isFinalizado()) {
-            filaDeProcessos.add(processoAtual);
+        if (atual != null && !atual.isFinalizado()) {
+            EventoPreempcao.registrar(atual, tempoAtual, quantum);
+            filaDeProcessos.add(atual);
         }
 
-        // Pega o próximo processo da fila
-        processoAtual = filaDeProcessos.poll();
+        // Pega o próximo processo da fila que pode executar nesta CPU
+        atual = retirarPrimeiroPermitido(idCpu);
+        processoAtual[idCpu] = atual;
 
         // Se temos um novo processo, reinicia o contador de quantum
-        if (processoAtual != null) {
-            tempoRestanteQuantum = quantum - 1; // -1 porque vamos executar uma unidade agora
+        if (atual != null) {
+            tempoRestanteQuantum[idCpu] = quantum - 1; // -1 porque vamos executar uma unidade agora
         }
 
-        return processoAtual;
+        return atual;
     }
 
     /**
@@ -84,12 +104,48 @@ public class EscalonadorRoundRobin implements Escalonador {
         // Adiciona à fila de prontos os processos que chegaram e ainda não foram concluídos
         List<Processo> novosProcessosProntos = processos.stream()
                 .filter(p -> p.getTempoChegada() <= tempoAtual && !p.isFinalizado() && 
-                       !filaDeProcessos.contains(p) && p != processoAtual)
+                       !filaDeProcessos.contains(p) && !eProcessoAtual(p))
                 .collect(Collectors.toList());
 
         filaDeProcessos.addAll(novosProcessosProntos);
     }
 
+    /**
+     * Retira da fila o primeiro processo cuja máscara de afinidade permite a CPU.
+     */
+    private Processo retirarPrimeiroPermitido(int idCpu) {
+        Iterator<Processo> iterador = filaDeProcessos.iterator();
+        while (iterador.hasNext()) {
+            Processo processo = iterador.next();
+            if (processo.podeExecutarEm(idCpu)) {
+                iterador.remove();
+                return processo;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void liberarCpu(int idCpu) {
+        if (idCpu >= processoAtual.length || processoAtual[idCpu] == null) {
+            return;
+        }
+        if (!processoAtual[idCpu].isFinalizado()) {
+            filaDeProcessos.add(processoAtual[idCpu]);
+        }
+        processoAtual[idCpu] = null;
+        tempoRestanteQuantum[idCpu] = 0;
+    }
+
+    private boolean eProcessoAtual(Processo processo) {
+        for (Processo atual : processoAtual) {
+            if (atual == processo) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean estaFinalizado() {
         // Verifica se todos os processos foram concluídos
@@ -106,12 +162,22 @@ public class EscalonadorRoundRobin implements Escalonador {
         return new ArrayList<>(processos);
     }
 
+    @Override
+    public void retirarProcesso(Processo processo) {
+        processos.remove(processo);
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return filaDeProcessos.size();
+    }
+
     @Override
     public void reiniciar() {
         filaDeProcessos.clear();
         processos.clear();
-        processoAtual = null;
-        tempoRestanteQuantum = 0;
+        processoAtual = new Processo[1];
+        tempoRestanteQuantum = new int[1];
     }
 
     /**
@@ -0,0 +1,336 @@
+package scheduler;
+
+import metrics.EstimadorQuantil;
+import model.Processo;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Round Robin com quantum adaptativo.
+ * Acompanha a distribuição dos bursts de CPU com um estimador de quantil em fluxo e ajusta o
+ * quantum para o percentil configurado (80 por padrão), de modo que a maioria dos bursts termine
+ * dentro de uma única fatia de tempo sem que o quantum cresça a ponto de o algoritmo se
+ * comportar como FCFS. Cada despacho é uma amostra, observada quando ele termina: o trabalho que
+ * o processo tinha a fazer ao receber a CPU. Se o processo conclui, é o tempo que ele ocupou a
+ * CPU; se o quantum o interrompe antes, o tempo ocupado seria limitado pelo próprio quantum, que
+ * então só poderia diminuir.
+ * O quantum é compartilhado, mas cada CPU tem o seu processo atual e o seu quantum restante;
+ * chamadas sem identificador de CPU usam a CPU 0.
+ */
+public class EscalonadorRoundRobinAdaptativo implements Escalonador {
+    private static final int AMOSTRAS_MINIMAS = 5;
+
+    private Set<Processo> processos;
+    private final List<Processo> chegadas;
+    private int proximaChegada;
+    private boolean chegadasOrdenadas;
+    private Queue<Processo> filaDeProcessos;
+    private final int quantumInicial;
+    private final int quantumMinimo;
+    private final int quantumMaximo;
+    private final EstimadorQuantil estimador;
+    private final List<AjusteQuantum> trajetoria;
+    private int quantum;
+    private Processo[] processoAtual;
+    private int[] tempoRestanteQuantum;
+    private int[] burstDespacho;
+    private int tempoUltimaChamada;
+
+    /**
+     * Registro de uma mudança de quantum durante a simulação.
+     */
+    public static class AjusteQuantum implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final int tempo;
+        private final int quantum;
+
+        public AjusteQuantum(int tempo, int quantum) {
+            this.tempo = tempo;
+            this.quantum = quantum;
+        }
+
+        public int getTempo() {
+            return tempo;
+        }
+
+        public int getQuantum() {
+            return quantum;
+        }
+
+        @Override
+        public String toString() {
+            return "t" + tempo + "=" + quantum;
+        }
+    }
+
+    /**
+     * Construtor com quantum inicial 4 ajustado para o percentil 80 dos bursts observados.
+     */
+    public EscalonadorRoundRobinAdaptativo() {
+        this(4, 0.8, 1, 64);
+    }
+
+    /**
+     * Construtor do escalonador Round Robin adaptativo.
+     * 
+     * @param quantumInicial Quantum usado até que haja observações suficientes
+     * @param percentil Percentil dos bursts observados usado como quantum (entre 0 e 1)
+     * @param quantumMinimo Menor quantum permitido
+     * @param quantumMaximo Maior quantum permitido
+     */
+    public EscalonadorRoundRobinAdaptativo(int quantumInicial, double percentil, int quantumMinimo, int quantumMaximo) {
+        this.processos = new LinkedHashSet<>();
+        this.chegadas = new ArrayList<>();
+        this.chegadasOrdenadas = true;
+        this.filaDeProcessos = new LinkedList<>();
+        this.quantumInicial = quantumInicial;
+        this.quantumMinimo = quantumMinimo;
+        this.quantumMaximo = quantumMaximo;
+        this.estimador = new EstimadorQuantil(percentil);
+        this.trajetoria = new ArrayList<>();
+        reiniciarQuantum();
+    }
+
+    @Override
+    public void adicionarProcesso(Processo processo) {
+        processos.add(processo);
+        chegadas.add(processo);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public void adicionarProcessos(List<Processo> processos) {
+        this.processos.addAll(processos);
+        chegadas.addAll(processos);
+        chegadasOrdenadas = false;
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        if (idCpu >= processoAtual.length) {
+            processoAtual = Arrays.copyOf(processoAtual, idCpu + 1);
+            tempoRestanteQuantum = Arrays.copyOf(tempoRestanteQuantum, idCpu + 1);
+            burstDespacho = Arrays.copyOf(burstDespacho, idCpu + 1);
+        }
+        tempoUltimaChamada = tempoAtual;
+
+        // Atualiza a fila de prontos com processos que chegaram até o momento atual
+        atualizarFilaDeProcessos(tempoAtual);
+
+        // Os despachos concluídos em qualquer CPU entram na estimativa antes da escolha
+        observarConcluidos();
+
+        Processo atual = processoAtual[idCpu];
+
+        // Se o processo atual ainda tem tempo de quantum, continua com ele
+        if (atual != null && tempoRestanteQuantum[idCpu] > 0) {
+            tempoRestanteQuantum[idCpu]--;
+            return atual;
+        }
+
+        // Se o processo atual terminou seu quantum mas não terminou a execução, coloca de volta na fila
+        if (atual != null) {
+            EventoPreempcao.registrar(atual, tempoAtual, quantum);
+            observarBurst(burstDespacho[idCpu], tempoAtual);
+            filaDeProcessos.add(atual);
+        }
+
+        // Pega o próximo processo da fila que pode executar nesta CPU
+        atual = retirarPrimeiroPermitido(idCpu);
+        processoAtual[idCpu] = atual;
+
+        // Se temos um novo processo, reinicia o contador com o quantum vigente
+        if (atual != null) {
+            tempoRestanteQuantum[idCpu] = quantum - 1; // -1 porque vamos executar uma unidade agora
+            burstDespacho[idCpu] = atual.getTempoRestante();
+        }
+
+        return atual;
+    }
+
+    /**
+     * Encerra os despachos cujo processo concluiu, em todas as CPUs, e registra os seus bursts.
+     * Sem isso a última conclusão de cada CPU só seria vista na próxima chamada para ela, que
+     * pode nunca acontecer.
+     */
+    private void observarConcluidos() {
+        for (int cpu = 0; cpu < processoAtual.length; cpu++) {
+            Processo atual = processoAtual[cpu];
+            if (atual != null && atual.isFinalizado()) {
+                observarBurst(burstDespacho[cpu], atual.getTempoFim());
+                processoAtual[cpu] = null;
+                tempoRestanteQuantum[cpu] = 0;
+            }
+        }
+    }
+
+    /**
+     * Registra o burst de um despacho e ajusta o quantum se a estimativa mudou.
+     * 
+     * @param burst Trabalho restante do processo quando o despacho começou
+     * @param tempoAtual Tempo atual da simulação
+     */
+    private void observarBurst(int burst, int tempoAtual) {
+        estimador.adicionar(burst);
+        if (estimador.obterContagem() < AMOSTRAS_MINIMAS) {
+            return;
+        }
+
+        int novoQuantum = (int) Math.ceil(estimador.obterEstimativa());
+        novoQuantum = Math.max(quantumMinimo, Math.min(quantumMaximo, novoQuantum));
+        if (novoQuantum != quantum) {
+            quantum = novoQuantum;
+            trajetoria.add(new AjusteQuantum(tempoAtual, quantum));
+        }
+    }
+
+    /**
+     * Atualiza a fila de processos prontos com base no tempo atual.
+     * 
+     * @param tempoAtual Tempo atual da simulação
+     */
+    private void atualizarFilaDeProcessos(int tempoAtual) {
+        // A ordenação é estável: chegadas simultâneas entram na ordem em que foram adicionadas
+        if (!chegadasOrdenadas) {
+            chegadas.subList(0, proximaChegada).clear();
+            chegadas.sort(Comparator.comparingInt(Processo::getTempoChegada));
+            proximaChegada = 0;
+            chegadasOrdenadas = true;
+        }
+        while (proximaChegada < chegadas.size() && chegadas.get(proximaChegada).getTempoChegada() <= tempoAtual) {
+            Processo processo = chegadas.get(proximaChegada++);
+            if (!processo.isFinalizado()) {
+                filaDeProcessos.add(processo);
+            }
+        }
+    }
+
+    /**
+     * Retira da fila o primeiro processo cuja máscara de afinidade permite a CPU.
+     */
+    private Processo retirarPrimeiroPermitido(int idCpu) {
+        Iterator<Processo> iterador = filaDeProcessos.iterator();
+        while (iterador.hasNext()) {
+            Processo processo = iterador.next();
+            if (processo.podeExecutarEm(idCpu)) {
+                iterador.remove();
+                return processo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Um processo já concluído permanece na CPU para que o seu burst seja observado com os demais
+     * concluídos; os outros encerram o despacho aqui e voltam à fila.
+     */
+    @Override
+    public void liberarCpu(int idCpu) {
+        if (idCpu >= processoAtual.length || processoAtual[idCpu] == null || processoAtual[idCpu].isFinalizado()) {
+            return;
+        }
+        observarBurst(burstDespacho[idCpu], tempoUltimaChamada);
+        filaDeProcessos.add(processoAtual[idCpu]);
+        processoAtual[idCpu] = null;
+        tempoRestanteQuantum[idCpu] = 0;
+    }
+
+    private void reiniciarQuantum() {
+        estimador.reiniciar();
+        trajetoria.clear();
+        quantum = quantumInicial;
+        trajetoria.add(new AjusteQuantum(0, quantum));
+        processoAtual = new Processo[1];
+        tempoRestanteQuantum = new int[1];
+        burstDespacho = new int[1];
+        tempoUltimaChamada = 0;
+    }
+
+    @Override
+    public boolean estaFinalizado() {
+        // Todo processo ainda não concluído está entre as chegadas futuras, na fila ou em uma CPU
+        if (proximaChegada < chegadas.size() || !filaDeProcessos.isEmpty()) {
+            return false;
+        }
+        for (Processo atual : processoAtual) {
+            if (atual != null && !atual.isFinalizado()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String obterNome() {
+        return "Round Robin Adaptativo (P" + Math.round(estimador.obterQuantil() * 100) + ") - Quantum: " + quantum;
+    }
+
+    @Override
+    public List<Processo> obterTodosProcessos() {
+        return new ArrayList<>(processos);
+    }
+
+    @Override
+    public void retirarProcesso(Processo processo) {
+        processos.remove(processo);
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return filaDeProcessos.size();
+    }
+
+    @Override
+    public void reiniciar() {
+        filaDeProcessos.clear();
+        processos.clear();
+        chegadas.clear();
+        proximaChegada = 0;
+        chegadasOrdenadas = true;
+        reiniciarQuantum();
+    }
+
+    @Override
+    public Map<String, Object> obterMetricas() {
+        observarConcluidos();
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("Quantum final", quantum);
+        metricas.put("Trajetória do quantum", Collections.unmodifiableList(new ArrayList<>(trajetoria)));
+        return metricas;
+    }
+
+    /**
+     * Retorna o quantum vigente.
+     * 
+     * @return Valor atual do quantum
+     */
+    public int obterQuantum() {
+        return quantum;
+    }
+
+    /**
+     * Retorna as mudanças de quantum ocorridas desde o início da simulação.
+     * 
+     * @return Lista de ajustes em ordem cronológica
+     */
+    public List<AjusteQuantum> obterTrajetoriaQuantum() {
+        return Collections.unmodifiableList(trajetoria);
+    }
+}
@@ -0,0 +1,173 @@
+package scheduler;
+
+import model.Processo;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Variante concorrente do Round Robin.
+ * A fila de prontos é uma fila sem bloqueio (múltiplos produtores e consumidores) e cada
+ * thread guarda seu próprio processo atual e quantum restante, de modo que várias threads
+ * podem despachar processos ao mesmo tempo sem disputar o monitor do escalonador.
+ */
+public class EscalonadorRoundRobinConcorrente implements EscalonadorConcorrente {
+    private final ChegadasConcorrentes chegadas;
+    private final ConcurrentLinkedQueue<Processo> filaDeProcessos;
+    private final int quantum;
+    private Processo[] processoAtualPorThread;
+    private int[] quantumRestantePorThread;
+
+    /**
+     * Construtor para o escalonador Round Robin concorrente com quantum padrão de 4.
+     */
+    public EscalonadorRoundRobinConcorrente() {
+        this(4);
+    }
+
+    /**
+     * Construtor para o escalonador Round Robin concorrente com quantum personalizado.
+     * 
+     * @param quantum Quantum (fatia de tempo) para cada processo
+     */
+    public EscalonadorRoundRobinConcorrente(int quantum) {
+        this.chegadas = new ChegadasConcorrentes();
+        this.filaDeProcessos = new ConcurrentLinkedQueue<>();
+        this.quantum = quantum;
+        alocarEstadoPorThread(1);
+    }
+
+    @Override
+    public void prepararThreads(int numeroThreads) {
+        alocarEstadoPorThread(numeroThreads);
+    }
+
+    private void alocarEstadoPorThread(int numeroThreads) {
+        // Cada posição é lida e escrita apenas pela thread correspondente
+        processoAtualPorThread = new Processo[numeroThreads];
+        quantumRestantePorThread = new int[numeroThreads];
+    }
+
+    @Override
+    public void adicionarProcesso(Processo processo) {
+        chegadas.adicionar(processo);
+    }
+
+    @Override
+    public void adicionarProcessos(List<Processo> processos) {
+        for (Processo processo : processos) {
+            chegadas.adicionar(processo);
+        }
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        chegadas.admitir(tempoAtual, filaDeProcessos::offer);
+
+        Processo processoAtual = processoAtualPorThread[idCpu];
+
+        // Processo que terminou na última unidade executada por esta thread
+        if (processoAtual != null && processoAtual.isFinalizado()) {
+            chegadas.registrarConclusao();
+            processoAtual = null;
+        }
+
+        // Ainda há quantum disponível: continua com o mesmo processo
+        if (processoAtual != null && quantumRestantePorThread[idCpu] > 0) {
+            quantumRestantePorThread[idCpu]--;
+            return processoAtual;
+        }
+
+        // Quantum esgotado: devolve o processo ao final da fila
+        if (processoAtual != null) {
+            EventoPreempcao.registrar(processoAtual, tempoAtual, quantum);
+            filaDeProcessos.offer(processoAtual);
+        }
+
+        processoAtual = retirarPrimeiroPermitido(idCpu, tempoAtual);
+        processoAtualPorThread[idCpu] = processoAtual;
+
+        if (processoAtual != null) {
+            quantumRestantePorThread[idCpu] = quantum - 1; // -1 porque vamos executar uma unidade agora
+        }
+
+        return processoAtual;
+    }
+
+    /**
+     * Retira da fila o primeiro processo cuja máscara de afinidade permite a CPU. Sem máscaras
+     * é o primeiro da fila; a remoção é atômica, então duas threads nunca retiram o mesmo processo.
+     * Processos admitidos por uma thread que já está em uma unidade posterior ficam na fila até
+     * que o tempo de quem pergunta alcance a chegada deles.
+     */
+    private Processo retirarPrimeiroPermitido(int idCpu, int tempoAtual) {
+        for (Processo processo : filaDeProcessos) {
+            if (processo.getTempoChegada() <= tempoAtual && processo.podeExecutarEm(idCpu)
+                    && filaDeProcessos.remove(processo)) {
+                return processo;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void liberarCpu(int idCpu) {
+        Processo processoAtual = processoAtualPorThread[idCpu];
+        if (processoAtual == null) {
+            return;
+        }
+        if (processoAtual.isFinalizado()) {
+            chegadas.registrarConclusao();
+        } else {
+            filaDeProcessos.offer(processoAtual);
+        }
+        processoAtualPorThread[idCpu] = null;
+        quantumRestantePorThread[idCpu] = 0;
+    }
+
+    @Override
+    public boolean estaFinalizado() {
+        return chegadas.estaFinalizado();
+    }
+
+    @Override
+    public String obterNome() {
+        return "Round Robin Concorrente - Quantum: " + quantum;
+    }
+
+    @Override
+    public List<Processo> obterTodosProcessos() {
+        return chegadas.todos();
+    }
+
+    @Override
+    public void retirarProcesso(Processo processo) {
+        chegadas.retirar(processo);
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return filaDeProcessos.size();
+    }
+
+    @Override
+    public void reiniciar() {
+        chegadas.limpar();
+        filaDeProcessos.clear();
+        prepararThreads(processoAtualPorThread.length);
+    }
+
+    /**
+     * Retorna o valor do quantum utilizado por este escalonador.
+     * 
+     * @return Valor do quantum
+     */
+    public int obterQuantum() {
+        return quantum;
+    }
+}
@@ -2,24 +2,28 @@ package scheduler;
 
 import model.Processo;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Implementação do algoritmo de escalonamento Shortest Job First (SJF) não preemptivo.
  * Seleciona o processo com o menor tempo de execução entre os processos disponíveis.
  * Uma vez que um processo começa a executar, ele continua até terminar (não preemptivo).
+ * Cada CPU tem o seu processo em execução; chamadas sem identificador de CPU usam a CPU 0.
  */
 public class EscalonadorSJF implements Escalonador {
-    private List<Processo> processos;
+    private Set<Processo> processos;
     private List<Processo> filaDeProcessos;
-    private Processo processoEmExecucao; // Processo atualmente em execução
+    private Processo[] processoEmExecucao; // Processo atualmente em execução em cada CPU
 
     public EscalonadorSJF() {
-        this.processos = new ArrayList<>();
+        this.processos = new LinkedHashSet<>();
         this.filaDeProcessos = new ArrayList<>();
-        this.processoEmExecucao = null;
+        this.processoEmExecucao = new Processo[1];
     }
 
     @Override
@@ -34,14 +38,23 @@ public class EscalonadorSJF implements Escalonador {
 
     @Override
     public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        if (idCpu >= processoEmExecucao.length) {
+            processoEmExecucao = Arrays.copyOf(processoEmExecucao, idCpu + 1);
+        }
+
         // Se há um processo em execução e ele não terminou, continua com ele (não preemptivo)
-        if (processoEmExecucao != null && !processoEmExecucao.isFinalizado()) {
-            return processoEmExecucao;
+        if (processoEmExecucao[idCpu] != null && !processoEmExecucao[idCpu].isFinalizado()) {
+            return processoEmExecucao[idCpu];
         }
 
         // Se o processo em execução terminou, limpa a referência
-        if (processoEmExecucao != null && processoEmExecucao.isFinalizado()) {
-            processoEmExecucao = null;
+        if (processoEmExecucao[idCpu] != null && processoEmExecucao[idCpu].isFinalizado()) {
+            processoEmExecucao[idCpu] = null;
         }
 
         // Atualiza a fila de prontos com processos que chegaram até o momento atual
@@ -51,14 +64,15 @@ public class EscalonadorSJF implements Escalonador {
             return null;
         }
 
-        // Seleciona o processo com menor tempo de execução (SJF)
+        // Seleciona o processo com menor tempo de execução (SJF) entre os que podem executar nesta CPU
         Processo proximoProcesso = filaDeProcessos.stream()
+                .filter(p -> p.podeExecutarEm(idCpu))
                 .min(Comparator.comparingInt(Processo::getTempoExecucao))
                 .orElse(null);
 
         if (proximoProcesso != null) {
             filaDeProcessos.remove(proximoProcesso);
-            processoEmExecucao = proximoProcesso; // Marca o processo como em execução
+            processoEmExecucao[idCpu] = proximoProcesso; // Marca o processo como em execução nesta CPU
         }
 
         return proximoProcesso;
@@ -87,14 +101,36 @@ public class EscalonadorSJF implements Escalonador {
      * @return true se o processo for válido, false caso contrário
      */
     private boolean eProcessoValido(Processo processo, int tempoAtual) {
-        // Verifica se o processo chegou, não está finalizado, não está na fila e tem tempo de execução positivo
+        // Verifica se o processo chegou, não está finalizado, não está na fila nem em execução em
+        // outra CPU e tem tempo de execução positivo
         return processo.getTempoChegada() <= tempoAtual && 
                !processo.isFinalizado() && 
                !filaDeProcessos.contains(processo) && 
+               !estaEmExecucao(processo) &&
                processo.getTempoExecucao() > 0 &&
                processo.getTempoRestante() > 0;
     }
 
+    @Override
+    public void liberarCpu(int idCpu) {
+        if (idCpu >= processoEmExecucao.length || processoEmExecucao[idCpu] == null) {
+            return;
+        }
+        if (!processoEmExecucao[idCpu].isFinalizado()) {
+            filaDeProcessos.add(processoEmExecucao[idCpu]);
+        }
+        processoEmExecucao[idCpu] = null;
+    }
+
+    private boolean estaEmExecucao(Processo processo) {
+        for (Processo emExecucao : processoEmExecucao) {
+            if (emExecucao == processo) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean estaFinalizado() {
         // Verifica se todos os processos foram concluídos
@@ -111,10 +147,20 @@ public class EscalonadorSJF implements Escalonador {
         return new ArrayList<>(processos);
     }
 
+    @Override
+    public void retirarProcesso(Processo processo) {
+        processos.remove(processo);
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return filaDeProcessos.size();
+    }
+
     @Override
     public void reiniciar() {
         filaDeProcessos.clear();
         processos.clear();
-        processoEmExecucao = null;
+        processoEmExecucao = new Processo[1];
     }
 }
@@ -0,0 +1,166 @@
+package scheduler;
+
+import model.Processo;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Variante concorrente do Shortest Job First não preemptivo.
+ * Os processos prontos ficam em uma skip list concorrente ordenada pelo tempo de execução,
+ * então a seleção do menor processo é feita com {@code pollFirst()} sem bloqueio, e cada
+ * thread mantém o seu próprio processo em execução.
+ */
+public class EscalonadorSJFConcorrente implements EscalonadorConcorrente {
+    private final ChegadasConcorrentes chegadas;
+    private final ConcurrentSkipListSet<Pronto> filaDeProcessos;
+    private final AtomicLong sequencia;
+    private Processo[] processoEmExecucaoPorThread;
+
+    /**
+     * Entrada da fila de prontos. A sequência desempata processos com o mesmo tempo de execução.
+     */
+    private static final class Pronto {
+        private final Processo processo;
+        private final long sequencia;
+
+        Pronto(Processo processo, long sequencia) {
+            this.processo = processo;
+            this.sequencia = sequencia;
+        }
+    }
+
+    private static final Comparator<Pronto> ORDEM = Comparator
+            .comparingInt((Pronto p) -> p.processo.getTempoExecucao())
+            .thenComparingLong(p -> p.sequencia);
+
+    public EscalonadorSJFConcorrente() {
+        this.chegadas = new ChegadasConcorrentes();
+        this.filaDeProcessos = new ConcurrentSkipListSet<>(ORDEM);
+        this.sequencia = new AtomicLong();
+        alocarEstadoPorThread(1);
+    }
+
+    @Override
+    public void prepararThreads(int numeroThreads) {
+        alocarEstadoPorThread(numeroThreads);
+    }
+
+    private void alocarEstadoPorThread(int numeroThreads) {
+        // Cada posição é lida e escrita apenas pela thread correspondente
+        processoEmExecucaoPorThread = new Processo[numeroThreads];
+    }
+
+    @Override
+    public void adicionarProcesso(Processo processo) {
+        chegadas.adicionar(processo);
+    }
+
+    @Override
+    public void adicionarProcessos(List<Processo> processos) {
+        for (Processo processo : processos) {
+            chegadas.adicionar(processo);
+        }
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual) {
+        return obterProximoProcesso(tempoAtual, 0);
+    }
+
+    @Override
+    public Processo obterProximoProcesso(int tempoAtual, int idCpu) {
+        Processo processoEmExecucao = processoEmExecucaoPorThread[idCpu];
+
+        // Não preemptivo: continua com o processo da thread até que ele termine
+        if (processoEmExecucao != null && !processoEmExecucao.isFinalizado()) {
+            return processoEmExecucao;
+        }
+
+        if (processoEmExecucao != null) {
+            chegadas.registrarConclusao();
+            processoEmExecucaoPorThread[idCpu] = null;
+        }
+
+        chegadas.admitir(tempoAtual, p -> {
+            if (p.getTempoExecucao() > 0) {
+                filaDeProcessos.add(new Pronto(p, sequencia.getAndIncrement()));
+            } else {
+                // Processos sem tempo de execução nunca são escalonados
+                chegadas.registrarConclusao();
+            }
+        });
+
+        Pronto proximo = retirarPrimeiroPermitido(idCpu, tempoAtual);
+        if (proximo == null) {
+            return null;
+        }
+
+        processoEmExecucaoPorThread[idCpu] = proximo.processo;
+        return proximo.processo;
+    }
+
+    /**
+     * Retira o menor processo cuja máscara de afinidade permite a CPU. Sem máscaras equivale a
+     * {@code pollFirst()}; a remoção é atômica, então duas threads nunca retiram o mesmo processo.
+     * Processos admitidos por uma thread que já está em uma unidade posterior ficam na fila até
+     * que o tempo de quem pergunta alcance a chegada deles.
+     */
+    private Pronto retirarPrimeiroPermitido(int idCpu, int tempoAtual) {
+        for (Pronto pronto : filaDeProcessos) {
+            if (pronto.processo.getTempoChegada() <= tempoAtual && pronto.processo.podeExecutarEm(idCpu)
+                    && filaDeProcessos.remove(pronto)) {
+                return pronto;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void liberarCpu(int idCpu) {
+        Processo processoEmExecucao = processoEmExecucaoPorThread[idCpu];
+        if (processoEmExecucao == null) {
+            return;
+        }
+        if (processoEmExecucao.isFinalizado()) {
+            chegadas.registrarConclusao();
+        } else {
+            filaDeProcessos.add(new Pronto(processoEmExecucao, sequencia.getAndIncrement()));
+        }
+        processoEmExecucaoPorThread[idCpu] = null;
+    }
+
+    @Override
+    public boolean estaFinalizado() {
+        return chegadas.estaFinalizado();
+    }
+
+    @Override
+    public String obterNome() {
+        return "Shortest Job First Concorrente (SJF)";
+    }
+
+    @Override
+    public List<Processo> obterTodosProcessos() {
+        return chegadas.todos();
+    }
+
+    @Override
+    public void retirarProcesso(Processo processo) {
+        chegadas.retirar(processo);
+    }
+
+    @Override
+    public int obterTamanhoFila() {
+        return filaDeProcessos.size();
+    }
+
+    @Override
+    public void reiniciar() {
+        chegadas.limpar();
+        filaDeProcessos.clear();
+        prepararThreads(processoEmExecucaoPorThread.length);
+    }
+}
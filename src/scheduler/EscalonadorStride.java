@@ -0,0 +1,89 @@
+package scheduler;
+
+import java.util.Comparator;
+
+/**
+ * Stride scheduling: cada processo tem um passo (stride) inversamente proporcional aos seus
+ * bilhetes e um valor de passagem (pass) que avança um passo a cada unidade de tempo executada.
+ * A CPU vai sempre para o pronto de menor passagem, guardado em um {@link HeapIndexado}, de modo
+ * que a escolha e a mudança de bilhetes custam O(log n). É a versão determinística da loteria:
+ * o erro de participação de cada processo fica limitado, em vez de crescer com a raiz do tempo.
+ */
+public class EscalonadorStride extends EscalonadorProporcional {
+    /**
+     * Passo de um processo com um bilhete.
+     */
+    private static final double PASSO_UNITARIO = 1 << 20;
+
+    private final HeapIndexado<Cliente> prontos;
+
+    /**
+     * Construtor para o escalonador stride.
+     *
+     * @param quantum Unidades de tempo executadas a cada escolha
+     */
+    public EscalonadorStride(int quantum) {
+        super(quantum);
+        this.prontos = new HeapIndexado<>(Comparator.comparingDouble((Cliente c) -> c.passo));
+    }
+
+    private static double passo(Cliente cliente) {
+        return PASSO_UNITARIO / cliente.bilhetes();
+    }
+
+    /**
+     * Passagem global: quanto a passagem de um processo teria avançado na alocação ideal.
+     */
+    private double passagemGlobal() {
+        return obterTempoVirtual() * PASSO_UNITARIO;
+    }
+
+    @Override
+    protected void aoAtivar(Cliente cliente) {
+        cliente.passo = passagemGlobal() + passo(cliente);
+    }
+
+    @Override
+    protected void inserir(Cliente cliente) {
+        prontos.adicionar(cliente);
+    }
+
+    @Override
+    protected void retirar(Cliente cliente) {
+        prontos.remover(cliente);
+    }
+
+    @Override
+    protected Cliente escolher(int idCpu) {
+        return prontos.primeiro(c -> c.processo.podeExecutarEm(idCpu));
+    }
+
+    @Override
+    protected void cobrar(Cliente cliente) {
+        cliente.passo += passo(cliente);
+    }
+
+    /**
+     * A distância até a passagem global é escalada pela razão entre os passos, como se o
+     * processo sempre tivesse tido os novos bilhetes.
+     */
+    @Override
+    protected void aoAlterarBilhetes(Cliente cliente, int anteriores, boolean pronto) {
+        double global = passagemGlobal();
+        cliente.passo = global + (cliente.passo - global) * anteriores / cliente.bilhetes();
+        if (pronto) {
+            prontos.atualizar(cliente);
+        }
+    }
+
+    @Override
+    public String obterNome() {
+        return "Stride Scheduling - Quantum: " + quantum;
+    }
+
+    @Override
+    public void reiniciar() {
+        super.reiniciar();
+        prontos.limpar();
+    }
+}
@@ -0,0 +1,47 @@
+package scheduler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import model.Processo;
+
+/**
+ * Evento do Java Flight Recorder emitido pelos escalonadores Round Robin quando o quantum de
+ * um processo expira antes de ele terminar e o processo volta para o fim da fila.
+ */
+@Name("escalonadores.Preempcao")
+@Label("Preempção por quantum")
+@Category({"Escalonadores", "Escalonador"})
+@Description("Processo devolvido à fila de prontos ao fim do quantum")
+@StackTrace(false)
+final class EventoPreempcao extends Event {
+    private static final EventType TIPO = EventType.getEventType(EventoPreempcao.class);
+
+    @Label("Processo")
+    String processo;
+
+    @Label("Tempo de simulação")
+    int tempoSimulacao;
+
+    @Label("Tempo restante")
+    int tempoRestante;
+
+    @Label("Quantum")
+    int quantum;
+
+    static void registrar(Processo processo, int tempoSimulacao, int quantum) {
+        if (!TIPO.isEnabled()) {
+            return;
+        }
+        EventoPreempcao evento = new EventoPreempcao();
+        evento.processo = processo.getId();
+        evento.tempoSimulacao = tempoSimulacao;
+        evento.tempoRestante = processo.getTempoRestante();
+        evento.quantum = quantum;
+        evento.commit();
+    }
+}
@@ -0,0 +1,38 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador Round Robin com afinidade para CPUs heterogêneas.
+ */
+public class FabricaAfinidade implements FabricaEscalonador {
+    private static final ParametroEscalonador JANELA_BUSCA =
+            ParametroEscalonador.inteiro("janela", "Janela de busca", 1, 1024, 16);
+    private static final ParametroEscalonador SALTOS_MAXIMOS =
+            ParametroEscalonador.inteiro("saltos", "Saltos máximos", 0, 1000, 8);
+
+    @Override
+    public String obterId() {
+        return "afinidade";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Afinidade (CPUs heterogêneas)";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Arrays.asList(FabricaRoundRobin.QUANTUM, JANELA_BUSCA, SALTOS_MAXIMOS);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorAfinidade(
+                FabricaRoundRobin.QUANTUM.lerInteiro(valores),
+                JANELA_BUSCA.lerInteiro(valores),
+                SALTOS_MAXIMOS.lerInteiro(valores));
+    }
+}
@@ -0,0 +1,40 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador Earliest Deadline First.
+ */
+public class FabricaEDF implements FabricaEscalonador {
+    private static final ParametroEscalonador HORIZONTE =
+            ParametroEscalonador.inteiro("horizonte", "Horizonte das tarefas periódicas", 0, 10000000, 1000);
+    private static final ParametroEscalonador TESTE_ADMISSAO =
+            ParametroEscalonador.inteiro("admissao", "Teste de admissão (0=não, 1=sim)", 0, 1, 0);
+    private static final ParametroEscalonador CPUS_ADMISSAO =
+            ParametroEscalonador.inteiro("cpus", "CPUs do teste de admissão", 1, 1024, 1);
+
+    @Override
+    public String obterId() {
+        return "edf";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Earliest Deadline First (EDF)";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Arrays.asList(HORIZONTE, TESTE_ADMISSAO, CPUS_ADMISSAO);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorEDF(
+                HORIZONTE.lerInteiro(valores),
+                TESTE_ADMISSAO.lerInteiro(valores) == 1,
+                CPUS_ADMISSAO.lerInteiro(valores));
+    }
+}
@@ -0,0 +1,59 @@
+package scheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ponto de extensão para algoritmos de escalonamento.
+ * Implementações são descobertas com {@link java.util.ServiceLoader} a partir de
+ * {@code META-INF/services/scheduler.FabricaEscalonador}, então novos escalonadores podem ser
+ * distribuídos em jars separados sem alterar a interface gráfica.
+ */
+public interface FabricaEscalonador {
+
+    /**
+     * Identificador curto e único do algoritmo (por exemplo "rr" ou "sjf").
+     * 
+     * @return Identificador do algoritmo
+     */
+    String obterId();
+
+    /**
+     * Nome do algoritmo exibido ao usuário.
+     * 
+     * @return Nome do algoritmo
+     */
+    String obterNome();
+
+    /**
+     * Parâmetros aceitos pelo algoritmo.
+     * 
+     * @return Lista de descritores de parâmetros, vazia se o algoritmo não tem parâmetros
+     */
+    default List<ParametroEscalonador> obterParametros() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Cria uma nova instância do escalonador.
+     * 
+     * @param valores Valores dos parâmetros, indexados pela chave; ausentes usam o padrão
+     * @return Novo escalonador
+     */
+    Escalonador criar(Map<String, ? extends Number> valores);
+
+    /**
+     * Cria uma nova instância do escalonador, com os algoritmos escolhidos para os parâmetros do
+     * tipo {@link ParametroEscalonador.Tipo#ESCALONADOR}. Fábricas sem parâmetros desse tipo não
+     * precisam sobrescrever este método.
+     * 
+     * @param valores Valores dos parâmetros, indexados pela chave; ausentes usam o padrão
+     * @param escalonadores Identificadores escolhidos, indexados pela chave; ausentes usam o padrão
+     * @return Novo escalonador
+     * @throws IllegalArgumentException se um dos algoritmos escolhidos não estiver registrado
+     */
+    default Escalonador criar(Map<String, ? extends Number> valores, Map<String, String> escalonadores) {
+        return criar(valores);
+    }
+}
@@ -0,0 +1,60 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador de compartilhamento justo hierárquico. A política da folha é o
+ * identificador de qualquer algoritmo do {@link RegistroEscalonadores}, inclusive de plugins,
+ * informado no parâmetro "folha"; ela recebe os mesmos valores de parâmetros (por exemplo o
+ * quantum). Os pesos e cotas dos grupos são definidos no escalonador criado, com
+ * {@link EscalonadorFairShare#definirGrupo(String, double, int)}; sem eles todos os grupos
+ * têm peso 1 e nenhuma cota.
+ */
+public class FabricaFairShare implements FabricaEscalonador {
+    private static final String ID = "fair-share";
+
+    private static final ParametroEscalonador POLITICA_FOLHA =
+            ParametroEscalonador.escalonador("folha", "Política da folha", "rr");
+    private static final ParametroEscalonador PERIODO =
+            ParametroEscalonador.inteiro("periodo", "Período das cotas", 1, 100000, 100);
+    private static final ParametroEscalonador GRANULARIDADE =
+            ParametroEscalonador.inteiro("granularidade", "Granularidade", 1, 1000, 4);
+
+    @Override
+    public String obterId() {
+        return ID;
+    }
+
+    @Override
+    public String obterNome() {
+        return "Fair Share Hierárquico";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Arrays.asList(POLITICA_FOLHA, FabricaRoundRobin.QUANTUM, PERIODO, GRANULARIDADE);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return criar(valores, Collections.emptyMap());
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores, Map<String, String> escalonadores) {
+        String folha = POLITICA_FOLHA.lerEscalonador(escalonadores);
+        if (folha.equals(ID)) {
+            throw new IllegalArgumentException("A política da folha não pode ser " + ID);
+        }
+        Map<String, Number> valoresFolha = new HashMap<>(valores);
+        Map<String, String> escalonadoresFolha = new HashMap<>(escalonadores);
+        return new EscalonadorFairShare(
+                () -> RegistroEscalonadores.criar(folha, valoresFolha, escalonadoresFolha),
+                PERIODO.lerInteiro(valores),
+                GRANULARIDADE.lerInteiro(valores));
+    }
+}
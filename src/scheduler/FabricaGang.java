@@ -0,0 +1,34 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador gang (matriz de Ousterhout).
+ */
+public class FabricaGang implements FabricaEscalonador {
+    static final ParametroEscalonador COESCALONAMENTO = ParametroEscalonador.inteiro(
+            "coescalonamento", "Coescalonar threads (1 = sim, 0 = não)", 0, 1, 1);
+
+    @Override
+    public String obterId() {
+        return "gang";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Gang Scheduling (matriz de Ousterhout)";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Arrays.asList(FabricaRoundRobin.QUANTUM, COESCALONAMENTO);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorGang(FabricaRoundRobin.QUANTUM.lerInteiro(valores),
+                COESCALONAMENTO.lerInteiro(valores) != 0);
+    }
+}
@@ -0,0 +1,33 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador por loteria.
+ */
+public class FabricaLoteria implements FabricaEscalonador {
+    private static final ParametroEscalonador SEMENTE =
+            ParametroEscalonador.inteiro("semente", "Semente do sorteio", 0, Integer.MAX_VALUE, 42);
+
+    @Override
+    public String obterId() {
+        return "loteria";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Loteria";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Arrays.asList(FabricaRoundRobin.QUANTUM, SEMENTE);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorLoteria(FabricaRoundRobin.QUANTUM.lerInteiro(valores), SEMENTE.lerInteiro(valores));
+    }
+}
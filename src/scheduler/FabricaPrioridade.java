@@ -0,0 +1,36 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador por prioridade não preemptivo, com envelhecimento.
+ */
+public class FabricaPrioridade implements FabricaEscalonador {
+    static final ParametroEscalonador INTERVALO_ENVELHECIMENTO =
+            ParametroEscalonador.inteiro("envelhecimento", "Intervalo de envelhecimento", 1, 10000, 10);
+    static final ParametroEscalonador LIMITE_INANICAO =
+            ParametroEscalonador.inteiro("inanicao", "Limite de inanição", 1, 1000000, 100);
+
+    @Override
+    public String obterId() {
+        return "prioridade";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Prioridade com envelhecimento";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Arrays.asList(INTERVALO_ENVELHECIMENTO, LIMITE_INANICAO);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorPrioridade(false, INTERVALO_ENVELHECIMENTO.lerInteiro(valores), 1,
+                LIMITE_INANICAO.lerInteiro(valores));
+    }
+}
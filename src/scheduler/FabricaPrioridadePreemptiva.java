@@ -0,0 +1,35 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador por prioridade preemptivo, com envelhecimento.
+ */
+public class FabricaPrioridadePreemptiva implements FabricaEscalonador {
+    private static final ParametroEscalonador FATIA_MINIMA =
+            ParametroEscalonador.inteiro("fatia", "Fatia mínima", 1, 100, 1);
+
+    @Override
+    public String obterId() {
+        return "prioridade-preemptiva";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Prioridade preemptiva com envelhecimento";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Arrays.asList(FabricaPrioridade.INTERVALO_ENVELHECIMENTO, FATIA_MINIMA,
+                FabricaPrioridade.LIMITE_INANICAO);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorPrioridade(true, FabricaPrioridade.INTERVALO_ENVELHECIMENTO.lerInteiro(valores),
+                FATIA_MINIMA.lerInteiro(valores), FabricaPrioridade.LIMITE_INANICAO.lerInteiro(valores));
+    }
+}
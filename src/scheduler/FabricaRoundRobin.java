@@ -0,0 +1,32 @@
+package scheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador Round Robin.
+ */
+public class FabricaRoundRobin implements FabricaEscalonador {
+    static final ParametroEscalonador QUANTUM = ParametroEscalonador.inteiro("quantum", "Quantum", 1, 100, 4);
+
+    @Override
+    public String obterId() {
+        return "rr";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Round Robin (RR)";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Collections.singletonList(QUANTUM);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorRoundRobin(QUANTUM.lerInteiro(valores));
+    }
+}
@@ -0,0 +1,41 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador Round Robin com quantum adaptativo.
+ */
+public class FabricaRoundRobinAdaptativo implements FabricaEscalonador {
+    private static final ParametroEscalonador QUANTUM_INICIAL =
+            ParametroEscalonador.inteiro("quantum", "Quantum inicial", 1, 100, 4);
+    private static final ParametroEscalonador PERCENTIL =
+            ParametroEscalonador.decimal("percentil", "Percentil", 0.05, 0.95, 0.8, 0.05);
+    private static final ParametroEscalonador QUANTUM_MAXIMO =
+            ParametroEscalonador.inteiro("quantumMaximo", "Quantum máximo", 1, 1000, 64);
+
+    @Override
+    public String obterId() {
+        return "rr-adaptativo";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Round Robin Adaptativo";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Arrays.asList(QUANTUM_INICIAL, PERCENTIL, QUANTUM_MAXIMO);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorRoundRobinAdaptativo(
+                QUANTUM_INICIAL.lerInteiro(valores),
+                PERCENTIL.ler(valores),
+                1,
+                QUANTUM_MAXIMO.lerInteiro(valores));
+    }
+}
@@ -0,0 +1,31 @@
+package scheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica da variante concorrente do Round Robin.
+ */
+public class FabricaRoundRobinConcorrente implements FabricaEscalonador {
+
+    @Override
+    public String obterId() {
+        return "rr-concorrente";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Round Robin Concorrente";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Collections.singletonList(FabricaRoundRobin.QUANTUM);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorRoundRobinConcorrente(FabricaRoundRobin.QUANTUM.lerInteiro(valores));
+    }
+}
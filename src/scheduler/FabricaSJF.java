@@ -0,0 +1,24 @@
+package scheduler;
+
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador Shortest Job First.
+ */
+public class FabricaSJF implements FabricaEscalonador {
+
+    @Override
+    public String obterId() {
+        return "sjf";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Shortest Job First (SJF)";
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorSJF();
+    }
+}
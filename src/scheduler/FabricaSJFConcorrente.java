@@ -0,0 +1,24 @@
+package scheduler;
+
+import java.util.Map;
+
+/**
+ * Fábrica da variante concorrente do Shortest Job First.
+ */
+public class FabricaSJFConcorrente implements FabricaEscalonador {
+
+    @Override
+    public String obterId() {
+        return "sjf-concorrente";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Shortest Job First Concorrente (SJF)";
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorSJFConcorrente();
+    }
+}
@@ -0,0 +1,31 @@
+package scheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fábrica do escalonador stride (participação proporcional aos bilhetes).
+ */
+public class FabricaStride implements FabricaEscalonador {
+
+    @Override
+    public String obterId() {
+        return "stride";
+    }
+
+    @Override
+    public String obterNome() {
+        return "Stride Scheduling";
+    }
+
+    @Override
+    public List<ParametroEscalonador> obterParametros() {
+        return Collections.singletonList(FabricaRoundRobin.QUANTUM);
+    }
+
+    @Override
+    public Escalonador criar(Map<String, ? extends Number> valores) {
+        return new EscalonadorStride(FabricaRoundRobin.QUANTUM.lerInteiro(valores));
+    }
+}
@@ -0,0 +1,231 @@
+package scheduler;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Heap binário de mínimo que conhece a posição de cada elemento, o que permite remover ou
+ * reposicionar um elemento qualquer em O(log n). Os elementos são identificados pela
+ * identidade (não por {@code equals}) e empates na ordem são resolvidos pela ordem de inserção.
+ * Não é seguro para uso concorrente.
+ *
+ * @param <E> Tipo dos elementos
+ */
+public class HeapIndexado<E> {
+    private final Comparator<? super E> ordem;
+    private final Map<E, Integer> posicoes;
+    private Object[] elementos;
+    private long[] sequencias;
+    private int tamanho;
+    private long proximaSequencia;
+
+    /**
+     * Cria um heap vazio.
+     *
+     * @param ordem Ordem dos elementos; o menor fica no topo
+     */
+    public HeapIndexado(Comparator<? super E> ordem) {
+        this.ordem = ordem;
+        this.posicoes = new IdentityHashMap<>();
+        this.elementos = new Object[16];
+        this.sequencias = new long[16];
+    }
+
+    /**
+     * Adiciona um elemento.
+     *
+     * @param elemento Elemento a adicionar
+     * @throws IllegalArgumentException se o elemento já estiver no heap
+     */
+    public void adicionar(E elemento) {
+        if (posicoes.containsKey(elemento)) {
+            throw new IllegalArgumentException("Elemento já está no heap: " + elemento);
+        }
+        if (tamanho == elementos.length) {
+            elementos = Arrays.copyOf(elementos, tamanho * 2);
+            sequencias = Arrays.copyOf(sequencias, tamanho * 2);
+        }
+        elementos[tamanho] = elemento;
+        sequencias[tamanho] = proximaSequencia++;
+        posicoes.put(elemento, tamanho);
+        subir(tamanho++);
+    }
+
+    /**
+     * Retorna o menor elemento sem retirá-lo.
+     *
+     * @return Menor elemento ou null se o heap estiver vazio
+     */
+    public E primeiro() {
+        return tamanho == 0 ? null : elemento(0);
+    }
+
+    /**
+     * Retorna o menor elemento que satisfaz o filtro, sem retirá-lo. A busca percorre o heap
+     * em ordem a partir do topo e examina apenas os elementos menores que o encontrado e os
+     * seus filhos diretos, então custa O(1) quando o topo satisfaz o filtro.
+     *
+     * @param filtro Condição que o elemento deve satisfazer
+     * @return Menor elemento que satisfaz o filtro ou null se nenhum satisfizer
+     */
+    public E primeiro(Predicate<? super E> filtro) {
+        if (tamanho == 0) {
+            return null;
+        }
+        if (filtro.test(elemento(0))) {
+            return elemento(0);
+        }
+        PriorityQueue<Integer> fronteira = new PriorityQueue<>(this::comparar);
+        fronteira.add(0);
+        while (!fronteira.isEmpty()) {
+            int indice = fronteira.poll();
+            if (filtro.test(elemento(indice))) {
+                return elemento(indice);
+            }
+            for (int filho = 2 * indice + 1; filho <= 2 * indice + 2 && filho < tamanho; filho++) {
+                fronteira.add(filho);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retira e retorna o menor elemento.
+     *
+     * @return Menor elemento ou null se o heap estiver vazio
+     */
+    public E retirarPrimeiro() {
+        if (tamanho == 0) {
+            return null;
+        }
+        E primeiro = elemento(0);
+        removerNaPosicao(0);
+        return primeiro;
+    }
+
+    /**
+     * Remove um elemento qualquer.
+     *
+     * @param elemento Elemento a remover
+     * @return true se o elemento estava no heap
+     */
+    public boolean remover(E elemento) {
+        Integer posicao = posicoes.get(elemento);
+        if (posicao == null) {
+            return false;
+        }
+        removerNaPosicao(posicao);
+        return true;
+    }
+
+    /**
+     * Reposiciona um elemento cuja chave de ordenação mudou. A ordem de inserção usada nos
+     * empates é mantida.
+     *
+     * @param elemento Elemento alterado
+     * @return true se o elemento estava no heap
+     */
+    public boolean atualizar(E elemento) {
+        Integer posicao = posicoes.get(elemento);
+        if (posicao == null) {
+            return false;
+        }
+        descer(subir(posicao));
+        return true;
+    }
+
+    public boolean contem(E elemento) {
+        return posicoes.containsKey(elemento);
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean estaVazio() {
+        return tamanho == 0;
+    }
+
+    public void limpar() {
+        Arrays.fill(elementos, 0, tamanho, null);
+        posicoes.clear();
+        tamanho = 0;
+    }
+
+    private void removerNaPosicao(int posicao) {
+        posicoes.remove(elemento(posicao));
+        tamanho--;
+        if (posicao != tamanho) {
+            mover(tamanho, posicao);
+            descer(subir(posicao));
+        }
+        elementos[tamanho] = null;
+    }
+
+    /**
+     * Sobe o elemento da posição enquanto ele for menor que o pai.
+     *
+     * @return Posição final do elemento
+     */
+    private int subir(int posicao) {
+        while (posicao > 0) {
+            int pai = (posicao - 1) / 2;
+            if (comparar(posicao, pai) >= 0) {
+                break;
+            }
+            trocar(posicao, pai);
+            posicao = pai;
+        }
+        return posicao;
+    }
+
+    private void descer(int posicao) {
+        while (true) {
+            int menor = posicao;
+            int esquerdo = 2 * posicao + 1;
+            int direito = esquerdo + 1;
+            if (esquerdo < tamanho && comparar(esquerdo, menor) < 0) {
+                menor = esquerdo;
+            }
+            if (direito < tamanho && comparar(direito, menor) < 0) {
+                menor = direito;
+            }
+            if (menor == posicao) {
+                return;
+            }
+            trocar(posicao, menor);
+            posicao = menor;
+        }
+    }
+
+    private int comparar(int i, int j) {
+        int comparacao = ordem.compare(elemento(i), elemento(j));
+        return comparacao != 0 ? comparacao : Long.compare(sequencias[i], sequencias[j]);
+    }
+
+    private void trocar(int i, int j) {
+        Object elemento = elementos[i];
+        long sequencia = sequencias[i];
+        elementos[i] = elementos[j];
+        sequencias[i] = sequencias[j];
+        elementos[j] = elemento;
+        sequencias[j] = sequencia;
+        posicoes.put(elemento(i), i);
+        posicoes.put(elemento(j), j);
+    }
+
+    private void mover(int origem, int destino) {
+        elementos[destino] = elementos[origem];
+        sequencias[destino] = sequencias[origem];
+        posicoes.put(elemento(destino), destino);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elemento(int posicao) {
+        return (E) elementos[posicao];
+    }
+}
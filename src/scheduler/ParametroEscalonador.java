@@ -0,0 +1,154 @@
+package scheduler;
+
+import java.util.Map;
+
+/**
+ * Descreve um parâmetro configurável de um algoritmo de escalonamento (por exemplo o quantum).
+ * A interface gráfica e as execuções sem interface usam estes descritores para montar os
+ * controles e validar os valores antes de criar o escalonador.
+ */
+public final class ParametroEscalonador {
+
+    /**
+     * Tipo do valor aceito pelo parâmetro.
+     */
+    public enum Tipo {
+        INTEIRO,
+        DECIMAL,
+        /**
+         * Identificador de um algoritmo do {@link RegistroEscalonadores}; o valor é informado
+         * pelos escalonadores escolhidos, não pelos valores numéricos.
+         */
+        ESCALONADOR
+    }
+
+    private final String chave;
+    private final String rotulo;
+    private final Tipo tipo;
+    private final double minimo;
+    private final double maximo;
+    private final double padrao;
+    private final double passo;
+    private final String padraoEscalonador;
+
+    private ParametroEscalonador(String chave, String rotulo, Tipo tipo, double minimo, double maximo,
+                                 double padrao, double passo, String padraoEscalonador) {
+        this.chave = chave;
+        this.rotulo = rotulo;
+        this.tipo = tipo;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.padrao = padrao;
+        this.passo = passo;
+        this.padraoEscalonador = padraoEscalonador;
+    }
+
+    /**
+     * Cria a descrição de um parâmetro inteiro.
+     * 
+     * @param chave Nome usado para informar o valor (por exemplo "quantum")
+     * @param rotulo Texto exibido ao usuário
+     * @param minimo Menor valor aceito
+     * @param maximo Maior valor aceito
+     * @param padrao Valor usado quando nenhum é informado
+     * @return Descritor do parâmetro
+     */
+    public static ParametroEscalonador inteiro(String chave, String rotulo, int minimo, int maximo, int padrao) {
+        return new ParametroEscalonador(chave, rotulo, Tipo.INTEIRO, minimo, maximo, padrao, 1, null);
+    }
+
+    /**
+     * Cria a descrição de um parâmetro decimal.
+     * 
+     * @param chave Nome usado para informar o valor
+     * @param rotulo Texto exibido ao usuário
+     * @param minimo Menor valor aceito
+     * @param maximo Maior valor aceito
+     * @param padrao Valor usado quando nenhum é informado
+     * @param passo Incremento sugerido para controles gráficos
+     * @return Descritor do parâmetro
+     */
+    public static ParametroEscalonador decimal(String chave, String rotulo, double minimo, double maximo,
+                                               double padrao, double passo) {
+        return new ParametroEscalonador(chave, rotulo, Tipo.DECIMAL, minimo, maximo, padrao, passo, null);
+    }
+
+    /**
+     * Cria a descrição de um parâmetro cujo valor é outro algoritmo de escalonamento, por
+     * exemplo a política usada nas folhas de um escalonador hierárquico.
+     * 
+     * @param chave Nome usado para informar o identificador
+     * @param rotulo Texto exibido ao usuário
+     * @param padrao Identificador usado quando nenhum é informado
+     * @return Descritor do parâmetro
+     */
+    public static ParametroEscalonador escalonador(String chave, String rotulo, String padrao) {
+        return new ParametroEscalonador(chave, rotulo, Tipo.ESCALONADOR, 0, 0, 0, 0, padrao);
+    }
+
+    /**
+     * Lê o valor deste parâmetro, usando o padrão se ausente e limitando-o ao intervalo permitido.
+     * 
+     * @param valores Valores informados, indexados pela chave do parâmetro
+     * @return Valor validado
+     */
+    public double ler(Map<String, ? extends Number> valores) {
+        Number valor = valores.get(chave);
+        double lido = valor == null ? padrao : valor.doubleValue();
+        return Math.max(minimo, Math.min(maximo, lido));
+    }
+
+    /**
+     * Lê o valor deste parâmetro como inteiro.
+     * 
+     * @param valores Valores informados, indexados pela chave do parâmetro
+     * @return Valor validado
+     */
+    public int lerInteiro(Map<String, ? extends Number> valores) {
+        return (int) Math.round(ler(valores));
+    }
+
+    /**
+     * Lê o identificador escolhido para este parâmetro, usando o padrão se ausente.
+     * 
+     * @param escalonadores Identificadores informados, indexados pela chave do parâmetro
+     * @return Identificador de um algoritmo registrado
+     * @throws IllegalArgumentException se o algoritmo não estiver registrado
+     */
+    public String lerEscalonador(Map<String, String> escalonadores) {
+        String id = escalonadores.getOrDefault(chave, padraoEscalonador);
+        return RegistroEscalonadores.buscarObrigatoria(id).obterId();
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public String getRotulo() {
+        return rotulo;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public double getMinimo() {
+        return minimo;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+
+    public double getPadrao() {
+        return padrao;
+    }
+
+    public double getPasso() {
+        return passo;
+    }
+
+    public String getPadraoEscalonador() {
+        return padraoEscalonador;
+    }
+}
@@ -0,0 +1,96 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registro dos algoritmos de escalonamento disponíveis.
+ * As fábricas são carregadas uma única vez, na primeira consulta, e mantidas em cache;
+ * criar um escalonador depois disso é apenas uma chamada direta à fábrica.
+ */
+public final class RegistroEscalonadores {
+
+    private RegistroEscalonadores() {
+    }
+
+    /**
+     * Inicialização preguiçosa e segura entre threads do mapa de fábricas.
+     */
+    private static final class Carregador {
+        private static final Map<String, FabricaEscalonador> FABRICAS = carregar();
+
+        private static Map<String, FabricaEscalonador> carregar() {
+            Map<String, FabricaEscalonador> fabricas = new LinkedHashMap<>();
+            for (FabricaEscalonador fabrica : ServiceLoader.load(FabricaEscalonador.class)) {
+                // A primeira fábrica encontrada para um identificador prevalece
+                fabricas.putIfAbsent(fabrica.obterId(), fabrica);
+            }
+            return Collections.unmodifiableMap(fabricas);
+        }
+    }
+
+    /**
+     * Lista as fábricas disponíveis, na ordem em que foram descobertas.
+     * 
+     * @return Lista de fábricas
+     */
+    public static List<FabricaEscalonador> listar() {
+        return new ArrayList<>(Carregador.FABRICAS.values());
+    }
+
+    /**
+     * Busca a fábrica de um algoritmo.
+     * 
+     * @param id Identificador do algoritmo
+     * @return A fábrica ou null se não houver algoritmo com este identificador
+     */
+    public static FabricaEscalonador buscar(String id) {
+        return Carregador.FABRICAS.get(id);
+    }
+
+    /**
+     * Busca a fábrica de um algoritmo que precisa estar registrado.
+     * 
+     * @param id Identificador do algoritmo
+     * @return A fábrica
+     * @throws IllegalArgumentException se o algoritmo não estiver registrado
+     */
+    public static FabricaEscalonador buscarObrigatoria(String id) {
+        FabricaEscalonador fabrica = buscar(id);
+        if (fabrica == null) {
+            throw new IllegalArgumentException("Algoritmo de escalonamento desconhecido: " + id);
+        }
+        return fabrica;
+    }
+
+    /**
+     * Cria um escalonador a partir do identificador do algoritmo.
+     * 
+     * @param id Identificador do algoritmo
+     * @param valores Valores dos parâmetros
+     * @return Novo escalonador
+     * @throws IllegalArgumentException se o algoritmo não estiver registrado
+     */
+    public static Escalonador criar(String id, Map<String, ? extends Number> valores) {
+        return buscarObrigatoria(id).criar(valores);
+    }
+
+    /**
+     * Cria um escalonador a partir do identificador do algoritmo, com os algoritmos escolhidos
+     * para os seus parâmetros do tipo {@link ParametroEscalonador.Tipo#ESCALONADOR}.
+     * 
+     * @param id Identificador do algoritmo
+     * @param valores Valores dos parâmetros
+     * @param escalonadores Identificadores escolhidos, indexados pela chave do parâmetro
+     * @return Novo escalonador
+     * @throws IllegalArgumentException se o algoritmo, ou um dos escolhidos, não estiver registrado
+     */
+    public static Escalonador criar(String id, Map<String, ? extends Number> valores,
+                                    Map<String, String> escalonadores) {
+        return buscarObrigatoria(id).criar(valores, escalonadores);
+    }
+}
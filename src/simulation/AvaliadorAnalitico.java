@@ -0,0 +1,338 @@
+package simulation;
+
+import model.Processo;
+import scheduler.EscalonadorRoundRobin;
+import scheduler.EscalonadorSJF;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Avaliação direta de escalonamentos em uma única CPU, sem threads nem pausas.
+ * Calcula início, término, espera e turnaround de cada processo saltando de um ponto de
+ * decisão para o próximo em vez de simular unidade por unidade, e reproduz exatamente as
+ * decisões de {@link EscalonadorSJF} e {@link EscalonadorRoundRobin} executados pelo
+ * {@link MotorDeSimulacao} com uma thread e sem custo de troca de contexto.
+ */
+public final class AvaliadorAnalitico {
+
+    private AvaliadorAnalitico() {
+    }
+
+    /**
+     * Calcula o escalonamento SJF não preemptivo em O(n log n): ordenação por chegada seguida
+     * de uma varredura com heap ordenado pelo tempo de execução.
+     * 
+     * @param processos Processos da carga de trabalho (não são modificados)
+     * @return Resultado com cópias concluídas dos processos
+     */
+    public static MotorDeSimulacao.ResultadoSimulacao avaliarSJF(List<Processo> processos) {
+        long inicioMedicao = System.nanoTime();
+        int n = processos.size();
+        int[] chegada = new int[n];
+        int[] execucao = new int[n];
+        Integer[] ordem = ordenarPorChegada(processos, chegada, execucao);
+        int[] inicio = new int[n];
+        int[] fim = new int[n];
+
+        // Heap de chaves (tempo de execução, ordem de entrada na fila); o empate no tempo de
+        // execução é decidido a favor de quem entrou antes na fila de prontos
+        long[] heap = new long[Math.max(1, n)];
+        int tamanhoHeap = 0;
+        int[] indicePorSequencia = new int[n];
+
+        int validos = 0;
+        for (int i = 0; i < n; i++) {
+            if (execucao[i] > 0) {
+                validos++;
+            }
+        }
+
+        int tempo = 0;
+        int proximo = 0;
+        int contadorSequencia = 0;
+        int concluidos = 0;
+        while (concluidos < validos) {
+            // Admite, na ordem da lista, todos os processos que chegaram até este ponto de decisão
+            int inicioLote = proximo;
+            while (proximo < n && chegada[ordem[proximo]] <= tempo) {
+                proximo++;
+            }
+            if (proximo > inicioLote) {
+                Integer[] lote = Arrays.copyOfRange(ordem, inicioLote, proximo);
+                Arrays.sort(lote);
+                for (int i : lote) {
+                    if (execucao[i] > 0) {
+                        indicePorSequencia[contadorSequencia] = i;
+                        tamanhoHeap = inserir(heap, tamanhoHeap, ((long) execucao[i] << 32) | contadorSequencia++);
+                    }
+                }
+            }
+
+            if (tamanhoHeap == 0) {
+                // CPU ociosa até a próxima chegada
+                tempo = chegada[ordem[proximo]];
+                continue;
+            }
+
+            int escolhido = indicePorSequencia[(int) heap[0]];
+            tamanhoHeap = removerMinimo(heap, tamanhoHeap);
+            inicio[escolhido] = tempo;
+            tempo += execucao[escolhido];
+            fim[escolhido] = tempo;
+            concluidos++;
+        }
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("Makespan", tempo);
+        metricas.put("Trocas de contexto", validos);
+        return montarResultado(processos, inicio, fim, execucao, tempo, metricas, inicioMedicao);
+    }
+
+    /**
+     * Calcula o escalonamento Round Robin avançando fatia por fatia e, quando não há chegadas
+     * no caminho e nenhum processo termina, aplicando várias rodadas completas de uma só vez.
+     * 
+     * @param processos Processos da carga de trabalho (não são modificados)
+     * @param quantum Quantum do Round Robin
+     * @return Resultado com cópias concluídas dos processos
+     */
+    public static MotorDeSimulacao.ResultadoSimulacao avaliarRoundRobin(List<Processo> processos, int quantum) {
+        long inicioMedicao = System.nanoTime();
+        int n = processos.size();
+        int q = Math.max(1, quantum);
+        int[] chegada = new int[n];
+        int[] execucao = new int[n];
+        Integer[] ordem = ordenarPorChegada(processos, chegada, execucao);
+        int[] restante = new int[n];
+        for (int i = 0; i < n; i++) {
+            // Um processo sem tempo de execução ainda ocupa a CPU por uma unidade ao ser despachado
+            restante[i] = Math.max(1, execucao[i]);
+        }
+        int[] inicio = new int[n];
+        int[] fim = new int[n];
+        boolean[] iniciado = new boolean[n];
+
+        // Fila circular de índices; cada processo aparece no máximo uma vez
+        int[] fila = new int[n + 1];
+        int cabeca = 0;
+        int tamanho = 0;
+
+        int tempo = 0;
+        int proximo = 0;
+        int atual = -1;
+        int concluidos = 0;
+        int trocas = 0;
+        int ultimoExecutado = -1;
+        int fatiasSemRodadas = 0;
+        while (concluidos < n) {
+            // Chegadas até este ponto de decisão entram antes do processo preemptado
+            while (proximo < n && chegada[ordem[proximo]] <= tempo) {
+                fila[(cabeca + tamanho++) % fila.length] = ordem[proximo++];
+            }
+
+            if (atual >= 0 && restante[atual] > 0) {
+                fila[(cabeca + tamanho++) % fila.length] = atual;
+            }
+            atual = -1;
+
+            if (tamanho == 0) {
+                if (proximo < n) {
+                    // CPU ociosa até a próxima chegada
+                    tempo = Math.max(tempo, chegada[ordem[proximo]]);
+                }
+                continue;
+            }
+
+            // Rodadas completas em que ninguém termina e nenhuma chegada interfere. Se um processo
+            // na posição k termina na sua próxima fatia, não há rodada completa nas próximas k fatias
+            int rodadas = fatiasSemRodadas > 0 ? 0 : Integer.MAX_VALUE;
+            for (int k = 0; k < tamanho && rodadas > 0; k++) {
+                rodadas = Math.min(rodadas, (restante[fila[(cabeca + k) % fila.length]] - 1) / q);
+                if (rodadas == 0) {
+                    fatiasSemRodadas = k + 1;
+                }
+            }
+            long duracaoRodada = (long) q * tamanho;
+            if (proximo < n) {
+                long folga = (long) chegada[ordem[proximo]] - tempo - 1;
+                rodadas = (int) Math.min(rodadas, Math.max(0, folga / duracaoRodada));
+            }
+            if (rodadas > 0) {
+                for (int k = 0; k < tamanho; k++) {
+                    int indice = fila[(cabeca + k) % fila.length];
+                    if (!iniciado[indice]) {
+                        iniciado[indice] = true;
+                        inicio[indice] = tempo + k * q;
+                    }
+                    restante[indice] -= rodadas * q;
+                }
+                if (tamanho > 1) {
+                    trocas += rodadas * tamanho;
+                } else if (ultimoExecutado != fila[cabeca]) {
+                    trocas++;
+                }
+                ultimoExecutado = fila[(cabeca + tamanho - 1) % fila.length];
+                tempo += (int) (rodadas * duracaoRodada);
+                continue;
+            }
+
+            // Executa uma única fatia
+            fatiasSemRodadas = Math.max(0, fatiasSemRodadas - 1);
+            atual = fila[cabeca];
+            cabeca = (cabeca + 1) % fila.length;
+            tamanho--;
+            if (!iniciado[atual]) {
+                iniciado[atual] = true;
+                inicio[atual] = tempo;
+            }
+            if (atual != ultimoExecutado) {
+                trocas++;
+                ultimoExecutado = atual;
+            }
+            int fatia = Math.min(q, restante[atual]);
+            restante[atual] -= fatia;
+            tempo += fatia;
+            if (restante[atual] == 0) {
+                fim[atual] = tempo;
+                concluidos++;
+            }
+        }
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("Makespan", tempo);
+        metricas.put("Trocas de contexto", trocas);
+        return montarResultado(processos, inicio, fim, execucao, tempo, metricas, inicioMedicao);
+    }
+
+    /**
+     * Compara o avaliador com o motor de simulação em uma carga gerada com a semente informada.
+     * 
+     * @param semente Semente do {@link GeradorDeProcessos}
+     * @param quantidade Número de processos
+     * @param quantum Quantum do Round Robin ou 0 para comparar o SJF
+     * @return Lista de divergências encontradas (vazia se os resultados coincidem)
+     * @throws InterruptedException se a thread for interrompida enquanto o motor executa
+     */
+    public static List<String> compararComMotor(long semente, int quantidade, int quantum) throws InterruptedException {
+        List<Processo> carga = new GeradorDeProcessos(semente).gerarProcessos(quantidade);
+        MotorDeSimulacao.ResultadoSimulacao analitico = quantum > 0
+                ? avaliarRoundRobin(carga, quantum)
+                : avaliarSJF(carga);
+
+        MotorDeSimulacao motor = new MotorDeSimulacao(
+                quantum > 0 ? new EscalonadorRoundRobin(quantum) : new EscalonadorSJF(), 1);
+        motor.setAtrasoPorUnidade(0);
+        motor.getEscalonador().adicionarProcessos(carga);
+        MotorDeSimulacao.ResultadoSimulacao simulado = motor.executarAteConcluir();
+
+        List<String> divergencias = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Processo esperado = simulado.getProcessos().get(i);
+            Processo calculado = analitico.getProcessos().get(i);
+            if (esperado.getTempoInicio() != calculado.getTempoInicio()
+                    || esperado.getTempoFim() != calculado.getTempoFim()) {
+                divergencias.add(esperado.getId() + ": motor [" + esperado.getTempoInicio() + ", "
+                        + esperado.getTempoFim() + "] analítico [" + calculado.getTempoInicio() + ", "
+                        + calculado.getTempoFim() + "]");
+            }
+        }
+        return divergencias;
+    }
+
+    /**
+     * Insere uma chave no heap mínimo e retorna o novo tamanho.
+     */
+    private static int inserir(long[] heap, int tamanho, long chave) {
+        int i = tamanho;
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (heap[pai] <= chave) {
+                break;
+            }
+            heap[i] = heap[pai];
+            i = pai;
+        }
+        heap[i] = chave;
+        return tamanho + 1;
+    }
+
+    /**
+     * Remove a menor chave do heap e retorna o novo tamanho.
+     */
+    private static int removerMinimo(long[] heap, int tamanho) {
+        long ultima = heap[--tamanho];
+        int i = 0;
+        while (true) {
+            int filho = 2 * i + 1;
+            if (filho >= tamanho) {
+                break;
+            }
+            if (filho + 1 < tamanho && heap[filho + 1] < heap[filho]) {
+                filho++;
+            }
+            if (heap[filho] >= ultima) {
+                break;
+            }
+            heap[i] = heap[filho];
+            i = filho;
+        }
+        if (tamanho > 0) {
+            heap[i] = ultima;
+        }
+        return tamanho;
+    }
+
+    /**
+     * Extrai chegadas e tempos de execução e retorna os índices ordenados por chegada e,
+     * em caso de empate, pela posição na lista.
+     */
+    static Integer[] ordenarPorChegada(List<Processo> processos, int[] chegada, int[] execucao) {
+        Integer[] ordem = new Integer[processos.size()];
+        for (int i = 0; i < ordem.length; i++) {
+            Processo processo = processos.get(i);
+            chegada[i] = Math.max(0, processo.getTempoChegada());
+            execucao[i] = processo.getTempoExecucao();
+            ordem[i] = i;
+        }
+        Arrays.sort(ordem, Comparator.comparingInt((Integer i) -> chegada[i]).thenComparingInt(i -> i));
+        return ordem;
+    }
+
+    static MotorDeSimulacao.ResultadoSimulacao montarResultado(List<Processo> processos, int[] inicio,
+                                                               int[] fim, int[] execucao, int makespan,
+                                                               Map<String, Object> metricas,
+                                                               long inicioMedicao) {
+        List<Processo> concluidos = new ArrayList<>(processos.size());
+        long somaEspera = 0;
+        long somaRetorno = 0;
+        long somaExecucao = 0;
+        long usoMemoria = 0;
+        for (int i = 0; i < processos.size(); i++) {
+            Processo original = processos.get(i);
+            Processo copia = new Processo(original.getId(), original.getTempoChegada(), original.getTempoExecucao());
+            if (fim[i] > 0) {
+                copia.setTempoInicio(inicio[i]);
+                copia.setTempoFim(fim[i]);
+            }
+            concluidos.add(copia);
+            somaEspera += copia.getTempoEspera();
+            somaRetorno += copia.getTempoRetorno();
+            somaExecucao += execucao[i];
+            // Mesma estimativa de memória do motor: 1MB por processo + 1KB por unidade de execução
+            usoMemoria += 1024 * 1024 + execucao[i] * 1024L;
+        }
+
+        int n = processos.size();
+        double usoCPU = makespan > 0 ? (double) somaExecucao / makespan * 100.0 : 0;
+        long tempoExecucao = (System.nanoTime() - inicioMedicao) / 1_000_000;
+        return new MotorDeSimulacao.ResultadoSimulacao(concluidos,
+                n == 0 ? 0 : (double) somaEspera / n,
+                n == 0 ? 0 : (double) somaRetorno / n,
+                usoCPU, usoMemoria, tempoExecucao, metricas);
+    }
+}
@@ -0,0 +1,325 @@
+package simulation;
+
+import model.Processo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Avalia várias configurações de Round Robin (uma por quantum) sobre a mesma carga em uma
+ * única passagem pelas chegadas. A carga é decodificada e ordenada uma vez, e cada lote de
+ * chegadas é admitido em todas as configurações antes do próximo; entre dois lotes cada
+ * configuração avança sozinha, fatia por fatia ou várias rodadas de uma vez, como no
+ * {@link AvaliadorAnalitico#avaliarRoundRobin(List, int)}, cujas decisões são reproduzidas
+ * exatamente (uma CPU, sem custo de troca de contexto).
+ *
+ * O estado das configurações fica em vetores primitivos: os escalares de todas as
+ * configurações lado a lado (tempo, processo atual, fila) e, para os vetores por processo,
+ * um segmento contíguo por configuração, de modo que avançar uma configuração percorre apenas
+ * a sua própria memória.
+ */
+public final class AvaliadorRoundRobinMultiplo {
+
+    /**
+     * Resultados de todas as configurações de uma avaliação.
+     */
+    public static final class Resultados {
+        private final List<Processo> processos;
+        private final int[] quanta;
+        private final int[] inicio;
+        private final int[] fim;
+        private final int[] execucao;
+        private final int[] makespan;
+        private final int[] trocas;
+        private final long tempoExecucao;
+
+        Resultados(List<Processo> processos, int[] quanta, int[] inicio, int[] fim, int[] execucao,
+                   int[] makespan, int[] trocas, long tempoExecucao) {
+            this.processos = processos;
+            this.quanta = quanta;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.execucao = execucao;
+            this.makespan = makespan;
+            this.trocas = trocas;
+            this.tempoExecucao = tempoExecucao;
+        }
+
+        public int getQuantidadeConfiguracoes() {
+            return quanta.length;
+        }
+
+        public int getQuantum(int configuracao) {
+            return quanta[configuracao];
+        }
+
+        public int getMakespan(int configuracao) {
+            return makespan[configuracao];
+        }
+
+        public int getTrocasContexto(int configuracao) {
+            return trocas[configuracao];
+        }
+
+        /**
+         * Tempo médio de espera da configuração, com a mesma definição de {@link Processo#getTempoEspera()}.
+         */
+        public double getTempoMedioEspera(int configuracao) {
+            return media(configuracao, true);
+        }
+
+        /**
+         * Tempo médio de turnaround da configuração.
+         */
+        public double getTempoMedioRetorno(int configuracao) {
+            return media(configuracao, false);
+        }
+
+        /**
+         * Tempo real da avaliação de todas as configurações, em milissegundos.
+         */
+        public long getTempoExecucao() {
+            return tempoExecucao;
+        }
+
+        /**
+         * Monta o resultado completo de uma configuração, com cópias concluídas dos processos,
+         * no mesmo formato do {@link AvaliadorAnalitico}.
+         */
+        public MotorDeSimulacao.ResultadoSimulacao obterResultado(int configuracao) {
+            int n = processos.size();
+            Map<String, Object> metricas = new LinkedHashMap<>();
+            metricas.put("Makespan", makespan[configuracao]);
+            metricas.put("Trocas de contexto", trocas[configuracao]);
+            return AvaliadorAnalitico.montarResultado(processos,
+                    Arrays.copyOfRange(inicio, configuracao * n, (configuracao + 1) * n),
+                    Arrays.copyOfRange(fim, configuracao * n, (configuracao + 1) * n),
+                    execucao, makespan[configuracao], metricas, System.nanoTime());
+        }
+
+        private double media(int configuracao, boolean espera) {
+            int n = processos.size();
+            if (n == 0) {
+                return 0;
+            }
+            long soma = 0;
+            int base = configuracao * n;
+            for (int i = 0; i < n; i++) {
+                if (fim[base + i] > 0) {
+                    int retorno = Math.max(0, fim[base + i] - processos.get(i).getTempoChegada());
+                    soma += espera ? Math.max(0, retorno - execucao[i]) : retorno;
+                }
+            }
+            return (double) soma / n;
+        }
+    }
+
+    private AvaliadorRoundRobinMultiplo() {
+    }
+
+    /**
+     * Avalia o Round Robin com cada quantum informado.
+     *
+     * @param processos Processos da carga de trabalho (não são modificados)
+     * @param quanta Quantum de cada configuração
+     * @return Resultados de todas as configurações, na ordem dos quanta
+     */
+    public static Resultados avaliar(List<Processo> processos, int... quanta) {
+        long inicioMedicao = System.nanoTime();
+        int n = processos.size();
+        int m = quanta.length;
+
+        // Decodificação e ordenação das chegadas, compartilhadas por todas as configurações
+        int[] chegada = new int[n];
+        int[] execucao = new int[n];
+        Integer[] ordemObjetos = AvaliadorAnalitico.ordenarPorChegada(processos, chegada, execucao);
+        int[] ordem = new int[n];
+        for (int i = 0; i < n; i++) {
+            ordem[i] = ordemObjetos[i];
+        }
+
+        // Estado escalar de cada configuração
+        int[] q = new int[m];
+        int[] tempo = new int[m];
+        int[] atual = new int[m];
+        int[] ultimoExecutado = new int[m];
+        int[] concluidos = new int[m];
+        int[] trocas = new int[m];
+        int[] fatiasSemRodadas = new int[m];
+        int[] cabeca = new int[m];
+        int[] tamanho = new int[m];
+        for (int c = 0; c < m; c++) {
+            q[c] = Math.max(1, quanta[c]);
+            atual[c] = -1;
+            ultimoExecutado[c] = -1;
+        }
+
+        // Estado por processo: um segmento de n posições (n + 1 na fila circular) por configuração
+        int capacidadeFila = n + 1;
+        int[] fila = new int[m * capacidadeFila];
+        int[] restante = new int[m * n];
+        int[] inicio = new int[m * n];
+        int[] fim = new int[m * n];
+        Arrays.fill(inicio, -1);
+
+        int proximo = 0;
+        while (proximo < n) {
+            int instante = chegada[ordem[proximo]];
+            int fimLote = proximo;
+            while (fimLote < n && chegada[ordem[fimLote]] == instante) {
+                fimLote++;
+            }
+            int proximaChegada = fimLote < n ? chegada[ordem[fimLote]] : Integer.MAX_VALUE;
+
+            for (int c = 0; c < m; c++) {
+                avancar(c, instante, n, q, tempo, atual, ultimoExecutado, concluidos, trocas, fatiasSemRodadas,
+                        cabeca, tamanho, fila, restante, inicio, fim);
+
+                // O lote entra na fila antes do processo preemptado na decisão em tempo[c] >= instante
+                int baseFila = c * capacidadeFila;
+                int baseProcessos = c * n;
+                for (int k = proximo; k < fimLote; k++) {
+                    int indice = ordem[k];
+                    restante[baseProcessos + indice] = Math.max(1, execucao[indice]);
+                    fila[baseFila + (cabeca[c] + tamanho[c]++) % capacidadeFila] = indice;
+                }
+                if (tempo[c] < instante) {
+                    // CPU ociosa até este lote
+                    tempo[c] = instante;
+                }
+                if (proximaChegada == Integer.MAX_VALUE) {
+                    avancar(c, Integer.MAX_VALUE, n, q, tempo, atual, ultimoExecutado, concluidos, trocas,
+                            fatiasSemRodadas, cabeca, tamanho, fila, restante, inicio, fim);
+                }
+            }
+            proximo = fimLote;
+        }
+
+        int[] makespan = tempo.clone();
+        for (int i = 0; i < m * n; i++) {
+            if (inicio[i] < 0) {
+                inicio[i] = 0;
+            }
+        }
+        return new Resultados(processos, quanta.clone(), inicio, fim, execucao, makespan, trocas,
+                (System.nanoTime() - inicioMedicao) / 1_000_000);
+    }
+
+    /**
+     * Avança a configuração enquanto o seu próximo ponto de decisão for anterior ao lote de
+     * chegadas em {@code limite}: até lá, todas as chegadas que a decisão precisa ver já foram
+     * admitidas. O processo da última fatia fica pendente em {@code atual} até a decisão seguinte.
+     */
+    private static void avancar(int c, int limite, int n, int[] q, int[] tempo, int[] atual, int[] ultimoExecutado,
+                                int[] concluidos, int[] trocas, int[] fatiasSemRodadas, int[] cabeca,
+                                int[] tamanho, int[] fila, int[] restante, int[] inicio, int[] fim) {
+        int capacidadeFila = n + 1;
+        int baseFila = c * capacidadeFila;
+        int baseProcessos = c * n;
+        int quantum = q[c];
+
+        while (tempo[c] < limite || limite == Integer.MAX_VALUE) {
+            if (atual[c] >= 0 && restante[baseProcessos + atual[c]] > 0) {
+                fila[baseFila + (cabeca[c] + tamanho[c]++) % capacidadeFila] = atual[c];
+            }
+            atual[c] = -1;
+
+            if (tamanho[c] == 0) {
+                // Sem prontos: a configuração espera o próximo lote
+                return;
+            }
+
+            // Rodadas completas em que ninguém termina e nenhuma chegada interfere
+            int rodadas = fatiasSemRodadas[c] > 0 ? 0 : Integer.MAX_VALUE;
+            for (int k = 0; k < tamanho[c] && rodadas > 0; k++) {
+                int indice = fila[baseFila + (cabeca[c] + k) % capacidadeFila];
+                rodadas = Math.min(rodadas, (restante[baseProcessos + indice] - 1) / quantum);
+                if (rodadas == 0) {
+                    fatiasSemRodadas[c] = k + 1;
+                }
+            }
+            long duracaoRodada = (long) quantum * tamanho[c];
+            if (limite != Integer.MAX_VALUE) {
+                long folga = (long) limite - tempo[c] - 1;
+                rodadas = (int) Math.min(rodadas, Math.max(0, folga / duracaoRodada));
+            }
+            if (rodadas > 0) {
+                for (int k = 0; k < tamanho[c]; k++) {
+                    int indice = fila[baseFila + (cabeca[c] + k) % capacidadeFila];
+                    if (inicio[baseProcessos + indice] < 0) {
+                        inicio[baseProcessos + indice] = tempo[c] + k * quantum;
+                    }
+                    restante[baseProcessos + indice] -= rodadas * quantum;
+                }
+                if (tamanho[c] > 1) {
+                    trocas[c] += rodadas * tamanho[c];
+                } else if (ultimoExecutado[c] != fila[baseFila + cabeca[c]]) {
+                    trocas[c]++;
+                }
+                ultimoExecutado[c] = fila[baseFila + (cabeca[c] + tamanho[c] - 1) % capacidadeFila];
+                tempo[c] += (int) (rodadas * duracaoRodada);
+                continue;
+            }
+
+            // Executa uma única fatia; o processo fica pendente até a próxima decisão
+            fatiasSemRodadas[c] = Math.max(0, fatiasSemRodadas[c] - 1);
+            int escolhido = fila[baseFila + cabeca[c]];
+            cabeca[c] = (cabeca[c] + 1) % capacidadeFila;
+            tamanho[c]--;
+            atual[c] = escolhido;
+            if (inicio[baseProcessos + escolhido] < 0) {
+                inicio[baseProcessos + escolhido] = tempo[c];
+            }
+            if (escolhido != ultimoExecutado[c]) {
+                trocas[c]++;
+                ultimoExecutado[c] = escolhido;
+            }
+            int fatia = Math.min(quantum, restante[baseProcessos + escolhido]);
+            restante[baseProcessos + escolhido] -= fatia;
+            tempo[c] += fatia;
+            if (restante[baseProcessos + escolhido] == 0) {
+                fim[baseProcessos + escolhido] = tempo[c];
+                concluidos[c]++;
+                if (concluidos[c] == n) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compara cada configuração com o {@link AvaliadorAnalitico} executado separadamente em uma
+     * carga gerada com a semente informada.
+     *
+     * @param semente Semente do {@link GeradorDeProcessos}
+     * @param quantidade Número de processos
+     * @param quanta Quanta comparados
+     * @return Lista de divergências encontradas (vazia se os resultados coincidem)
+     */
+    public static List<String> compararComAnalitico(long semente, int quantidade, int... quanta) {
+        List<Processo> carga = new GeradorDeProcessos(semente).gerarProcessos(quantidade);
+        Resultados multiplos = avaliar(carga, quanta);
+        List<String> divergencias = new ArrayList<>();
+        for (int c = 0; c < quanta.length; c++) {
+            MotorDeSimulacao.ResultadoSimulacao esperado = AvaliadorAnalitico.avaliarRoundRobin(carga, quanta[c]);
+            MotorDeSimulacao.ResultadoSimulacao calculado = multiplos.obterResultado(c);
+            for (int i = 0; i < quantidade; i++) {
+                Processo a = esperado.getProcessos().get(i);
+                Processo b = calculado.getProcessos().get(i);
+                if (a.getTempoInicio() != b.getTempoInicio() || a.getTempoFim() != b.getTempoFim()) {
+                    divergencias.add("quantum " + quanta[c] + ", " + a.getId() + ": analítico [" + a.getTempoInicio()
+                            + ", " + a.getTempoFim() + "] múltiplo [" + b.getTempoInicio() + ", "
+                            + b.getTempoFim() + "]");
+                }
+            }
+            if (!esperado.getMetricasEscalonador().equals(calculado.getMetricasEscalonador())) {
+                divergencias.add("quantum " + quanta[c] + ": métricas " + esperado.getMetricasEscalonador()
+                        + " e " + calculado.getMetricasEscalonador());
+            }
+        }
+        return divergencias;
+    }
+}
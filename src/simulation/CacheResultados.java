@@ -0,0 +1,375 @@
+package simulation;
+
+import model.Processo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Cache de resultados de simulação endereçado por conteúdo.
+ * A chave é o SHA-256 da {@link ConfiguracaoSimulacao} junto com a carga de trabalho (os
+ * próprios processos ou a semente e a quantidade usadas pelo {@link GeradorDeProcessos}).
+ *
+ * A camada em memória é LRU e limitada pelo número total de processos guardados nos
+ * resultados; a camada em disco é opcional e guarda um arquivo serializado por chave.
+ * Pedidos simultâneos da mesma chave executam a simulação uma única vez.
+ *
+ * Os resultados devolvidos são compartilhados entre as consultas e não devem ser modificados.
+ * Configurações do modo livre com mais de uma thread não são determinísticas, então são
+ * sempre simuladas e nunca guardadas.
+ */
+public class CacheResultados {
+    /**
+     * Versão da distribuição do {@link GeradorDeProcessos}, incluída nas chaves por semente
+     * para invalidar o cache caso a geração mude.
+     */
+    private static final String VERSAO_GERADOR = "gerador-v1";
+    private static final String EXTENSAO = ".resultado";
+
+    private final long capacidadeProcessos;
+    private final Path diretorioDisco;
+    private final LinkedHashMap<String, MotorDeSimulacao.ResultadoSimulacao> memoria;
+    private final Map<String, FutureTask<MotorDeSimulacao.ResultadoSimulacao>> emAndamento;
+    private long pesoAtual;
+    private long acertosMemoria;
+    private long acertosDisco;
+    private long falhas;
+
+    /**
+     * Cria um cache apenas em memória.
+     *
+     * @param capacidadeProcessos Número máximo de processos somados em todos os resultados guardados
+     */
+    public CacheResultados(long capacidadeProcessos) {
+        this(capacidadeProcessos, null);
+    }
+
+    /**
+     * Cria um cache em memória com uma camada em disco.
+     *
+     * @param capacidadeProcessos Número máximo de processos somados em todos os resultados guardados
+     * @param diretorioDisco Diretório da camada em disco ou null para usar apenas a memória
+     */
+    public CacheResultados(long capacidadeProcessos, Path diretorioDisco) {
+        this.capacidadeProcessos = Math.max(1, capacidadeProcessos);
+        this.diretorioDisco = diretorioDisco;
+        this.memoria = new LinkedHashMap<>(16, 0.75f, true);
+        this.emAndamento = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Obtém o resultado da configuração sobre a carga informada, simulando apenas se ele não
+     * estiver em cache. A carga só é modificada quando a simulação é executada, por isso a
+     * simulação usa cópias dos processos.
+     *
+     * @param configuracao Configuração da simulação
+     * @param carga Processos a simular
+     * @return Resultado da simulação
+     * @throws InterruptedException se a thread for interrompida enquanto aguarda a simulação
+     */
+    public MotorDeSimulacao.ResultadoSimulacao obterOuSimular(ConfiguracaoSimulacao configuracao,
+                                                              List<Processo> carga) throws InterruptedException {
+        StringBuilder descricao = new StringBuilder("carga=");
+        for (Processo processo : carga) {
+            descricao.append(ConfiguracaoSimulacao.escapar(processo.getId())).append(',')
+                    .append(processo.getTempoChegada()).append(',')
+                    .append(processo.getTempoExecucao());
+            // A afinidade só entra na chave quando restringe as CPUs, o que preserva as chaves antigas
+            if (processo.getMascaraAfinidade() != Processo.TODAS_AS_CPUS) {
+                descricao.append(",afinidade=").append(Long.toHexString(processo.getMascaraAfinidade()));
+            }
+            if (processo.getGrupo() != null) {
+                descricao.append(",grupo=").append(ConfiguracaoSimulacao.escapar(processo.getGrupo()));
+            }
+            if (processo.getPrioridade() != 0) {
+                descricao.append(",prioridade=").append(processo.getPrioridade());
+            }
+            if (processo.getNumeroThreads() != 1) {
+                descricao.append(",threads=").append(processo.getNumeroThreads());
+            }
+            if (processo.getBilhetes() != 1) {
+                descricao.append(",bilhetes=").append(processo.getBilhetes());
+            }
+            if (processo.getPrazo() > 0 || processo.getPeriodo() > 0) {
+                descricao.append(",prazo=").append(processo.getPrazo()).append(",periodo=").append(processo.getPeriodo());
+            }
+            descricao.append(';');
+        }
+        String chave = calcularChave(configuracao, descricao.toString());
+        return obterOuExecutar(configuracao, chave, () -> {
+            List<Processo> copias = new ArrayList<>(carga.size());
+            for (Processo processo : carga) {
+                copias.add(processo.copiar());
+            }
+            return configuracao.simular(copias);
+        });
+    }
+
+    /**
+     * Obtém o resultado da configuração sobre a carga gerada pelo {@link GeradorDeProcessos}
+     * com a semente e a quantidade informadas. A carga só é gerada quando não há resultado em cache.
+     *
+     * @param configuracao Configuração da simulação
+     * @param semente Semente do gerador de processos
+     * @param quantidade Número de processos gerados
+     * @return Resultado da simulação
+     * @throws InterruptedException se a thread for interrompida enquanto aguarda a simulação
+     */
+    public MotorDeSimulacao.ResultadoSimulacao obterOuSimular(ConfiguracaoSimulacao configuracao,
+                                                              long semente, int quantidade) throws InterruptedException {
+        String chave = calcularChave(configuracao,
+                VERSAO_GERADOR + ";semente=" + semente + ";quantidade=" + quantidade);
+        return obterOuExecutar(configuracao, chave,
+                () -> configuracao.simular(new GeradorDeProcessos(semente).gerarProcessos(quantidade)));
+    }
+
+    /**
+     * Simulação executada quando não há resultado em cache.
+     */
+    private interface Simulacao {
+        MotorDeSimulacao.ResultadoSimulacao executar() throws InterruptedException;
+    }
+
+    private MotorDeSimulacao.ResultadoSimulacao obterOuExecutar(ConfiguracaoSimulacao configuracao, String chave,
+                                                                Simulacao simulacao) throws InterruptedException {
+        if (!isReproduzivel(configuracao)) {
+            return simulacao.executar();
+        }
+        MotorDeSimulacao.ResultadoSimulacao resultado = buscarMemoria(chave);
+        if (resultado != null) {
+            return resultado;
+        }
+
+        FutureTask<MotorDeSimulacao.ResultadoSimulacao> tarefa = new FutureTask<>(() -> {
+            // Outra thread pode ter concluído a mesma chave entre a consulta acima e esta tarefa
+            MotorDeSimulacao.ResultadoSimulacao emMemoria = buscarMemoria(chave);
+            if (emMemoria != null) {
+                return emMemoria;
+            }
+
+            MotorDeSimulacao.ResultadoSimulacao lido = lerDisco(chave);
+            if (lido != null) {
+                synchronized (this) {
+                    acertosDisco++;
+                }
+                guardarMemoria(chave, lido);
+                return lido;
+            }
+
+            synchronized (this) {
+                falhas++;
+            }
+            MotorDeSimulacao.ResultadoSimulacao simulado = simulacao.executar();
+            guardarMemoria(chave, simulado);
+            gravarDisco(chave, simulado);
+            return simulado;
+        });
+
+        FutureTask<MotorDeSimulacao.ResultadoSimulacao> existente = emAndamento.putIfAbsent(chave, tarefa);
+        if (existente == null) {
+            // Esta thread é a responsável por obter o resultado; as demais aguardam a mesma tarefa
+            try {
+                tarefa.run();
+            } finally {
+                emAndamento.remove(chave, tarefa);
+            }
+        } else {
+            tarefa = existente;
+        }
+
+        try {
+            return tarefa.get();
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof InterruptedException) {
+                throw (InterruptedException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    /**
+     * Indica se a configuração sempre produz o mesmo resultado: no modo livre com mais de uma
+     * thread o resultado depende da intercalação das threads.
+     */
+    static boolean isReproduzivel(ConfiguracaoSimulacao configuracao) {
+        return configuracao.isModoDeterministico() || configuracao.getNumeroThreads() == 1;
+    }
+
+    private synchronized MotorDeSimulacao.ResultadoSimulacao buscarMemoria(String chave) {
+        MotorDeSimulacao.ResultadoSimulacao resultado = memoria.get(chave);
+        if (resultado != null) {
+            acertosMemoria++;
+        }
+        return resultado;
+    }
+
+    private synchronized void guardarMemoria(String chave, MotorDeSimulacao.ResultadoSimulacao resultado) {
+        MotorDeSimulacao.ResultadoSimulacao anterior = memoria.put(chave, resultado);
+        if (anterior != null) {
+            pesoAtual -= peso(anterior);
+        }
+        pesoAtual += peso(resultado);
+
+        // Remove os menos usados até caber; o recém-inserido é mantido mesmo que sozinho exceda a capacidade
+        Iterator<Map.Entry<String, MotorDeSimulacao.ResultadoSimulacao>> iterador = memoria.entrySet().iterator();
+        while (pesoAtual > capacidadeProcessos && memoria.size() > 1) {
+            Map.Entry<String, MotorDeSimulacao.ResultadoSimulacao> maisAntigo = iterador.next();
+            pesoAtual -= peso(maisAntigo.getValue());
+            iterador.remove();
+        }
+    }
+
+    private static long peso(MotorDeSimulacao.ResultadoSimulacao resultado) {
+        return resultado.getProcessos().size() + 1;
+    }
+
+    /**
+     * Lê o resultado da camada em disco. Arquivos ilegíveis ou de versões anteriores são
+     * descartados e tratados como ausentes.
+     */
+    private MotorDeSimulacao.ResultadoSimulacao lerDisco(String chave) {
+        if (diretorioDisco == null) {
+            return null;
+        }
+        Path arquivo = diretorioDisco.resolve(chave + EXTENSAO);
+        if (!Files.isRegularFile(arquivo)) {
+            return null;
+        }
+        try (InputStream entrada = new BufferedInputStream(Files.newInputStream(arquivo));
+             ObjectInputStream objetos = new ObjectInputStream(entrada)) {
+            return (MotorDeSimulacao.ResultadoSimulacao) objetos.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException ignorada) {
+                // O arquivo será sobrescrito na próxima gravação
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Grava o resultado na camada em disco. A gravação é feita em um arquivo temporário movido
+     * para o destino, para que leitores concorrentes nunca vejam um arquivo incompleto. Falhas
+     * de gravação (inclusive métricas de escalonador não serializáveis) apenas deixam o
+     * resultado fora da camada em disco.
+     */
+    private void gravarDisco(String chave, MotorDeSimulacao.ResultadoSimulacao resultado) {
+        if (diretorioDisco == null) {
+            return;
+        }
+        Path temporario = null;
+        try {
+            Files.createDirectories(diretorioDisco);
+            temporario = Files.createTempFile(diretorioDisco, chave, ".tmp");
+            try (OutputStream saida = new BufferedOutputStream(Files.newOutputStream(temporario));
+                 ObjectOutputStream objetos = new ObjectOutputStream(saida)) {
+                objetos.writeObject(resultado);
+            }
+            Path destino = diretorioDisco.resolve(chave + EXTENSAO);
+            try {
+                Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temporario = null;
+        } catch (IOException e) {
+            // A camada em disco é apenas uma otimização
+        } finally {
+            if (temporario != null) {
+                try {
+                    Files.deleteIfExists(temporario);
+                } catch (IOException ignorada) {
+                    // Nada a fazer
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula a impressão digital (SHA-256 em hexadecimal) de uma configuração e de uma carga.
+     *
+     * @param configuracao Configuração da simulação
+     * @param descricaoCarga Descrição canônica da carga de trabalho
+     * @return Chave do cache
+     */
+    static String calcularChave(ConfiguracaoSimulacao configuracao, String descricaoCarga) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(configuracao.obterFormaCanonica().getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) '|');
+            sha.update(descricaoCarga.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : sha.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Toda implementação da plataforma Java é obrigada a oferecer SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Remove todos os resultados da camada em memória. A camada em disco é mantida.
+     */
+    public synchronized void limpar() {
+        memoria.clear();
+        pesoAtual = 0;
+    }
+
+    public synchronized int getQuantidadeEntradas() {
+        return memoria.size();
+    }
+
+    public synchronized long getPesoAtual() {
+        return pesoAtual;
+    }
+
+    public long getCapacidadeProcessos() {
+        return capacidadeProcessos;
+    }
+
+    public Path getDiretorioDisco() {
+        return diretorioDisco;
+    }
+
+    public synchronized long getAcertosMemoria() {
+        return acertosMemoria;
+    }
+
+    public synchronized long getAcertosDisco() {
+        return acertosDisco;
+    }
+
+    public synchronized long getFalhas() {
+        return falhas;
+    }
+}
@@ -0,0 +1,215 @@
+package simulation;
+
+import model.Processo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compara algoritmos de escalonamento sobre uma mesma carga de trabalho. Cada configuração
+ * recebe a sua própria cópia da carga ({@link Processo#copiar()}) e o seu próprio
+ * {@link MotorDeSimulacao}, e as simulações rodam ao mesmo tempo, cada uma no seu pool de
+ * threads: a comparação termina no tempo da execução mais lenta, e não na soma dos tempos.
+ */
+public class ComparadorEscalonadores {
+
+    /**
+     * Resultado de uma configuração na comparação.
+     */
+    public static final class Execucao {
+        private final ConfiguracaoSimulacao configuracao;
+        private final String nomeAlgoritmo;
+        private final MotorDeSimulacao.ResultadoSimulacao resultado;
+        private final HistoricoExecucao historico;
+        private final int tempoTotal;
+
+        Execucao(ConfiguracaoSimulacao configuracao, String nomeAlgoritmo,
+                 MotorDeSimulacao.ResultadoSimulacao resultado, HistoricoExecucao historico) {
+            this.configuracao = configuracao;
+            this.nomeAlgoritmo = nomeAlgoritmo;
+            this.resultado = resultado;
+            this.historico = historico;
+            int ultimoFim = 0;
+            for (Processo processo : resultado.getProcessos()) {
+                if (processo.isFinalizado()) {
+                    ultimoFim = Math.max(ultimoFim, processo.getTempoFim());
+                }
+            }
+            this.tempoTotal = ultimoFim;
+        }
+
+        public ConfiguracaoSimulacao getConfiguracao() {
+            return configuracao;
+        }
+
+        public String getNomeAlgoritmo() {
+            return nomeAlgoritmo;
+        }
+
+        public MotorDeSimulacao.ResultadoSimulacao getResultado() {
+            return resultado;
+        }
+
+        /**
+         * Intervalos executados por CPU, para o gráfico de Gantt.
+         */
+        public HistoricoExecucao getHistorico() {
+            return historico;
+        }
+
+        /**
+         * Tempo simulado até o último processo terminar (makespan).
+         */
+        public int getTempoTotal() {
+            return tempoTotal;
+        }
+
+        /**
+         * Processos concluídos por unidade de tempo simulado.
+         */
+        public double getVazao() {
+            if (tempoTotal == 0) {
+                return 0;
+            }
+            long concluidos = resultado.getProcessos().stream().filter(Processo::isFinalizado).count();
+            return (double) concluidos / tempoTotal;
+        }
+    }
+
+    /**
+     * Resultado de uma comparação: as execuções, na ordem das configurações, e o tempo real gasto.
+     */
+    public static final class Comparacao {
+        private final List<Execucao> execucoes;
+        private final long tempoDecorrido;
+
+        Comparacao(List<Execucao> execucoes, long tempoDecorrido) {
+            this.execucoes = Collections.unmodifiableList(execucoes);
+            this.tempoDecorrido = tempoDecorrido;
+        }
+
+        public List<Execucao> getExecucoes() {
+            return execucoes;
+        }
+
+        /**
+         * Tempo real da comparação inteira, em milissegundos.
+         */
+        public long getTempoDecorrido() {
+            return tempoDecorrido;
+        }
+
+        /**
+         * Soma dos tempos reais das execuções, em milissegundos: o que a comparação levaria se
+         * as execuções fossem feitas uma depois da outra.
+         */
+        public long getSomaTempos() {
+            long soma = 0;
+            for (Execucao execucao : execucoes) {
+                soma += execucao.getResultado().getTempoExecucao();
+            }
+            return soma;
+        }
+
+        /**
+         * Monta a tabela de diferenças em relação à primeira execução, uma linha por execução.
+         */
+        public String formatarTabela() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%-48s %12s %9s %12s %9s %9s %9s %10s%n", "Algoritmo", "Espera", "Δ",
+                    "Turnaround", "Δ", "Vazão", "Δ", "Tempo (ms)"));
+            Execucao referencia = execucoes.get(0);
+            for (Execucao execucao : execucoes) {
+                MotorDeSimulacao.ResultadoSimulacao resultado = execucao.getResultado();
+                sb.append(String.format("%-48s %12.2f %9s %12.2f %9s %9.4f %9s %10d%n",
+                        execucao.getNomeAlgoritmo(),
+                        resultado.getTempoMedioEspera(),
+                        formatarVariacao(resultado.getTempoMedioEspera(),
+                                referencia.getResultado().getTempoMedioEspera()),
+                        resultado.getTempoMedioRetorno(),
+                        formatarVariacao(resultado.getTempoMedioRetorno(),
+                                referencia.getResultado().getTempoMedioRetorno()),
+                        execucao.getVazao(),
+                        formatarVariacao(execucao.getVazao(), referencia.getVazao()),
+                        resultado.getTempoExecucao()));
+            }
+            sb.append(String.format("Tempo total: %d ms (soma das execuções: %d ms)", tempoDecorrido, getSomaTempos()));
+            return sb.toString();
+        }
+    }
+
+    private final List<ConfiguracaoSimulacao> configuracoes;
+
+    /**
+     * Cria um comparador das configurações informadas. A primeira é a referência das diferenças.
+     *
+     * @param configuracoes Configurações a comparar
+     * @throws IllegalArgumentException se nenhuma configuração for informada
+     */
+    public ComparadorEscalonadores(List<ConfiguracaoSimulacao> configuracoes) {
+        if (configuracoes.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma configuração para comparar");
+        }
+        this.configuracoes = new ArrayList<>(configuracoes);
+    }
+
+    /**
+     * Simula todas as configurações sobre cópias da carga, ao mesmo tempo, e aguarda os
+     * resultados. A carga informada não é modificada.
+     *
+     * @param carga Processos a simular
+     * @return Resultado da comparação
+     * @throws InterruptedException se a thread for interrompida enquanto aguarda; as simulações
+     *                              em andamento são paradas
+     */
+    public Comparacao comparar(List<Processo> carga) throws InterruptedException {
+        List<MotorDeSimulacao> motores = new ArrayList<>(configuracoes.size());
+        for (ConfiguracaoSimulacao configuracao : configuracoes) {
+            List<Processo> copias = new ArrayList<>(carga.size());
+            for (Processo processo : carga) {
+                copias.add(processo.copiar());
+            }
+            motores.add(configuracao.criarMotor(copias));
+        }
+
+        // Uma thread por simulação só para aguardar o resultado; cada motor tem o seu próprio pool
+        ExecutorService executor = Executors.newFixedThreadPool(motores.size());
+        long inicio = System.currentTimeMillis();
+        try {
+            List<Future<MotorDeSimulacao.ResultadoSimulacao>> futuros = new ArrayList<>(motores.size());
+            for (MotorDeSimulacao motor : motores) {
+                futuros.add(executor.submit(motor::executarAteConcluir));
+            }
+
+            List<Execucao> execucoes = new ArrayList<>(motores.size());
+            for (int i = 0; i < motores.size(); i++) {
+                MotorDeSimulacao motor = motores.get(i);
+                execucoes.add(new Execucao(configuracoes.get(i), motor.getEscalonador().obterNome(),
+                        futuros.get(i).get(), motor.getHistorico()));
+            }
+            return new Comparacao(execucoes, System.currentTimeMillis() - inicio);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na simulação comparada", e.getCause());
+        } finally {
+            for (MotorDeSimulacao motor : motores) {
+                motor.pararSimulacao();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Formata a variação percentual de um valor em relação à referência, como "+12.5%".
+     */
+    public static String formatarVariacao(double valor, double referencia) {
+        if (referencia == 0) {
+            return valor == 0 ? String.format("%.1f%%", 0.0) : "-";
+        }
+        return String.format("%+.1f%%", 100.0 * (valor - referencia) / referencia);
+    }
+}
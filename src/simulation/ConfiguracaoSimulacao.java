@@ -0,0 +1,455 @@
+package simulation;
+
+import model.Processo;
+import scheduler.Escalonador;
+import scheduler.EscalonadorFairShare;
+import scheduler.FabricaEscalonador;
+import scheduler.ParametroEscalonador;
+import scheduler.RegistroEscalonadores;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Configuração completa de uma simulação: algoritmo, parâmetros do algoritmo, número de
+ * threads, custos de troca de contexto e, opcionalmente, o número de CPUs do modo
+ * determinístico, os fatores de velocidade de CPUs heterogêneas ({@link #comVelocidadesCpu}),
+ * o custo de migração ({@link #comCustoMigracao}) e os pesos e cotas dos grupos do
+ * {@code fair-share} ({@link #comGrupo}). Os parâmetros são normalizados pelos descritores da
+ * fábrica (valores padrão aplicados e limitados ao intervalo permitido), de modo que duas
+ * configurações que produzem o mesmo escalonador são iguais. Tudo o que altera o resultado da
+ * simulação, exceto a carga, faz parte da configuração e da sua forma canônica, que é a chave
+ * do {@link CacheResultados}.
+ *
+ * A configuração é serializável para ser enviada aos trabalhadores de uma varredura
+ * distribuída ({@link CoordenadorVarredura}); o algoritmo é buscado pelo identificador no
+ * registro de quem a executa.
+ */
+public final class ConfiguracaoSimulacao implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Peso e cota de um grupo do {@code fair-share}.
+     *
+     * @see EscalonadorFairShare#definirGrupo(String, double, int)
+     */
+    public static final class Grupo implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String caminho;
+        private final double peso;
+        private final int cota;
+
+        Grupo(String caminho, double peso, int cota) {
+            this.caminho = caminho;
+            this.peso = peso;
+            this.cota = cota;
+        }
+
+        public String getCaminho() {
+            return caminho;
+        }
+
+        public double getPeso() {
+            return peso;
+        }
+
+        /**
+         * @return Cota de CPU por período (0 se o grupo não tem limite)
+         */
+        public int getCota() {
+            return cota;
+        }
+
+        @Override
+        public boolean equals(Object outro) {
+            if (this == outro) {
+                return true;
+            }
+            if (!(outro instanceof Grupo)) {
+                return false;
+            }
+            Grupo grupo = (Grupo) outro;
+            return Double.compare(peso, grupo.peso) == 0 && cota == grupo.cota && caminho.equals(grupo.caminho);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(caminho, peso, cota);
+        }
+
+        @Override
+        public String toString() {
+            return caminho + ":" + peso + ":" + cota;
+        }
+    }
+
+    private final String idAlgoritmo;
+    private final Map<String, Double> parametros;
+    private final Map<String, String> escalonadores;
+    private final int numeroThreads;
+    private final int custoTrocaContexto;
+    private final int custoAquecimentoCache;
+    private final int numeroCpus;
+    private final List<Double> velocidadesCpu;
+    private final int custoMigracao;
+    private final List<Grupo> grupos;
+
+    /**
+     * Cria uma configuração sem custos de troca de contexto.
+     *
+     * @param idAlgoritmo Identificador do algoritmo no {@link RegistroEscalonadores}
+     * @param parametros Valores dos parâmetros do algoritmo
+     * @param numeroThreads Número de threads da simulação
+     */
+    public ConfiguracaoSimulacao(String idAlgoritmo, Map<String, ? extends Number> parametros, int numeroThreads) {
+        this(idAlgoritmo, parametros, numeroThreads, 0, 0);
+    }
+
+    /**
+     * Cria uma configuração.
+     *
+     * @param idAlgoritmo Identificador do algoritmo no {@link RegistroEscalonadores}
+     * @param parametros Valores dos parâmetros do algoritmo
+     * @param numeroThreads Número de threads da simulação
+     * @param custoTrocaContexto Custo de troca de contexto, em unidades de tempo
+     * @param custoAquecimentoCache Custo adicional de aquecimento de cache, em unidades de tempo
+     * @throws IllegalArgumentException se o algoritmo não estiver registrado
+     */
+    public ConfiguracaoSimulacao(String idAlgoritmo, Map<String, ? extends Number> parametros, int numeroThreads,
+                                 int custoTrocaContexto, int custoAquecimentoCache) {
+        this(idAlgoritmo, parametros, numeroThreads, custoTrocaContexto, custoAquecimentoCache, 0);
+    }
+
+    /**
+     * Cria uma configuração, opcionalmente no modo determinístico.
+     *
+     * @param idAlgoritmo Identificador do algoritmo no {@link RegistroEscalonadores}
+     * @param parametros Valores dos parâmetros do algoritmo
+     * @param numeroThreads Número de threads da simulação
+     * @param custoTrocaContexto Custo de troca de contexto, em unidades de tempo
+     * @param custoAquecimentoCache Custo adicional de aquecimento de cache, em unidades de tempo
+     * @param numeroCpus CPUs simuladas no modo determinístico (0 para o modo livre)
+     * @throws IllegalArgumentException se o algoritmo não estiver registrado
+     * @see MotorDeSimulacao#configurarModoDeterministico(int)
+     */
+    public ConfiguracaoSimulacao(String idAlgoritmo, Map<String, ? extends Number> parametros, int numeroThreads,
+                                 int custoTrocaContexto, int custoAquecimentoCache, int numeroCpus) {
+        this(idAlgoritmo, parametros, Collections.emptyMap(), numeroThreads, custoTrocaContexto,
+                custoAquecimentoCache, numeroCpus);
+    }
+
+    /**
+     * Cria uma configuração com os algoritmos escolhidos para os parâmetros do tipo
+     * {@link ParametroEscalonador.Tipo#ESCALONADOR} (por exemplo a política da folha do
+     * {@code fair-share}).
+     *
+     * @param idAlgoritmo Identificador do algoritmo no {@link RegistroEscalonadores}
+     * @param parametros Valores dos parâmetros do algoritmo
+     * @param escalonadores Identificadores escolhidos, indexados pela chave do parâmetro
+     * @param numeroThreads Número de threads da simulação
+     * @param custoTrocaContexto Custo de troca de contexto, em unidades de tempo
+     * @param custoAquecimentoCache Custo adicional de aquecimento de cache, em unidades de tempo
+     * @param numeroCpus CPUs simuladas no modo determinístico (0 para o modo livre)
+     * @throws IllegalArgumentException se o algoritmo, ou um dos escolhidos, não estiver registrado
+     */
+    public ConfiguracaoSimulacao(String idAlgoritmo, Map<String, ? extends Number> parametros,
+                                 Map<String, String> escalonadores, int numeroThreads, int custoTrocaContexto,
+                                 int custoAquecimentoCache, int numeroCpus) {
+        FabricaEscalonador fabrica = RegistroEscalonadores.buscarObrigatoria(idAlgoritmo);
+
+        Map<String, Double> normalizados = new TreeMap<>();
+        Map<String, String> escolhidos = new TreeMap<>();
+        for (ParametroEscalonador parametro : fabrica.obterParametros()) {
+            if (parametro.getTipo() == ParametroEscalonador.Tipo.ESCALONADOR) {
+                escolhidos.put(parametro.getChave(), parametro.lerEscalonador(escalonadores));
+                continue;
+            }
+            double valor = parametro.getTipo() == ParametroEscalonador.Tipo.INTEIRO
+                    ? parametro.lerInteiro(parametros)
+                    : parametro.ler(parametros);
+            normalizados.put(parametro.getChave(), valor);
+        }
+
+        this.idAlgoritmo = idAlgoritmo;
+        this.parametros = Collections.unmodifiableMap(normalizados);
+        this.escalonadores = Collections.unmodifiableMap(escolhidos);
+        this.numeroThreads = Math.max(1, numeroThreads);
+        this.custoTrocaContexto = Math.max(0, custoTrocaContexto);
+        this.custoAquecimentoCache = Math.max(0, custoAquecimentoCache);
+        this.numeroCpus = Math.max(0, numeroCpus);
+        this.velocidadesCpu = Collections.emptyList();
+        this.custoMigracao = 0;
+        this.grupos = Collections.emptyList();
+    }
+
+    private ConfiguracaoSimulacao(ConfiguracaoSimulacao base, int numeroCpus, List<Double> velocidadesCpu,
+                                  int custoMigracao, List<Grupo> grupos) {
+        this.idAlgoritmo = base.idAlgoritmo;
+        this.parametros = base.parametros;
+        this.escalonadores = base.escalonadores;
+        this.numeroThreads = base.numeroThreads;
+        this.custoTrocaContexto = base.custoTrocaContexto;
+        this.custoAquecimentoCache = base.custoAquecimentoCache;
+        this.numeroCpus = numeroCpus;
+        this.velocidadesCpu = velocidadesCpu;
+        this.custoMigracao = custoMigracao;
+        this.grupos = grupos;
+    }
+
+    /**
+     * Cria uma cópia desta configuração no modo determinístico com CPUs heterogêneas, uma por
+     * fator de velocidade.
+     *
+     * @param velocidades Fator de velocidade de cada CPU (1 para uma CPU de referência)
+     * @return Nova configuração, com tantas CPUs quanto fatores
+     * @throws IllegalArgumentException se algum fator não for positivo
+     * @see MotorDeSimulacao#configurarVelocidadesCpu(double...)
+     */
+    public ConfiguracaoSimulacao comVelocidadesCpu(double... velocidades) {
+        List<Double> fatores = new ArrayList<>(velocidades.length);
+        for (double velocidade : velocidades) {
+            if (!(velocidade > 0) || Double.isInfinite(velocidade)) {
+                throw new IllegalArgumentException("A velocidade de uma CPU deve ser positiva: " + velocidade);
+            }
+            fatores.add(velocidade);
+        }
+        return new ConfiguracaoSimulacao(this, velocidades.length == 0 ? numeroCpus : velocidades.length,
+                Collections.unmodifiableList(fatores), custoMigracao, grupos);
+    }
+
+    /**
+     * Cria uma cópia desta configuração com o custo de migração informado.
+     *
+     * @param custo Custo adicional, em unidades de tempo, de executar em outra CPU
+     * @return Nova configuração
+     * @see MotorDeSimulacao#setCustoMigracao(int)
+     */
+    public ConfiguracaoSimulacao comCustoMigracao(int custo) {
+        return new ConfiguracaoSimulacao(this, numeroCpus, velocidadesCpu, Math.max(0, custo), grupos);
+    }
+
+    /**
+     * Cria uma cópia desta configuração com mais um grupo do {@code fair-share}. Os grupos são
+     * definidos no escalonador na ordem em que foram acrescentados.
+     *
+     * @param caminho Caminho do grupo, por exemplo "a/web"
+     * @param peso Peso do grupo em relação aos irmãos
+     * @param cota Cota de CPU por período (0 para nenhuma)
+     * @return Nova configuração
+     * @throws IllegalArgumentException se o algoritmo não for o {@code fair-share}
+     * @see EscalonadorFairShare#definirGrupo(String, double, int)
+     */
+    public ConfiguracaoSimulacao comGrupo(String caminho, double peso, int cota) {
+        if (!(criarEscalonador() instanceof EscalonadorFairShare)) {
+            throw new IllegalArgumentException("Grupos exigem o algoritmo fair-share: " + idAlgoritmo);
+        }
+        List<Grupo> novos = new ArrayList<>(grupos);
+        novos.add(new Grupo(caminho, peso, Math.max(0, cota)));
+        return new ConfiguracaoSimulacao(this, numeroCpus, velocidadesCpu, custoMigracao,
+                Collections.unmodifiableList(novos));
+    }
+
+    /**
+     * Cria um novo escalonador para esta configuração.
+     *
+     * @return Escalonador sem processos
+     */
+    public Escalonador criarEscalonador() {
+        Escalonador escalonador = RegistroEscalonadores.criar(idAlgoritmo, parametros, escalonadores);
+        for (Grupo grupo : grupos) {
+            ((EscalonadorFairShare) escalonador).definirGrupo(grupo.caminho, grupo.peso, grupo.cota);
+        }
+        return escalonador;
+    }
+
+    /**
+     * Executa a simulação desta configuração sobre a carga informada, sem atraso entre as
+     * unidades de tempo, e aguarda o resultado. Os processos da carga são modificados pela
+     * execução.
+     *
+     * @param carga Processos a simular
+     * @return Resultado da simulação
+     * @throws InterruptedException se a thread for interrompida enquanto aguarda
+     */
+    public MotorDeSimulacao.ResultadoSimulacao simular(List<Processo> carga) throws InterruptedException {
+        return criarMotor(carga).executarAteConcluir();
+    }
+
+    /**
+     * Cria um motor desta configuração, sem atraso entre as unidades de tempo, com um novo
+     * escalonador que já contém a carga informada.
+     *
+     * @param carga Processos a simular
+     * @return Motor pronto para iniciar a simulação
+     */
+    public MotorDeSimulacao criarMotor(List<Processo> carga) {
+        Escalonador escalonador = criarEscalonador();
+        escalonador.adicionarProcessos(carga);
+
+        MotorDeSimulacao motor = new MotorDeSimulacao(escalonador, numeroThreads);
+        motor.setAtrasoPorUnidade(0);
+        motor.setCustoTrocaContexto(custoTrocaContexto);
+        motor.setCustoAquecimentoCache(custoAquecimentoCache);
+        motor.setCustoMigracao(custoMigracao);
+        if (velocidadesCpu.isEmpty()) {
+            motor.configurarModoDeterministico(numeroCpus);
+        } else {
+            motor.configurarVelocidadesCpu(velocidadesCpu.stream().mapToDouble(Double::doubleValue).toArray());
+        }
+        return motor;
+    }
+
+    /**
+     * Representação textual estável da configuração, usada no cálculo de impressões digitais.
+     */
+    String obterFormaCanonica() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("algoritmo=").append(escapar(idAlgoritmo));
+        for (Map.Entry<String, Double> parametro : parametros.entrySet()) {
+            sb.append(';').append(escapar(parametro.getKey())).append('=').append(parametro.getValue());
+        }
+        for (Map.Entry<String, String> escolhido : escalonadores.entrySet()) {
+            sb.append(';').append(escapar(escolhido.getKey())).append('=').append(escapar(escolhido.getValue()));
+        }
+        sb.append(";threads=").append(numeroThreads)
+                .append(";troca=").append(custoTrocaContexto)
+                .append(";cache=").append(custoAquecimentoCache);
+        if (numeroCpus > 0) {
+            // No modo determinístico o número de threads não altera o resultado, mas é mantido
+            // na chave porque o tempo real de execução faz parte do resultado
+            sb.append(";cpus=").append(numeroCpus);
+        }
+        // Os acréscimos só aparecem quando usados, o que preserva as chaves antigas
+        if (!velocidadesCpu.isEmpty()) {
+            sb.append(";velocidades=");
+            for (int cpu = 0; cpu < velocidadesCpu.size(); cpu++) {
+                sb.append(cpu == 0 ? "" : ",").append(velocidadesCpu.get(cpu));
+            }
+        }
+        if (custoMigracao > 0) {
+            sb.append(";migracao=").append(custoMigracao);
+        }
+        for (Grupo grupo : grupos) {
+            sb.append(";grupo=").append(escapar(grupo.caminho)).append(':').append(grupo.peso)
+                    .append(':').append(grupo.cota);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escapa os separadores da forma canônica em um texto informado pelo usuário, para que
+     * textos diferentes nunca produzam a mesma forma. Textos sem separadores não mudam.
+     *
+     * @param texto Texto a ser escapado
+     * @return Texto com {@code \}, {@code ;}, {@code =}, {@code :}, {@code ,} e {@code |}
+     *         precedidos de {@code \}
+     */
+    static String escapar(String texto) {
+        StringBuilder sb = null;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            boolean separador = c == '\\' || c == ';' || c == '=' || c == ':' || c == ',' || c == '|';
+            if (separador && sb == null) {
+                sb = new StringBuilder(texto.length() + 8).append(texto, 0, i);
+            }
+            if (sb != null) {
+                if (separador) {
+                    sb.append('\\');
+                }
+                sb.append(c);
+            }
+        }
+        return sb == null ? texto : sb.toString();
+    }
+
+    public String getIdAlgoritmo() {
+        return idAlgoritmo;
+    }
+
+    public Map<String, Double> getParametros() {
+        return parametros;
+    }
+
+    /**
+     * @return Algoritmos escolhidos para os parâmetros do tipo
+     *         {@link ParametroEscalonador.Tipo#ESCALONADOR}, indexados pela chave
+     */
+    public Map<String, String> getEscalonadores() {
+        return escalonadores;
+    }
+
+    public int getNumeroThreads() {
+        return numeroThreads;
+    }
+
+    public int getCustoTrocaContexto() {
+        return custoTrocaContexto;
+    }
+
+    public int getCustoAquecimentoCache() {
+        return custoAquecimentoCache;
+    }
+
+    public int getNumeroCpus() {
+        return numeroCpus;
+    }
+
+    /**
+     * @return Fator de velocidade de cada CPU, vazio se as CPUs são homogêneas
+     */
+    public List<Double> getVelocidadesCpu() {
+        return velocidadesCpu;
+    }
+
+    public int getCustoMigracao() {
+        return custoMigracao;
+    }
+
+    /**
+     * @return Grupos do {@code fair-share}, na ordem em que são definidos no escalonador
+     */
+    public List<Grupo> getGrupos() {
+        return grupos;
+    }
+
+    public boolean isModoDeterministico() {
+        return numeroCpus > 0;
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        if (!(outro instanceof ConfiguracaoSimulacao)) {
+            return false;
+        }
+        ConfiguracaoSimulacao configuracao = (ConfiguracaoSimulacao) outro;
+        return numeroThreads == configuracao.numeroThreads
+                && custoTrocaContexto == configuracao.custoTrocaContexto
+                && custoAquecimentoCache == configuracao.custoAquecimentoCache
+                && numeroCpus == configuracao.numeroCpus
+                && custoMigracao == configuracao.custoMigracao
+                && idAlgoritmo.equals(configuracao.idAlgoritmo)
+                && parametros.equals(configuracao.parametros)
+                && escalonadores.equals(configuracao.escalonadores)
+                && velocidadesCpu.equals(configuracao.velocidadesCpu)
+                && grupos.equals(configuracao.grupos);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idAlgoritmo, parametros, escalonadores, numeroThreads, custoTrocaContexto,
+                custoAquecimentoCache, numeroCpus, velocidadesCpu, custoMigracao, grupos);
+    }
+
+    @Override
+    public String toString() {
+        return obterFormaCanonica();
+    }
+}
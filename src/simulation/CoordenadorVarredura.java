@@ -0,0 +1,739 @@
+package simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Coordenador de uma varredura de parâmetros distribuída entre várias JVMs. Cada
+ * {@link TrabalhadorVarredura} conecta-se por TCP, pede tarefas e devolve uma
+ * {@link LinhaVarredura} por tarefa (ver {@link MensagemVarredura}). Os trabalhadores podem ser
+ * lançados pelo próprio coordenador na máquina local ou iniciados em outras máquinas.
+ *
+ * Distribuição: as tarefas ainda não atribuídas ficam em uma fila comum, e cada trabalhador
+ * tem uma fila própria. Um trabalhador sem tarefas na sua fila pega da fila comum um lote
+ * proporcional ao que resta; quando a fila comum se esgota, ele rouba metade da fila do
+ * trabalhador mais carregado, pelo fim oposto ao que o dono consome.
+ *
+ * Falhas: um trabalhador que fecha a conexão ou fica sem enviar mensagens (nem batimentos) por
+ * mais que o tempo limite é descartado, e as suas tarefas voltam para o início da fila comum.
+ * Uma tarefa é tentada no máximo {@code maximoTentativas} vezes. Se um trabalhador dado como
+ * perdido ainda entregar o resultado, a entrega repetida é ignorada.
+ *
+ * Agregação: cada linha é passada ao consumidor assim que chega, na thread de leitura do
+ * trabalhador e uma de cada vez, e acumulada no resumo da sua configuração.
+ *
+ * Conexões: por padrão o coordenador ouve apenas no endereço de loopback; trabalhadores de
+ * outras máquinas exigem um endereço informado explicitamente em {@link #iniciar(int, InetAddress)}.
+ * As mensagens recebidas passam pelo filtro de {@link MensagemVarredura}. Cada trabalhador tem
+ * uma fila de saída esvaziada por uma thread própria, então a escrita em um socket lento nunca
+ * acontece com o coordenador bloqueado e não atrasa os demais trabalhadores.
+ */
+public class CoordenadorVarredura implements Closeable {
+    /**
+     * Tempo padrão sem mensagens após o qual um trabalhador é dado como perdido, em milissegundos.
+     */
+    public static final long TEMPO_LIMITE_BATIMENTO_PADRAO_MS = 10_000;
+
+    /**
+     * Médias de uma configuração sobre todas as sementes já concluídas.
+     */
+    public static final class Resumo {
+        private final ConfiguracaoSimulacao configuracao;
+        private int quantidade;
+        private double somaEspera;
+        private double somaRetorno;
+        private double menorEspera = Double.POSITIVE_INFINITY;
+        private double maiorEspera = Double.NEGATIVE_INFINITY;
+        private long somaTempoExecucao;
+
+        Resumo(ConfiguracaoSimulacao configuracao) {
+            this.configuracao = configuracao;
+        }
+
+        void acumular(LinhaVarredura linha) {
+            quantidade++;
+            somaEspera += linha.getTempoMedioEspera();
+            somaRetorno += linha.getTempoMedioRetorno();
+            menorEspera = Math.min(menorEspera, linha.getTempoMedioEspera());
+            maiorEspera = Math.max(maiorEspera, linha.getTempoMedioEspera());
+            somaTempoExecucao += linha.getTempoExecucao();
+        }
+
+        public ConfiguracaoSimulacao getConfiguracao() {
+            return configuracao;
+        }
+
+        public int getQuantidade() {
+            return quantidade;
+        }
+
+        public double getEsperaMedia() {
+            return quantidade == 0 ? 0 : somaEspera / quantidade;
+        }
+
+        public double getRetornoMedio() {
+            return quantidade == 0 ? 0 : somaRetorno / quantidade;
+        }
+
+        public double getMenorEspera() {
+            return menorEspera;
+        }
+
+        public double getMaiorEspera() {
+            return maiorEspera;
+        }
+
+        public double getTempoExecucaoMedio() {
+            return quantidade == 0 ? 0 : (double) somaTempoExecucao / quantidade;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: n=%d espera média=%.2f [%.2f, %.2f] turnaround médio=%.2f tempo médio=%.1f ms",
+                    configuracao, quantidade, getEsperaMedia(), menorEspera, maiorEspera, getRetornoMedio(),
+                    getTempoExecucaoMedio());
+        }
+    }
+
+    /**
+     * Trabalhador conectado.
+     */
+    private final class Trabalhador {
+        private final Socket socket;
+        private final ObjectOutputStream saida;
+        private final BlockingQueue<MensagemVarredura> saidaPendente = new LinkedBlockingQueue<>();
+        private final Thread escrita;
+        private final ArrayDeque<TarefaVarredura> fila = new ArrayDeque<>();
+        private final Map<Integer, TarefaVarredura> emExecucao = new HashMap<>();
+        private String identificacao;
+        private int pedidos;              // Tarefas pedidas e ainda não enviadas
+        private volatile long ultimoContato;
+        private boolean ativo = true;
+
+        Trabalhador(Socket socket, ObjectOutputStream saida) {
+            this.socket = socket;
+            this.saida = saida;
+            this.identificacao = socket.getRemoteSocketAddress().toString();
+            this.ultimoContato = System.currentTimeMillis();
+            this.escrita = new Thread(this::escreverMensagens, "escrita-varredura");
+            escrita.setDaemon(true);
+            escrita.start();
+        }
+
+        /**
+         * Coloca a mensagem na fila de saída; nunca bloqueia.
+         */
+        void enviar(MensagemVarredura mensagem) {
+            saidaPendente.add(mensagem);
+        }
+
+        /**
+         * Escreve as mensagens da fila até enviar o fim da varredura ou perder a conexão.
+         */
+        private void escreverMensagens() {
+            try {
+                while (true) {
+                    MensagemVarredura mensagem = saidaPendente.take();
+                    saida.writeObject(mensagem);
+                    saida.reset();
+                    saida.flush();
+                    if (mensagem.tipo == MensagemVarredura.Tipo.FIM) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // A falha é tratada pela thread de leitura, que recebe o erro ao ler
+                fecharSilenciosamente(socket);
+            } catch (InterruptedException e) {
+                // O trabalhador foi descartado
+            }
+        }
+
+        /**
+         * Aguarda, por no máximo o tempo informado, a escrita das mensagens já enfileiradas.
+         */
+        void aguardarEscrita(long tempoMaximo) {
+            try {
+                escrita.join(tempoMaximo);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private final Map<Integer, TarefaVarredura> tarefas;
+    private final Consumer<LinhaVarredura> consumidor;
+    private final ArrayDeque<TarefaVarredura> pendentes;
+    private final Set<Integer> concluidas;
+    private final Map<Integer, Integer> tentativas;
+    private final Map<Integer, String> falhas;
+    private final Map<ConfiguracaoSimulacao, Resumo> resumos;
+    private final List<Trabalhador> trabalhadores;
+    private final List<Process> processosLocais;
+
+    private long tempoLimiteBatimento;
+    private int maximoTentativas;
+    private long tempoMaximoSemTrabalhadores;
+
+    private ServerSocket servidor;
+    private ScheduledExecutorService monitor;
+    private long semTrabalhadoresDesde;
+    private boolean terminada;
+    private String erroFatal;
+    private long roubos;
+    private long retentativas;
+    private long entregasRepetidas;
+
+    /**
+     * Cria um coordenador para as tarefas informadas.
+     *
+     * @param tarefas Tarefas da varredura, com identificadores distintos
+     * @param consumidor Recebe cada linha de resultado assim que ela chega
+     * @throws IllegalArgumentException se dois identificadores de tarefa se repetirem
+     */
+    public CoordenadorVarredura(List<TarefaVarredura> tarefas, Consumer<LinhaVarredura> consumidor) {
+        this.tarefas = new LinkedHashMap<>();
+        for (TarefaVarredura tarefa : tarefas) {
+            if (this.tarefas.put(tarefa.getId(), tarefa) != null) {
+                throw new IllegalArgumentException("Identificador de tarefa repetido: " + tarefa.getId());
+            }
+        }
+        this.consumidor = consumidor;
+        this.pendentes = new ArrayDeque<>(tarefas);
+        this.concluidas = new HashSet<>();
+        this.tentativas = new HashMap<>();
+        this.falhas = new LinkedHashMap<>();
+        this.resumos = new LinkedHashMap<>();
+        for (TarefaVarredura tarefa : tarefas) {
+            resumos.computeIfAbsent(tarefa.getConfiguracao(), Resumo::new);
+        }
+        this.trabalhadores = new ArrayList<>();
+        this.processosLocais = new ArrayList<>();
+        this.tempoLimiteBatimento = TEMPO_LIMITE_BATIMENTO_PADRAO_MS;
+        this.maximoTentativas = 3;
+        this.tempoMaximoSemTrabalhadores = 60_000;
+        this.terminada = tarefas.isEmpty();
+    }
+
+    /**
+     * Monta a grade de uma varredura: o produto cartesiano dos algoritmos, dos valores de cada
+     * parâmetro e das sementes. Configurações que se tornam iguais depois da normalização dos
+     * parâmetros (por exemplo, um quantum em um algoritmo que não o usa) são simuladas uma só vez.
+     *
+     * @param algoritmos Identificadores dos algoritmos
+     * @param grade Valores de cada parâmetro; parâmetros ausentes usam o valor padrão
+     * @param numeroThreads Número de threads de cada simulação
+     * @param custoTroca Custo de troca de contexto
+     * @param custoCache Custo de aquecimento de cache
+     * @param numeroCpus CPUs do modo determinístico (0 para o modo livre)
+     * @param sementes Sementes do gerador de processos
+     * @param quantidadeProcessos Processos gerados por simulação
+     * @return Tarefas da varredura, numeradas a partir de 0
+     */
+    public static List<TarefaVarredura> montarGrade(List<String> algoritmos, Map<String, double[]> grade,
+                                                    int numeroThreads, int custoTroca, int custoCache,
+                                                    int numeroCpus, long[] sementes, int quantidadeProcessos) {
+        List<Map<String, Double>> combinacoes = new ArrayList<>();
+        combinacoes.add(new HashMap<>());
+        for (Map.Entry<String, double[]> parametro : grade.entrySet()) {
+            List<Map<String, Double>> expandidas = new ArrayList<>();
+            for (Map<String, Double> combinacao : combinacoes) {
+                for (double valor : parametro.getValue()) {
+                    Map<String, Double> expandida = new HashMap<>(combinacao);
+                    expandida.put(parametro.getKey(), valor);
+                    expandidas.add(expandida);
+                }
+            }
+            combinacoes = expandidas;
+        }
+
+        Set<ConfiguracaoSimulacao> configuracoes = new LinkedHashSet<>();
+        for (String algoritmo : algoritmos) {
+            for (Map<String, Double> combinacao : combinacoes) {
+                configuracoes.add(new ConfiguracaoSimulacao(algoritmo, combinacao, numeroThreads, custoTroca,
+                        custoCache, numeroCpus));
+            }
+        }
+
+        List<TarefaVarredura> tarefas = new ArrayList<>();
+        for (ConfiguracaoSimulacao configuracao : configuracoes) {
+            for (long semente : sementes) {
+                tarefas.add(new TarefaVarredura(tarefas.size(), configuracao, semente, quantidadeProcessos));
+            }
+        }
+        return tarefas;
+    }
+
+    /**
+     * Define o tempo sem mensagens após o qual um trabalhador é dado como perdido.
+     */
+    public void setTempoLimiteBatimento(long tempoLimiteBatimento) {
+        this.tempoLimiteBatimento = Math.max(1, tempoLimiteBatimento);
+    }
+
+    /**
+     * Define quantas vezes uma tarefa é tentada antes de ser registrada como falha.
+     */
+    public void setMaximoTentativas(int maximoTentativas) {
+        this.maximoTentativas = Math.max(1, maximoTentativas);
+    }
+
+    /**
+     * Define por quanto tempo a varredura aguarda sem nenhum trabalhador conectado antes de
+     * ser abandonada.
+     */
+    public void setTempoMaximoSemTrabalhadores(long tempoMaximoSemTrabalhadores) {
+        this.tempoMaximoSemTrabalhadores = Math.max(1, tempoMaximoSemTrabalhadores);
+    }
+
+    /**
+     * Começa a aceitar trabalhadores da máquina local, ouvindo apenas no endereço de loopback.
+     *
+     * @param porta Porta TCP ou 0 para uma porta livre
+     * @return Porta em que o coordenador está ouvindo
+     * @throws IOException se não for possível abrir a porta
+     */
+    public int iniciar(int porta) throws IOException {
+        return iniciar(porta, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Começa a aceitar trabalhadores no endereço informado. Qualquer máquina que alcance o
+     * endereço e a porta pode se conectar como trabalhador, então endereços além do loopback
+     * devem ser usados apenas em redes confiáveis.
+     *
+     * @param porta Porta TCP ou 0 para uma porta livre
+     * @param endereco Endereço local em que ouvir ({@code 0.0.0.0} para todas as interfaces)
+     * @return Porta em que o coordenador está ouvindo
+     * @throws IOException se não for possível abrir a porta
+     */
+    public int iniciar(int porta, InetAddress endereco) throws IOException {
+        servidor = new ServerSocket(porta, 50, endereco);
+        semTrabalhadoresDesde = System.currentTimeMillis();
+
+        Thread aceitacao = new Thread(this::aceitarTrabalhadores, "coordenador-varredura");
+        aceitacao.setDaemon(true);
+        aceitacao.start();
+
+        monitor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "monitor-varredura");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = Math.max(1, tempoLimiteBatimento / 4);
+        monitor.scheduleAtFixedRate(this::verificarTrabalhadores, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        return servidor.getLocalPort();
+    }
+
+    /**
+     * Lança trabalhadores em novas JVMs na máquina local, com o mesmo classpath desta JVM.
+     *
+     * @param quantidade Número de trabalhadores
+     * @param paralelismo Tarefas executadas ao mesmo tempo por trabalhador
+     * @throws IOException se um processo não puder ser iniciado
+     */
+    public void lancarTrabalhadoresLocais(int quantidade, int paralelismo) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = System.getProperty("java.class.path");
+        InetAddress endereco = servidor.getInetAddress();
+        String host = endereco.isAnyLocalAddress() ? "localhost" : endereco.getHostAddress();
+        for (int i = 0; i < quantidade; i++) {
+            ProcessBuilder construtor = new ProcessBuilder(java, "-Dfile.encoding=UTF-8", "-cp", classpath,
+                    TrabalhadorVarredura.class.getName(), host, String.valueOf(servidor.getLocalPort()),
+                    String.valueOf(paralelismo));
+            construtor.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+            construtor.redirectError(ProcessBuilder.Redirect.INHERIT);
+            synchronized (this) {
+                processosLocais.add(construtor.start());
+            }
+        }
+    }
+
+    /**
+     * Aguarda até todas as tarefas terminarem, com sucesso ou esgotadas as tentativas.
+     *
+     * @return Resumo de cada configuração, na ordem da grade
+     * @throws InterruptedException se a thread for interrompida enquanto aguarda
+     * @throws IllegalStateException se a varredura for abandonada por falta de trabalhadores
+     */
+    public synchronized List<Resumo> aguardarConclusao() throws InterruptedException {
+        while (!terminada) {
+            wait();
+        }
+        if (erroFatal != null) {
+            throw new IllegalStateException(erroFatal);
+        }
+        return new ArrayList<>(resumos.values());
+    }
+
+    private void aceitarTrabalhadores() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                Thread leitura = new Thread(() -> atenderConexao(socket), "leitura-varredura");
+                leitura.setDaemon(true);
+                leitura.start();
+            } catch (IOException e) {
+                // O servidor foi fechado
+            }
+        }
+    }
+
+    private void atenderConexao(Socket socket) {
+        Trabalhador trabalhador = null;
+        try {
+            socket.setTcpNoDelay(true);
+            ObjectOutputStream saida = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            saida.flush();
+            ObjectInputStream entrada = MensagemVarredura.abrirEntrada(socket.getInputStream());
+            synchronized (this) {
+                trabalhador = new Trabalhador(socket, saida);
+                trabalhadores.add(trabalhador);
+                if (terminada) {
+                    trabalhador.enviar(MensagemVarredura.fim());
+                    return;
+                }
+            }
+            while (true) {
+                MensagemVarredura mensagem = (MensagemVarredura) entrada.readObject();
+                trabalhador.ultimoContato = System.currentTimeMillis();
+                if (tratarMensagem(trabalhador, mensagem)) {
+                    return;
+                }
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Conexão perdida ou mensagem inválida: o trabalhador é descartado abaixo
+        } finally {
+            if (trabalhador != null) {
+                // No fim da varredura, o fim já enfileirado é entregue antes de fechar a conexão
+                if (isTerminada()) {
+                    trabalhador.aguardarEscrita(tempoLimiteBatimento);
+                }
+                descartar(trabalhador);
+            }
+            fecharSilenciosamente(socket);
+        }
+    }
+
+    /**
+     * Trata uma mensagem de um trabalhador.
+     *
+     * @return true se a conexão com o trabalhador deve ser encerrada
+     */
+    private synchronized boolean tratarMensagem(Trabalhador trabalhador, MensagemVarredura mensagem) {
+        if (!trabalhador.ativo) {
+            // Descartado por falta de batimentos; as suas tarefas já foram redistribuídas
+            if (mensagem.tipo == MensagemVarredura.Tipo.RESULTADO) {
+                registrarResultado(mensagem.linha);
+            }
+            return true;
+        }
+        switch (mensagem.tipo) {
+            case OLA:
+                trabalhador.identificacao = mensagem.trabalhador;
+                break;
+            case PEDIDO:
+                trabalhador.pedidos += mensagem.quantidade;
+                atender(trabalhador);
+                break;
+            case RESULTADO:
+                trabalhador.emExecucao.remove(mensagem.idTarefa);
+                registrarResultado(mensagem.linha);
+                trabalhador.pedidos++;
+                atender(trabalhador);
+                break;
+            case FALHA:
+                TarefaVarredura tarefa = trabalhador.emExecucao.remove(mensagem.idTarefa);
+                if (tarefa != null) {
+                    repetirOuFalhar(tarefa, mensagem.erro);
+                    atenderTodos();
+                }
+                trabalhador.pedidos++;
+                atender(trabalhador);
+                break;
+            default:
+                break;
+        }
+        return terminada;
+    }
+
+    private void registrarResultado(LinhaVarredura linha) {
+        int id = linha.getTarefa().getId();
+        if (!tarefas.containsKey(id) || !concluidas.add(id)) {
+            entregasRepetidas++;
+            return;
+        }
+        resumos.get(linha.getTarefa().getConfiguracao()).acumular(linha);
+        consumidor.accept(linha);
+        verificarTermino();
+    }
+
+    /**
+     * Devolve a tarefa ao início da fila comum ou, esgotadas as tentativas, registra a falha.
+     */
+    private void repetirOuFalhar(TarefaVarredura tarefa, String erro) {
+        if (concluidas.contains(tarefa.getId())) {
+            return;
+        }
+        int feitas = tentativas.merge(tarefa.getId(), 1, Integer::sum);
+        if (feitas < maximoTentativas) {
+            retentativas++;
+            pendentes.addFirst(tarefa);
+        } else {
+            concluidas.add(tarefa.getId());
+            falhas.put(tarefa.getId(), erro);
+            verificarTermino();
+        }
+    }
+
+    /**
+     * Envia ao trabalhador tantas tarefas quantas ele pediu e houver disponíveis.
+     */
+    private void atender(Trabalhador trabalhador) {
+        List<TarefaVarredura> lote = new ArrayList<>();
+        while (trabalhador.pedidos > 0) {
+            TarefaVarredura tarefa = proximaTarefa(trabalhador);
+            if (tarefa == null) {
+                break;
+            }
+            trabalhador.pedidos--;
+            trabalhador.emExecucao.put(tarefa.getId(), tarefa);
+            lote.add(tarefa);
+        }
+        if (!lote.isEmpty()) {
+            trabalhador.enviar(MensagemVarredura.tarefas(lote));
+        }
+    }
+
+    private void atenderTodos() {
+        for (Trabalhador trabalhador : trabalhadores) {
+            if (trabalhador.ativo && trabalhador.pedidos > 0) {
+                atender(trabalhador);
+            }
+        }
+    }
+
+    /**
+     * Retira a próxima tarefa do trabalhador: da fila dele, de um lote da fila comum ou de
+     * metade da fila do trabalhador mais carregado.
+     */
+    private TarefaVarredura proximaTarefa(Trabalhador trabalhador) {
+        if (!trabalhador.fila.isEmpty()) {
+            return trabalhador.fila.pollFirst();
+        }
+
+        if (!pendentes.isEmpty()) {
+            int ativos = 0;
+            for (Trabalhador outro : trabalhadores) {
+                if (outro.ativo) {
+                    ativos++;
+                }
+            }
+            int lote = Math.max(1, pendentes.size() / (2 * Math.max(1, ativos)));
+            for (int i = 0; i < lote; i++) {
+                trabalhador.fila.addLast(pendentes.pollFirst());
+            }
+            return trabalhador.fila.pollFirst();
+        }
+
+        Trabalhador vitima = null;
+        for (Trabalhador outro : trabalhadores) {
+            if (outro != trabalhador && outro.ativo && !outro.fila.isEmpty()
+                    && (vitima == null || outro.fila.size() > vitima.fila.size())) {
+                vitima = outro;
+            }
+        }
+        if (vitima == null) {
+            return null;
+        }
+        roubos++;
+        int roubadas = (vitima.fila.size() + 1) / 2;
+        for (int i = 0; i < roubadas; i++) {
+            trabalhador.fila.addFirst(vitima.fila.pollLast());
+        }
+        return trabalhador.fila.pollFirst();
+    }
+
+    /**
+     * Descarta um trabalhador e redistribui as tarefas que estavam com ele.
+     */
+    private synchronized void descartar(Trabalhador trabalhador) {
+        if (!trabalhador.ativo) {
+            return;
+        }
+        trabalhador.ativo = false;
+        trabalhador.escrita.interrupt();
+        fecharSilenciosamente(trabalhador.socket);
+        if (terminada) {
+            return;
+        }
+
+        // As tarefas da fila própria nunca foram enviadas e não contam como tentativa
+        while (!trabalhador.fila.isEmpty()) {
+            pendentes.addFirst(trabalhador.fila.pollLast());
+        }
+        for (TarefaVarredura tarefa : trabalhador.emExecucao.values()) {
+            repetirOuFalhar(tarefa, "trabalhador perdido: " + trabalhador.identificacao);
+        }
+        trabalhador.emExecucao.clear();
+        atenderTodos();
+    }
+
+    /**
+     * Descarta os trabalhadores sem batimento recente e abandona a varredura se ela ficar sem
+     * trabalhadores por tempo demais.
+     */
+    private void verificarTrabalhadores() {
+        long agora = System.currentTimeMillis();
+        List<Trabalhador> expirados = new ArrayList<>();
+        synchronized (this) {
+            if (terminada) {
+                return;
+            }
+            boolean algumAtivo = false;
+            for (Trabalhador trabalhador : trabalhadores) {
+                if (trabalhador.ativo && agora - trabalhador.ultimoContato > tempoLimiteBatimento) {
+                    expirados.add(trabalhador);
+                } else if (trabalhador.ativo) {
+                    algumAtivo = true;
+                }
+            }
+            if (algumAtivo) {
+                semTrabalhadoresDesde = agora;
+            } else if (agora - semTrabalhadoresDesde > tempoMaximoSemTrabalhadores) {
+                erroFatal = "Nenhum trabalhador conectado por " + tempoMaximoSemTrabalhadores + " ms; "
+                        + (tarefas.size() - concluidas.size()) + " tarefas não foram executadas";
+                encerrar();
+            }
+        }
+        for (Trabalhador trabalhador : expirados) {
+            descartar(trabalhador);
+        }
+    }
+
+    private void verificarTermino() {
+        if (concluidas.size() == tarefas.size()) {
+            encerrar();
+        }
+    }
+
+    private void encerrar() {
+        terminada = true;
+        for (Trabalhador trabalhador : trabalhadores) {
+            if (trabalhador.ativo) {
+                trabalhador.enviar(MensagemVarredura.fim());
+            }
+        }
+        notifyAll();
+    }
+
+    private synchronized boolean isTerminada() {
+        return terminada;
+    }
+
+    /**
+     * Tarefas que falharam em todas as tentativas, com o último erro de cada uma.
+     */
+    public synchronized Map<Integer, String> getFalhas() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(falhas));
+    }
+
+    /**
+     * Número de vezes que um trabalhador ocioso roubou tarefas da fila de outro.
+     */
+    public synchronized long getRoubos() {
+        return roubos;
+    }
+
+    /**
+     * Número de tarefas devolvidas à fila por falha ou perda do trabalhador.
+     */
+    public synchronized long getRetentativas() {
+        return retentativas;
+    }
+
+    /**
+     * Número de resultados ignorados por já terem sido entregues.
+     */
+    public synchronized long getEntregasRepetidas() {
+        return entregasRepetidas;
+    }
+
+    /**
+     * Número de trabalhadores que se conectaram, inclusive os já descartados.
+     */
+    public synchronized int getTrabalhadoresConectados() {
+        return trabalhadores.size();
+    }
+
+    /**
+     * Encerra o servidor, as conexões e os trabalhadores locais.
+     */
+    @Override
+    public void close() {
+        List<Process> processos;
+        List<Trabalhador> conectados;
+        synchronized (this) {
+            if (!terminada) {
+                erroFatal = "Varredura encerrada antes de terminar";
+                encerrar();
+            }
+            conectados = new ArrayList<>(trabalhadores);
+            processos = new ArrayList<>(processosLocais);
+        }
+        // O fim enfileirado tem um prazo curto para ser escrito, fora do bloqueio do coordenador
+        long prazo = System.currentTimeMillis() + 1000;
+        for (Trabalhador trabalhador : conectados) {
+            trabalhador.aguardarEscrita(Math.max(1, prazo - System.currentTimeMillis()));
+            fecharSilenciosamente(trabalhador.socket);
+        }
+        if (monitor != null) {
+            monitor.shutdownNow();
+        }
+        if (servidor != null) {
+            fecharSilenciosamente(servidor);
+        }
+        // Os trabalhadores locais terminam sozinhos ao receber o fim; os que não terminarem são destruídos
+        for (Process processo : processos) {
+            try {
+                if (!processo.waitFor(5, TimeUnit.SECONDS)) {
+                    processo.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                processo.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void fecharSilenciosamente(Closeable recurso) {
+        try {
+            recurso.close();
+        } catch (IOException e) {
+            // Nada a fazer
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package simulation;
+
+import model.Processo;
+import scheduler.RegistroEscalonadores;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Teste de estresse dos escalonadores concorrentes ({@code rr-concorrente} e
+ * {@code sjf-concorrente}) no laço sem bloqueio do {@link MotorDeSimulacao}, e do
+ * {@code gang}, com processos de várias threads, no laço com bloqueio do modo livre. Cada
+ * rodada simula uma carga com muitas threads e sem atraso, para maximizar as intercalações, e
+ * verifica:
+ * <ul>
+ *   <li>nenhuma unidade executa antes da chegada do processo;</li>
+ *   <li>cada unidade de tempo é despachada uma única vez, e cada processo recebe exatamente o
+ *       seu tempo de execução;</li>
+ *   <li>a simulação termina dentro do tempo limite, com todos os processos concluídos.</li>
+ * </ul>
+ *
+ * Uso: {@code java -cp <classpath> simulation.EstresseConcorrente [rodadas] [processos] [threads]};
+ * o código de saída é 1 se alguma violação for encontrada.
+ */
+public class EstresseConcorrente {
+    /**
+     * Tempo máximo de uma rodada antes de ela ser considerada travada, em segundos.
+     */
+    public static final long TEMPO_LIMITE_S = 60;
+
+    private static final String[] ALGORITMOS = {"rr-concorrente", "sjf-concorrente", "gang"};
+
+    /**
+     * Violações encontradas em uma rodada.
+     */
+    private static final class Verificacao implements MotorDeSimulacao.OuvinteSimulacao {
+        private final Map<Processo, AtomicInteger> unidades = new ConcurrentHashMap<>();
+        private final Set<Integer> tempos = ConcurrentHashMap.newKeySet();
+        private final List<String> violacoes = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch concluida = new CountDownLatch(1);
+
+        @Override
+        public void aoIniciarProcesso(Processo processo, int idThread, int tempo) {
+            if (tempo < processo.getTempoChegada()) {
+                violacoes.add(processo.getId() + " executou em " + tempo + ", antes da chegada em "
+                        + processo.getTempoChegada());
+            }
+            if (!tempos.add(tempo)) {
+                violacoes.add("Unidade " + tempo + " despachada mais de uma vez");
+            }
+            unidades.computeIfAbsent(processo, p -> new AtomicInteger()).incrementAndGet();
+        }
+
+        @Override
+        public void aoFinalizarProcesso(Processo processo, int idThread, int tempo) {
+        }
+
+        @Override
+        public void aoCompletarSimulacao(MotorDeSimulacao.ResultadoSimulacao resultado) {
+            concluida.countDown();
+        }
+
+        void verificarProcessos(List<Processo> processos) {
+            for (Processo processo : processos) {
+                AtomicInteger executadas = unidades.get(processo);
+                int total = executadas == null ? 0 : executadas.get();
+                if (!processo.isFinalizado()) {
+                    violacoes.add(processo.getId() + " não terminou");
+                } else if (total != processo.getTempoExecucao()) {
+                    violacoes.add(processo.getId() + " executou " + total + " unidades de "
+                            + processo.getTempoExecucao());
+                }
+                if (processo.isIniciado() && processo.getTempoInicio() < processo.getTempoChegada()) {
+                    violacoes.add(processo.getId() + " iniciou em " + processo.getTempoInicio()
+                            + ", antes da chegada em " + processo.getTempoChegada());
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int rodadas = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int quantidadeProcessos = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        int numeroThreads = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+        int rodadasComFalha = 0;
+        for (String algoritmo : ALGORITMOS) {
+            for (int rodada = 0; rodada < rodadas; rodada++) {
+                List<String> violacoes = executarRodada(algoritmo, rodada, quantidadeProcessos, numeroThreads);
+                if (!violacoes.isEmpty()) {
+                    rodadasComFalha++;
+                    System.out.println(algoritmo + " rodada " + rodada + ": " + violacoes.size() + " violações");
+                    for (String violacao : violacoes.subList(0, Math.min(5, violacoes.size()))) {
+                        System.out.println("  " + violacao);
+                    }
+                }
+            }
+            System.out.println(algoritmo + ": " + rodadas + " rodadas com " + quantidadeProcessos
+                    + " processos e " + numeroThreads + " threads");
+        }
+        System.out.println(rodadasComFalha == 0 ? "Nenhuma violação" : rodadasComFalha + " rodadas com violações");
+        System.exit(rodadasComFalha == 0 ? 0 : 1);
+    }
+
+    /**
+     * Simula uma carga e devolve as violações encontradas.
+     */
+    static List<String> executarRodada(String algoritmo, long semente, int quantidadeProcessos, int numeroThreads)
+            throws InterruptedException {
+        List<Processo> processos = new GeradorDeProcessos(semente).gerarProcessos(quantidadeProcessos);
+        if (algoritmo.equals("gang")) {
+            for (int i = 0; i < processos.size(); i++) {
+                processos.get(i).setNumeroThreads(1 + i % numeroThreads);
+            }
+        }
+        MotorDeSimulacao motor = new MotorDeSimulacao(RegistroEscalonadores.criar(algoritmo, new HashMap<>()),
+                numeroThreads);
+        motor.setAtrasoPorUnidade(0);
+        motor.getEscalonador().adicionarProcessos(processos);
+
+        Verificacao verificacao = new Verificacao();
+        motor.adicionarOuvinte(verificacao);
+        motor.iniciarSimulacao();
+        if (!verificacao.concluida.await(TEMPO_LIMITE_S, TimeUnit.SECONDS)) {
+            motor.pararSimulacao();
+            verificacao.violacoes.add("A simulação não terminou em " + TEMPO_LIMITE_S + " s");
+            return verificacao.violacoes;
+        }
+        verificacao.verificarProcessos(processos);
+        return verificacao.violacoes;
+    }
+}
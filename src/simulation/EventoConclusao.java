@@ -0,0 +1,50 @@
+package simulation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import model.Processo;
+
+/**
+ * Evento do Java Flight Recorder emitido quando um processo termina a execução.
+ */
+@Name("escalonadores.Conclusao")
+@Label("Conclusão de processo")
+@Category({"Escalonadores", "Simulação"})
+@Description("Processo concluído, com os tempos de espera e de retorno")
+@StackTrace(false)
+final class EventoConclusao extends Event {
+    private static final EventType TIPO = EventType.getEventType(EventoConclusao.class);
+
+    @Label("Processo")
+    String processo;
+
+    @Label("Thread")
+    int idThread;
+
+    @Label("Tempo de simulação")
+    int tempoSimulacao;
+
+    @Label("Tempo de espera")
+    int tempoEspera;
+
+    @Label("Tempo de retorno")
+    int tempoRetorno;
+
+    static void registrar(Processo processo, int idThread) {
+        if (!TIPO.isEnabled()) {
+            return;
+        }
+        EventoConclusao evento = new EventoConclusao();
+        evento.processo = processo.getId();
+        evento.idThread = idThread;
+        evento.tempoSimulacao = processo.getTempoFim();
+        evento.tempoEspera = processo.getTempoEspera();
+        evento.tempoRetorno = processo.getTempoRetorno();
+        evento.commit();
+    }
+}
@@ -0,0 +1,54 @@
+package simulation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import model.Processo;
+
+/**
+ * Evento do Java Flight Recorder emitido a cada unidade despachada pelo motor de simulação,
+ * com o tempo gasto pelo escalonador para escolher o processo.
+ */
+@Name("escalonadores.Despacho")
+@Label("Despacho de processo")
+@Category({"Escalonadores", "Simulação"})
+@Description("Processo escolhido pelo escalonador para executar uma unidade de tempo")
+@StackTrace(false)
+final class EventoDespacho extends Event {
+    private static final EventType TIPO = EventType.getEventType(EventoDespacho.class);
+
+    @Label("Processo")
+    String processo;
+
+    @Label("Thread")
+    int idThread;
+
+    @Label("Tempo de simulação")
+    int tempoSimulacao;
+
+    @Label("Latência de seleção")
+    @Timespan(Timespan.NANOSECONDS)
+    long latenciaSelecao;
+
+    /**
+     * Indica se alguma gravação ativa coleta este evento. Quando não há, o motor não mede a
+     * latência nem cria o evento.
+     */
+    static boolean ativo() {
+        return TIPO.isEnabled();
+    }
+
+    static void registrar(Processo processo, int idThread, int tempoSimulacao, long latenciaSelecao) {
+        EventoDespacho evento = new EventoDespacho();
+        evento.processo = processo.getId();
+        evento.idThread = idThread;
+        evento.tempoSimulacao = tempoSimulacao;
+        evento.latenciaSelecao = latenciaSelecao;
+        evento.commit();
+    }
+}
@@ -0,0 +1,42 @@
+package simulation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder que mede quanto tempo uma thread de simulação esperou pelo
+ * monitor do escalonador. A duração do evento é a espera; use o limite ("threshold") da
+ * gravação para registrar apenas as esperas longas.
+ */
+@Name("escalonadores.EsperaEscalonador")
+@Label("Espera pelo escalonador")
+@Category({"Escalonadores", "Simulação"})
+@Description("Espera de uma thread de simulação para adquirir o monitor do escalonador")
+@StackTrace(false)
+final class EventoEsperaEscalonador extends Event {
+    private static final EventType TIPO = EventType.getEventType(EventoEsperaEscalonador.class);
+
+    @Label("Thread")
+    int idThread;
+
+    /**
+     * Inicia a medição da espera.
+     *
+     * @param idThread ID da thread de simulação
+     * @return Evento iniciado ou null se nenhuma gravação coleta este evento
+     */
+    static EventoEsperaEscalonador iniciar(int idThread) {
+        if (!TIPO.isEnabled()) {
+            return null;
+        }
+        EventoEsperaEscalonador evento = new EventoEsperaEscalonador();
+        evento.idThread = idThread;
+        evento.begin();
+        return evento;
+    }
+}
@@ -0,0 +1,772 @@
+package simulation;
+
+import metrics.AcumuladorMetricas;
+import model.Processo;
+import scheduler.Escalonador;
+import scheduler.EscalonadorFairShare;
+import scheduler.EscalonadorGang;
+import scheduler.FabricaEscalonador;
+import scheduler.ParametroEscalonador;
+import scheduler.RegistroEscalonadores;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executa uma simulação sem interface gráfica a partir de argumentos de linha de comando.
+ * Os algoritmos disponíveis são obtidos do {@link RegistroEscalonadores}.
+ * 
+ * Exemplo: {@code --algoritmo rr --param quantum=2 --threads 4 --processos 1000 --semente 42}
+ */
+public class ExecucaoHeadless {
+
+    /**
+     * Eventos do Java Flight Recorder habilitados por {@code --gravacao}.
+     */
+    private static final String[] EVENTOS_GRAVACAO = {
+            "escalonadores.Despacho",
+            "escalonadores.Preempcao",
+            "escalonadores.Conclusao",
+            "escalonadores.EsperaEscalonador"
+    };
+
+    /**
+     * Opções lidas da linha de comando.
+     */
+    private static final class Opcoes {
+        boolean listar;
+        String algoritmo = "rr";
+        Map<String, Double> parametros = new HashMap<>();
+        Map<String, String> escalonadores = new HashMap<>();
+        int numeroThreads = 1;
+        int quantidadeProcessos = 10;
+        Long semente;
+        long atraso;
+        int custoTroca;
+        int custoCache;
+        double taxaChegada;
+        int duracao = 10000;
+        int janela = 1000;
+        Path diretorioCache;
+        Path arquivoGravacao;
+        int numeroCpus;
+        int limiteMigracao = -1;
+        double[] velocidades;
+        int custoMigracao;
+        List<String> grupos = new ArrayList<>();
+        double[] folgaPrazos;
+        double utilizacaoPeriodicas;
+        int[] faixaBilhetes;
+        int niveisPrioridade;
+        int[] faixaThreads;
+        String[] comparados;
+        String[] varridos;
+        Map<String, double[]> grade = new LinkedHashMap<>();
+        long[] sementes;
+        int trabalhadores;
+        int paralelismo = 1;
+        int porta;
+        InetAddress endereco = InetAddress.getLoopbackAddress();
+        Path arquivoSaida;
+        String enderecoCoordenador;
+        OtimizadorParametros.Objetivo objetivo;
+        int candidatos = 27;
+        int eta = 3;
+        Map<String, double[]> faixas = new LinkedHashMap<>();
+        int[] opcoesThreads;
+        long[] quanta;
+        Path diretorioExportacao;
+
+        GeradorDeProcessos criarGerador() {
+            return semente == null ? new GeradorDeProcessos() : new GeradorDeProcessos(semente);
+        }
+
+        /**
+         * Gera a carga fechada com os atributos pedidos.
+         */
+        List<Processo> gerarCarga(GeradorDeProcessos gerador) {
+            return ExecucaoHeadless.gerarCarga(gerador, quantidadeProcessos, utilizacaoPeriodicas, folgaPrazos,
+                    faixaBilhetes, niveisPrioridade, faixaThreads);
+        }
+
+        /**
+         * Configuração com o algoritmo, os parâmetros informados e o restante das opções do motor:
+         * CPUs, velocidades, custos e grupos.
+         */
+        ConfiguracaoSimulacao criarConfiguracao(Map<String, Double> parametros) {
+            ConfiguracaoSimulacao configuracao = new ConfiguracaoSimulacao(algoritmo, parametros, escalonadores,
+                    numeroThreads, custoTroca, custoCache, numeroCpus).comCustoMigracao(custoMigracao);
+            if (velocidades != null) {
+                configuracao = configuracao.comVelocidadesCpu(velocidades);
+            }
+            for (String texto : grupos) {
+                ConfiguracaoSimulacao.Grupo grupo = lerGrupo(texto);
+                configuracao = configuracao.comGrupo(grupo.getCaminho(), grupo.getPeso(), grupo.getCota());
+            }
+            return configuracao;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        Opcoes opcoes = lerOpcoes(args);
+        if (opcoes.listar) {
+            listarAlgoritmos();
+            return;
+        }
+
+        // Gravação do Java Flight Recorder com os eventos de despacho, preempção, conclusão e espera
+        Recording gravacao = null;
+        if (opcoes.arquivoGravacao != null) {
+            gravacao = new Recording();
+            for (String evento : EVENTOS_GRAVACAO) {
+                gravacao.enable(evento);
+            }
+            gravacao.setDestination(opcoes.arquivoGravacao);
+            gravacao.start();
+        }
+
+        try {
+            if (opcoes.limiteMigracao >= 0) {
+                executarTimeWarp(opcoes);
+            } else if (opcoes.enderecoCoordenador != null) {
+                executarTrabalhador(opcoes);
+            } else if (opcoes.varridos != null) {
+                executarVarredura(opcoes);
+            } else if (opcoes.objetivo != null) {
+                executarOtimizacao(opcoes);
+            } else if (opcoes.quanta != null) {
+                executarQuanta(opcoes);
+            } else if (opcoes.comparados != null) {
+                executarComparacao(opcoes);
+            } else if (opcoes.diretorioCache != null && opcoes.semente != null && opcoes.taxaChegada <= 0
+                    && opcoes.atraso == 0) {
+                executarComCache(opcoes);
+            } else {
+                executarSimulacao(opcoes);
+            }
+        } finally {
+            if (gravacao != null) {
+                // Ao parar, a gravação é escrita no destino
+                gravacao.stop();
+                gravacao.close();
+                System.out.println("Gravação JFR: " + opcoes.arquivoGravacao);
+            }
+        }
+    }
+
+    /**
+     * Lê as opções da linha de comando. A leitura para em {@code --listar}.
+     */
+    private static Opcoes lerOpcoes(String[] args) throws IOException {
+        Opcoes opcoes = new Opcoes();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--headless":
+                    break;
+                case "--listar":
+                    opcoes.listar = true;
+                    return opcoes;
+                case "--algoritmo":
+                    opcoes.algoritmo = args[++i];
+                    break;
+                case "--param":
+                    String[] chaveValor = args[++i].split("=", 2);
+                    try {
+                        opcoes.parametros.put(chaveValor[0], Double.parseDouble(chaveValor[1]));
+                    } catch (NumberFormatException e) {
+                        // Valores não numéricos são identificadores de algoritmos, como a política da folha
+                        opcoes.escalonadores.put(chaveValor[0], chaveValor[1]);
+                    }
+                    break;
+                case "--threads":
+                    opcoes.numeroThreads = Integer.parseInt(args[++i]);
+                    break;
+                case "--processos":
+                    opcoes.quantidadeProcessos = Integer.parseInt(args[++i]);
+                    break;
+                case "--semente":
+                    opcoes.semente = Long.parseLong(args[++i]);
+                    break;
+                case "--atraso":
+                    opcoes.atraso = Long.parseLong(args[++i]);
+                    break;
+                case "--troca":
+                    opcoes.custoTroca = Integer.parseInt(args[++i]);
+                    break;
+                case "--cache":
+                    opcoes.custoCache = Integer.parseInt(args[++i]);
+                    break;
+                case "--aberto":
+                    opcoes.taxaChegada = Double.parseDouble(args[++i]);
+                    break;
+                case "--duracao":
+                    opcoes.duracao = Integer.parseInt(args[++i]);
+                    break;
+                case "--janela":
+                    opcoes.janela = Integer.parseInt(args[++i]);
+                    break;
+                case "--cache-resultados":
+                    opcoes.diretorioCache = Paths.get(args[++i]);
+                    break;
+                case "--cpus":
+                    opcoes.numeroCpus = Integer.parseInt(args[++i]);
+                    break;
+                case "--velocidades":
+                    String[] fatores = args[++i].split(",");
+                    opcoes.velocidades = new double[fatores.length];
+                    for (int cpu = 0; cpu < fatores.length; cpu++) {
+                        opcoes.velocidades[cpu] = Double.parseDouble(fatores[cpu].trim());
+                    }
+                    break;
+                case "--migracao":
+                    opcoes.custoMigracao = Integer.parseInt(args[++i]);
+                    break;
+                case "--grupo":
+                    opcoes.grupos.add(args[++i]);
+                    break;
+                case "--prazos":
+                    String[] folgas = args[++i].split(",", 2);
+                    opcoes.folgaPrazos = new double[]{Double.parseDouble(folgas[0]),
+                            Double.parseDouble(folgas[folgas.length - 1])};
+                    break;
+                case "--periodicas":
+                    opcoes.utilizacaoPeriodicas = Double.parseDouble(args[++i]);
+                    break;
+                case "--bilhetes":
+                    String[] faixa = args[++i].split(",", 2);
+                    opcoes.faixaBilhetes = new int[]{Integer.parseInt(faixa[0]),
+                            Integer.parseInt(faixa[faixa.length - 1])};
+                    break;
+                case "--gangs":
+                    String[] faixaGangs = args[++i].split(",", 2);
+                    opcoes.faixaThreads = new int[]{Integer.parseInt(faixaGangs[0]),
+                            Integer.parseInt(faixaGangs[faixaGangs.length - 1])};
+                    break;
+                case "--prioridades":
+                    opcoes.niveisPrioridade = Integer.parseInt(args[++i]);
+                    break;
+                case "--comparar":
+                    opcoes.comparados = args[++i].split(",");
+                    break;
+                case "--varredura":
+                    opcoes.varridos = args[++i].split(",");
+                    break;
+                case "--grade":
+                    String[] eixo = args[++i].split("=", 2);
+                    String[] valores = eixo[1].split(",");
+                    double[] pontos = new double[valores.length];
+                    for (int v = 0; v < valores.length; v++) {
+                        pontos[v] = Double.parseDouble(valores[v].trim());
+                    }
+                    opcoes.grade.put(eixo[0], pontos);
+                    break;
+                case "--sementes":
+                    opcoes.sementes = lerSementes(args[++i]);
+                    break;
+                case "--trabalhadores":
+                    opcoes.trabalhadores = Integer.parseInt(args[++i]);
+                    break;
+                case "--paralelismo":
+                    opcoes.paralelismo = Integer.parseInt(args[++i]);
+                    break;
+                case "--porta":
+                    opcoes.porta = Integer.parseInt(args[++i]);
+                    break;
+                case "--endereco":
+                    opcoes.endereco = InetAddress.getByName(args[++i]);
+                    break;
+                case "--saida":
+                    opcoes.arquivoSaida = Paths.get(args[++i]);
+                    break;
+                case "--trabalhador":
+                    opcoes.enderecoCoordenador = args[++i];
+                    break;
+                case "--otimizar":
+                    opcoes.objetivo = OtimizadorParametros.Objetivo.buscar(args[++i]);
+                    break;
+                case "--candidatos":
+                    opcoes.candidatos = Integer.parseInt(args[++i]);
+                    break;
+                case "--eta":
+                    opcoes.eta = Integer.parseInt(args[++i]);
+                    break;
+                case "--faixa":
+                    String[] chaveFaixa = args[++i].split("=", 2);
+                    String[] limites = chaveFaixa[1].split(":", 2);
+                    opcoes.faixas.put(chaveFaixa[0], new double[]{Double.parseDouble(limites[0]),
+                            Double.parseDouble(limites[limites.length - 1])});
+                    break;
+                case "--opcoes-threads":
+                    String[] escolhas = args[++i].split(",");
+                    opcoes.opcoesThreads = new int[escolhas.length];
+                    for (int t = 0; t < escolhas.length; t++) {
+                        opcoes.opcoesThreads[t] = Integer.parseInt(escolhas[t].trim());
+                    }
+                    break;
+                case "--quanta":
+                    opcoes.quanta = lerSementes(args[++i]);
+                    break;
+                case "--time-warp":
+                    opcoes.limiteMigracao = Integer.parseInt(args[++i]);
+                    break;
+                case "--exportar":
+                    opcoes.diretorioExportacao = Paths.get(args[++i]);
+                    break;
+                case "--gravacao":
+                    opcoes.arquivoGravacao = Paths.get(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+        return opcoes;
+    }
+
+    /**
+     * Executa uma simulação no {@link MotorDeSimulacao}.
+     * 
+     * Com {@code --aberto <taxa>} a simulação roda no modo aberto, com chegadas contínuas,
+     * durante {@code --duracao} unidades e imprime as métricas a cada {@code --janela} unidades.
+     * Com {@code --cpus <n>} ou {@code --velocidades 2,2,1,1} ela roda no modo determinístico;
+     * {@code --migracao <custo>} cobra a mudança de CPU. Cada {@code --grupo caminho=peso[:cota]}
+     * define um grupo do {@code fair-share}, e os processos são distribuídos em rodízio entre
+     * eles. {@code --prazos}, {@code --periodicas}, {@code --bilhetes}, {@code --prioridades} e
+     * {@code --gangs} acrescentam atributos à carga gerada. Com o algoritmo {@code gang} e
+     * {@code --gangs}, a mesma carga também é simulada sem coescalonamento para comparação.
+     * {@code --exportar <diretorio>} exporta o gráfico de Gantt pelo {@link ExportadorGantt}.
+     */
+    private static void executarSimulacao(Opcoes opcoes) throws InterruptedException, IOException {
+        Escalonador escalonador = RegistroEscalonadores.criar(opcoes.algoritmo, opcoes.parametros,
+                opcoes.escalonadores);
+        List<Processo> cargaIndependente = new ArrayList<>();
+        List<String> caminhosGrupos = configurarGrupos(escalonador, opcoes.grupos);
+        GeradorDeProcessos gerador = opcoes.criarGerador();
+        MotorDeSimulacao motor = new MotorDeSimulacao(escalonador, opcoes.numeroThreads);
+        motor.setAtrasoPorUnidade(opcoes.atraso);
+        motor.setCustoTrocaContexto(opcoes.custoTroca);
+        motor.setCustoAquecimentoCache(opcoes.custoCache);
+        motor.setCustoMigracao(opcoes.custoMigracao);
+        if (opcoes.velocidades != null) {
+            motor.configurarVelocidadesCpu(opcoes.velocidades);
+        } else {
+            motor.configurarModoDeterministico(opcoes.numeroCpus);
+        }
+
+        if (opcoes.taxaChegada > 0) {
+            motor.configurarModoAberto(gerador.criarFluxo(opcoes.taxaChegada), opcoes.duracao, opcoes.janela);
+            motor.adicionarOuvinte(new MotorDeSimulacao.OuvinteSimulacao() {
+                @Override
+                public void aoIniciarProcesso(Processo processo, int idThread, int tempo) {
+                }
+
+                @Override
+                public void aoFinalizarProcesso(Processo processo, int idThread, int tempo) {
+                }
+
+                @Override
+                public void aoCompletarSimulacao(MotorDeSimulacao.ResultadoSimulacao resultado) {
+                }
+
+                @Override
+                public void aoFecharJanela(MotorDeSimulacao.MetricasJanela metricas) {
+                    System.out.println(metricas);
+                }
+            });
+        } else {
+            List<Processo> processos = opcoes.gerarCarga(gerador);
+            if (!caminhosGrupos.isEmpty()) {
+                for (int i = 0; i < processos.size(); i++) {
+                    processos.get(i).setGrupo(caminhosGrupos.get(i % caminhosGrupos.size()));
+                }
+            }
+            // Sem coescalonamento não há com o que comparar
+            if (opcoes.faixaThreads != null && escalonador instanceof EscalonadorGang
+                    && opcoes.parametros.getOrDefault("coescalonamento", 1.0) != 0) {
+                for (Processo processo : processos) {
+                    cargaIndependente.add(processo.copiar());
+                }
+            }
+            escalonador.adicionarProcessos(processos);
+        }
+
+        MotorDeSimulacao.ResultadoSimulacao resultado = motor.executarAteConcluir();
+        imprimirResultado(escalonador.obterNome(), opcoes.numeroThreads, resultado);
+        if (!cargaIndependente.isEmpty()) {
+            compararCoescalonamento(resultado,
+                    opcoes.criarConfiguracao(comCoescalonamento(opcoes.parametros, 0)), cargaIndependente);
+        }
+        if (opcoes.diretorioExportacao != null) {
+            System.out.println(new ExportadorGantt(escalonador.obterNome(), resultado, motor.getHistorico())
+                    .exportar(opcoes.diretorioExportacao));
+        }
+    }
+
+    /**
+     * Com {@code --cache-resultados <diretorio>} e uma semente, o resultado de uma simulação
+     * fechada e sem atraso é guardado no diretório pelo {@link CacheResultados} e reaproveitado
+     * nas execuções seguintes com a mesma configuração.
+     */
+    private static void executarComCache(Opcoes opcoes) throws InterruptedException {
+        ConfiguracaoSimulacao configuracao = opcoes.criarConfiguracao(opcoes.parametros);
+        CacheResultados cache = new CacheResultados(Long.MAX_VALUE, opcoes.diretorioCache);
+        MotorDeSimulacao.ResultadoSimulacao resultado;
+        if (opcoes.grupos.isEmpty() && opcoes.folgaPrazos == null && opcoes.utilizacaoPeriodicas <= 0
+                && opcoes.faixaBilhetes == null && opcoes.niveisPrioridade <= 0 && opcoes.faixaThreads == null) {
+            resultado = cache.obterOuSimular(configuracao, opcoes.semente, opcoes.quantidadeProcessos);
+        } else {
+            // Os atributos acrescentados à carga gerada entram na chave com os próprios processos
+            List<Processo> processos = opcoes.gerarCarga(new GeradorDeProcessos(opcoes.semente));
+            for (int i = 0; !opcoes.grupos.isEmpty() && i < processos.size(); i++) {
+                processos.get(i).setGrupo(configuracao.getGrupos().get(i % opcoes.grupos.size()).getCaminho());
+            }
+            resultado = cache.obterOuSimular(configuracao, processos);
+        }
+        imprimirResultado(configuracao.criarEscalonador().obterNome(), opcoes.numeroThreads, resultado);
+        if (!CacheResultados.isReproduzivel(configuracao)) {
+            System.out.println("Resultado não guardado no cache: o modo livre com mais de uma thread não é determinístico");
+        } else {
+            System.out.println(cache.getAcertosDisco() > 0 ? "Resultado obtido do cache" : "Resultado guardado no cache");
+        }
+    }
+
+    /**
+     * Com {@code --comparar rr,sjf,...} os algoritmos informados são simulados ao mesmo tempo
+     * sobre cópias de uma mesma carga pelo {@link ComparadorEscalonadores}, e é impressa uma
+     * tabela com as diferenças em relação ao primeiro.
+     */
+    private static void executarComparacao(Opcoes opcoes) throws InterruptedException {
+        List<ConfiguracaoSimulacao> configuracoes = new ArrayList<>();
+        for (String idAlgoritmo : opcoes.comparados) {
+            configuracoes.add(new ConfiguracaoSimulacao(idAlgoritmo.trim(), opcoes.parametros, opcoes.escalonadores,
+                    opcoes.numeroThreads, opcoes.custoTroca, opcoes.custoCache, opcoes.numeroCpus));
+        }
+        List<Processo> carga = opcoes.gerarCarga(opcoes.criarGerador());
+        System.out.println(new ComparadorEscalonadores(configuracoes).comparar(carga).formatarTabela());
+    }
+
+    /**
+     * Com {@code --quanta 1-64} (ou uma lista como {@code 2,4,8}) o Round Robin é avaliado com
+     * cada quantum sobre a mesma carga em uma única passagem, pelo
+     * {@link AvaliadorRoundRobinMultiplo}.
+     */
+    private static void executarQuanta(Opcoes opcoes) {
+        List<Processo> carga = opcoes.gerarCarga(opcoes.criarGerador());
+        AvaliadorRoundRobinMultiplo.Resultados resultados = AvaliadorRoundRobinMultiplo.avaliar(carga,
+                Arrays.stream(opcoes.quanta).mapToInt(Math::toIntExact).toArray());
+        for (int c = 0; c < resultados.getQuantidadeConfiguracoes(); c++) {
+            System.out.printf("quantum=%d espera=%.2f turnaround=%.2f makespan=%d trocas=%d%n",
+                    resultados.getQuantum(c), resultados.getTempoMedioEspera(c),
+                    resultados.getTempoMedioRetorno(c), resultados.getMakespan(c),
+                    resultados.getTrocasContexto(c));
+        }
+        System.out.println("Tempo total: " + resultados.getTempoExecucao() + " ms");
+    }
+
+    /**
+     * Com {@code --otimizar <objetivo>} os parâmetros do algoritmo são buscados pelo
+     * {@link OtimizadorParametros} entre {@code --candidatos} configurações, mantendo
+     * 1/{@code --eta} delas a cada rodada; {@code --faixa chave=min:max} restringe um parâmetro
+     * e {@code --opcoes-threads 1,2,4} inclui o número de threads na busca.
+     */
+    private static void executarOtimizacao(Opcoes opcoes) throws InterruptedException {
+        List<Processo> carga = opcoes.gerarCarga(opcoes.criarGerador());
+        OtimizadorParametros otimizador = new OtimizadorParametros(new ConfiguracaoSimulacao(opcoes.algoritmo,
+                opcoes.parametros, opcoes.escalonadores, opcoes.numeroThreads, opcoes.custoTroca, opcoes.custoCache,
+                opcoes.numeroCpus), carga, opcoes.objetivo);
+        otimizador.setCandidatos(opcoes.candidatos);
+        otimizador.setEta(opcoes.eta);
+        for (Map.Entry<String, double[]> faixa : opcoes.faixas.entrySet()) {
+            otimizador.definirFaixa(faixa.getKey(), faixa.getValue()[0], faixa.getValue()[1]);
+        }
+        if (opcoes.opcoesThreads != null) {
+            otimizador.setNumerosThreads(opcoes.opcoesThreads);
+        }
+        if (opcoes.semente != null) {
+            otimizador.setSemente(opcoes.semente);
+        }
+        long inicio = System.currentTimeMillis();
+        OtimizadorParametros.Resultado resultado = otimizador.otimizar();
+        for (OtimizadorParametros.Avaliacao avaliacao : resultado.getAvaliacoes()) {
+            System.out.println(avaliacao);
+        }
+        System.out.println(resultado);
+        System.out.println("Tempo total: " + (System.currentTimeMillis() - inicio) + " ms");
+    }
+
+    /**
+     * Com {@code --trabalhador <host>:<porta>} esta JVM executa tarefas de uma varredura
+     * distribuída para o coordenador informado.
+     */
+    private static void executarTrabalhador(Opcoes opcoes) throws IOException, InterruptedException {
+        int separador = opcoes.enderecoCoordenador.lastIndexOf(':');
+        new TrabalhadorVarredura(opcoes.enderecoCoordenador.substring(0, separador),
+                Integer.parseInt(opcoes.enderecoCoordenador.substring(separador + 1)), opcoes.paralelismo,
+                TrabalhadorVarredura.INTERVALO_BATIMENTO_PADRAO_MS).executar();
+    }
+
+    /**
+     * Com {@code --varredura rr,sjf,...} cada ponto da grade ({@code --grade chave=v1,v2,...}) é
+     * simulado com cada semente de {@code --sementes} por {@code --trabalhadores} JVMs, cada uma
+     * com {@code --paralelismo} simulações, coordenadas pelo {@link CoordenadorVarredura} em
+     * {@code --porta} e {@code --endereco}. As linhas são gravadas em CSV em {@code --saida}.
+     */
+    private static void executarVarredura(Opcoes opcoes) throws IOException, InterruptedException {
+        List<TarefaVarredura> tarefas = CoordenadorVarredura.montarGrade(Arrays.asList(opcoes.varridos), opcoes.grade,
+                opcoes.numeroThreads, opcoes.custoTroca, opcoes.custoCache, opcoes.numeroCpus,
+                opcoes.sementes != null ? opcoes.sementes : new long[]{opcoes.semente != null ? opcoes.semente : 42},
+                opcoes.quantidadeProcessos);
+        executarVarredura(tarefas, opcoes.trabalhadores, opcoes.paralelismo, opcoes.porta, opcoes.endereco,
+                opcoes.arquivoSaida);
+    }
+
+    /**
+     * Lê as sementes (ou os quanta) no formato {@code inicio-fim} ou como uma lista separada por vírgulas.
+     */
+    private static long[] lerSementes(String texto) {
+        if (texto.matches("\\d+-\\d+")) {
+            String[] limites = texto.split("-");
+            long inicio = Long.parseLong(limites[0]);
+            long fim = Long.parseLong(limites[1]);
+            long[] sementes = new long[(int) Math.max(0, fim - inicio + 1)];
+            for (int i = 0; i < sementes.length; i++) {
+                sementes[i] = inicio + i;
+            }
+            return sementes;
+        }
+        String[] partes = texto.split(",");
+        long[] sementes = new long[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            sementes[i] = Long.parseLong(partes[i].trim());
+        }
+        return sementes;
+    }
+
+    /**
+     * Executa uma varredura distribuída, gravando as linhas em CSV à medida que chegam.
+     */
+    private static void executarVarredura(List<TarefaVarredura> tarefas, int trabalhadores, int paralelismo,
+                                          int porta, InetAddress endereco, Path arquivoSaida)
+            throws IOException, InterruptedException {
+        PrintStream csv = arquivoSaida == null ? System.out
+                : new PrintStream(Files.newOutputStream(arquivoSaida), false, StandardCharsets.UTF_8.name());
+        long inicio = System.currentTimeMillis();
+        try (CoordenadorVarredura coordenador = new CoordenadorVarredura(tarefas, linha -> {
+            csv.println(linha.paraCsv());
+            if (arquivoSaida != null) {
+                csv.flush();
+            }
+        })) {
+            csv.println(LinhaVarredura.CABECALHO_CSV);
+            int portaAberta = coordenador.iniciar(porta, endereco);
+            System.err.println("Coordenador ouvindo na porta " + portaAberta + " com " + tarefas.size() + " tarefas");
+            coordenador.lancarTrabalhadoresLocais(trabalhadores, paralelismo);
+
+            List<CoordenadorVarredura.Resumo> resumos = coordenador.aguardarConclusao();
+            csv.flush();
+            for (CoordenadorVarredura.Resumo resumo : resumos) {
+                System.err.println(resumo);
+            }
+            System.err.println("Trabalhadores: " + coordenador.getTrabalhadoresConectados()
+                    + ", roubos: " + coordenador.getRoubos()
+                    + ", retentativas: " + coordenador.getRetentativas()
+                    + ", entregas repetidas: " + coordenador.getEntregasRepetidas()
+                    + ", tempo total: " + (System.currentTimeMillis() - inicio) + " ms");
+            for (Map.Entry<Integer, String> falha : coordenador.getFalhas().entrySet()) {
+                System.err.println("Tarefa " + falha.getKey() + " falhou: " + falha.getValue());
+            }
+        } finally {
+            if (arquivoSaida != null) {
+                csv.close();
+            }
+        }
+    }
+
+    /**
+     * Gera a carga fechada: processos aperiódicos ou tarefas periódicas, com os prazos, bilhetes
+     * e prioridades pedidos.
+     */
+    private static List<Processo> gerarCarga(GeradorDeProcessos gerador, int quantidadeProcessos,
+                                             double utilizacaoPeriodicas, double[] folgaPrazos,
+                                             int[] faixaBilhetes, int niveisPrioridade, int[] faixaThreads) {
+        List<Processo> processos = utilizacaoPeriodicas > 0
+                ? gerador.gerarTarefasPeriodicas(quantidadeProcessos, utilizacaoPeriodicas, 10, 100)
+                : gerador.gerarProcessos(quantidadeProcessos);
+        if (folgaPrazos != null) {
+            gerador.atribuirPrazos(processos, folgaPrazos[0], folgaPrazos[1]);
+        }
+        if (faixaBilhetes != null) {
+            gerador.atribuirBilhetes(processos, faixaBilhetes[0], faixaBilhetes[1]);
+        }
+        if (niveisPrioridade > 0) {
+            gerador.atribuirPrioridades(processos, niveisPrioridade);
+        }
+        if (faixaThreads != null) {
+            gerador.atribuirThreads(processos, faixaThreads[0], faixaThreads[1]);
+        }
+        return processos;
+    }
+
+    private static Map<String, Double> comCoescalonamento(Map<String, Double> parametros, double valor) {
+        Map<String, Double> copia = new HashMap<>(parametros);
+        copia.put("coescalonamento", valor);
+        return copia;
+    }
+
+    /**
+     * Simula a mesma carga com as threads escalonadas de forma independente e imprime o ganho do
+     * coescalonamento no makespan e no turnaround médio.
+     */
+    private static void compararCoescalonamento(MotorDeSimulacao.ResultadoSimulacao coescalonado,
+                                                ConfiguracaoSimulacao independente, List<Processo> carga)
+            throws InterruptedException {
+        MotorDeSimulacao.ResultadoSimulacao resultado = independente.simular(carga);
+        System.out.println();
+        imprimirResultado(independente.criarEscalonador().obterNome(), independente.getNumeroThreads(), resultado);
+        int makespanGang = calcularMakespan(coescalonado);
+        int makespanIndependente = calcularMakespan(resultado);
+        System.out.println();
+        System.out.println(String.format("Makespan: %d (gang) x %d (independente), ganho %.2fx",
+                makespanGang, makespanIndependente,
+                makespanGang > 0 ? (double) makespanIndependente / makespanGang : 0));
+        System.out.println(String.format("Turnaround médio: %.2f (gang) x %.2f (independente), ganho %.2fx",
+                coescalonado.getTempoMedioRetorno(), resultado.getTempoMedioRetorno(),
+                coescalonado.getTempoMedioRetorno() > 0
+                        ? resultado.getTempoMedioRetorno() / coescalonado.getTempoMedioRetorno() : 0));
+    }
+
+    private static int calcularMakespan(MotorDeSimulacao.ResultadoSimulacao resultado) {
+        int makespan = 0;
+        for (Processo processo : resultado.getProcessos()) {
+            makespan = Math.max(makespan, processo.getTempoFim());
+        }
+        return makespan;
+    }
+
+    /**
+     * Define no escalonador de compartilhamento justo os grupos no formato {@code caminho=peso[:cota]}.
+     *
+     * @return Caminhos dos grupos, na ordem informada
+     */
+    private static List<String> configurarGrupos(Escalonador escalonador, List<String> grupos) {
+        List<String> caminhos = new ArrayList<>();
+        if (grupos.isEmpty()) {
+            return caminhos;
+        }
+        if (!(escalonador instanceof EscalonadorFairShare)) {
+            throw new IllegalArgumentException("--grupo exige --algoritmo fair-share");
+        }
+        for (String texto : grupos) {
+            ConfiguracaoSimulacao.Grupo grupo = lerGrupo(texto);
+            ((EscalonadorFairShare) escalonador).definirGrupo(grupo.getCaminho(), grupo.getPeso(), grupo.getCota());
+            caminhos.add(grupo.getCaminho());
+        }
+        return caminhos;
+    }
+
+    /**
+     * Lê um grupo no formato {@code caminho=peso[:cota]}; sem valores o peso é 1 e não há cota.
+     */
+    private static ConfiguracaoSimulacao.Grupo lerGrupo(String texto) {
+        String[] caminhoValores = texto.split("=", 2);
+        String[] pesoCota = caminhoValores.length > 1 ? caminhoValores[1].split(":", 2) : new String[]{"1"};
+        return new ConfiguracaoSimulacao.Grupo(caminhoValores[0], Double.parseDouble(pesoCota[0]),
+                pesoCota.length > 1 ? Integer.parseInt(pesoCota[1]) : 0);
+    }
+
+    /**
+     * Com {@code --time-warp <limite>} a carga é simulada pelo {@link MotorTimeWarp}, com
+     * {@code --cpus} CPUs independentes usando Round Robin ou SJF e migrando processos para a
+     * CPU vizinha quando a fila passa do limite (0 desativa a migração).
+     */
+    private static void executarTimeWarp(Opcoes opcoes) throws InterruptedException {
+        String algoritmo = opcoes.algoritmo;
+        int numeroCpus = opcoes.numeroCpus;
+        if (numeroCpus <= 0) {
+            throw new IllegalArgumentException("--time-warp exige --cpus");
+        }
+        MotorTimeWarp motor = new MotorTimeWarp(numeroCpus, opcoes.numeroThreads);
+        switch (algoritmo) {
+            case "rr":
+                motor.setPolitica(MotorTimeWarp.Politica.ROUND_ROBIN);
+                motor.setQuantum(opcoes.parametros.getOrDefault("quantum", 4.0).intValue());
+                break;
+            case "sjf":
+                motor.setPolitica(MotorTimeWarp.Politica.SJF);
+                break;
+            default:
+                throw new IllegalArgumentException("O motor Time Warp suporta apenas rr e sjf: " + algoritmo);
+        }
+        motor.setLimiteMigracao(opcoes.limiteMigracao);
+
+        MotorDeSimulacao.ResultadoSimulacao resultado = motor.simular(
+                opcoes.criarGerador().gerarProcessos(opcoes.quantidadeProcessos));
+        imprimirResultado("Time Warp (" + algoritmo + ")", motor.getNumeroThreads(), resultado);
+    }
+
+    /**
+     * Lista os algoritmos registrados e seus parâmetros.
+     */
+    private static void listarAlgoritmos() {
+        for (FabricaEscalonador fabrica : RegistroEscalonadores.listar()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(fabrica.obterId()).append(" - ").append(fabrica.obterNome());
+            for (ParametroEscalonador parametro : fabrica.obterParametros()) {
+                sb.append("\n    ").append(parametro.getChave())
+                        .append(" (").append(parametro.getRotulo()).append("): ");
+                if (parametro.getTipo() == ParametroEscalonador.Tipo.ESCALONADOR) {
+                    sb.append("identificador de um algoritmo, padrão ").append(parametro.getPadraoEscalonador());
+                } else {
+                    sb.append(parametro.getMinimo()).append(" a ").append(parametro.getMaximo())
+                            .append(", padrão ").append(parametro.getPadrao());
+                }
+            }
+            System.out.println(sb);
+        }
+    }
+
+    private static void imprimirResultado(String nomeAlgoritmo, int numeroThreads,
+                                          MotorDeSimulacao.ResultadoSimulacao resultado) {
+        System.out.println("Algoritmo: " + nomeAlgoritmo);
+        System.out.println("Threads: " + numeroThreads);
+        System.out.println("CPUs: " + resultado.getEstatisticasThreads().size());
+        System.out.println("Processos: " + resultado.getProcessos().size());
+        System.out.println("Tempo médio de espera: " + String.format("%.2f", resultado.getTempoMedioEspera()));
+        System.out.println("Tempo médio de turnaround: " + String.format("%.2f", resultado.getTempoMedioRetorno()));
+        AcumuladorMetricas.Instantaneo distribuicao = resultado.getDistribuicao();
+        if (distribuicao != null) {
+            System.out.println(String.format("Espera: desvio padrão %.2f, p50 %.1f, p95 %.1f, p99 %.1f, máxima %d",
+                    distribuicao.getDesvioEspera(), distribuicao.getEsperaP50(), distribuicao.getEsperaP95(),
+                    distribuicao.getEsperaP99(), distribuicao.getMaiorEspera()));
+            System.out.println(String.format("Turnaround: desvio padrão %.2f, p99 %.1f",
+                    distribuicao.getDesvioRetorno(), distribuicao.getRetornoP99()));
+        }
+        System.out.println("Trocas de contexto: " + resultado.getTotalTrocasContexto());
+        System.out.println("Migrações: " + resultado.getTotalMigracoes());
+        System.out.println("Utilização efetiva: " + String.format("%.2f%%", resultado.getUtilizacaoEfetiva()));
+        System.out.println("Tempo de execução: " + resultado.getTempoExecucao() + " ms");
+        for (Map.Entry<String, Object> metrica : resultado.getMetricasEscalonador().entrySet()) {
+            System.out.println(metrica.getKey() + ": " + metrica.getValue());
+        }
+        boolean heterogeneo = resultado.getEstatisticasThreads().stream()
+                .mapToDouble(MotorDeSimulacao.EstatisticasThread::getVelocidade).distinct().count() > 1;
+        if (heterogeneo) {
+            for (MotorDeSimulacao.EstatisticasThread estatisticas : resultado.getEstatisticasThreads()) {
+                System.out.println(String.format("CPU %d (velocidade %.2f): utilização %.2f%%, trabalho %d, migrações %d",
+                        estatisticas.getIdThread(), estatisticas.getVelocidade(), estatisticas.getUtilizacao(),
+                        estatisticas.getTrabalhoRealizado(), estatisticas.getMigracoes()));
+            }
+        }
+    }
+}
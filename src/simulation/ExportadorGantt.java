@@ -0,0 +1,458 @@
+package simulation;
+
+import model.Processo;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exporta o gráfico de Gantt e o relatório de uma simulação para arquivos, sem depender da
+ * interface gráfica. A linha do tempo é dividida em blocos de largura fixa, desenhados em
+ * paralelo por um pool de threads: cada bloco vira um PNG e um trecho do SVG, que é gravado em
+ * ordem à medida que os blocos ficam prontos. No máximo {@code 2 * paralelismo} blocos existem
+ * ao mesmo tempo, então a memória não depende da duração da simulação.
+ *
+ * Arquivos gerados no diretório de destino:
+ * <ul>
+ *   <li>{@code gantt/bloco-00000.png}, ... — os blocos da linha do tempo</li>
+ *   <li>{@code gantt.svg} — o gráfico completo em SVG</li>
+ *   <li>{@code processos.csv} — uma linha por processo</li>
+ *   <li>{@code relatorio.html} — métricas da simulação, blocos e os primeiros processos</li>
+ * </ul>
+ */
+public class ExportadorGantt {
+    /**
+     * Largura padrão de cada bloco, em pixels.
+     */
+    public static final int LARGURA_BLOCO_PADRAO = 2048;
+
+    private static final int ALTURA_THREAD = 24;
+    private static final int ALTURA_EIXO = 24;
+    private static final int LARGURA_ROTULOS = 80;
+    private static final int LARGURA_MAXIMA_PADRAO = 1 << 18;  // Pixels da linha do tempo inteira
+    private static final double PIXELS_POR_UNIDADE_MAXIMO = 16;
+    private static final int PROCESSOS_NO_HTML = 1000;
+    private static final Font FONTE = new Font(Font.SANS_SERIF, Font.PLAIN, 10);
+
+    /**
+     * Recebe o progresso da exportação dos blocos.
+     */
+    public interface OuvinteProgresso {
+        void aoConcluirBloco(int concluidos, int total);
+    }
+
+    /**
+     * Resumo de uma exportação.
+     */
+    public static final class Exportacao {
+        private final Path diretorio;
+        private final int quantidadeBlocos;
+        private final long tempoExecucao;
+
+        Exportacao(Path diretorio, int quantidadeBlocos, long tempoExecucao) {
+            this.diretorio = diretorio;
+            this.quantidadeBlocos = quantidadeBlocos;
+            this.tempoExecucao = tempoExecucao;
+        }
+
+        public Path getDiretorio() {
+            return diretorio;
+        }
+
+        public int getQuantidadeBlocos() {
+            return quantidadeBlocos;
+        }
+
+        /**
+         * Tempo real da exportação, em milissegundos.
+         */
+        public long getTempoExecucao() {
+            return tempoExecucao;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Exportação em %s: %d blocos em %d ms", diretorio, quantidadeBlocos, tempoExecucao);
+        }
+    }
+
+    private final String titulo;
+    private final MotorDeSimulacao.ResultadoSimulacao resultado;
+    private final HistoricoExecucao historico;
+    private final Map<String, Color> cores;
+    private int larguraBloco = LARGURA_BLOCO_PADRAO;
+    private double pixelsPorUnidade;
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+    private OuvinteProgresso ouvinte;
+
+    /**
+     * Cria um exportador.
+     *
+     * @param titulo Título do relatório, por exemplo o nome do algoritmo
+     * @param resultado Resultado da simulação
+     * @param historico Histórico de execução ou null (modo aberto), caso em que só o relatório é gerado
+     */
+    public ExportadorGantt(String titulo, MotorDeSimulacao.ResultadoSimulacao resultado, HistoricoExecucao historico) {
+        this.titulo = titulo;
+        this.resultado = resultado;
+        this.historico = historico;
+        this.cores = new HashMap<>();
+        int tempoMaximo = historico == null ? 0 : historico.obterTempoMaximo();
+        this.pixelsPorUnidade = tempoMaximo == 0 ? 1
+                : Math.min(PIXELS_POR_UNIDADE_MAXIMO, (double) LARGURA_MAXIMA_PADRAO / tempoMaximo);
+    }
+
+    /**
+     * Define a cor de cada processo, para que a exportação repita as cores da tela. Processos
+     * sem cor recebem uma cor derivada do seu índice no histórico.
+     */
+    public void setCores(Map<String, Color> cores) {
+        this.cores.clear();
+        this.cores.putAll(cores);
+    }
+
+    /**
+     * Define a escala da linha do tempo. Por padrão a linha do tempo inteira tem no máximo
+     * 262144 pixels e cada unidade no máximo 16.
+     */
+    public void setPixelsPorUnidade(double pixelsPorUnidade) {
+        if (pixelsPorUnidade <= 0) {
+            throw new IllegalArgumentException("A escala deve ser positiva: " + pixelsPorUnidade);
+        }
+        this.pixelsPorUnidade = pixelsPorUnidade;
+    }
+
+    public void setLarguraBloco(int larguraBloco) {
+        this.larguraBloco = Math.max(64, larguraBloco);
+    }
+
+    public void setParalelismo(int paralelismo) {
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+
+    public void setOuvinte(OuvinteProgresso ouvinte) {
+        this.ouvinte = ouvinte;
+    }
+
+    /**
+     * Exporta o gráfico e o relatório para o diretório, criando-o se necessário.
+     *
+     * @param diretorio Diretório de destino
+     * @return Resumo da exportação
+     * @throws IOException se algum arquivo não puder ser gravado
+     * @throws InterruptedException se a thread for interrompida; a exportação é abandonada
+     */
+    public Exportacao exportar(Path diretorio) throws IOException, InterruptedException {
+        long inicioMedicao = System.currentTimeMillis();
+        Files.createDirectories(diretorio);
+        int quantidadeBlocos = historico == null ? 0 : exportarGantt(diretorio);
+        exportarCsv(diretorio.resolve("processos.csv"));
+        exportarHtml(diretorio.resolve("relatorio.html"), quantidadeBlocos);
+        return new Exportacao(diretorio, quantidadeBlocos, System.currentTimeMillis() - inicioMedicao);
+    }
+
+    /**
+     * Desenha os blocos em paralelo, gravando os PNGs pelas threads do pool e os trechos do SVG
+     * em ordem pela thread chamadora.
+     */
+    private int exportarGantt(Path diretorio) throws IOException, InterruptedException {
+        Path pastaBlocos = Files.createDirectories(diretorio.resolve("gantt"));
+        int numeroThreads = historico.obterNumeroThreads();
+        long larguraTotal = Math.max(1, (long) Math.ceil(historico.obterTempoMaximo() * pixelsPorUnidade));
+        int quantidadeBlocos = (int) ((larguraTotal + larguraBloco - 1) / larguraBloco);
+        int alturaGrafico = numeroThreads * ALTURA_THREAD;
+
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo, tarefa -> {
+            Thread thread = new Thread(tarefa, "exportador-gantt");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (BufferedWriter svg = Files.newBufferedWriter(diretorio.resolve("gantt.svg"), StandardCharsets.UTF_8)) {
+            svg.write(String.format(Locale.ROOT,
+                    "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"sans-serif\" font-size=\"10\">%n",
+                    LARGURA_ROTULOS + larguraTotal, alturaGrafico + ALTURA_EIXO));
+            for (int t = 0; t < numeroThreads; t++) {
+                svg.write(String.format(Locale.ROOT, "<text x=\"4\" y=\"%d\">Thread %d</text>%n",
+                        t * ALTURA_THREAD + ALTURA_THREAD / 2 + 4, t));
+            }
+
+            // Janela deslizante de blocos em andamento: o mais antigo é sempre o próximo do SVG
+            ArrayDeque<Future<String>> pendentes = new ArrayDeque<>();
+            int proximo = 0;
+            int concluidos = 0;
+            while (concluidos < quantidadeBlocos) {
+                while (proximo < quantidadeBlocos && pendentes.size() < 2 * paralelismo) {
+                    int indice = proximo++;
+                    pendentes.add(executor.submit(() -> desenharBloco(indice, larguraTotal, pastaBlocos)));
+                }
+                svg.write(aguardar(pendentes.poll()));
+                concluidos++;
+                if (ouvinte != null) {
+                    ouvinte.aoConcluirBloco(concluidos, quantidadeBlocos);
+                }
+            }
+            svg.write("</svg>\n");
+        } finally {
+            executor.shutdownNow();
+        }
+        return quantidadeBlocos;
+    }
+
+    private static String aguardar(Future<String> bloco) throws IOException, InterruptedException {
+        try {
+            return bloco.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Falha ao desenhar um bloco do gráfico", e.getCause());
+        }
+    }
+
+    /**
+     * Desenha um bloco da linha do tempo, grava o seu PNG e retorna o trecho correspondente do SVG.
+     * Intervalos menores que um pixel que caem em uma coluna já pintada são omitidos.
+     */
+    private String desenharBloco(int indice, long larguraTotal, Path pastaBlocos) throws IOException {
+        long x0 = (long) indice * larguraBloco;
+        int largura = (int) Math.min(larguraBloco, larguraTotal - x0);
+        int numeroThreads = historico.obterNumeroThreads();
+        int alturaGrafico = numeroThreads * ALTURA_THREAD;
+        int tempoInicio = (int) Math.floor(x0 / pixelsPorUnidade);
+        int tempoFim = (int) Math.ceil((x0 + largura) / pixelsPorUnidade) + 1;
+
+        BufferedImage imagem = new BufferedImage(largura, alturaGrafico + ALTURA_EIXO, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagem.createGraphics();
+        StringBuilder svg = new StringBuilder();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(FONTE);
+            g.setStroke(new BasicStroke(1));
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, largura, imagem.getHeight());
+            FontMetrics metricas = g.getFontMetrics();
+
+            for (int idThread = 0; idThread < numeroThreads; idThread++) {
+                int y = idThread * ALTURA_THREAD + 2;
+                int alturaBarra = ALTURA_THREAD - 4;
+                long[] ultimaColuna = {Long.MIN_VALUE};
+                historico.consultar(idThread, tempoInicio, tempoFim, (thread, indiceProcesso, inicio, fim) -> {
+                    long origem = (long) Math.floor(inicio * pixelsPorUnidade);
+                    long x2 = Math.max(origem + 1, (long) Math.floor(fim * pixelsPorUnidade));
+                    if (x2 <= ultimaColuna[0]) {
+                        return;
+                    }
+                    long x1 = Math.max(origem, ultimaColuna[0]);
+                    ultimaColuna[0] = x2;
+
+                    Processo processo = historico.obterProcesso(indiceProcesso);
+                    Color cor = obterCor(processo.getId(), indiceProcesso);
+                    int xLocal = (int) (Math.max(x1, x0) - x0);
+                    int larguraLocal = (int) (Math.min(x2, x0 + largura) - x0) - xLocal;
+                    if (larguraLocal > 0) {
+                        g.setColor(cor);
+                        g.fillRect(xLocal, y, larguraLocal, alturaBarra);
+                        if (larguraLocal >= 3) {
+                            g.setColor(Color.DARK_GRAY);
+                            g.drawRect(xLocal, y, larguraLocal - 1, alturaBarra - 1);
+                        }
+                        if (larguraLocal > metricas.stringWidth(processo.getId()) + 4) {
+                            g.setColor(Color.BLACK);
+                            g.drawString(processo.getId(), xLocal + 2, y + alturaBarra / 2 + 4);
+                        }
+                    }
+
+                    // No SVG cada intervalo aparece uma única vez, no bloco em que começa
+                    if (origem >= x0 && origem < x0 + largura) {
+                        svg.append(String.format(Locale.ROOT,
+                                "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"#%06x\"><title>%s [%d, %d)</title></rect>%n",
+                                LARGURA_ROTULOS + x1, y, x2 - x1, alturaBarra, cor.getRGB() & 0xFFFFFF,
+                                escapar(processo.getId()), inicio, fim));
+                    }
+                });
+            }
+
+            desenharEixo(g, svg, x0, largura, alturaGrafico, metricas);
+        } finally {
+            g.dispose();
+        }
+
+        ImageIO.write(imagem, "png", pastaBlocos.resolve(nomeBloco(indice)).toFile());
+        return svg.toString();
+    }
+
+    /**
+     * Desenha o eixo do tempo do bloco, com marcações espaçadas de cerca de 100 pixels.
+     */
+    private void desenharEixo(Graphics2D g, StringBuilder svg, long x0, int largura, int alturaGrafico,
+                              FontMetrics metricas) {
+        g.setColor(Color.BLACK);
+        g.drawLine(0, alturaGrafico + 2, largura, alturaGrafico + 2);
+        svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"black\"/>%n",
+                LARGURA_ROTULOS + x0, alturaGrafico + 2, LARGURA_ROTULOS + x0 + largura, alturaGrafico + 2));
+
+        long passo = passoMarcacoes(100 / pixelsPorUnidade);
+        long primeiro = (long) Math.ceil(x0 / pixelsPorUnidade / passo) * passo;
+        for (long t = primeiro; t * pixelsPorUnidade < x0 + largura; t += passo) {
+            int x = (int) ((long) Math.floor(t * pixelsPorUnidade) - x0);
+            String rotulo = String.valueOf(t);
+            g.drawLine(x, alturaGrafico + 2, x, alturaGrafico + 6);
+            g.drawString(rotulo, x + 2, alturaGrafico + 6 + metricas.getAscent());
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\">%s</text>%n",
+                    LARGURA_ROTULOS + x0 + x + 2, alturaGrafico + 18, rotulo));
+        }
+    }
+
+    /**
+     * Menor passo da forma 1, 2 ou 5 vezes uma potência de dez que não é menor que o mínimo.
+     */
+    private static long passoMarcacoes(double minimo) {
+        long potencia = 1;
+        while (true) {
+            for (long fator : new long[]{1, 2, 5}) {
+                if (fator * potencia >= minimo) {
+                    return fator * potencia;
+                }
+            }
+            potencia *= 10;
+        }
+    }
+
+    private Color obterCor(String idProcesso, int indiceProcesso) {
+        Color cor = cores.get(idProcesso);
+        if (cor != null) {
+            return cor;
+        }
+        // Matizes espaçados pela razão áurea: processos vizinhos recebem cores bem diferentes
+        return Color.getHSBColor((float) ((indiceProcesso * 0.6180339887) % 1.0), 0.45f, 0.95f);
+    }
+
+    private static String nomeBloco(int indice) {
+        return String.format("bloco-%05d.png", indice);
+    }
+
+    /**
+     * Grava uma linha por processo, na ordem do resultado.
+     */
+    private void exportarCsv(Path arquivo) throws IOException {
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            saida.write("id,chegada,execucao,inicio,fim,espera,turnaround\n");
+            for (Processo processo : resultado.getProcessos()) {
+                saida.write(csv(processo.getId()) + "," + processo.getTempoChegada() + ","
+                        + processo.getTempoExecucao() + ","
+                        + (processo.isIniciado() ? String.valueOf(processo.getTempoInicio()) : "") + ","
+                        + (processo.isFinalizado() ? String.valueOf(processo.getTempoFim()) : "") + ","
+                        + processo.getTempoEspera() + "," + processo.getTempoRetorno() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Grava o relatório em HTML: métricas, estatísticas das threads, a faixa de blocos do
+     * gráfico (carregados sob demanda pelo navegador) e os primeiros processos.
+     */
+    private void exportarHtml(Path arquivo, int quantidadeBlocos) throws IOException {
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            saida.write("<!DOCTYPE html>\n<html lang=\"pt-BR\">\n<head>\n<meta charset=\"UTF-8\">\n");
+            saida.write("<title>" + escapar(titulo) + "</title>\n");
+            saida.write("<style>body{font-family:sans-serif}table{border-collapse:collapse}"
+                    + "td,th{border:1px solid #ccc;padding:2px 8px;text-align:right}th{background:#eee}"
+                    + ".gantt{display:flex;overflow-x:auto;white-space:nowrap}.gantt img{display:block}"
+                    + ".rotulos{flex:none;width:" + LARGURA_ROTULOS + "px;font-size:10px}"
+                    + ".rotulos div{height:" + ALTURA_THREAD + "px;line-height:" + ALTURA_THREAD + "px}</style>\n");
+            saida.write("</head>\n<body>\n<h1>" + escapar(titulo) + "</h1>\n");
+
+            saida.write("<h2>Métricas</h2>\n<table>\n");
+            linha(saida, "Processos", String.valueOf(resultado.getProcessos().size()));
+            linha(saida, "Tempo médio de espera", String.format(Locale.ROOT, "%.2f", resultado.getTempoMedioEspera()));
+            linha(saida, "Tempo médio de turnaround", String.format(Locale.ROOT, "%.2f", resultado.getTempoMedioRetorno()));
+            linha(saida, "Uso de CPU", String.format(Locale.ROOT, "%.2f%%", resultado.getUsoCPU()));
+            linha(saida, "Uso de memória (KB)", String.valueOf(resultado.getUsoMemoria() / 1024));
+            linha(saida, "Tempo de execução (ms)", String.valueOf(resultado.getTempoExecucao()));
+            linha(saida, "Trocas de contexto", String.valueOf(resultado.getTotalTrocasContexto()));
+            linha(saida, "Migrações", String.valueOf(resultado.getTotalMigracoes()));
+            linha(saida, "Utilização efetiva", String.format(Locale.ROOT, "%.2f%%", resultado.getUtilizacaoEfetiva()));
+            for (Map.Entry<String, Object> metrica : resultado.getMetricasEscalonador().entrySet()) {
+                linha(saida, metrica.getKey(), String.valueOf(metrica.getValue()));
+            }
+            saida.write("</table>\n");
+
+            List<MotorDeSimulacao.EstatisticasThread> threads = resultado.getEstatisticasThreads();
+            if (!threads.isEmpty()) {
+                saida.write("<h2>Threads</h2>\n<table>\n<tr><th>Thread</th><th>Trocas</th><th>Overhead</th>"
+                        + "<th>Utilização efetiva</th><th>Migrações</th></tr>\n");
+                for (MotorDeSimulacao.EstatisticasThread estatisticas : threads) {
+                    saida.write(String.format(Locale.ROOT,
+                            "<tr><td>%d</td><td>%d</td><td>%d</td><td>%.2f%%</td><td>%d</td></tr>%n",
+                            estatisticas.getIdThread(), estatisticas.getTrocasContexto(),
+                            estatisticas.getTempoOverhead(), estatisticas.getUtilizacaoEfetiva(),
+                            estatisticas.getMigracoes()));
+                }
+                saida.write("</table>\n");
+            }
+
+            if (quantidadeBlocos > 0) {
+                saida.write("<h2>Gráfico de Gantt</h2>\n<p><a href=\"gantt.svg\">Gráfico completo em SVG</a></p>\n");
+                saida.write("<div class=\"gantt\"><div class=\"rotulos\">");
+                for (int t = 0; t < historico.obterNumeroThreads(); t++) {
+                    saida.write("<div>Thread " + t + "</div>");
+                }
+                saida.write("</div>\n");
+                for (int i = 0; i < quantidadeBlocos; i++) {
+                    saida.write("<img loading=\"lazy\" src=\"gantt/" + nomeBloco(i) + "\" alt=\"bloco " + i + "\">\n");
+                }
+                saida.write("</div>\n");
+            }
+
+            // A lista completa fica no CSV; o HTML mostra só o começo para continuar leve
+            List<Processo> processos = resultado.getProcessos();
+            saida.write("<h2>Processos</h2>\n<p><a href=\"processos.csv\">Todos os processos em CSV</a>");
+            if (processos.size() > PROCESSOS_NO_HTML) {
+                saida.write(" (abaixo, os primeiros " + PROCESSOS_NO_HTML + ")");
+            }
+            saida.write("</p>\n<table>\n<tr><th>ID</th><th>Chegada</th><th>Execução</th><th>Início</th><th>Fim</th>"
+                    + "<th>Espera</th><th>Turnaround</th></tr>\n");
+            for (Processo processo : processos.subList(0, Math.min(PROCESSOS_NO_HTML, processos.size()))) {
+                saida.write("<tr><td>" + escapar(processo.getId()) + "</td><td>" + processo.getTempoChegada()
+                        + "</td><td>" + processo.getTempoExecucao() + "</td><td>"
+                        + (processo.isIniciado() ? processo.getTempoInicio() : "-") + "</td><td>"
+                        + (processo.isFinalizado() ? processo.getTempoFim() : "-") + "</td><td>"
+                        + processo.getTempoEspera() + "</td><td>" + processo.getTempoRetorno() + "</td></tr>\n");
+            }
+            saida.write("</table>\n</body>\n</html>\n");
+        }
+    }
+
+    private static void linha(Writer saida, String nome, String valor) throws IOException {
+        saida.write("<tr><th>" + escapar(nome) + "</th><td>" + escapar(valor) + "</td></tr>\n");
+    }
+
+    private static String escapar(String texto) {
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String csv(String texto) {
+        return texto.contains(",") || texto.contains("\"") ? "\"" + texto.replace("\"", "\"\"") + "\"" : texto;
+    }
+}
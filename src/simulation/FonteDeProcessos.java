@@ -0,0 +1,22 @@
+package simulation;
+
+import model.Processo;
+
+import java.util.List;
+
+/**
+ * Fonte contínua de processos para simulações abertas.
+ * Em vez de um lote fixo carregado antes do início, o motor consulta a fonte a cada unidade
+ * de tempo e entrega ao escalonador os processos que chegaram.
+ */
+public interface FonteDeProcessos {
+
+    /**
+     * Retorna os processos que chegam até o tempo informado e que ainda não foram entregues.
+     * Chamadas sucessivas recebem tempos não decrescentes.
+     * 
+     * @param tempoAtual Tempo atual da simulação
+     * @return Processos que chegaram, em ordem de chegada (lista vazia se nenhum)
+     */
+    List<Processo> obterChegadas(int tempoAtual);
+}
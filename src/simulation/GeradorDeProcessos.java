@@ -59,6 +59,144 @@ public class GeradorDeProcessos {
         return processos;
     }
 
+    /**
+     * Atribui a cada processo um prazo proporcional ao seu tempo de execução. O fator de folga
+     * de cada processo é sorteado uniformemente no intervalo informado; com folga 1 o processo
+     * só cumpre o prazo se começar a executar assim que chegar e não for preemptado.
+     * 
+     * @param processos Processos que recebem prazo
+     * @param folgaMinima Menor fator de folga (pelo menos 1)
+     * @param folgaMaxima Maior fator de folga
+     */
+    public void atribuirPrazos(List<Processo> processos, double folgaMinima, double folgaMaxima) {
+        if (folgaMinima < 1 || folgaMaxima < folgaMinima) {
+            throw new IllegalArgumentException("Folga inválida: " + folgaMinima + " a " + folgaMaxima);
+        }
+        for (Processo processo : processos) {
+            double folga = folgaMinima + aleatorio.nextDouble() * (folgaMaxima - folgaMinima);
+            processo.setPrazo(Math.max(1, (int) Math.ceil(processo.getTempoExecucao() * folga)));
+        }
+    }
+
+    /**
+     * Sorteia os bilhetes de cada processo, usados pelos escalonadores proporcionais.
+     * 
+     * @param processos Processos que recebem bilhetes
+     * @param minimo Menor número de bilhetes (pelo menos 1)
+     * @param maximo Maior número de bilhetes
+     */
+    public void atribuirBilhetes(List<Processo> processos, int minimo, int maximo) {
+        if (minimo < 1 || maximo < minimo) {
+            throw new IllegalArgumentException("Intervalo de bilhetes inválido: " + minimo + " a " + maximo);
+        }
+        for (Processo processo : processos) {
+            processo.setBilhetes(minimo + aleatorio.nextInt(maximo - minimo + 1));
+        }
+    }
+
+    /**
+     * Sorteia a prioridade base de cada processo uniformemente entre 0 (a mais alta) e
+     * {@code niveis - 1}.
+     * 
+     * @param processos Processos que recebem prioridade
+     * @param niveis Número de níveis de prioridade
+     */
+    public void atribuirPrioridades(List<Processo> processos, int niveis) {
+        if (niveis < 1) {
+            throw new IllegalArgumentException("O número de níveis deve ser positivo: " + niveis);
+        }
+        for (Processo processo : processos) {
+            processo.setPrioridade(aleatorio.nextInt(niveis));
+        }
+    }
+
+    /**
+     * Sorteia o número de threads de cada processo uniformemente no intervalo informado.
+     * 
+     * @param processos Processos que recebem threads
+     * @param minimo Menor número de threads (pelo menos 1)
+     * @param maximo Maior número de threads
+     */
+    public void atribuirThreads(List<Processo> processos, int minimo, int maximo) {
+        if (minimo < 1 || maximo < minimo) {
+            throw new IllegalArgumentException("Intervalo de threads inválido: " + minimo + " a " + maximo);
+        }
+        for (Processo processo : processos) {
+            processo.setNumeroThreads(minimo + aleatorio.nextInt(maximo - minimo + 1));
+        }
+    }
+
+    /**
+     * Gera tarefas periódicas com prazo igual ao período e utilização total aproximadamente
+     * igual à informada. As utilizações são sorteadas pelo algoritmo UUniFast (distribuição
+     * uniforme entre as combinações com a soma pedida) e os períodos uniformemente no intervalo;
+     * o tempo de execução é a utilização vezes o período, arredondado e com no mínimo 1.
+     * Todas as tarefas liberam a primeira instância no tempo 0.
+     * 
+     * @param quantidade Número de tarefas
+     * @param utilizacaoTotal Soma das utilizações (execução / período) das tarefas
+     * @param periodoMinimo Menor período
+     * @param periodoMaximo Maior período
+     * @return Lista de tarefas geradas (T1, T2, ...)
+     */
+    public List<Processo> gerarTarefasPeriodicas(int quantidade, double utilizacaoTotal, int periodoMinimo,
+                                                 int periodoMaximo) {
+        if (utilizacaoTotal <= 0 || periodoMinimo < 1 || periodoMaximo < periodoMinimo) {
+            throw new IllegalArgumentException("Parâmetros inválidos para tarefas periódicas");
+        }
+        List<Processo> tarefas = new ArrayList<>();
+        double restante = utilizacaoTotal;
+        for (int i = 0; i < quantidade; i++) {
+            double utilizacao;
+            if (i == quantidade - 1) {
+                utilizacao = restante;
+            } else {
+                double proximaSoma = restante * Math.pow(aleatorio.nextDouble(), 1.0 / (quantidade - i - 1));
+                utilizacao = restante - proximaSoma;
+                restante = proximaSoma;
+            }
+
+            int periodo = periodoMinimo + aleatorio.nextInt(periodoMaximo - periodoMinimo + 1);
+            int tempoExecucao = Math.max(1, (int) Math.round(utilizacao * periodo));
+            Processo tarefa = new Processo("T" + (i + 1), 0, tempoExecucao);
+            tarefa.setPeriodo(periodo);
+            tarefa.setPrazo(periodo);
+            tarefas.add(tarefa);
+        }
+        return tarefas;
+    }
+
+    /**
+     * Cria uma fonte contínua de processos com chegadas de Poisson.
+     * Os tempos entre chegadas seguem uma distribuição exponencial com a taxa informada e os
+     * tempos de execução seguem a mesma distribuição de {@link #gerarProcessos(int)}.
+     * 
+     * @param taxaChegada Número médio de processos que chegam por unidade de tempo
+     * @return Fonte de processos
+     */
+    public FonteDeProcessos criarFluxo(double taxaChegada) {
+        if (taxaChegada <= 0) {
+            throw new IllegalArgumentException("A taxa de chegada deve ser positiva: " + taxaChegada);
+        }
+
+        return new FonteDeProcessos() {
+            private double proximaChegada = 0;
+            private long contador = 0;
+
+            @Override
+            public List<Processo> obterChegadas(int tempoAtual) {
+                List<Processo> chegadas = new ArrayList<>();
+                while (proximaChegada <= tempoAtual) {
+                    int tempoExecucao = aleatorio.nextInt(10) + 1;
+                    chegadas.add(new Processo("P" + (++contador), (int) proximaChegada, tempoExecucao));
+                    // Intervalo exponencial até a próxima chegada
+                    proximaChegada += -Math.log(1.0 - aleatorio.nextDouble()) / taxaChegada;
+                }
+                return chegadas;
+            }
+        };
+    }
+
     /**
      * Define uma nova semente para o gerador de números aleatórios.
      * 
@@ -0,0 +1,251 @@
+package simulation;
+
+import model.Processo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Histórico de execução da simulação (thread, processo, início, fim) armazenado fora do heap.
+ * Cada thread tem a sua própria coluna de registros em blocos de {@link ByteBuffer} diretos,
+ * escrita apenas pela thread dona, então o registro não exige sincronização e não cria um
+ * objeto por unidade de tempo. Unidades consecutivas do mesmo processo na mesma thread são
+ * agrupadas em um único registro.
+ */
+public class HistoricoExecucao {
+    private static final int BYTES_POR_REGISTRO = 12; // processo, início e fim (int cada)
+    private static final int REGISTROS_POR_BLOCO = 4096;
+
+    private final ColunaThread[] colunas;
+    private volatile Processo[] processos;
+    private int quantidadeProcessos;
+
+    /**
+     * Recebe cada intervalo de execução encontrado em uma consulta.
+     */
+    public interface Visitante {
+        void visitar(int idThread, int indiceProcesso, int tempoInicio, int tempoFim);
+    }
+
+    /**
+     * Registros de uma única thread, ordenados pelo tempo de início.
+     */
+    private static final class ColunaThread {
+        private volatile ByteBuffer[] blocos = new ByteBuffer[0];
+        private volatile int quantidade;
+        private int ultimoProcesso = -1;
+        private int ultimoFim = -1;
+
+        void registrar(int indiceProcesso, int tempo) {
+            int n = quantidade;
+
+            // Continua o último intervalo se o mesmo processo executou na unidade anterior
+            if (n > 0 && ultimoProcesso == indiceProcesso && ultimoFim == tempo) {
+                ultimoFim = tempo + 1;
+                posicionar(n - 1).putInt(deslocamento(n - 1) + 8, ultimoFim);
+                return;
+            }
+
+            // Aloca um novo bloco quando o atual está cheio; os blocos existentes nunca são copiados
+            int indiceBloco = n / REGISTROS_POR_BLOCO;
+            ByteBuffer[] atuais = blocos;
+            if (indiceBloco >= atuais.length || atuais[indiceBloco] == null) {
+                ByteBuffer[] novos = indiceBloco >= atuais.length
+                        ? Arrays.copyOf(atuais, Math.max(4, atuais.length * 2))
+                        : atuais.clone();
+                novos[indiceBloco] = ByteBuffer.allocateDirect(REGISTROS_POR_BLOCO * BYTES_POR_REGISTRO)
+                        .order(ByteOrder.nativeOrder());
+                blocos = novos;
+            }
+
+            ByteBuffer bloco = posicionar(n);
+            int base = deslocamento(n);
+            bloco.putInt(base, indiceProcesso);
+            bloco.putInt(base + 4, tempo);
+            bloco.putInt(base + 8, tempo + 1);
+            ultimoProcesso = indiceProcesso;
+            ultimoFim = tempo + 1;
+
+            // Publica o registro para leitores em outras threads
+            quantidade = n + 1;
+        }
+
+        ByteBuffer posicionar(int registro) {
+            return blocos[registro / REGISTROS_POR_BLOCO];
+        }
+
+        static int deslocamento(int registro) {
+            return (registro % REGISTROS_POR_BLOCO) * BYTES_POR_REGISTRO;
+        }
+
+        int processo(ByteBuffer[] b, int registro) {
+            return b[registro / REGISTROS_POR_BLOCO].getInt(deslocamento(registro));
+        }
+
+        int inicio(ByteBuffer[] b, int registro) {
+            return b[registro / REGISTROS_POR_BLOCO].getInt(deslocamento(registro) + 4);
+        }
+
+        int fim(ByteBuffer[] b, int registro) {
+            return b[registro / REGISTROS_POR_BLOCO].getInt(deslocamento(registro) + 8);
+        }
+    }
+
+    /**
+     * Cria um histórico vazio.
+     * 
+     * @param numeroThreads Número de threads (CPUs) da simulação
+     */
+    public HistoricoExecucao(int numeroThreads) {
+        this.colunas = new ColunaThread[numeroThreads];
+        for (int i = 0; i < numeroThreads; i++) {
+            colunas[i] = new ColunaThread();
+        }
+        this.processos = new Processo[16];
+        this.quantidadeProcessos = 0;
+    }
+
+    /**
+     * Registra que a thread executou o processo durante a unidade de tempo informada.
+     * Deve ser chamado apenas pela própria thread, com tempos crescentes.
+     * 
+     * @param idThread ID da thread
+     * @param processo Processo executado
+     * @param tempo Unidade de tempo da execução
+     */
+    public void registrar(int idThread, Processo processo, int tempo) {
+        colunas[idThread].registrar(indiceDe(processo), tempo);
+    }
+
+    /**
+     * Retorna o índice do processo no histórico, registrando-o se necessário.
+     * 
+     * @param processo Processo
+     * @return Índice do processo
+     */
+    public int indiceDe(Processo processo) {
+        int indice = processo.getIndice();
+        Processo[] atuais = processos;
+        if (indice >= 0 && indice < atuais.length && atuais[indice] == processo) {
+            return indice;
+        }
+        return registrarProcesso(processo);
+    }
+
+    private synchronized int registrarProcesso(Processo processo) {
+        int indice = processo.getIndice();
+        if (indice >= 0 && indice < quantidadeProcessos && processos[indice] == processo) {
+            return indice;
+        }
+
+        Processo[] atuais = processos;
+        if (quantidadeProcessos == atuais.length) {
+            atuais = Arrays.copyOf(atuais, atuais.length * 2);
+        }
+        indice = quantidadeProcessos++;
+        atuais[indice] = processo;
+        processo.setIndice(indice);
+        processos = atuais;
+        return indice;
+    }
+
+    /**
+     * Retorna o processo associado a um índice do histórico.
+     * 
+     * @param indice Índice do processo
+     * @return Processo
+     */
+    public Processo obterProcesso(int indice) {
+        return processos[indice];
+    }
+
+    /**
+     * Percorre os intervalos da thread que se sobrepõem ao intervalo [tempoInicio, tempoFim).
+     * A busca do primeiro intervalo é binária, então o custo é proporcional ao resultado.
+     * 
+     * @param idThread ID da thread
+     * @param tempoInicio Início do intervalo consultado (inclusivo)
+     * @param tempoFim Fim do intervalo consultado (exclusivo)
+     * @param visitante Recebe cada intervalo encontrado
+     */
+    public void consultar(int idThread, int tempoInicio, int tempoFim, Visitante visitante) {
+        ColunaThread coluna = colunas[idThread];
+        int n = coluna.quantidade;
+        ByteBuffer[] blocos = coluna.blocos;
+
+        // Primeiro registro cujo fim é posterior ao início consultado
+        int baixo = 0;
+        int alto = n;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (coluna.fim(blocos, meio) <= tempoInicio) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+
+        for (int i = baixo; i < n; i++) {
+            int inicio = coluna.inicio(blocos, i);
+            if (inicio >= tempoFim) {
+                break;
+            }
+            visitante.visitar(idThread, coluna.processo(blocos, i), inicio, coluna.fim(blocos, i));
+        }
+    }
+
+    /**
+     * Percorre os intervalos de todas as threads que se sobrepõem ao intervalo informado.
+     */
+    public void consultar(int tempoInicio, int tempoFim, Visitante visitante) {
+        for (int i = 0; i < colunas.length; i++) {
+            consultar(i, tempoInicio, tempoFim, visitante);
+        }
+    }
+
+    /**
+     * Retorna o maior tempo de fim registrado em qualquer thread.
+     * 
+     * @return Tempo máximo ou 0 se o histórico estiver vazio
+     */
+    public int obterTempoMaximo() {
+        int maximo = 0;
+        for (ColunaThread coluna : colunas) {
+            int n = coluna.quantidade;
+            if (n > 0) {
+                maximo = Math.max(maximo, coluna.fim(coluna.blocos, n - 1));
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * Retorna a quantidade de intervalos registrados em uma thread.
+     */
+    public int obterQuantidadeRegistros(int idThread) {
+        return colunas[idThread].quantidade;
+    }
+
+    /**
+     * Retorna o número de threads do histórico.
+     */
+    public int obterNumeroThreads() {
+        return colunas.length;
+    }
+
+    /**
+     * Retorna a memória fora do heap ocupada pelos registros, em bytes.
+     */
+    public long obterBytesAlocados() {
+        long total = 0;
+        for (ColunaThread coluna : colunas) {
+            for (ByteBuffer bloco : coluna.blocos) {
+                if (bloco != null) {
+                    total += bloco.capacity();
+                }
+            }
+        }
+        return total;
+    }
+}
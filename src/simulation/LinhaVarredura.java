@@ -0,0 +1,95 @@
+package simulation;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado resumido de uma {@link TarefaVarredura}. Só as métricas agregadas da simulação são
+ * enviadas ao coordenador, e não os processos, para que as linhas possam ser transmitidas e
+ * gravadas à medida que chegam.
+ */
+public final class LinhaVarredura implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Cabeçalho do formato CSV de {@link #paraCsv()}.
+     */
+    public static final String CABECALHO_CSV = "tarefa,algoritmo,parametros,threads,troca,cache,cpus,semente,"
+            + "processos,espera_media,turnaround_medio,trocas_contexto,utilizacao_efetiva,tempo_ms,trabalhador";
+
+    private final TarefaVarredura tarefa;
+    private final double tempoMedioEspera;
+    private final double tempoMedioRetorno;
+    private final int trocasContexto;
+    private final double utilizacaoEfetiva;
+    private final long tempoExecucao;
+    private final String trabalhador;
+
+    LinhaVarredura(TarefaVarredura tarefa, MotorDeSimulacao.ResultadoSimulacao resultado, String trabalhador) {
+        this.tarefa = tarefa;
+        this.tempoMedioEspera = resultado.getTempoMedioEspera();
+        this.tempoMedioRetorno = resultado.getTempoMedioRetorno();
+        this.trocasContexto = resultado.getTotalTrocasContexto();
+        this.utilizacaoEfetiva = resultado.getUtilizacaoEfetiva();
+        this.tempoExecucao = resultado.getTempoExecucao();
+        this.trabalhador = trabalhador;
+    }
+
+    public TarefaVarredura getTarefa() {
+        return tarefa;
+    }
+
+    public double getTempoMedioEspera() {
+        return tempoMedioEspera;
+    }
+
+    public double getTempoMedioRetorno() {
+        return tempoMedioRetorno;
+    }
+
+    public int getTrocasContexto() {
+        return trocasContexto;
+    }
+
+    public double getUtilizacaoEfetiva() {
+        return utilizacaoEfetiva;
+    }
+
+    /**
+     * Tempo real da simulação no trabalhador, em milissegundos.
+     */
+    public long getTempoExecucao() {
+        return tempoExecucao;
+    }
+
+    public String getTrabalhador() {
+        return trabalhador;
+    }
+
+    /**
+     * Formata a linha em CSV, na ordem de {@link #CABECALHO_CSV}. Os parâmetros do algoritmo
+     * ficam em uma única coluna, separados por espaço.
+     */
+    public String paraCsv() {
+        ConfiguracaoSimulacao configuracao = tarefa.getConfiguracao();
+        StringBuilder parametros = new StringBuilder();
+        for (Map.Entry<String, Double> parametro : configuracao.getParametros().entrySet()) {
+            if (parametros.length() > 0) {
+                parametros.append(' ');
+            }
+            parametros.append(parametro.getKey()).append('=').append(parametro.getValue());
+        }
+        for (Map.Entry<String, String> escolhido : configuracao.getEscalonadores().entrySet()) {
+            if (parametros.length() > 0) {
+                parametros.append(' ');
+            }
+            parametros.append(escolhido.getKey()).append('=').append(escolhido.getValue());
+        }
+        return String.format(Locale.ROOT, "%d,%s,%s,%d,%d,%d,%d,%d,%d,%.4f,%.4f,%d,%.4f,%d,%s",
+                tarefa.getId(), configuracao.getIdAlgoritmo(), parametros, configuracao.getNumeroThreads(),
+                configuracao.getCustoTrocaContexto(), configuracao.getCustoAquecimentoCache(),
+                configuracao.getNumeroCpus(), tarefa.getSemente(), tarefa.getQuantidadeProcessos(),
+                tempoMedioEspera, tempoMedioRetorno, trocasContexto, utilizacaoEfetiva, tempoExecucao, trabalhador);
+    }
+}
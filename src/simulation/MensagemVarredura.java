@@ -0,0 +1,110 @@
+package simulation;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mensagem do protocolo entre o {@link CoordenadorVarredura} e os {@link TrabalhadorVarredura},
+ * trocada por serialização Java sobre um socket TCP.
+ *
+ * O trabalhador se apresenta com {@link Tipo#OLA}, pede tarefas com {@link Tipo#PEDIDO} e
+ * devolve cada tarefa com {@link Tipo#RESULTADO} ou {@link Tipo#FALHA}; cada devolução também
+ * pede uma nova tarefa. Enquanto está conectado, envia {@link Tipo#BATIMENTO} periodicamente.
+ * O coordenador responde aos pedidos com {@link Tipo#TAREFAS} e encerra com {@link Tipo#FIM}.
+ *
+ * Os dois lados leem as mensagens com {@link #FILTRO}, que só aceita as classes do protocolo e
+ * os tipos do JDK que elas usam, para que uma conexão qualquer não possa desserializar outros
+ * objetos.
+ */
+final class MensagemVarredura implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Classes aceitas na leitura das mensagens, com limites de profundidade e tamanho.
+     */
+    static final ObjectInputFilter FILTRO = ObjectInputFilter.Config.createFilter(
+            "maxdepth=16;maxrefs=100000;maxarray=100000;maxbytes=67108864;"
+                    + "simulation.MensagemVarredura;simulation.MensagemVarredura$Tipo;"
+                    + "simulation.TarefaVarredura;simulation.LinhaVarredura;simulation.ConfiguracaoSimulacao;"
+                    + "simulation.ConfiguracaoSimulacao$Grupo;"
+                    + "java.lang.Object;java.lang.Enum;java.lang.Number;java.lang.Double;java.lang.Integer;java.lang.Long;"
+                    + "java.lang.String;java.util.ArrayList;java.util.TreeMap;"
+                    + "java.util.Collections$UnmodifiableCollection;java.util.Collections$UnmodifiableList;"
+                    + "java.util.Collections$UnmodifiableRandomAccessList;java.util.Collections$UnmodifiableMap;"
+                    + "java.util.Collections$EmptyList;"
+                    + "!*");
+
+    enum Tipo {
+        OLA,
+        PEDIDO,
+        TAREFAS,
+        RESULTADO,
+        FALHA,
+        BATIMENTO,
+        FIM
+    }
+
+    final Tipo tipo;
+    final int quantidade;              // Tarefas pedidas (PEDIDO) ou paralelismo (OLA)
+    final String trabalhador;          // Identificação do trabalhador (OLA)
+    final List<TarefaVarredura> tarefas;
+    final LinhaVarredura linha;
+    final int idTarefa;                // Tarefa que falhou (FALHA)
+    final String erro;
+
+    private MensagemVarredura(Tipo tipo, int quantidade, String trabalhador, List<TarefaVarredura> tarefas,
+                              LinhaVarredura linha, int idTarefa, String erro) {
+        this.tipo = tipo;
+        this.quantidade = quantidade;
+        this.trabalhador = trabalhador;
+        this.tarefas = tarefas;
+        this.linha = linha;
+        this.idTarefa = idTarefa;
+        this.erro = erro;
+    }
+
+    /**
+     * Abre o fluxo de leitura das mensagens de um socket, já com o {@link #FILTRO}.
+     */
+    static ObjectInputStream abrirEntrada(InputStream entrada) throws IOException {
+        ObjectInputStream fluxo = new ObjectInputStream(new BufferedInputStream(entrada));
+        fluxo.setObjectInputFilter(FILTRO);
+        return fluxo;
+    }
+
+    static MensagemVarredura ola(String trabalhador, int paralelismo) {
+        return new MensagemVarredura(Tipo.OLA, paralelismo, trabalhador, null, null, -1, null);
+    }
+
+    static MensagemVarredura pedido(int quantidade) {
+        return new MensagemVarredura(Tipo.PEDIDO, quantidade, null, null, null, -1, null);
+    }
+
+    static MensagemVarredura tarefas(List<TarefaVarredura> tarefas) {
+        return new MensagemVarredura(Tipo.TAREFAS, tarefas.size(), null,
+                Collections.unmodifiableList(new ArrayList<>(tarefas)), null, -1, null);
+    }
+
+    static MensagemVarredura resultado(LinhaVarredura linha) {
+        return new MensagemVarredura(Tipo.RESULTADO, 0, null, null, linha, linha.getTarefa().getId(), null);
+    }
+
+    static MensagemVarredura falha(int idTarefa, String erro) {
+        return new MensagemVarredura(Tipo.FALHA, 0, null, null, null, idTarefa, erro);
+    }
+
+    static MensagemVarredura batimento() {
+        return new MensagemVarredura(Tipo.BATIMENTO, 0, null, null, null, -1, null);
+    }
+
+    static MensagemVarredura fim() {
+        return new MensagemVarredura(Tipo.FIM, 0, null, null, null, -1, null);
+    }
+}
@@ -1,24 +1,53 @@
 package simulation;
 
+import metrics.AcumuladorMetricas;
+import metrics.EstimadorQuantil;
 import model.Processo;
 import scheduler.Escalonador;
+import scheduler.EscalonadorConcorrente;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Motor de simulação que executa processos usando múltiplas threads.
  * Mede métricas de desempenho como tempo de espera, tempo de turnaround e uso de CPU.
  */
 public class MotorDeSimulacao {
+    private static final long ATRASO_PADRAO_MS = 100;
+
+    // Bit do contador de submissões pendentes que indica que a fila não aceita novas submissões
+    private static final int SUBMISSOES_ENCERRADAS = Integer.MIN_VALUE;
+
+    // Resultados da reserva de vaga na fila de submissões
+    private static final int VAGA_RESERVADA = 0;
+    private static final int FILA_CHEIA = 1;
+    private static final int FILA_ENCERRADA = 2;
+
     private Escalonador escalonador;
     private int numeroThreads;
-    private int tempoAtual;
-    private boolean emExecucao;
+    private final AtomicInteger tempoAtual;
+    private final AtomicInteger threadsOcupadas;   // Threads com processo no laço sem bloqueio
+    private volatile boolean emExecucao;
+    private long atrasoPorUnidade;
     private List<OuvinteSimulacao> ouvintes;
     private ExecutorService executorService;
     private CountDownLatch simulationLatch;
@@ -27,6 +56,53 @@ public class MotorDeSimulacao {
     private long tempoFim;
     private double usoCPU;
     private long usoMemoria;
+    private double tempoMedioEspera;
+    private double tempoMedioRetorno;
+
+    // Métricas atualizadas a cada conclusão e carga admitida, para que o fim da simulação
+    // não precise percorrer os processos
+    private AcumuladorMetricas acumuladorMetricas;
+    private final AtomicInteger processosAdmitidos;
+    private final AtomicLong execucaoAdmitida;
+
+    // Modelo de custo de troca de contexto (em unidades de tempo simuladas)
+    private int custoTrocaContexto;
+    private int custoAquecimentoCache;
+    private int custoMigracao;
+    private Processo[] ultimoProcessoPorThread;
+    private EstatisticasThread[] estatisticasPorThread;
+
+    // Histórico de execução fora do heap
+    private HistoricoExecucao historico;
+
+    // Modo aberto: processos chegam continuamente de uma fonte e os concluídos são retirados
+    private FonteDeProcessos fonteDeProcessos;
+    private int duracaoMaxima;
+    private int tamanhoJanela;
+    private volatile int proximaConsultaFonte;
+    private AcumuladorJanelas acumuladorJanelas;
+
+    // Submissão de processos durante a simulação: fila sem bloqueio esvaziada entre unidades de tempo
+    private final ConcurrentLinkedQueue<Processo> submissoes;
+    private final AtomicInteger submissoesPendentes;
+    private final AtomicBoolean drenandoSubmissoes;
+    private final AtomicLong processosRejeitados;
+    private final AtomicInteger processosNoSistema;
+    private volatile int limiteFila;
+
+    // Modo determinístico: as CPUs simuladas avançam juntas, uma unidade de tempo por passo
+    private int numeroCpusDeterministico;
+    private CyclicBarrier barreiraPasso;
+    private Processo[] processoPorCpu;
+    private int[] execucaoPorCpu;
+    private Processo[] concluidoPorCpu;     // Conclusões do passo, registradas pela ação da barreira
+    private boolean passoEncerrado;
+    private boolean primeiroPasso;
+
+    // CPUs heterogêneas: cada CPU acumula crédito de trabalho proporcional à sua velocidade
+    private double[] velocidadesCpu;
+    private double[] creditoPorCpu;
+    private int[] unidadesPorCpu;
 
     /**
      * Interface para notificar eventos da simulação.
@@ -35,28 +111,301 @@ public class MotorDeSimulacao {
         void aoIniciarProcesso(Processo processo, int idThread, int tempo);
         void aoFinalizarProcesso(Processo processo, int idThread, int tempo);
         void aoCompletarSimulacao(ResultadoSimulacao resultado);
+
+        /**
+         * Chamado no modo aberto ao final de cada janela de medição.
+         */
+        default void aoFecharJanela(MetricasJanela metricas) {
+        }
+    }
+
+    /**
+     * Métricas de uma janela de tempo de uma simulação aberta.
+     */
+    public static class MetricasJanela {
+        private final int tempoInicio;
+        private final int tempoFim;
+        private final int processosConcluidos;
+        private final double tempoMedioEspera;
+        private final double esperaP50;
+        private final double esperaP95;
+        private final double esperaP99;
+        private final int tamanhoFila;
+
+        public MetricasJanela(int tempoInicio, int tempoFim, int processosConcluidos, double tempoMedioEspera,
+                              double esperaP50, double esperaP95, double esperaP99, int tamanhoFila) {
+            this.tempoInicio = tempoInicio;
+            this.tempoFim = tempoFim;
+            this.processosConcluidos = processosConcluidos;
+            this.tempoMedioEspera = tempoMedioEspera;
+            this.esperaP50 = esperaP50;
+            this.esperaP95 = esperaP95;
+            this.esperaP99 = esperaP99;
+            this.tamanhoFila = tamanhoFila;
+        }
+
+        public int getTempoInicio() {
+            return tempoInicio;
+        }
+
+        public int getTempoFim() {
+            return tempoFim;
+        }
+
+        public int getProcessosConcluidos() {
+            return processosConcluidos;
+        }
+
+        /**
+         * Processos concluídos por unidade de tempo na janela.
+         */
+        public double getVazao() {
+            int duracao = tempoFim - tempoInicio;
+            return duracao > 0 ? (double) processosConcluidos / duracao : 0;
+        }
+
+        public double getTempoMedioEspera() {
+            return tempoMedioEspera;
+        }
+
+        public double getEsperaP50() {
+            return esperaP50;
+        }
+
+        public double getEsperaP95() {
+            return esperaP95;
+        }
+
+        public double getEsperaP99() {
+            return esperaP99;
+        }
+
+        /**
+         * Processos prontos aguardando na fila ao final da janela.
+         */
+        public int getTamanhoFila() {
+            return tamanhoFila;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%d, %d) concluídos=%d vazão=%.3f espera média=%.2f p50=%.1f p95=%.1f p99=%.1f fila=%d",
+                    tempoInicio, tempoFim, processosConcluidos, getVazao(), tempoMedioEspera,
+                    esperaP50, esperaP95, esperaP99, tamanhoFila);
+        }
+    }
+
+    /**
+     * Agrega as conclusões do modo aberto em janelas de tamanho fixo, com memória constante
+     * independentemente da duração da simulação.
+     */
+    private static class AcumuladorJanelas {
+        private final int tamanhoJanela;
+        private int inicioJanela;
+        private int concluidosJanela;
+        private long somaEsperaJanela;
+        private EstimadorQuantil p50;
+        private EstimadorQuantil p95;
+        private EstimadorQuantil p99;
+
+        AcumuladorJanelas(int tamanhoJanela) {
+            this.tamanhoJanela = tamanhoJanela;
+            novaJanela(0);
+        }
+
+        private void novaJanela(int inicio) {
+            inicioJanela = inicio;
+            concluidosJanela = 0;
+            somaEsperaJanela = 0;
+            p50 = new EstimadorQuantil(0.50);
+            p95 = new EstimadorQuantil(0.95);
+            p99 = new EstimadorQuantil(0.99);
+        }
+
+        synchronized void registrarConclusao(Processo processo) {
+            int espera = processo.getTempoEspera();
+            concluidosJanela++;
+            somaEsperaJanela += espera;
+            p50.adicionar(espera);
+            p95.adicionar(espera);
+            p99.adicionar(espera);
+        }
+
+        /**
+         * Fecha a janela atual se o tempo já passou do seu fim.
+         * 
+         * @return Métricas da janela fechada ou null se a janela ainda está aberta
+         */
+        synchronized MetricasJanela fecharSeNecessario(int tempo, int tamanhoFila) {
+            int fimJanela = inicioJanela + tamanhoJanela;
+            if (tempo < fimJanela) {
+                return null;
+            }
+            MetricasJanela metricas = new MetricasJanela(inicioJanela, fimJanela, concluidosJanela,
+                    concluidosJanela > 0 ? (double) somaEsperaJanela / concluidosJanela : 0,
+                    p50.obterEstimativa(), p95.obterEstimativa(), p99.obterEstimativa(), tamanhoFila);
+            novaJanela(fimJanela);
+            return metricas;
+        }
+
+        synchronized int proximoFechamento() {
+            return inicioJanela + tamanhoJanela;
+        }
+    }
+
+    /**
+     * Contabilização de trocas de contexto e tempo útil de uma thread (CPU simulada).
+     */
+    public static class EstatisticasThread implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final int idThread;
+        private int trocasContexto;
+        private int tempoOverhead;
+        private int tempoUtil;
+        private double velocidade = 1.0;
+        private long trabalhoRealizado;
+        private int migracoes;
+        private int tempoTotal;
+
+        public EstatisticasThread(int idThread) {
+            this.idThread = idThread;
+        }
+
+        EstatisticasThread(int idThread, double velocidade) {
+            this.idThread = idThread;
+            this.velocidade = velocidade;
+        }
+
+        public EstatisticasThread(int idThread, int trocasContexto, int tempoOverhead, int tempoUtil) {
+            this.idThread = idThread;
+            this.trocasContexto = trocasContexto;
+            this.tempoOverhead = tempoOverhead;
+            this.tempoUtil = tempoUtil;
+        }
+
+        public int getIdThread() {
+            return idThread;
+        }
+
+        public int getTrocasContexto() {
+            return trocasContexto;
+        }
+
+        public int getTempoOverhead() {
+            return tempoOverhead;
+        }
+
+        public int getTempoUtil() {
+            return tempoUtil;
+        }
+
+        /**
+         * Fator de velocidade da CPU (1 para uma CPU de referência).
+         */
+        public double getVelocidade() {
+            return velocidade;
+        }
+
+        /**
+         * Unidades de trabalho executadas. Em uma CPU com velocidade diferente de 1 difere do
+         * tempo útil, que conta unidades de tempo ocupadas.
+         */
+        public long getTrabalhoRealizado() {
+            return trabalhoRealizado;
+        }
+
+        /**
+         * Processos recebidos por esta CPU depois de terem executado por último em outra.
+         */
+        public int getMigracoes() {
+            return migracoes;
+        }
+
+        /**
+         * Fração do tempo total da simulação em que a CPU esteve ocupada (executando ou pagando
+         * overhead).
+         * 
+         * @return Utilização em porcentagem, ou 0 se o tempo total não é conhecido
+         */
+        public double getUtilizacao() {
+            return tempoTotal > 0 ? (double) (tempoUtil + tempoOverhead) / tempoTotal * 100.0 : 0;
+        }
+
+        /**
+         * Fração do tempo ocupado da thread gasto executando processos, descontando o overhead
+         * de trocas de contexto e aquecimento de cache.
+         * 
+         * @return Utilização efetiva em porcentagem
+         */
+        public double getUtilizacaoEfetiva() {
+            int ocupado = tempoUtil + tempoOverhead;
+            return ocupado > 0 ? (double) tempoUtil / ocupado * 100.0 : 0;
+        }
+
+        EstatisticasThread copiar() {
+            EstatisticasThread copia = new EstatisticasThread(idThread, trocasContexto, tempoOverhead, tempoUtil);
+            copia.velocidade = velocidade;
+            copia.trabalhoRealizado = trabalhoRealizado;
+            copia.migracoes = migracoes;
+            copia.tempoTotal = tempoTotal;
+            return copia;
+        }
     }
 
     /**
      * Classe que contém os resultados da simulação.
      */
-    public static class ResultadoSimulacao {
+    public static class ResultadoSimulacao implements Serializable {
+        private static final long serialVersionUID = 1L;
         private final List<Processo> processos;
         private final double tempoMedioEspera;
         private final double tempoMedioRetorno;
         private final double usoCPU;
         private final long usoMemoria;
         private final long tempoExecucao;
+        private final Map<String, Object> metricasEscalonador;
+        private final List<EstatisticasThread> estatisticasThreads;
+        private final AcumuladorMetricas.Instantaneo distribuicao;
 
         public ResultadoSimulacao(List<Processo> processos, double tempoMedioEspera, 
                                double tempoMedioRetorno, double usoCPU, 
                                long usoMemoria, long tempoExecucao) {
+            this(processos, tempoMedioEspera, tempoMedioRetorno, usoCPU, usoMemoria, tempoExecucao,
+                    Collections.emptyMap());
+        }
+
+        public ResultadoSimulacao(List<Processo> processos, double tempoMedioEspera, 
+                               double tempoMedioRetorno, double usoCPU, 
+                               long usoMemoria, long tempoExecucao,
+                               Map<String, Object> metricasEscalonador) {
+            this(processos, tempoMedioEspera, tempoMedioRetorno, usoCPU, usoMemoria, tempoExecucao,
+                    metricasEscalonador, Collections.emptyList());
+        }
+
+        public ResultadoSimulacao(List<Processo> processos, double tempoMedioEspera, 
+                               double tempoMedioRetorno, double usoCPU, 
+                               long usoMemoria, long tempoExecucao,
+                               Map<String, Object> metricasEscalonador,
+                               List<EstatisticasThread> estatisticasThreads) {
+            this(processos, tempoMedioEspera, tempoMedioRetorno, usoCPU, usoMemoria, tempoExecucao,
+                    metricasEscalonador, estatisticasThreads, null);
+        }
+
+        public ResultadoSimulacao(List<Processo> processos, double tempoMedioEspera,
+                               double tempoMedioRetorno, double usoCPU,
+                               long usoMemoria, long tempoExecucao,
+                               Map<String, Object> metricasEscalonador,
+                               List<EstatisticasThread> estatisticasThreads,
+                               AcumuladorMetricas.Instantaneo distribuicao) {
             this.processos = new ArrayList<>(processos);
             this.tempoMedioEspera = tempoMedioEspera;
             this.tempoMedioRetorno = tempoMedioRetorno;
             this.usoCPU = usoCPU;
             this.usoMemoria = usoMemoria;
             this.tempoExecucao = tempoExecucao;
+            this.metricasEscalonador = Collections.unmodifiableMap(new LinkedHashMap<>(metricasEscalonador));
+            this.estatisticasThreads = Collections.unmodifiableList(new ArrayList<>(estatisticasThreads));
+            this.distribuicao = distribuicao;
         }
 
         public List<Processo> getProcessos() {
@@ -82,6 +431,65 @@ public class MotorDeSimulacao {
         public long getTempoExecucao() {
             return tempoExecucao;
         }
+
+        /**
+         * Métricas próprias do algoritmo de escalonamento (ver {@link Escalonador#obterMetricas()}).
+         */
+        public Map<String, Object> getMetricasEscalonador() {
+            return metricasEscalonador;
+        }
+
+        /**
+         * Desvios padrão e percentis da espera e do turnaround dos processos concluídos.
+         *
+         * @return Métricas acumuladas pelo motor ou null se o resultado não veio de uma simulação
+         *         (por exemplo, de uma avaliação analítica ou de um cache de versão anterior)
+         */
+        public AcumuladorMetricas.Instantaneo getDistribuicao() {
+            return distribuicao;
+        }
+
+        /**
+         * Trocas de contexto, overhead e utilização efetiva de cada thread.
+         */
+        public List<EstatisticasThread> getEstatisticasThreads() {
+            return estatisticasThreads;
+        }
+
+        /**
+         * Total de trocas de contexto em todas as threads.
+         */
+        public int getTotalTrocasContexto() {
+            int total = 0;
+            for (EstatisticasThread estatisticas : estatisticasThreads) {
+                total += estatisticas.getTrocasContexto();
+            }
+            return total;
+        }
+
+        /**
+         * Total de migrações (processos que passaram a executar em uma CPU diferente da última).
+         */
+        public int getTotalMigracoes() {
+            int total = 0;
+            for (EstatisticasThread estatisticas : estatisticasThreads) {
+                total += estatisticas.getMigracoes();
+            }
+            return total;
+        }
+
+        /**
+         * Utilização efetiva considerando todas as threads.
+         */
+        public double getUtilizacaoEfetiva() {
+            int util = 0;
+            int ocupado = 0;
+            for (EstatisticasThread estatisticas : estatisticasThreads) {
+                util += estatisticas.getTempoUtil();
+                ocupado += estatisticas.getTempoUtil() + estatisticas.getTempoOverhead();
+            }
+            return ocupado > 0 ? (double) util / ocupado * 100.0 : 0;
+        }
     }
 
     /**
@@ -93,10 +501,20 @@ public class MotorDeSimulacao {
     public MotorDeSimulacao(Escalonador escalonador, int numeroThreads) {
         this.escalonador = escalonador;
         this.numeroThreads = numeroThreads;
-        this.tempoAtual = 0;
+        this.tempoAtual = new AtomicInteger(0);
+        this.threadsOcupadas = new AtomicInteger(0);
         this.emExecucao = false;
-        this.ouvintes = new ArrayList<>();
+        this.atrasoPorUnidade = ATRASO_PADRAO_MS;
+        this.ouvintes = new CopyOnWriteArrayList<>();
         this.processosCompletados = new AtomicInteger(0);
+        this.processosAdmitidos = new AtomicInteger(0);
+        this.execucaoAdmitida = new AtomicLong(0);
+        this.submissoes = new ConcurrentLinkedQueue<>();
+        this.submissoesPendentes = new AtomicInteger(SUBMISSOES_ENCERRADAS);
+        this.drenandoSubmissoes = new AtomicBoolean(false);
+        this.processosRejeitados = new AtomicLong(0);
+        this.processosNoSistema = new AtomicInteger(0);
+        this.limiteFila = 0;
     }
 
     /**
@@ -126,20 +544,82 @@ public class MotorDeSimulacao {
         }
 
         emExecucao = true;
-        tempoAtual = 0;
+        tempoAtual.set(0);
+        threadsOcupadas.set(0);
         processosCompletados.set(0);
 
-        // Inicializa o pool de threads
-        executorService = Executors.newFixedThreadPool(numeroThreads);
-        simulationLatch = new CountDownLatch(numeroThreads);
+        int numeroCpus = getNumeroCpus();
+        if (escalonador instanceof EscalonadorConcorrente) {
+            ((EscalonadorConcorrente) escalonador).prepararThreads(numeroCpus);
+        }
+        if (isModoDeterministico() || escalonador instanceof EscalonadorConcorrente) {
+            escalonador.configurarCpus(obterVelocidadesCpu());
+        } else {
+            // O laço com bloqueio sempre pede o processo da CPU 0, então o escalonador enxerga
+            // uma única CPU (um gang, por exemplo, nunca é posto em colunas que ninguém consulta)
+            escalonador.configurarCpus(new double[]{1.0});
+        }
+
+        // Reinicia a contabilização de trocas de contexto e a memória da última CPU de cada processo
+        ultimoProcessoPorThread = new Processo[numeroCpus];
+        estatisticasPorThread = new EstatisticasThread[numeroCpus];
+        for (int i = 0; i < numeroCpus; i++) {
+            estatisticasPorThread[i] = new EstatisticasThread(i, obterVelocidadeCpu(i));
+        }
+        // Os processos já no escalonador formam a carga inicial; os já concluídos entram direto
+        // nas métricas da simulação fechada
+        acumuladorMetricas = new AcumuladorMetricas();
+        processosAdmitidos.set(0);
+        execucaoAdmitida.set(0);
+        int pendentes = 0;
+        for (Processo processo : escalonador.obterTodosProcessos()) {
+            processo.setUltimaCpu(-1);
+            processosAdmitidos.incrementAndGet();
+            execucaoAdmitida.addAndGet(processo.getTempoExecucao());
+            if (!processo.isFinalizado()) {
+                pendentes++;
+            } else if (fonteDeProcessos == null) {
+                acumuladorMetricas.registrar(processo.getTempoEspera(), processo.getTempoRetorno(),
+                        processo.getTempoExecucao());
+            }
+        }
+
+        // No modo aberto o histórico cresceria sem limite, então não é registrado
+        historico = fonteDeProcessos == null ? new HistoricoExecucao(numeroCpus) : null;
+        acumuladorJanelas = fonteDeProcessos == null ? null : new AcumuladorJanelas(tamanhoJanela);
+        proximaConsultaFonte = 0;
+        processosRejeitados.set(0);
+        submissoes.clear();
+        // A fila só passa a aceitar submissões depois de limpa
+        submissoesPendentes.set(0);
+        processosNoSistema.set(pendentes);
+
+        // Inicializa o pool de threads; no modo determinístico cada thread cuida de um grupo de CPUs
+        int numeroTrabalhadores = isModoDeterministico() ? Math.min(numeroThreads, numeroCpus) : numeroThreads;
+        executorService = Executors.newFixedThreadPool(numeroTrabalhadores);
+        simulationLatch = new CountDownLatch(numeroTrabalhadores);
+        if (isModoDeterministico()) {
+            processoPorCpu = new Processo[numeroCpus];
+            execucaoPorCpu = new int[numeroCpus];
+            concluidoPorCpu = new Processo[numeroCpus];
+            creditoPorCpu = new double[numeroCpus];
+            unidadesPorCpu = new int[numeroCpus];
+            passoEncerrado = false;
+            primeiroPasso = true;
+            barreiraPasso = new CyclicBarrier(numeroTrabalhadores, this::avancarPasso);
+        }
 
         // Registra o tempo de início
         tempoInicio = System.currentTimeMillis();
 
         // Inicia as threads de simulação
-        for (int i = 0; i < numeroThreads; i++) {
+        for (int i = 0; i < numeroTrabalhadores; i++) {
             final int idThread = i;
-            executorService.submit(() -> executarThreadSimulacao(idThread));
+            if (isModoDeterministico()) {
+                executorService.submit(() -> executarTrabalhadorDeterministico(idThread, numeroTrabalhadores));
+            } else {
+                executorService.submit(() -> executarThreadSimulacao(idThread));
+            }
         }
 
         // Inicia uma thread para monitorar o término da simulação
@@ -147,16 +627,64 @@ public class MotorDeSimulacao {
             try {
                 simulationLatch.await();
                 tempoFim = System.currentTimeMillis();
+                encerrarSubmissoes();
+                if (isModoDeterministico()) {
+                    registrarConclusoesDoPasso();
+                }
+                // Fecha a última janela do modo aberto, se o relógio chegou ao seu fim
+                verificarJanela(tempoAtual.get());
                 calcularMetricas();
-                notificarSimulacaoCompletada();
+                // Libera o motor antes de notificar, para que os ouvintes possam reconfigurá-lo
                 emExecucao = false;
                 executorService.shutdown();
+                notificarSimulacaoCompletada();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
         }).start();
     }
 
+    /**
+     * Executa a simulação e bloqueia a thread chamadora até que ela termine.
+     * Útil para execuções sem interface gráfica, como varreduras de parâmetros.
+     * 
+     * @return Resultado da simulação
+     * @throws InterruptedException se a thread chamadora for interrompida durante a espera
+     * @throws IllegalStateException se já houver uma simulação em execução
+     */
+    public ResultadoSimulacao executarAteConcluir() throws InterruptedException {
+        if (emExecucao) {
+            throw new IllegalStateException("Já existe uma simulação em execução");
+        }
+
+        CountDownLatch concluida = new CountDownLatch(1);
+        AtomicReference<ResultadoSimulacao> resultado = new AtomicReference<>();
+        OuvinteSimulacao ouvinte = new OuvinteSimulacao() {
+            @Override
+            public void aoIniciarProcesso(Processo processo, int idThread, int tempo) {
+            }
+
+            @Override
+            public void aoFinalizarProcesso(Processo processo, int idThread, int tempo) {
+            }
+
+            @Override
+            public void aoCompletarSimulacao(ResultadoSimulacao resultadoSimulacao) {
+                resultado.set(resultadoSimulacao);
+                concluida.countDown();
+            }
+        };
+
+        adicionarOuvinte(ouvinte);
+        try {
+            iniciarSimulacao();
+            concluida.await();
+        } finally {
+            removerOuvinte(ouvinte);
+        }
+        return resultado.get();
+    }
+
     /**
      * Para a simulação em andamento.
      */
@@ -176,37 +704,50 @@ public class MotorDeSimulacao {
      */
     private void executarThreadSimulacao(int idThread) {
         try {
-            while (emExecucao && !escalonador.estaFinalizado()) {
+            if (escalonador instanceof EscalonadorConcorrente) {
+                executarThreadSemBloqueio(idThread);
+                return;
+            }
+
+            while (deveContinuar()) {
                 Processo processo = null;
+                int penalidade;
 
                 // Sincroniza o acesso ao escalonador e ao tempo atual
+                EventoEsperaEscalonador espera = EventoEsperaEscalonador.iniciar(idThread);
                 synchronized (escalonador) {
-                    processo = escalonador.obterProximoProcesso(tempoAtual);
+                    if (espera != null) {
+                        espera.commit();
+                    }
+
+                    int tempo = tempoAtual.get();
+                    admitirChegadas(tempo);
+                    boolean registrarDespacho = EventoDespacho.ativo();
+                    long inicioSelecao = registrarDespacho ? System.nanoTime() : 0;
+                    processo = escalonador.obterProximoProcesso(tempo);
+                    long latenciaSelecao = registrarDespacho ? System.nanoTime() - inicioSelecao : 0;
 
                     if (processo == null) {
                         // Se não há processos disponíveis, avança o tempo
-                        tempoAtual++;
+                        verificarJanela(tempoAtual.incrementAndGet());
                         continue;
                     }
 
-                    // Notifica que o processo começou a executar
-                    notificarProcessoIniciado(processo, idThread, tempoAtual);
-
-                    // Executa o processo por uma unidade de tempo
-                    boolean finalizado = processo.executar(tempoAtual);
-
-                    // Se o processo terminou, notifica e incrementa o contador
-                    if (finalizado) {
-                        notificarProcessoFinalizado(processo, idThread, tempoAtual);
-                        processosCompletados.incrementAndGet();
+                    // A troca de contexto ocupa a CPU antes que o processo possa executar
+                    penalidade = contabilizarTroca(processo, idThread);
+                    tempo = tempoAtual.addAndGet(penalidade);
+                    if (registrarDespacho) {
+                        EventoDespacho.registrar(processo, idThread, tempo, latenciaSelecao);
                     }
 
+                    executarUnidade(processo, idThread, tempo);
+
                     // Avança o tempo
-                    tempoAtual++;
+                    verificarJanela(tempoAtual.incrementAndGet());
                 }
 
                 // Simula o tempo de execução real
-                Thread.sleep(100);
+                aguardarUnidades(1 + penalidade);
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -216,45 +757,613 @@ public class MotorDeSimulacao {
     }
 
     /**
-     * Calcula métricas de desempenho após a simulação.
+     * Laço de despacho usado com escalonadores concorrentes.
+     * Cada thread seleciona o processo sem adquirir o monitor, com o tempo já confirmado do
+     * relógio, e só então reserva a sua unidade (e a troca de contexto) com um incremento
+     * atômico; a unidade reservada nunca é anterior ao tempo da seleção, então nenhum processo
+     * executa antes da sua chegada. Uma thread sem processo não consome unidades enquanto outra
+     * está executando; o relógio avança ocioso apenas quando nenhuma thread tem processo.
+     * 
+     * @param idThread ID da thread
      */
-    private void calcularMetricas() {
-        List<Processo> processos = escalonador.obterTodosProcessos();
+    private void executarThreadSemBloqueio(int idThread) throws InterruptedException {
+        while (deveContinuar()) {
+            int tempo = tempoAtual.get();
+            admitirChegadas(tempo);
+            verificarJanela(tempo);
+
+            // A thread conta como ocupada durante a seleção, para que duas threads ociosas não
+            // avancem o relógio enquanto uma terceira ainda pode encontrar um processo
+            threadsOcupadas.incrementAndGet();
+            boolean registrarDespacho = EventoDespacho.ativo();
+            long inicioSelecao = registrarDespacho ? System.nanoTime() : 0;
+            Processo processo = escalonador.obterProximoProcesso(tempo, idThread);
+            long latenciaSelecao = registrarDespacho ? System.nanoTime() - inicioSelecao : 0;
 
-        // Calcula tempo médio de espera e turnaround
-        int tempoTotalEspera = 0;
-        int tempoTotalRetorno = 0;
-        int tempoTotalExecucao = 0;
+            if (processo == null) {
+                if (threadsOcupadas.decrementAndGet() == 0) {
+                    tempoAtual.compareAndSet(tempo, tempo + 1);
+                } else if (atrasoPorUnidade > 0) {
+                    aguardarUnidades(1);
+                } else {
+                    Thread.yield();
+                }
+                continue;
+            }
 
-        for (Processo processo : processos) {
-            tempoTotalEspera += processo.getTempoEspera();
-            tempoTotalRetorno += processo.getTempoRetorno();
-            tempoTotalExecucao += processo.getTempoExecucao();
+            try {
+                // A troca de contexto consome unidades adicionais do relógio global
+                int penalidade = contabilizarTroca(processo, idThread);
+                tempo = tempoAtual.getAndAdd(1 + penalidade) + penalidade;
+                if (registrarDespacho) {
+                    EventoDespacho.registrar(processo, idThread, tempo, latenciaSelecao);
+                }
+
+                executarUnidade(processo, idThread, tempo);
+
+                // Simula o tempo de execução real
+                aguardarUnidades(1 + penalidade);
+            } finally {
+                threadsOcupadas.decrementAndGet();
+            }
         }
+    }
 
-        double tempoMedioEspera = processos.isEmpty() ? 0 : (double) tempoTotalEspera / processos.size();
-        double tempoMedioRetorno = processos.isEmpty() ? 0 : (double) tempoTotalRetorno / processos.size();
+    /**
+     * Laço de uma thread no modo determinístico. A cada passo a ação da barreira escolhe, em
+     * uma única thread e na ordem das CPUs, o processo de cada CPU; depois cada thread executa
+     * em paralelo a unidade das CPUs que lhe cabem (CPU {@code idTrabalhador}, mais
+     * {@code numeroTrabalhadores}, e assim por diante).
+     * 
+     * @param idTrabalhador Índice da thread
+     * @param numeroTrabalhadores Número de threads
+     */
+    private void executarTrabalhadorDeterministico(int idTrabalhador, int numeroTrabalhadores) {
+        try {
+            while (true) {
+                barreiraPasso.await();
+                if (passoEncerrado) {
+                    return;
+                }
 
-        // Calcula uso de memória baseado nos processos simulados
-        // Assumimos que cada processo consome memória proporcional ao seu tempo de execução
-        // Usamos uma estimativa de 1MB por unidade de tempo de execução
-        usoMemoria = 0;
-        for (Processo processo : processos) {
-            // Cada processo consome memória base (1MB) + memória adicional baseada no tempo de execução
-            usoMemoria += 1024 * 1024; // 1MB base por processo
-            usoMemoria += processo.getTempoExecucao() * 1024; // 1KB adicional por unidade de tempo
+                int tempo = tempoAtual.get();
+                for (int cpu = idTrabalhador; cpu < processoPorCpu.length; cpu += numeroTrabalhadores) {
+                    Processo processo = processoPorCpu[cpu];
+                    if (processo != null && execucaoPorCpu[cpu] == tempo) {
+                        executarUnidades(processo, cpu, tempo, unidadesPorCpu[cpu]);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (BrokenBarrierException e) {
+            // A simulação foi parada enquanto esta thread aguardava as demais
+        } finally {
+            simulationLatch.countDown();
+        }
+    }
+
+    /**
+     * Ação da barreira do modo determinístico, executada por uma única thread entre dois passos:
+     * fecha a unidade de tempo anterior, admite as chegadas e seleciona o processo de cada CPU.
+     * As CPUs são consultadas sempre na mesma ordem, então o resultado não depende de quantas
+     * threads executam a simulação nem da ordem em que elas chegam à barreira.
+     */
+    private void avancarPasso() {
+        registrarConclusoesDoPasso();
+        if (!primeiroPasso) {
+            verificarJanela(tempoAtual.incrementAndGet());
+            try {
+                aguardarUnidades(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                passoEncerrado = true;
+                return;
+            }
+        }
+        primeiroPasso = false;
+
+        if (!deveContinuar()) {
+            passoEncerrado = true;
+            return;
+        }
+
+        int tempo = tempoAtual.get();
+        admitirChegadas(tempo);
+
+        for (int cpu = 0; cpu < processoPorCpu.length; cpu++) {
+            // CPU ainda pagando a troca de contexto do processo já escolhido
+            if (processoPorCpu[cpu] != null && execucaoPorCpu[cpu] >= tempo) {
+                continue;
+            }
+
+            boolean registrarDespacho = EventoDespacho.ativo();
+            long inicioSelecao = registrarDespacho ? System.nanoTime() : 0;
+            Processo processo = escalonador.obterProximoProcesso(tempo, cpu);
+            long latenciaSelecao = registrarDespacho ? System.nanoTime() - inicioSelecao : 0;
+
+            // Um processo executa em no máximo uma CPU por thread por unidade de tempo; as CPUs de
+            // menor índice vencem. A máscara de afinidade é respeitada mesmo que o escalonador não a considere
+            if (processo != null && (contarReservas(processo, cpu, tempo) >= threadsEfetivas(processo)
+                    || !processo.podeExecutarEm(cpu))) {
+                processo = null;
+            }
+
+            processoPorCpu[cpu] = processo;
+            if (processo == null) {
+                continue;
+            }
+
+            execucaoPorCpu[cpu] = tempo + contabilizarTroca(processo, cpu);
+            if (historico != null) {
+                // Registra o processo aqui para que o seu índice não dependa da ordem das threads
+                historico.indiceDe(processo);
+            }
+            if (registrarDespacho) {
+                EventoDespacho.registrar(processo, cpu, execucaoPorCpu[cpu], latenciaSelecao);
+            }
+        }
+
+        // Crédito de trabalho: uma CPU com velocidade 2 executa duas unidades do processo por
+        // passo, uma com velocidade 0,5 executa uma unidade a cada dois passos. CPUs ociosas ou
+        // pagando troca de contexto não acumulam crédito
+        for (int cpu = 0; cpu < processoPorCpu.length; cpu++) {
+            if (processoPorCpu[cpu] == null || execucaoPorCpu[cpu] != tempo) {
+                creditoPorCpu[cpu] = 0;
+                continue;
+            }
+            creditoPorCpu[cpu] += obterVelocidadeCpu(cpu);
+            int unidades = (int) creditoPorCpu[cpu];
+            creditoPorCpu[cpu] -= unidades;
+            unidadesPorCpu[cpu] = unidades;
+        }
+
+        ajustarProcessosComThreads(tempo);
+    }
+
+    /**
+     * Um processo com várias threads avança uma unidade por passo, e só nos passos em que todas
+     * as suas threads executam: a CPU de menor índice executa a unidade e as demais apenas ficam
+     * ocupadas com ele. Threads sem as irmãs ficam em espera ativa, ocupando a CPU sem avançar.
+     * A velocidade das CPUs não se aplica a esses processos.
+     */
+    private void ajustarProcessosComThreads(int tempo) {
+        for (int cpu = 0; cpu < processoPorCpu.length; cpu++) {
+            Processo processo = processoPorCpu[cpu];
+            if (processo == null || threadsEfetivas(processo) == 1 || execucaoPorCpu[cpu] != tempo) {
+                continue;
+            }
+            unidadesPorCpu[cpu] = 0;
+            creditoPorCpu[cpu] = 0;
+
+            // Apenas a primeira CPU do processo decide; as seguintes já foram zeradas acima
+            boolean primeira = true;
+            int executando = 0;
+            for (int outra = 0; outra < processoPorCpu.length; outra++) {
+                if (processoPorCpu[outra] == processo && execucaoPorCpu[outra] == tempo) {
+                    primeira &= outra >= cpu;
+                    executando++;
+                }
+            }
+            if (!primeira) {
+                continue;
+            }
+            // O início é marcado aqui, antes dos trabalhadores, porque várias CPUs recebem o processo
+            if (!processo.isIniciado()) {
+                processo.setTempoInicio(tempo);
+            }
+            if (executando >= threadsEfetivas(processo)) {
+                unidadesPorCpu[cpu] = 1;
+            }
         }
+    }
+
+    /**
+     * Número de threads de um processo que precisam executar ao mesmo tempo: um processo com mais
+     * threads que CPUs permitidas pela sua máscara de afinidade usa todas essas CPUs, e um
+     * escalonador que não coescalona threads executa o processo como se ele tivesse uma só. Sem
+     * esses limites o processo esperaria por CPUs que nunca recebe e não terminaria.
+     */
+    private int threadsEfetivas(Processo processo) {
+        if (processo.getNumeroThreads() == 1 || !escalonador.coescalonaThreads()) {
+            return 1;
+        }
+        return Math.min(processo.getNumeroThreads(), processo.contarCpusPermitidas(processoPorCpu.length));
+    }
+
+    /**
+     * Conta as outras CPUs em que o processo está reservado para esta unidade de tempo ou uma futura.
+     */
+    private int contarReservas(Processo processo, int cpu, int tempo) {
+        int reservas = 0;
+        for (int outra = 0; outra < processoPorCpu.length; outra++) {
+            if (outra != cpu && processoPorCpu[outra] == processo && execucaoPorCpu[outra] >= tempo) {
+                reservas++;
+            }
+        }
+        return reservas;
+    }
+
+    /**
+     * Indica se as threads devem continuar despachando processos.
+     * No modo fechado a simulação termina quando todos os processos foram concluídos;
+     * no modo aberto, quando a duração máxima é atingida ou a simulação é parada.
+     */
+    private boolean deveContinuar() {
+        if (!emExecucao) {
+            return false;
+        }
+        if (fonteDeProcessos != null) {
+            return duracaoMaxima <= 0 || tempoAtual.get() < duracaoMaxima;
+        }
+        if (!escalonador.estaFinalizado()) {
+            return true;
+        }
+        // Só termina se conseguir fechar a fila sem submissões pendentes; uma submissão que
+        // reservou vaga antes disso ainda é entregue ao escalonador
+        for (;;) {
+            int pendentes = submissoesPendentes.get();
+            if ((pendentes & ~SUBMISSOES_ENCERRADAS) > 0) {
+                return true;
+            }
+            if (pendentes == SUBMISSOES_ENCERRADAS
+                    || submissoesPendentes.compareAndSet(pendentes, SUBMISSOES_ENCERRADAS)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Entrega ao escalonador os processos submetidos durante a simulação e, no modo aberto,
+     * os que chegaram da fonte até o tempo informado. A fonte é consultada no máximo uma vez
+     * por unidade de tempo.
+     */
+    private void admitirChegadas(int tempo) {
+        drenarSubmissoes();
+
+        if (fonteDeProcessos == null || tempo < proximaConsultaFonte) {
+            return;
+        }
+        synchronized (fonteDeProcessos) {
+            if (tempo < proximaConsultaFonte) {
+                return;
+            }
+            for (Processo processo : fonteDeProcessos.obterChegadas(tempo)) {
+                admitir(processo);
+            }
+            proximaConsultaFonte = tempo + 1;
+        }
+    }
+
+    /**
+     * Move os processos submetidos externamente para o escalonador.
+     * Apenas uma thread de simulação drena a fila por vez; as demais seguem despachando.
+     */
+    private void drenarSubmissoes() {
+        if ((submissoesPendentes.get() & ~SUBMISSOES_ENCERRADAS) == 0
+                || !drenandoSubmissoes.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Processo processo;
+            while ((processo = submissoes.poll()) != null) {
+                admitir(processo);
+                submissoesPendentes.decrementAndGet();
+            }
+        } finally {
+            drenandoSubmissoes.set(false);
+        }
+    }
+
+    /**
+     * Fecha a fila de submissões depois que as threads de simulação terminaram e entrega ao
+     * escalonador as submissões que reservaram vaga antes do fechamento, para que nenhum
+     * processo aceito seja perdido.
+     */
+    private void encerrarSubmissoes() {
+        int pendentes;
+        do {
+            pendentes = submissoesPendentes.get();
+        } while ((pendentes & SUBMISSOES_ENCERRADAS) == 0
+                && !submissoesPendentes.compareAndSet(pendentes, pendentes | SUBMISSOES_ENCERRADAS));
+
+        synchronized (escalonador) {
+            // Quem reservou vaga coloca o processo na fila logo em seguida
+            while ((submissoesPendentes.get() & ~SUBMISSOES_ENCERRADAS) > 0) {
+                drenarSubmissoes();
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Entrega um processo que chegou durante a simulação ao escalonador e o soma à carga admitida.
+     */
+    private void admitir(Processo processo) {
+        escalonador.adicionarProcesso(processo);
+        processosNoSistema.incrementAndGet();
+        processosAdmitidos.incrementAndGet();
+        execucaoAdmitida.addAndGet(processo.getTempoExecucao());
+    }
+
+    /**
+     * Submete um processo a uma simulação em andamento.
+     * O processo é colocado em uma fila sem bloqueio e entregue ao escalonador pelas threads de
+     * simulação no início da próxima unidade de tempo, então quem submete nunca adquire o
+     * monitor do escalonador. Se houver limite de fila e os processos ainda não concluídos
+     * somados às submissões pendentes já o atingiram, o processo é rejeitado.
+     * Um processo aceito é sempre entregue ao escalonador, mesmo que a simulação termine logo depois.
+     * 
+     * @param processo Processo a ser submetido
+     * @return true se o processo foi aceito, false se foi rejeitado ou não há simulação em andamento
+     */
+    public boolean submeterProcesso(Processo processo) {
+        if (!emExecucao) {
+            return false;
+        }
+        switch (reservarVaga()) {
+            case VAGA_RESERVADA:
+                submissoes.offer(processo);
+                return true;
+            case FILA_CHEIA:
+                processosRejeitados.incrementAndGet();
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Controle de admissão: reserva uma vaga se os processos no sistema e as submissões
+     * pendentes estão abaixo do limite de fila. A verificação e a reserva são uma única
+     * operação atômica, então submissões simultâneas não ultrapassam o limite.
+     *
+     * @return {@link #VAGA_RESERVADA}, {@link #FILA_CHEIA} ou {@link #FILA_ENCERRADA} se a
+     *         simulação já não aceita submissões
+     */
+    private int reservarVaga() {
+        for (;;) {
+            int pendentes = submissoesPendentes.get();
+            if ((pendentes & SUBMISSOES_ENCERRADAS) != 0) {
+                return FILA_ENCERRADA;
+            }
+            int limite = limiteFila;
+            if (limite > 0 && pendentes + processosNoSistema.get() >= limite) {
+                return FILA_CHEIA;
+            }
+            if (submissoesPendentes.compareAndSet(pendentes, pendentes + 1)) {
+                return VAGA_RESERVADA;
+            }
+        }
+    }
+
+    /**
+     * Cria e submete um processo que chega no tempo atual da simulação.
+     * 
+     * @param id Identificador do processo
+     * @param tempoExecucao Tempo de execução necessário
+     * @return true se o processo foi aceito, false caso contrário
+     */
+    public boolean submeterProcesso(String id, int tempoExecucao) {
+        return submeterProcesso(new Processo(id, tempoAtual.get(), tempoExecucao));
+    }
+
+    /**
+     * Submete um processo aguardando, se necessário, até que haja espaço na fila.
+     * 
+     * @param processo Processo a ser submetido
+     * @param tempoLimite Tempo máximo de espera
+     * @param unidade Unidade do tempo máximo de espera
+     * @return true se o processo foi aceito dentro do tempo limite
+     */
+    public boolean submeterProcesso(Processo processo, long tempoLimite, TimeUnit unidade) {
+        long prazo = System.nanoTime() + unidade.toNanos(tempoLimite);
+        while (emExecucao) {
+            int reserva = reservarVaga();
+            if (reserva == VAGA_RESERVADA) {
+                submissoes.offer(processo);
+                return true;
+            }
+            if (reserva == FILA_ENCERRADA) {
+                return false;
+            }
+            if (System.nanoTime() >= prazo) {
+                processosRejeitados.incrementAndGet();
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        return false;
+    }
+
+    /**
+     * No modo aberto, fecha a janela de medição atual quando o tempo passa do seu fim e
+     * notifica os ouvintes.
+     */
+    private void verificarJanela(int tempo) {
+        if (acumuladorJanelas == null || tempo < acumuladorJanelas.proximoFechamento()) {
+            return;
+        }
+        MetricasJanela metricas = acumuladorJanelas.fecharSeNecessario(tempo, escalonador.obterTamanhoFila());
+        if (metricas != null) {
+            for (OuvinteSimulacao ouvinte : ouvintes) {
+                ouvinte.aoFecharJanela(metricas);
+            }
+        }
+    }
+
+    /**
+     * Contabiliza a troca de contexto (e o aquecimento de cache) quando a thread passa a
+     * executar um processo diferente daquele executado na sua unidade anterior.
+     * 
+     * @param processo Processo selecionado pelo escalonador
+     * @param idThread ID da thread
+     * @return Unidades de tempo gastas com overhead antes de executar o processo
+     */
+    private int contabilizarTroca(Processo processo, int idThread) {
+        EstatisticasThread estatisticas = estatisticasPorThread[idThread];
+        estatisticas.tempoUtil++;
+
+        if (ultimoProcessoPorThread[idThread] == processo) {
+            return 0;
+        }
+        ultimoProcessoPorThread[idThread] = processo;
+
+        int penalidade = custoTrocaContexto;
+
+        // O cache está frio se o processo não executou nesta thread na sua última fatia; se ele
+        // executou em outra, é uma migração e paga também o custo de migração
+        int ultimaCpu = processo.getUltimaCpu();
+        processo.setUltimaCpu(idThread);
+        if (ultimaCpu != idThread) {
+            penalidade += custoAquecimentoCache;
+        }
+        if (ultimaCpu >= 0 && ultimaCpu != idThread) {
+            penalidade += custoMigracao;
+            estatisticas.migracoes++;
+        }
+
+        estatisticas.trocasContexto++;
+        estatisticas.tempoOverhead += penalidade;
+        return penalidade;
+    }
+
+    /**
+     * Executa um processo por uma unidade de tempo e notifica os ouvintes.
+     */
+    private void executarUnidade(Processo processo, int idThread, int tempo) {
+        executarUnidades(processo, idThread, tempo, 1);
+    }
+
+    /**
+     * Ocupa a CPU com o processo durante uma unidade de tempo, executando as unidades de
+     * trabalho permitidas pela velocidade da CPU (zero em uma CPU lenta que ainda não acumulou
+     * crédito), e notifica os ouvintes.
+     */
+    private void executarUnidades(Processo processo, int idThread, int tempo, int unidades) {
+        // Registra a unidade no histórico e notifica que o processo começou a executar
+        if (historico != null) {
+            historico.registrar(idThread, processo, tempo);
+        }
+        notificarProcessoIniciado(processo, idThread, tempo);
+
+        if (!processo.isIniciado()) {
+            processo.setTempoInicio(tempo);
+        }
+
+        // Executa as unidades de trabalho até o processo terminar
+        boolean finalizado = false;
+        int executadas = 0;
+        while (executadas < unidades && !finalizado) {
+            finalizado = processo.executar(tempo);
+            executadas++;
+        }
+        estatisticasPorThread[idThread].trabalhoRealizado += executadas;
+
+        // Se o processo terminou, notifica e incrementa o contador
+        if (finalizado) {
+            EventoConclusao.registrar(processo, idThread);
+            notificarProcessoFinalizado(processo, idThread, tempo);
+            processosCompletados.incrementAndGet();
+            processosNoSistema.decrementAndGet();
+
+            // No modo determinístico a conclusão entra nas métricas na ação da barreira, na ordem
+            // das CPUs, para que médias e percentis não dependam da ordem das threads
+            if (isModoDeterministico()) {
+                concluidoPorCpu[idThread] = processo;
+            } else {
+                registrarConclusao(processo);
+            }
+        }
+    }
+
+    /**
+     * Acumula a conclusão nas métricas da simulação e, no modo aberto, nas da janela atual.
+     */
+    private void registrarConclusao(Processo processo) {
+        acumuladorMetricas.registrar(processo.getTempoEspera(), processo.getTempoRetorno(),
+                processo.getTempoExecucao());
+
+        // No modo aberto o processo concluído passa a existir apenas nas métricas agregadas
+        if (acumuladorJanelas != null) {
+            acumuladorJanelas.registrarConclusao(processo);
+            escalonador.retirarProcesso(processo);
+        }
+    }
+
+    /**
+     * Registra, na ordem das CPUs, as conclusões do último passo do modo determinístico.
+     */
+    private void registrarConclusoesDoPasso() {
+        for (int cpu = 0; cpu < concluidoPorCpu.length; cpu++) {
+            if (concluidoPorCpu[cpu] != null) {
+                registrarConclusao(concluidoPorCpu[cpu]);
+                concluidoPorCpu[cpu] = null;
+            }
+        }
+    }
+
+    /**
+     * Aguarda o tempo real correspondente às unidades de tempo simuladas consumidas.
+     */
+    private void aguardarUnidades(int unidades) throws InterruptedException {
+        if (atrasoPorUnidade > 0) {
+            Thread.sleep(atrasoPorUnidade * unidades);
+        }
+    }
+
+    /**
+     * Calcula métricas de desempenho após a simulação a partir das métricas acumuladas durante
+     * a execução, sem percorrer os processos.
+     */
+    private void calcularMetricas() {
+        AcumuladorMetricas.Instantaneo metricas = acumuladorMetricas.obterInstantaneo();
+        long tempoTotalExecucao = execucaoAdmitida.get();
+        int processosPresentes = processosAdmitidos.get();
+        long execucaoPresente = tempoTotalExecucao;
+
+        if (acumuladorJanelas != null) {
+            // No modo aberto os processos concluídos já foram retirados do escalonador, e as
+            // médias consideram apenas eles
+            processosPresentes -= (int) metricas.getConcluidos();
+            execucaoPresente -= metricas.getSomaExecucao();
+            tempoMedioEspera = metricas.getMediaEspera();
+            tempoMedioRetorno = metricas.getMediaRetorno();
+        } else {
+            // Na simulação fechada os processos ainda não concluídos contam com espera zero
+            tempoMedioEspera = processosPresentes == 0 ? 0 : (double) metricas.getSomaEspera() / processosPresentes;
+            tempoMedioRetorno = processosPresentes == 0 ? 0 : (double) metricas.getSomaRetorno() / processosPresentes;
+        }
+
+        // Calcula uso de memória baseado nos processos simulados
+        // Cada processo consome memória base (1MB) + 1KB adicional por unidade de tempo de execução
+        usoMemoria = processosPresentes * 1024L * 1024L + execucaoPresente * 1024L;
 
         // Estimativa de uso de CPU baseada no tempo de execução
         long tempoSimulacao = tempoFim - tempoInicio;
         // Converte o tempo de execução para a mesma unidade dos tempos de turnaround (unidades de tempo da simulação)
-        // Assumindo que cada unidade de tempo da simulação é aproximadamente 100ms (conforme Thread.sleep(100))
-        double unidadesTempoSimulacao = tempoSimulacao / 100.0;
+        // Cada unidade de tempo da simulação dura aproximadamente atrasoPorUnidade ms; sem atraso,
+        // ou no modo determinístico, usa diretamente o relógio simulado
+        double unidadesTempoSimulacao = atrasoPorUnidade > 0 && !isModoDeterministico()
+                ? tempoSimulacao / (double) atrasoPorUnidade
+                : tempoAtual.get();
 
         // Calcula o uso de CPU como a proporção do tempo total de execução pelo tempo total disponível
-        // (tempo total disponível = número de threads * unidades de tempo da simulação)
-        double tempoTotalDisponivel = numeroThreads * unidadesTempoSimulacao;
+        // (tempo total disponível = soma das velocidades das CPUs * unidades de tempo da simulação)
+        double capacidade = 0;
+        for (double velocidade : obterVelocidadesCpu()) {
+            capacidade += velocidade;
+        }
+        double tempoTotalDisponivel = capacidade * unidadesTempoSimulacao;
         usoCPU = tempoTotalDisponivel > 0 ? (double) tempoTotalExecucao / tempoTotalDisponivel * 100.0 : 0;
+
+        // A utilização por CPU só faz sentido no modo determinístico, em que todas as CPUs
+        // avançam juntas; no modo livre cada despacho consome uma unidade do relógio global
+        if (estatisticasPorThread != null && isModoDeterministico()) {
+            for (EstatisticasThread estatisticas : estatisticasPorThread) {
+                estatisticas.tempoTotal = tempoAtual.get();
+            }
+        }
     }
 
     /**
@@ -279,23 +1388,8 @@ public class MotorDeSimulacao {
      * Notifica os ouvintes que a simulação foi concluída.
      */
     private void notificarSimulacaoCompletada() {
-        // Recalcula as métricas para garantir consistência
-        calcularMetricas();
-
         List<Processo> processos = escalonador.obterTodosProcessos();
 
-        // Calcula tempo médio de espera e turnaround
-        int tempoTotalEspera = 0;
-        int tempoTotalRetorno = 0;
-
-        for (Processo processo : processos) {
-            tempoTotalEspera += processo.getTempoEspera();
-            tempoTotalRetorno += processo.getTempoRetorno();
-        }
-
-        double tempoMedioEspera = processos.isEmpty() ? 0 : (double) tempoTotalEspera / processos.size();
-        double tempoMedioRetorno = processos.isEmpty() ? 0 : (double) tempoTotalRetorno / processos.size();
-
         // Cria o objeto de resultado
         ResultadoSimulacao resultado = new ResultadoSimulacao(
             processos, 
@@ -303,7 +1397,10 @@ public class MotorDeSimulacao {
             tempoMedioRetorno, 
             usoCPU, 
             usoMemoria, 
-            tempoFim - tempoInicio
+            tempoFim - tempoInicio,
+            escalonador.obterMetricas(),
+            copiarEstatisticasThreads(),
+            acumuladorMetricas.obterInstantaneo()
         );
 
         // Notifica os ouvintes
@@ -312,6 +1409,37 @@ public class MotorDeSimulacao {
         }
     }
 
+    private List<EstatisticasThread> copiarEstatisticasThreads() {
+        List<EstatisticasThread> copia = new ArrayList<>();
+        if (estatisticasPorThread != null) {
+            for (EstatisticasThread estatisticas : estatisticasPorThread) {
+                copia.add(estatisticas.copiar());
+            }
+        }
+        return copia;
+    }
+
+    /**
+     * Retorna o histórico de execução da simulação atual (ou da última simulação).
+     * 
+     * @return Histórico de execução ou null se nenhuma simulação foi iniciada
+     */
+    public HistoricoExecucao getHistorico() {
+        return historico;
+    }
+
+    /**
+     * Retorna as métricas dos processos concluídos até agora na simulação atual (ou na última
+     * simulação): médias, desvios e percentis da espera e do turnaround. Pode ser chamado a
+     * qualquer momento, inclusive de um ouvinte, sem interromper a simulação.
+     * 
+     * @return Métricas acumuladas ou null se nenhuma simulação foi iniciada
+     */
+    public AcumuladorMetricas.Instantaneo obterMetricasParciais() {
+        AcumuladorMetricas acumulador = acumuladorMetricas;
+        return acumulador == null ? null : acumulador.obterInstantaneo();
+    }
+
     /**
      * Retorna o escalonador utilizado pela simulação.
      * 
@@ -352,6 +1480,235 @@ public class MotorDeSimulacao {
         }
     }
 
+    /**
+     * Retorna o tempo real (ms) aguardado por unidade de tempo simulada.
+     * 
+     * @return Atraso por unidade em milissegundos
+     */
+    public long getAtrasoPorUnidade() {
+        return atrasoPorUnidade;
+    }
+
+    /**
+     * Define o tempo real (ms) aguardado por unidade de tempo simulada.
+     * Zero executa a simulação o mais rápido possível, útil para medir a vazão de despacho.
+     * 
+     * @param atrasoPorUnidade Atraso por unidade em milissegundos
+     */
+    public void setAtrasoPorUnidade(long atrasoPorUnidade) {
+        if (!emExecucao) {
+            this.atrasoPorUnidade = Math.max(0, atrasoPorUnidade);
+        }
+    }
+
+    /**
+     * Configura o modo aberto: processos chegam continuamente da fonte informada, os processos
+     * concluídos são retirados do escalonador e as métricas são publicadas em janelas de tempo
+     * por meio de {@link OuvinteSimulacao#aoFecharJanela(MetricasJanela)}.
+     * 
+     * @param fonte Fonte de processos ou null para voltar ao modo fechado (lote pré-carregado)
+     * @param duracaoMaxima Duração da simulação em unidades de tempo (0 para executar até ser parada)
+     * @param tamanhoJanela Tamanho de cada janela de medição em unidades de tempo
+     */
+    public void configurarModoAberto(FonteDeProcessos fonte, int duracaoMaxima, int tamanhoJanela) {
+        if (emExecucao) {
+            return;
+        }
+        if (fonte != null && tamanhoJanela <= 0) {
+            throw new IllegalArgumentException("O tamanho da janela deve ser positivo: " + tamanhoJanela);
+        }
+        this.fonteDeProcessos = fonte;
+        this.duracaoMaxima = duracaoMaxima;
+        this.tamanhoJanela = tamanhoJanela;
+    }
+
+    /**
+     * Configura o modo determinístico. Nele as CPUs simuladas avançam juntas, uma unidade de
+     * tempo por passo: a cada passo os processos são escolhidos em uma única thread, sempre na
+     * ordem das CPUs (0, 1, ...), e a execução das unidades é dividida entre as threads do motor.
+     * Com a mesma carga o resultado simulado (tempos dos processos, médias, trocas de contexto e
+     * histórico) é o mesmo para qualquer número de threads; apenas o tempo real de execução e as
+     * submissões feitas durante a simulação variam.
+     * 
+     * @param numeroCpus Número de CPUs simuladas (0 para voltar ao modo livre, em que cada thread é uma CPU)
+     */
+    public void configurarModoDeterministico(int numeroCpus) {
+        if (!emExecucao) {
+            this.numeroCpusDeterministico = Math.max(0, numeroCpus);
+            this.velocidadesCpu = null;
+        }
+    }
+
+    /**
+     * Configura o modo determinístico com CPUs heterogêneas, uma por fator de velocidade. A cada
+     * passo uma CPU ocupada acumula crédito igual à sua velocidade e executa tantas unidades de
+     * trabalho do processo quantas o crédito inteiro permite: com velocidade 2 o processo avança
+     * duas unidades por passo, com 0,5 uma unidade a cada dois passos. O quantum e os custos de
+     * troca de contexto continuam medidos em unidades de tempo.
+     * 
+     * @param velocidades Fator de velocidade de cada CPU (1 para uma CPU de referência)
+     * @throws IllegalArgumentException se algum fator não for positivo
+     */
+    public void configurarVelocidadesCpu(double... velocidades) {
+        if (emExecucao) {
+            return;
+        }
+        for (double velocidade : velocidades) {
+            if (!(velocidade > 0) || Double.isInfinite(velocidade)) {
+                throw new IllegalArgumentException("A velocidade de uma CPU deve ser positiva: " + velocidade);
+            }
+        }
+        this.numeroCpusDeterministico = velocidades.length;
+        this.velocidadesCpu = velocidades.length == 0 ? null : velocidades.clone();
+    }
+
+    /**
+     * Retorna o fator de velocidade de cada CPU simulada.
+     * 
+     * @return Cópia dos fatores de velocidade (todos 1 se as CPUs são homogêneas)
+     */
+    public double[] obterVelocidadesCpu() {
+        if (velocidadesCpu != null) {
+            return velocidadesCpu.clone();
+        }
+        double[] velocidades = new double[getNumeroCpus()];
+        Arrays.fill(velocidades, 1.0);
+        return velocidades;
+    }
+
+    private double obterVelocidadeCpu(int cpu) {
+        return velocidadesCpu != null ? velocidadesCpu[cpu] : 1.0;
+    }
+
+    /**
+     * Verifica se o motor está configurado para o modo determinístico.
+     * 
+     * @return true se as CPUs avançam em passos sincronizados
+     */
+    public boolean isModoDeterministico() {
+        return numeroCpusDeterministico > 0;
+    }
+
+    /**
+     * Retorna o número de CPUs simuladas: o configurado no modo determinístico ou, fora dele,
+     * o número de threads.
+     * 
+     * @return Número de CPUs simuladas
+     */
+    public int getNumeroCpus() {
+        return isModoDeterministico() ? numeroCpusDeterministico : numeroThreads;
+    }
+
+    /**
+     * Verifica se o motor está configurado para o modo aberto.
+     * 
+     * @return true se os processos vêm de uma fonte contínua
+     */
+    public boolean isModoAberto() {
+        return fonteDeProcessos != null;
+    }
+
+    /**
+     * Retorna o limite da fila de prontos usado no controle de admissão.
+     * 
+     * @return Limite da fila (0 se não há limite)
+     */
+    public int getLimiteFila() {
+        return limiteFila;
+    }
+
+    /**
+     * Define o limite de processos não concluídos (prontos ou em execução) aceito pelas
+     * submissões durante a simulação. Submissões que ultrapassariam o limite são rejeitadas.
+     * 
+     * @param limiteFila Limite da fila (0 para não limitar)
+     */
+    public void setLimiteFila(int limiteFila) {
+        this.limiteFila = Math.max(0, limiteFila);
+    }
+
+    /**
+     * Retorna quantos processos submetidos foram rejeitados pelo controle de admissão.
+     * 
+     * @return Número de processos rejeitados na simulação atual
+     */
+    public long getProcessosRejeitados() {
+        return processosRejeitados.get();
+    }
+
+    /**
+     * Retorna o custo, em unidades de tempo, de cada troca de contexto.
+     * 
+     * @return Custo da troca de contexto
+     */
+    public int getCustoTrocaContexto() {
+        return custoTrocaContexto;
+    }
+
+    /**
+     * Define o custo, em unidades de tempo, cobrado sempre que uma thread passa a executar
+     * um processo diferente do que executou na unidade anterior.
+     * 
+     * @param custoTrocaContexto Custo da troca de contexto
+     */
+    public void setCustoTrocaContexto(int custoTrocaContexto) {
+        if (!emExecucao) {
+            this.custoTrocaContexto = Math.max(0, custoTrocaContexto);
+        }
+    }
+
+    /**
+     * Retorna o custo adicional de aquecimento de cache.
+     * 
+     * @return Custo de aquecimento de cache
+     */
+    public int getCustoAquecimentoCache() {
+        return custoAquecimentoCache;
+    }
+
+    /**
+     * Define o custo adicional, em unidades de tempo, cobrado em uma troca de contexto quando
+     * o processo não executou por último nesta mesma thread (cache frio).
+     * 
+     * @param custoAquecimentoCache Custo de aquecimento de cache
+     */
+    public void setCustoAquecimentoCache(int custoAquecimentoCache) {
+        if (!emExecucao) {
+            this.custoAquecimentoCache = Math.max(0, custoAquecimentoCache);
+        }
+    }
+
+    /**
+     * Retorna o custo de migração.
+     * 
+     * @return Custo de migração
+     */
+    public int getCustoMigracao() {
+        return custoMigracao;
+    }
+
+    /**
+     * Define o custo adicional, em unidades de tempo, cobrado quando um processo passa a executar
+     * em uma CPU diferente daquela em que executou por último. Soma-se ao custo de troca de
+     * contexto e ao de aquecimento de cache.
+     * 
+     * @param custoMigracao Custo de migração
+     */
+    public void setCustoMigracao(int custoMigracao) {
+        if (!emExecucao) {
+            this.custoMigracao = Math.max(0, custoMigracao);
+        }
+    }
+
+    /**
+     * Retorna o tempo atual da simulação.
+     * 
+     * @return Tempo atual
+     */
+    public int getTempoAtual() {
+        return tempoAtual.get();
+    }
+
     /**
      * Verifica se a simulação está em execução.
      * 
@@ -0,0 +1,888 @@
+package simulation;
+
+import model.Processo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Motor de simulação paralela de eventos discretos otimista (Time Warp) para modelos grandes
+ * com muitas CPUs.
+ *
+ * Cada CPU simulada é um processo lógico com relógio próprio, fila de prontos própria e uma
+ * política local (Round Robin ou SJF não preemptivo). O processo i da carga chega à CPU
+ * {@code i % numeroCpus}. As CPUs avançam de forma independente, cada uma processando os seus
+ * eventos (chegada, despacho, fim de fatia e migração) em ordem de carimbo de tempo, sem esperar pelas
+ * demais. Quando a fila de uma CPU passa do limite de migração, o último processo da fila é
+ * enviado à CPU seguinte; se essa mensagem chega ao passado do destino (retardatária), o destino
+ * desfaz os eventos posteriores (rollback) e envia antimensagens para cancelar o que já havia
+ * enviado.
+ *
+ * As threads trabalham em épocas separadas por uma barreira. Na barreira é calculado o GVT
+ * (o menor carimbo de tempo ainda pendente ou em trânsito); eventos anteriores ao GVT não podem
+ * mais ser desfeitos e são descartados (coleta de fósseis). A otimização é limitada a uma
+ * janela à frente do GVT para conter rollbacks em cascata.
+ *
+ * Os eventos são ordenados por (tempo, tipo, origem, sequência), então o resultado é o mesmo
+ * da execução sequencial dos eventos nessa ordem, independentemente do número de threads.
+ */
+public class MotorTimeWarp {
+
+    /**
+     * Política de escalonamento local de cada CPU.
+     */
+    public enum Politica {
+        ROUND_ROBIN,
+        SJF
+    }
+
+    // Tipos de evento, na ordem de desempate para um mesmo tempo: chegadas entram na fila antes
+    // de o processo preemptado voltar para ela, como no motor por unidades de tempo, e uma CPU
+    // ociosa só escolhe o próximo processo depois de receber todas as chegadas daquele instante
+    private static final int CHEGADA = 0;
+    private static final int MIGRACAO = 1;
+    private static final int FIM_FATIA = 2;
+    private static final int DESPACHO = 3;
+
+    private static final int ORIGEM_EXTERNA = -1;
+    private static final int INFINITO = Integer.MAX_VALUE;
+
+    /**
+     * Número de eventos processados por uma thread entre duas leituras das caixas de entrada.
+     */
+    private static final int INTERVALO_RECEPCAO = 32;
+
+    private final int numeroCpus;
+    private final int numeroThreads;
+    private Politica politica;
+    private int quantum;
+    private int limiteMigracao;
+    private int atrasoMigracao;
+    private int janelaOtimismo;
+    private int eventosPorEpoca;
+
+    // Estado de uma execução
+    private int[] execucaoPorProcesso;
+    private ProcessoLogico[] processosLogicos;
+    private volatile int gvt;
+    private volatile boolean terminado;
+    private int epocas;
+
+    /**
+     * Evento (ou antimensagem) destinado a um processo lógico.
+     */
+    private static final class Evento {
+        final int tempo;
+        final int tipo;
+        final int origem;
+        final long sequencia;
+        final int destino;
+        final int processo;
+        // Fatia executada (FIM_FATIA) ou tempo restante do processo migrado (MIGRACAO)
+        final int valor;
+        // Tempo de início do processo migrado (-1 se ainda não executou)
+        final int inicio;
+        final boolean anti;
+
+        // Preenchidos ao processar o evento, para que ele possa ser desfeito
+        long inicioDiario;
+        Registro executandoAnterior;
+        boolean despachoAnterior;
+        int ultimoAnterior;
+        long sequenciaAnterior;
+        long ordemAnterior;
+        int concluidosAnterior;
+        int trocasAnterior;
+        int migracoesAnterior;
+        long tempoOcupadoAnterior;
+        Evento geradoLocal;
+        Evento enviadoRemoto;
+
+        Evento(int tempo, int tipo, int origem, long sequencia, int destino, int processo, int valor, int inicio,
+               boolean anti) {
+            this.tempo = tempo;
+            this.tipo = tipo;
+            this.origem = origem;
+            this.sequencia = sequencia;
+            this.destino = destino;
+            this.processo = processo;
+            this.valor = valor;
+            this.inicio = inicio;
+            this.anti = anti;
+        }
+
+        Evento antimensagem() {
+            return new Evento(tempo, tipo, origem, sequencia, destino, processo, valor, inicio, true);
+        }
+    }
+
+    private static final Comparator<Evento> ORDEM_EVENTOS = (a, b) -> {
+        if (a.tempo != b.tempo) {
+            return Integer.compare(a.tempo, b.tempo);
+        }
+        if (a.tipo != b.tipo) {
+            return Integer.compare(a.tipo, b.tipo);
+        }
+        if (a.origem != b.origem) {
+            return Integer.compare(a.origem, b.origem);
+        }
+        return Long.compare(a.sequencia, b.sequencia);
+    };
+
+    private static final Comparator<Evento> ORDEM_EVENTOS_NULOS_AO_FIM = Comparator.nullsLast(ORDEM_EVENTOS);
+
+    /**
+     * Ordena as CPUs de uma thread pelo próximo evento pendente; CPUs sem eventos ficam fora da agenda.
+     */
+    private static final Comparator<ProcessoLogico> ORDEM_AGENDA = (a, b) -> {
+        int comparacao = ORDEM_EVENTOS_NULOS_AO_FIM.compare(a.proximo(), b.proximo());
+        return comparacao != 0 ? comparacao : Integer.compare(a.id, b.id);
+    };
+
+    /**
+     * Estado de um processo da carga enquanto está em uma CPU.
+     */
+    private static final class Registro {
+        final int id;
+        final int execucao;
+        final boolean migrado;
+        long ordem;
+        int restante;
+        int inicio;
+        int fim;
+
+        Registro(int id, int execucao, int restante, int inicio, boolean migrado) {
+            this.id = id;
+            this.execucao = execucao;
+            this.restante = restante;
+            this.inicio = inicio;
+            this.migrado = migrado;
+        }
+    }
+
+    /**
+     * Fila de prontos local de uma CPU, com as operações inversas usadas no rollback.
+     */
+    private interface FilaLocal {
+        void adicionar(Registro registro);
+
+        Registro removerProximo();
+
+        Registro ultimo();
+
+        Registro removerUltimo();
+
+        int tamanho();
+
+        void desfazerAdicionar(Registro registro);
+
+        void devolverProximo(Registro registro);
+
+        void devolverUltimo(Registro registro);
+    }
+
+    private static final class FilaRoundRobin implements FilaLocal {
+        private final ArrayDeque<Registro> fila = new ArrayDeque<>();
+
+        public void adicionar(Registro registro) {
+            fila.addLast(registro);
+        }
+
+        public Registro removerProximo() {
+            return fila.pollFirst();
+        }
+
+        public Registro ultimo() {
+            return fila.peekLast();
+        }
+
+        public Registro removerUltimo() {
+            return fila.pollLast();
+        }
+
+        public int tamanho() {
+            return fila.size();
+        }
+
+        public void desfazerAdicionar(Registro registro) {
+            fila.pollLast();
+        }
+
+        public void devolverProximo(Registro registro) {
+            fila.addFirst(registro);
+        }
+
+        public void devolverUltimo(Registro registro) {
+            fila.addLast(registro);
+        }
+    }
+
+    /**
+     * Fila do SJF: menor tempo de execução primeiro e, no empate, quem entrou antes na fila.
+     */
+    private static final class FilaSJF implements FilaLocal {
+        private final TreeSet<Registro> fila = new TreeSet<>(
+                Comparator.comparingInt((Registro r) -> r.execucao).thenComparingLong(r -> r.ordem));
+
+        public void adicionar(Registro registro) {
+            fila.add(registro);
+        }
+
+        public Registro removerProximo() {
+            return fila.pollFirst();
+        }
+
+        public Registro ultimo() {
+            return fila.isEmpty() ? null : fila.last();
+        }
+
+        public Registro removerUltimo() {
+            return fila.pollLast();
+        }
+
+        public int tamanho() {
+            return fila.size();
+        }
+
+        public void desfazerAdicionar(Registro registro) {
+            fila.remove(registro);
+        }
+
+        public void devolverProximo(Registro registro) {
+            fila.add(registro);
+        }
+
+        public void devolverUltimo(Registro registro) {
+            fila.add(registro);
+        }
+    }
+
+    /**
+     * Diário de alterações de um processo lógico. Cada evento processado guarda a posição do
+     * diário em que começou; desfazer o evento aplica as entradas inversas a partir do fim.
+     * As posições são absolutas, então descartar o início do diário não as invalida.
+     */
+    private static final class Diario {
+        static final int FILA_ADICIONOU = 0;
+        static final int FILA_REMOVEU_PROXIMO = 1;
+        static final int FILA_REMOVEU_ULTIMO = 2;
+        static final int FINALIZADO = 3;
+        static final int REGISTRO_ALTERADO = 4;
+
+        private int[] tipos = new int[64];
+        private Registro[] registros = new Registro[64];
+        private int[] valores = new int[64 * 3];
+        private int tamanho;
+        private long base;
+
+        long posicao() {
+            return base + tamanho;
+        }
+
+        void registrar(int tipo, Registro registro) {
+            if (tamanho == tipos.length) {
+                tipos = Arrays.copyOf(tipos, tamanho * 2);
+                registros = Arrays.copyOf(registros, tamanho * 2);
+                valores = Arrays.copyOf(valores, tamanho * 2 * 3);
+            }
+            tipos[tamanho] = tipo;
+            registros[tamanho] = registro;
+            if (tipo == REGISTRO_ALTERADO) {
+                valores[tamanho * 3] = registro.restante;
+                valores[tamanho * 3 + 1] = registro.inicio;
+                valores[tamanho * 3 + 2] = registro.fim;
+            }
+            tamanho++;
+        }
+
+        void desfazerAte(long posicao, ProcessoLogico logico) {
+            int limite = (int) (posicao - base);
+            while (tamanho > limite) {
+                tamanho--;
+                Registro registro = registros[tamanho];
+                registros[tamanho] = null;
+                switch (tipos[tamanho]) {
+                    case FILA_ADICIONOU:
+                        logico.fila.desfazerAdicionar(registro);
+                        break;
+                    case FILA_REMOVEU_PROXIMO:
+                        logico.fila.devolverProximo(registro);
+                        break;
+                    case FILA_REMOVEU_ULTIMO:
+                        logico.fila.devolverUltimo(registro);
+                        break;
+                    case FINALIZADO:
+                        logico.finalizados.remove(logico.finalizados.size() - 1);
+                        break;
+                    default:
+                        registro.restante = valores[tamanho * 3];
+                        registro.inicio = valores[tamanho * 3 + 1];
+                        registro.fim = valores[tamanho * 3 + 2];
+                        break;
+                }
+            }
+        }
+
+        void descartarAte(long posicao) {
+            int descartadas = (int) (posicao - base);
+            if (descartadas <= 0) {
+                return;
+            }
+            int restantes = tamanho - descartadas;
+            System.arraycopy(tipos, descartadas, tipos, 0, restantes);
+            System.arraycopy(registros, descartadas, registros, 0, restantes);
+            System.arraycopy(valores, descartadas * 3, valores, 0, restantes * 3);
+            Arrays.fill(registros, restantes, tamanho, null);
+            tamanho = restantes;
+            base = posicao;
+        }
+    }
+
+    /**
+     * Uma CPU simulada: relógio, fila de prontos, eventos pendentes e processados.
+     */
+    private final class ProcessoLogico {
+        final int id;
+        final TreeSet<Evento> pendentes = new TreeSet<>(ORDEM_EVENTOS);
+        final ArrayDeque<Evento> processados = new ArrayDeque<>();
+        final ConcurrentLinkedQueue<Evento> caixaEntrada = new ConcurrentLinkedQueue<>();
+        final FilaLocal fila;
+        final List<Registro> finalizados = new ArrayList<>();
+        final Diario diario = new Diario();
+
+        // Estado salvo em cada evento
+        Registro executando;
+        boolean despachoAgendado;
+        int ultimo = -1;
+        long sequenciaEnvio;
+        long ordemFila;
+        int concluidos;
+        int trocas;
+        int migracoes;
+        long tempoOcupado;
+
+        // Estatísticas do mecanismo otimista
+        long eventosProcessados;
+        long eventosDesfeitos;
+        long rollbacks;
+        long antimensagens;
+
+        ProcessoLogico(int id) {
+            this.id = id;
+            this.fila = politica == Politica.SJF ? new FilaSJF() : new FilaRoundRobin();
+        }
+
+        Evento proximo() {
+            return pendentes.isEmpty() ? null : pendentes.first();
+        }
+
+        /**
+         * Recebe as mensagens da caixa de entrada, desfazendo eventos quando necessário.
+         */
+        void receberMensagens() {
+            Evento mensagem;
+            while ((mensagem = caixaEntrada.poll()) != null) {
+                if (mensagem.anti) {
+                    // A mensagem positiva correspondente já foi recebida (a caixa é FIFO por remetente)
+                    if (!pendentes.remove(mensagem)) {
+                        desfazerAte(mensagem, true);
+                        pendentes.remove(mensagem);
+                    }
+                } else {
+                    Evento ultimoProcessado = processados.peekLast();
+                    if (ultimoProcessado != null && ORDEM_EVENTOS.compare(ultimoProcessado, mensagem) > 0) {
+                        desfazerAte(mensagem, false);
+                    }
+                    pendentes.add(mensagem);
+                }
+            }
+        }
+
+        /**
+         * Desfaz os eventos processados posteriores à mensagem (ou também o igual a ela).
+         */
+        private void desfazerAte(Evento mensagem, boolean inclusive) {
+            boolean desfez = false;
+            while (!processados.isEmpty()) {
+                int comparacao = ORDEM_EVENTOS.compare(processados.peekLast(), mensagem);
+                if (comparacao < 0 || (comparacao == 0 && !inclusive)) {
+                    break;
+                }
+                desfazer(processados.pollLast());
+                desfez = true;
+            }
+            if (desfez) {
+                rollbacks++;
+            }
+        }
+
+        private void desfazer(Evento evento) {
+            diario.desfazerAte(evento.inicioDiario, this);
+            executando = evento.executandoAnterior;
+            despachoAgendado = evento.despachoAnterior;
+            ultimo = evento.ultimoAnterior;
+            sequenciaEnvio = evento.sequenciaAnterior;
+            ordemFila = evento.ordemAnterior;
+            concluidos = evento.concluidosAnterior;
+            trocas = evento.trocasAnterior;
+            migracoes = evento.migracoesAnterior;
+            tempoOcupado = evento.tempoOcupadoAnterior;
+
+            if (evento.geradoLocal != null) {
+                pendentes.remove(evento.geradoLocal);
+                evento.geradoLocal = null;
+            }
+            if (evento.enviadoRemoto != null) {
+                processosLogicos[evento.enviadoRemoto.destino].caixaEntrada.add(evento.enviadoRemoto.antimensagem());
+                evento.enviadoRemoto = null;
+                antimensagens++;
+            }
+            eventosDesfeitos++;
+            pendentes.add(evento);
+        }
+
+        /**
+         * Processa o próximo evento pendente.
+         */
+        void processarProximo() {
+            Evento evento = pendentes.pollFirst();
+            evento.inicioDiario = diario.posicao();
+            evento.executandoAnterior = executando;
+            evento.despachoAnterior = despachoAgendado;
+            evento.ultimoAnterior = ultimo;
+            evento.sequenciaAnterior = sequenciaEnvio;
+            evento.ordemAnterior = ordemFila;
+            evento.concluidosAnterior = concluidos;
+            evento.trocasAnterior = trocas;
+            evento.migracoesAnterior = migracoes;
+            evento.tempoOcupadoAnterior = tempoOcupado;
+
+            switch (evento.tipo) {
+                case CHEGADA: {
+                    int execucao = execucaoPorProcesso[evento.processo];
+                    enfileirar(new Registro(evento.processo, execucao, Math.max(1, execucao), -1, false), evento);
+                    break;
+                }
+                case MIGRACAO:
+                    enfileirar(new Registro(evento.processo, execucaoPorProcesso[evento.processo],
+                            evento.valor, evento.inicio, true), evento);
+                    break;
+                case FIM_FATIA:
+                    terminarFatia(evento);
+                    break;
+                default:
+                    despachoAgendado = false;
+                    iniciarFatia(evento);
+                    break;
+            }
+
+            processados.addLast(evento);
+            eventosProcessados++;
+        }
+
+        private void enfileirar(Registro registro, Evento evento) {
+            registro.ordem = ordemFila++;
+            fila.adicionar(registro);
+            diario.registrar(Diario.FILA_ADICIONOU, registro);
+            verificarMigracao(evento);
+            if (executando == null && !despachoAgendado) {
+                despachoAgendado = true;
+                Evento despacho = new Evento(evento.tempo, DESPACHO, id, sequenciaEnvio++, id, -1, 0, -1, false);
+                pendentes.add(despacho);
+                evento.geradoLocal = despacho;
+            }
+        }
+
+        private void terminarFatia(Evento evento) {
+            Registro registro = executando;
+            diario.registrar(Diario.REGISTRO_ALTERADO, registro);
+            registro.restante -= evento.valor;
+            tempoOcupado += evento.valor;
+            executando = null;
+
+            if (registro.restante == 0) {
+                registro.fim = evento.tempo;
+                finalizados.add(registro);
+                diario.registrar(Diario.FINALIZADO, registro);
+                concluidos++;
+            } else {
+                registro.ordem = ordemFila++;
+                fila.adicionar(registro);
+                diario.registrar(Diario.FILA_ADICIONOU, registro);
+                verificarMigracao(evento);
+            }
+            iniciarFatia(evento);
+        }
+
+        private void iniciarFatia(Evento evento) {
+            if (executando != null || fila.tamanho() == 0) {
+                return;
+            }
+            Registro registro = fila.removerProximo();
+            diario.registrar(Diario.FILA_REMOVEU_PROXIMO, registro);
+            if (registro.inicio < 0) {
+                diario.registrar(Diario.REGISTRO_ALTERADO, registro);
+                registro.inicio = evento.tempo;
+            }
+            if (ultimo != registro.id) {
+                trocas++;
+                ultimo = registro.id;
+            }
+            executando = registro;
+
+            int fatia = politica == Politica.SJF ? registro.restante : Math.min(quantum, registro.restante);
+            Evento fim = new Evento(evento.tempo + fatia, FIM_FATIA, id, sequenciaEnvio++, id, registro.id, fatia, -1,
+                    false);
+            pendentes.add(fim);
+            evento.geradoLocal = fim;
+        }
+
+        private void verificarMigracao(Evento evento) {
+            if (limiteMigracao <= 0 || numeroCpus == 1 || fila.tamanho() <= limiteMigracao) {
+                return;
+            }
+            // Cada processo migra no máximo uma vez, o que evita que circule entre CPUs sobrecarregadas
+            Registro candidato = fila.ultimo();
+            if (candidato.migrado) {
+                return;
+            }
+            fila.removerUltimo();
+            diario.registrar(Diario.FILA_REMOVEU_ULTIMO, candidato);
+            migracoes++;
+
+            int destino = (id + 1) % numeroCpus;
+            Evento mensagem = new Evento(evento.tempo + atrasoMigracao, MIGRACAO, id, sequenciaEnvio++, destino,
+                    candidato.id, candidato.restante, candidato.inicio, false);
+            evento.enviadoRemoto = mensagem;
+            processosLogicos[destino].caixaEntrada.add(mensagem);
+        }
+
+        /**
+         * Confirma os eventos anteriores ao GVT, que não podem mais ser desfeitos.
+         */
+        void coletarFosseis(int gvtAtual) {
+            while (!processados.isEmpty() && processados.peekFirst().tempo < gvtAtual) {
+                Evento confirmado = processados.pollFirst();
+                confirmado.executandoAnterior = null;
+                confirmado.geradoLocal = null;
+                confirmado.enviadoRemoto = null;
+            }
+            diario.descartarAte(processados.isEmpty() ? diario.posicao() : processados.peekFirst().inicioDiario);
+        }
+    }
+
+    /**
+     * Cria o motor com Round Robin de quantum 4 em cada CPU e sem migração.
+     *
+     * @param numeroCpus Número de CPUs simuladas (processos lógicos)
+     * @param numeroThreads Número de threads que executam os processos lógicos
+     */
+    public MotorTimeWarp(int numeroCpus, int numeroThreads) {
+        if (numeroCpus <= 0 || numeroThreads <= 0) {
+            throw new IllegalArgumentException("O número de CPUs e de threads deve ser positivo");
+        }
+        this.numeroCpus = numeroCpus;
+        this.numeroThreads = Math.min(numeroThreads, numeroCpus);
+        this.politica = Politica.ROUND_ROBIN;
+        this.quantum = 4;
+        this.limiteMigracao = 0;
+        this.atrasoMigracao = 1;
+        this.janelaOtimismo = 1000;
+        this.eventosPorEpoca = 10000;
+    }
+
+    /**
+     * Executa a simulação da carga informada. Os processos da carga não são modificados; o
+     * resultado contém cópias com os tempos de início e término.
+     *
+     * @param processos Carga de trabalho
+     * @return Resultado da simulação, com as estatísticas do mecanismo otimista nas métricas
+     * @throws InterruptedException se a thread for interrompida enquanto aguarda as threads do motor
+     */
+    public MotorDeSimulacao.ResultadoSimulacao simular(List<Processo> processos) throws InterruptedException {
+        long inicioMedicao = System.nanoTime();
+        int n = processos.size();
+        execucaoPorProcesso = new int[n];
+        processosLogicos = new ProcessoLogico[numeroCpus];
+        for (int cpu = 0; cpu < numeroCpus; cpu++) {
+            processosLogicos[cpu] = new ProcessoLogico(cpu);
+        }
+        for (int i = 0; i < n; i++) {
+            Processo processo = processos.get(i);
+            execucaoPorProcesso[i] = processo.getTempoExecucao();
+            int cpu = i % numeroCpus;
+            processosLogicos[cpu].pendentes.add(new Evento(Math.max(0, processo.getTempoChegada()), CHEGADA,
+                    ORIGEM_EXTERNA, i, cpu, i, 0, -1, false));
+        }
+
+        gvt = 0;
+        terminado = n == 0;
+        epocas = 0;
+        CyclicBarrier barreira = new CyclicBarrier(numeroThreads, this::calcularGvt);
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        try {
+            List<Future<?>> trabalhadores = new ArrayList<>();
+            for (int t = 0; t < numeroThreads; t++) {
+                final int idTrabalhador = t;
+                trabalhadores.add(executor.submit(() -> {
+                    executarTrabalhador(idTrabalhador, barreira);
+                    return null;
+                }));
+            }
+            for (Future<?> trabalhador : trabalhadores) {
+                trabalhador.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IllegalStateException(causa);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return montarResultado(processos, inicioMedicao);
+    }
+
+    /**
+     * Laço de uma thread: processa otimisticamente os eventos das suas CPUs até o fim da época,
+     * aguarda o cálculo do GVT e descarta os eventos confirmados.
+     */
+    private void executarTrabalhador(int idTrabalhador, CyclicBarrier barreira)
+            throws InterruptedException, BrokenBarrierException {
+        List<ProcessoLogico> meus = new ArrayList<>();
+        for (int cpu = idTrabalhador; cpu < numeroCpus; cpu += numeroThreads) {
+            meus.add(processosLogicos[cpu]);
+        }
+
+        // A agenda só muda quando a thread altera os eventos pendentes de uma das suas CPUs, o que
+        // sempre é feito retirando a CPU da agenda antes e recolocando depois
+        TreeSet<ProcessoLogico> agenda = new TreeSet<>(ORDEM_AGENDA);
+        for (ProcessoLogico logico : meus) {
+            if (logico.proximo() != null) {
+                agenda.add(logico);
+            }
+        }
+
+        while (!terminado) {
+            long limite = (long) gvt + janelaOtimismo;
+            for (int processadosNaEpoca = 0; processadosNaEpoca < eventosPorEpoca; processadosNaEpoca++) {
+                if (processadosNaEpoca % INTERVALO_RECEPCAO == 0) {
+                    receberMensagens(meus, agenda);
+                }
+                // Entre as CPUs desta thread, avança a que tem o evento mais antigo
+                ProcessoLogico escolhido = agenda.isEmpty() ? null : agenda.first();
+                if (escolhido == null || escolhido.proximo().tempo >= limite) {
+                    // Antes de encerrar a época, confere se chegaram mensagens dentro da janela
+                    receberMensagens(meus, agenda);
+                    escolhido = agenda.isEmpty() ? null : agenda.first();
+                    if (escolhido == null || escolhido.proximo().tempo >= limite) {
+                        break;
+                    }
+                }
+                agenda.pollFirst();
+                escolhido.processarProximo();
+                if (escolhido.proximo() != null) {
+                    agenda.add(escolhido);
+                }
+            }
+
+            barreira.await();
+            int gvtAtual = gvt;
+            for (ProcessoLogico logico : meus) {
+                logico.coletarFosseis(gvtAtual);
+            }
+        }
+    }
+
+    private static void receberMensagens(List<ProcessoLogico> logicos, TreeSet<ProcessoLogico> agenda) {
+        for (ProcessoLogico logico : logicos) {
+            if (!logico.caixaEntrada.isEmpty()) {
+                agenda.remove(logico);
+                logico.receberMensagens();
+                if (logico.proximo() != null) {
+                    agenda.add(logico);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ação da barreira: com todas as threads paradas, o GVT é o menor tempo entre os eventos
+     * pendentes e as mensagens ainda nas caixas de entrada.
+     */
+    private void calcularGvt() {
+        int minimo = INFINITO;
+        for (ProcessoLogico logico : processosLogicos) {
+            Evento proximo = logico.proximo();
+            if (proximo != null) {
+                minimo = Math.min(minimo, proximo.tempo);
+            }
+            for (Evento mensagem : logico.caixaEntrada) {
+                minimo = Math.min(minimo, mensagem.tempo);
+            }
+        }
+        gvt = minimo;
+        epocas++;
+        if (minimo == INFINITO) {
+            terminado = true;
+        }
+    }
+
+    private MotorDeSimulacao.ResultadoSimulacao montarResultado(List<Processo> processos, long inicioMedicao) {
+        int n = processos.size();
+        int[] inicio = new int[n];
+        int[] fim = new int[n];
+        int makespan = 0;
+        long eventosProcessados = 0;
+        long eventosDesfeitos = 0;
+        long rollbacks = 0;
+        long antimensagens = 0;
+        int migracoes = 0;
+        long tempoOcupadoTotal = 0;
+        List<MotorDeSimulacao.EstatisticasThread> estatisticas = new ArrayList<>();
+        for (ProcessoLogico logico : processosLogicos) {
+            for (Registro registro : logico.finalizados) {
+                inicio[registro.id] = registro.inicio;
+                fim[registro.id] = registro.fim;
+                makespan = Math.max(makespan, registro.fim);
+            }
+            eventosProcessados += logico.eventosProcessados;
+            eventosDesfeitos += logico.eventosDesfeitos;
+            rollbacks += logico.rollbacks;
+            antimensagens += logico.antimensagens;
+            migracoes += logico.migracoes;
+            tempoOcupadoTotal += logico.tempoOcupado;
+            estatisticas.add(new MotorDeSimulacao.EstatisticasThread(logico.id, logico.trocas, 0,
+                    (int) logico.tempoOcupado));
+        }
+
+        List<Processo> concluidos = new ArrayList<>(n);
+        long somaEspera = 0;
+        long somaRetorno = 0;
+        long usoMemoria = 0;
+        for (int i = 0; i < n; i++) {
+            Processo original = processos.get(i);
+            Processo copia = new Processo(original.getId(), original.getTempoChegada(), original.getTempoExecucao());
+            copia.setTempoInicio(inicio[i]);
+            copia.setTempoFim(fim[i]);
+            concluidos.add(copia);
+            somaEspera += copia.getTempoEspera();
+            somaRetorno += copia.getTempoRetorno();
+            // Mesma estimativa de memória do motor: 1MB por processo + 1KB por unidade de execução
+            usoMemoria += 1024 * 1024 + original.getTempoExecucao() * 1024L;
+        }
+
+        long confirmados = eventosProcessados - eventosDesfeitos;
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("Makespan", makespan);
+        metricas.put("Eventos confirmados", confirmados);
+        metricas.put("Eventos processados", eventosProcessados);
+        metricas.put("Rollbacks", rollbacks);
+        metricas.put("Eventos desfeitos", eventosDesfeitos);
+        metricas.put("Antimensagens", antimensagens);
+        metricas.put("Eficiência", eventosProcessados > 0
+                ? String.format("%.2f%%", confirmados * 100.0 / eventosProcessados) : "-");
+        metricas.put("Migrações", migracoes);
+        metricas.put("Épocas de GVT", epocas);
+
+        double usoCPU = makespan > 0 ? (double) tempoOcupadoTotal / ((long) numeroCpus * makespan) * 100.0 : 0;
+        long tempoExecucao = (System.nanoTime() - inicioMedicao) / 1_000_000;
+        return new MotorDeSimulacao.ResultadoSimulacao(concluidos,
+                n == 0 ? 0 : (double) somaEspera / n,
+                n == 0 ? 0 : (double) somaRetorno / n,
+                usoCPU, usoMemoria, tempoExecucao, metricas, estatisticas);
+    }
+
+    public int getNumeroCpus() {
+        return numeroCpus;
+    }
+
+    public int getNumeroThreads() {
+        return numeroThreads;
+    }
+
+    public Politica getPolitica() {
+        return politica;
+    }
+
+    public void setPolitica(Politica politica) {
+        this.politica = politica;
+    }
+
+    public int getQuantum() {
+        return quantum;
+    }
+
+    public void setQuantum(int quantum) {
+        this.quantum = Math.max(1, quantum);
+    }
+
+    public int getLimiteMigracao() {
+        return limiteMigracao;
+    }
+
+    /**
+     * Define o tamanho de fila a partir do qual uma CPU envia o último processo da fila para a
+     * CPU seguinte.
+     *
+     * @param limiteMigracao Limite da fila (0 desativa a migração)
+     */
+    public void setLimiteMigracao(int limiteMigracao) {
+        this.limiteMigracao = Math.max(0, limiteMigracao);
+    }
+
+    public int getAtrasoMigracao() {
+        return atrasoMigracao;
+    }
+
+    /**
+     * Define o tempo que um processo migrado leva para chegar à outra CPU.
+     *
+     * @param atrasoMigracao Atraso em unidades de tempo (no mínimo 1)
+     */
+    public void setAtrasoMigracao(int atrasoMigracao) {
+        this.atrasoMigracao = Math.max(1, atrasoMigracao);
+    }
+
+    public int getJanelaOtimismo() {
+        return janelaOtimismo;
+    }
+
+    /**
+     * Define até quantas unidades de tempo à frente do GVT uma CPU pode avançar. Janelas
+     * maiores aumentam o paralelismo e também o risco de rollbacks longos.
+     *
+     * @param janelaOtimismo Janela em unidades de tempo (no mínimo 1)
+     */
+    public void setJanelaOtimismo(int janelaOtimismo) {
+        this.janelaOtimismo = Math.max(1, janelaOtimismo);
+    }
+
+    public int getEventosPorEpoca() {
+        return eventosPorEpoca;
+    }
+
+    /**
+     * Define quantos eventos cada thread processa entre dois cálculos de GVT.
+     *
+     * @param eventosPorEpoca Número de eventos por época (no mínimo 1)
+     */
+    public void setEventosPorEpoca(int eventosPorEpoca) {
+        this.eventosPorEpoca = Math.max(1, eventosPorEpoca);
+    }
+}
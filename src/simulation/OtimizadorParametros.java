@@ -0,0 +1,425 @@
+package simulation;
+
+import model.Processo;
+import scheduler.FabricaEscalonador;
+import scheduler.ParametroEscalonador;
+import scheduler.RegistroEscalonadores;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Busca os parâmetros de um algoritmo de escalonamento (e, opcionalmente, o número de
+ * threads) que minimizam um objetivo, como o p99 da espera, sobre uma carga de trabalho.
+ *
+ * A busca usa halving sucessivo: os candidatos são sorteados no espaço descrito pelos
+ * {@link ParametroEscalonador} da fábrica e avaliados primeiro sobre um prefixo pequeno da
+ * carga (os primeiros processos a chegar). A cada rodada só a melhor fração 1/eta dos
+ * candidatos segue, e o prefixo cresce eta vezes, até a última rodada usar a carga inteira.
+ * Assim a maior parte do tempo de simulação é gasta com os candidatos promissores. As
+ * avaliações de uma rodada rodam em paralelo.
+ */
+public class OtimizadorParametros {
+
+    /**
+     * Objetivo a minimizar, calculado a partir dos processos simulados.
+     */
+    public enum Objetivo {
+        ESPERA_MEDIA("espera", "Espera média"),
+        ESPERA_P99("espera-p99", "p99 da espera"),
+        RETORNO_MEDIO("turnaround", "Turnaround médio"),
+        RETORNO_P99("turnaround-p99", "p99 do turnaround");
+
+        private final String id;
+        private final String rotulo;
+
+        Objetivo(String id, String rotulo) {
+            this.id = id;
+            this.rotulo = rotulo;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Busca um objetivo pelo identificador, como "espera-p99".
+         *
+         * @throws IllegalArgumentException se o identificador não existir
+         */
+        public static Objetivo buscar(String id) {
+            for (Objetivo objetivo : values()) {
+                if (objetivo.id.equals(id)) {
+                    return objetivo;
+                }
+            }
+            throw new IllegalArgumentException("Objetivo desconhecido: " + id);
+        }
+
+        /**
+         * Calcula o valor do objetivo sobre os processos concluídos da simulação.
+         *
+         * @return Valor do objetivo, ou infinito se nenhum processo terminou
+         */
+        public double avaliar(MotorDeSimulacao.ResultadoSimulacao resultado) {
+            double[] valores = resultado.getProcessos().stream()
+                    .filter(Processo::isFinalizado)
+                    .mapToDouble(this == ESPERA_MEDIA || this == ESPERA_P99
+                            ? Processo::getTempoEspera : Processo::getTempoRetorno)
+                    .toArray();
+            if (valores.length == 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            if (this == ESPERA_MEDIA || this == RETORNO_MEDIO) {
+                return Arrays.stream(valores).average().orElse(0);
+            }
+            Arrays.sort(valores);
+            return valores[(int) Math.ceil(0.99 * valores.length) - 1];
+        }
+
+        @Override
+        public String toString() {
+            return rotulo;
+        }
+    }
+
+    /**
+     * Valor do objetivo de uma configuração sobre um prefixo da carga.
+     */
+    public static final class Avaliacao {
+        private final ConfiguracaoSimulacao configuracao;
+        private final int rodada;
+        private final int tamanhoCarga;
+        private final double valor;
+
+        Avaliacao(ConfiguracaoSimulacao configuracao, int rodada, int tamanhoCarga, double valor) {
+            this.configuracao = configuracao;
+            this.rodada = rodada;
+            this.tamanhoCarga = tamanhoCarga;
+            this.valor = valor;
+        }
+
+        public ConfiguracaoSimulacao getConfiguracao() {
+            return configuracao;
+        }
+
+        public int getRodada() {
+            return rodada;
+        }
+
+        public int getTamanhoCarga() {
+            return tamanhoCarga;
+        }
+
+        public double getValor() {
+            return valor;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("rodada %d, %d processos: %.2f  %s", rodada, tamanhoCarga, valor, configuracao);
+        }
+    }
+
+    /**
+     * Resultado da otimização.
+     */
+    public static final class Resultado {
+        private final Objetivo objetivo;
+        private final Avaliacao melhor;
+        private final Avaliacao padrao;
+        private final List<Avaliacao> avaliacoes;
+        private final long processosSimulados;
+        private final long processosBuscaCompleta;
+
+        Resultado(Objetivo objetivo, Avaliacao melhor, Avaliacao padrao, List<Avaliacao> avaliacoes,
+                  long processosSimulados, long processosBuscaCompleta) {
+            this.objetivo = objetivo;
+            this.melhor = melhor;
+            this.padrao = padrao;
+            this.avaliacoes = Collections.unmodifiableList(avaliacoes);
+            this.processosSimulados = processosSimulados;
+            this.processosBuscaCompleta = processosBuscaCompleta;
+        }
+
+        /**
+         * Melhor configuração da última rodada, avaliada sobre a carga inteira.
+         */
+        public Avaliacao getMelhor() {
+            return melhor;
+        }
+
+        /**
+         * Configuração com os valores padrão dos parâmetros, avaliada sobre a carga inteira.
+         */
+        public Avaliacao getPadrao() {
+            return padrao;
+        }
+
+        /**
+         * Todas as avaliações, na ordem das rodadas.
+         */
+        public List<Avaliacao> getAvaliacoes() {
+            return avaliacoes;
+        }
+
+        /**
+         * Processos simulados somados em todas as avaliações.
+         */
+        public long getProcessosSimulados() {
+            return processosSimulados;
+        }
+
+        /**
+         * Processos que seriam simulados avaliando todos os candidatos sobre a carga inteira.
+         */
+        public long getProcessosBuscaCompleta() {
+            return processosBuscaCompleta;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Objetivo: %s%nMelhor: %.2f  %s%nPadrão: %.2f  %s%n"
+                            + "Processos simulados: %d (busca completa: %d)",
+                    objetivo, melhor.getValor(), melhor.getConfiguracao(), padrao.getValor(),
+                    padrao.getConfiguracao(), processosSimulados, processosBuscaCompleta);
+        }
+    }
+
+    private final ConfiguracaoSimulacao base;
+    private final List<Processo> carga;
+    private final Objetivo objetivo;
+    private final Map<String, double[]> faixas;
+    private int[] numerosThreads;
+    private int candidatos;
+    private int eta;
+    private int tamanhoMinimo;
+    private int paralelismo;
+    private long semente;
+
+    /**
+     * Cria um otimizador.
+     *
+     * @param base Configuração de partida: algoritmo, threads, custos e CPUs; os parâmetros do
+     *             algoritmo são os que serão buscados
+     * @param carga Carga de trabalho, que não é modificada
+     * @param objetivo Objetivo a minimizar
+     */
+    public OtimizadorParametros(ConfiguracaoSimulacao base, List<Processo> carga, Objetivo objetivo) {
+        if (carga.isEmpty()) {
+            throw new IllegalArgumentException("A carga de trabalho está vazia");
+        }
+        this.base = base;
+        this.carga = new ArrayList<>(carga);
+        this.carga.sort(Comparator.comparingInt(Processo::getTempoChegada));
+        this.objetivo = objetivo;
+        this.faixas = new HashMap<>();
+        this.numerosThreads = new int[]{base.getNumeroThreads()};
+        this.candidatos = 27;
+        this.eta = 3;
+        this.tamanhoMinimo = 20;
+        this.paralelismo = Runtime.getRuntime().availableProcessors();
+        this.semente = 42;
+    }
+
+    /**
+     * Restringe a busca de um parâmetro ao intervalo informado, dentro do permitido pela fábrica.
+     */
+    public void definirFaixa(String chave, double minimo, double maximo) {
+        faixas.put(chave, new double[]{Math.min(minimo, maximo), Math.max(minimo, maximo)});
+    }
+
+    /**
+     * Define os números de threads experimentados; por padrão, apenas o da configuração base.
+     */
+    public void setNumerosThreads(int... numerosThreads) {
+        if (numerosThreads.length > 0) {
+            this.numerosThreads = numerosThreads.clone();
+        }
+    }
+
+    /**
+     * Define quantos candidatos são sorteados na primeira rodada.
+     */
+    public void setCandidatos(int candidatos) {
+        this.candidatos = Math.max(1, candidatos);
+    }
+
+    /**
+     * Define o fator de redução: a cada rodada fica 1/eta dos candidatos e a carga cresce eta vezes.
+     */
+    public void setEta(int eta) {
+        this.eta = Math.max(2, eta);
+    }
+
+    /**
+     * Define o menor prefixo da carga usado na primeira rodada.
+     */
+    public void setTamanhoMinimo(int tamanhoMinimo) {
+        this.tamanhoMinimo = Math.max(1, tamanhoMinimo);
+    }
+
+    /**
+     * Define quantas avaliações rodam ao mesmo tempo.
+     */
+    public void setParalelismo(int paralelismo) {
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+
+    /**
+     * Define a semente do sorteio dos candidatos.
+     */
+    public void setSemente(long semente) {
+        this.semente = semente;
+    }
+
+    /**
+     * Executa a busca.
+     *
+     * @return Melhor configuração encontrada, a configuração padrão e o histórico das avaliações
+     * @throws InterruptedException se a thread for interrompida durante as simulações
+     */
+    public Resultado otimizar() throws InterruptedException {
+        ConfiguracaoSimulacao padrao = new ConfiguracaoSimulacao(base.getIdAlgoritmo(), new HashMap<String, Double>(),
+                base.getEscalonadores(), base.getNumeroThreads(), base.getCustoTrocaContexto(),
+                base.getCustoAquecimentoCache(), base.getNumeroCpus());
+        List<ConfiguracaoSimulacao> vivos = sortearCandidatos(padrao);
+
+        int rodadas = 1;
+        for (int restantes = vivos.size(); restantes > eta; restantes /= eta) {
+            rodadas++;
+        }
+        long processosBuscaCompleta = (long) vivos.size() * carga.size();
+
+        List<Avaliacao> historico = new ArrayList<>();
+        long processosSimulados = 0;
+        Avaliacao avaliacaoPadrao = null;
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+        try {
+            for (int rodada = 0; rodada < rodadas; rodada++) {
+                boolean ultima = rodada == rodadas - 1;
+                int tamanho = ultima ? carga.size()
+                        : (int) Math.min(carga.size(), Math.max(tamanhoMinimo,
+                                carga.size() / Math.pow(eta, rodadas - 1 - rodada)));
+
+                // Na última rodada a configuração padrão é avaliada junto, como referência
+                List<ConfiguracaoSimulacao> avaliadas = new ArrayList<>(vivos);
+                if (ultima && !avaliadas.contains(padrao)) {
+                    avaliadas.add(padrao);
+                }
+                List<Avaliacao> rodadaAtual = avaliar(executor, avaliadas, rodada, tamanho);
+                processosSimulados += (long) tamanho * avaliadas.size();
+                for (Avaliacao avaliacao : rodadaAtual) {
+                    if (ultima && avaliacao.getConfiguracao().equals(padrao)) {
+                        avaliacaoPadrao = avaliacao;
+                    }
+                }
+                if (ultima && !vivos.contains(padrao)) {
+                    rodadaAtual.removeIf(avaliacao -> avaliacao.getConfiguracao().equals(padrao));
+                }
+                historico.addAll(rodadaAtual);
+
+                rodadaAtual.sort(Comparator.comparingDouble(Avaliacao::getValor));
+                int sobreviventes = Math.max(1, rodadaAtual.size() / eta);
+                vivos = new ArrayList<>();
+                for (int i = 0; i < sobreviventes; i++) {
+                    vivos.add(rodadaAtual.get(i).getConfiguracao());
+                }
+                if (ultima) {
+                    return new Resultado(objetivo, rodadaAtual.get(0), avaliacaoPadrao, historico,
+                            processosSimulados, processosBuscaCompleta);
+                }
+            }
+            throw new IllegalStateException("A busca terminou sem avaliar a carga inteira");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Avalia as configurações em paralelo sobre os primeiros processos da carga.
+     */
+    private List<Avaliacao> avaliar(ExecutorService executor, List<ConfiguracaoSimulacao> configuracoes,
+                                    int rodada, int tamanho) throws InterruptedException {
+        List<Processo> prefixo = carga.subList(0, tamanho);
+        List<Future<Avaliacao>> futuros = new ArrayList<>(configuracoes.size());
+        for (ConfiguracaoSimulacao configuracao : configuracoes) {
+            futuros.add(executor.submit(() -> {
+                List<Processo> copias = new ArrayList<>(tamanho);
+                for (Processo processo : prefixo) {
+                    copias.add(processo.copiar());
+                }
+                return new Avaliacao(configuracao, rodada, tamanho, objetivo.avaliar(configuracao.simular(copias)));
+            }));
+        }
+        List<Avaliacao> avaliacoes = new ArrayList<>(configuracoes.size());
+        try {
+            for (Future<Avaliacao> futuro : futuros) {
+                avaliacoes.add(futuro.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao avaliar um candidato", e.getCause());
+        }
+        return avaliacoes;
+    }
+
+    /**
+     * Sorteia candidatos distintos, sempre incluindo a configuração padrão. Intervalos inteiros
+     * amplos são sorteados em escala logarítmica, para que valores pequenos, em geral os mais
+     * sensíveis, não fiquem sub-representados.
+     */
+    private List<ConfiguracaoSimulacao> sortearCandidatos(ConfiguracaoSimulacao padrao) {
+        FabricaEscalonador fabrica = RegistroEscalonadores.buscar(base.getIdAlgoritmo());
+        List<ParametroEscalonador> parametros = fabrica.obterParametros();
+        Random aleatorio = new Random(semente);
+
+        Set<ConfiguracaoSimulacao> candidatas = new LinkedHashSet<>();
+        candidatas.add(padrao);
+        // Espaços pequenos se esgotam antes do número de candidatos pedido
+        for (int tentativa = 0; candidatas.size() < candidatos && tentativa < candidatos * 20; tentativa++) {
+            Map<String, Double> valores = new HashMap<>();
+            for (ParametroEscalonador parametro : parametros) {
+                // Os algoritmos escolhidos ficam fixos nos da configuração base
+                if (parametro.getTipo() == ParametroEscalonador.Tipo.ESCALONADOR) {
+                    continue;
+                }
+                double[] faixa = faixas.getOrDefault(parametro.getChave(),
+                        new double[]{parametro.getMinimo(), parametro.getMaximo()});
+                double minimo = Math.max(parametro.getMinimo(), faixa[0]);
+                double maximo = Math.min(parametro.getMaximo(), faixa[1]);
+                valores.put(parametro.getChave(), sortearValor(parametro, minimo, maximo, aleatorio));
+            }
+            int threads = numerosThreads[aleatorio.nextInt(numerosThreads.length)];
+            candidatas.add(new ConfiguracaoSimulacao(base.getIdAlgoritmo(), valores, base.getEscalonadores(),
+                    threads, base.getCustoTrocaContexto(), base.getCustoAquecimentoCache(), base.getNumeroCpus()));
+        }
+        return new ArrayList<>(candidatas);
+    }
+
+    private static double sortearValor(ParametroEscalonador parametro, double minimo, double maximo,
+                                       Random aleatorio) {
+        if (maximo <= minimo) {
+            return minimo;
+        }
+        if (parametro.getTipo() == ParametroEscalonador.Tipo.DECIMAL) {
+            return minimo + aleatorio.nextDouble() * (maximo - minimo);
+        }
+        if (minimo >= 1 && maximo / minimo > 100) {
+            double logaritmo = Math.log(minimo) + aleatorio.nextDouble() * (Math.log(maximo + 1) - Math.log(minimo));
+            return Math.min(maximo, Math.floor(Math.exp(logaritmo)));
+        }
+        return minimo + aleatorio.nextInt((int) (maximo - minimo) + 1);
+    }
+}
@@ -0,0 +1,66 @@
+package simulation;
+
+import java.io.Serializable;
+
+/**
+ * Ponto de uma varredura de parâmetros: uma configuração simulada sobre a carga gerada pelo
+ * {@link GeradorDeProcessos} com uma semente e uma quantidade de processos. A carga é gerada
+ * por quem executa a tarefa, então apenas a descrição trafega entre os processos da varredura.
+ */
+public final class TarefaVarredura implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int id;
+    private final ConfiguracaoSimulacao configuracao;
+    private final long semente;
+    private final int quantidadeProcessos;
+
+    /**
+     * Cria uma tarefa.
+     *
+     * @param id Identificador da tarefa, único na varredura
+     * @param configuracao Configuração a simular
+     * @param semente Semente do gerador de processos
+     * @param quantidadeProcessos Número de processos gerados
+     */
+    public TarefaVarredura(int id, ConfiguracaoSimulacao configuracao, long semente, int quantidadeProcessos) {
+        this.id = id;
+        this.configuracao = configuracao;
+        this.semente = semente;
+        this.quantidadeProcessos = quantidadeProcessos;
+    }
+
+    /**
+     * Gera a carga, executa a simulação e resume o resultado em uma linha.
+     *
+     * @param trabalhador Identificação de quem executou a tarefa
+     * @return Linha com o resultado
+     * @throws InterruptedException se a thread for interrompida durante a simulação
+     */
+    public LinhaVarredura executar(String trabalhador) throws InterruptedException {
+        MotorDeSimulacao.ResultadoSimulacao resultado =
+                configuracao.simular(new GeradorDeProcessos(semente).gerarProcessos(quantidadeProcessos));
+        return new LinhaVarredura(this, resultado, trabalhador);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ConfiguracaoSimulacao getConfiguracao() {
+        return configuracao;
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    public int getQuantidadeProcessos() {
+        return quantidadeProcessos;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + configuracao + ";semente=" + semente + ";processos=" + quantidadeProcessos;
+    }
+}
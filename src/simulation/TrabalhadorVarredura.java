@@ -0,0 +1,149 @@
+package simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trabalhador de uma varredura distribuída: conecta-se ao {@link CoordenadorVarredura},
+ * executa as tarefas recebidas, até {@code paralelismo} ao mesmo tempo, e devolve uma
+ * {@link LinhaVarredura} por tarefa. Cada trabalhador roda na sua própria JVM, com heap e
+ * coletor de lixo próprios, na mesma máquina do coordenador ou em outra.
+ *
+ * Uso: {@code java -cp <classpath> simulation.TrabalhadorVarredura <host> <porta> [paralelismo]}
+ */
+public class TrabalhadorVarredura {
+    /**
+     * Intervalo padrão entre os batimentos enviados ao coordenador, em milissegundos.
+     */
+    public static final long INTERVALO_BATIMENTO_PADRAO_MS = 1000;
+
+    private final String host;
+    private final int porta;
+    private final int paralelismo;
+    private final long intervaloBatimento;
+    private final String identificacao;
+    private ObjectOutputStream saida;
+
+    /**
+     * Cria um trabalhador.
+     *
+     * @param host Endereço do coordenador
+     * @param porta Porta do coordenador
+     * @param paralelismo Número de tarefas executadas ao mesmo tempo
+     * @param intervaloBatimento Intervalo entre batimentos, em milissegundos
+     */
+    public TrabalhadorVarredura(String host, int porta, int paralelismo, long intervaloBatimento) {
+        this.host = host;
+        this.porta = porta;
+        this.paralelismo = Math.max(1, paralelismo);
+        this.intervaloBatimento = Math.max(1, intervaloBatimento);
+        this.identificacao = obterNomeMaquina() + ":" + ProcessHandle.current().pid();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Uso: TrabalhadorVarredura <host> <porta> [paralelismo]");
+            System.exit(2);
+        }
+        int paralelismo = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        new TrabalhadorVarredura(args[0], Integer.parseInt(args[1]), paralelismo, INTERVALO_BATIMENTO_PADRAO_MS)
+                .executar();
+    }
+
+    /**
+     * Conecta-se ao coordenador e executa tarefas até receber o fim da varredura ou perder a
+     * conexão.
+     *
+     * @throws IOException se não for possível conectar ao coordenador
+     * @throws InterruptedException se a thread for interrompida
+     */
+    public void executar() throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+        ScheduledExecutorService batimentos = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "batimento-varredura");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (Socket socket = new Socket(host, porta)) {
+            socket.setTcpNoDelay(true);
+            saida = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            enviar(MensagemVarredura.ola(identificacao, paralelismo));
+            ObjectInputStream entrada = MensagemVarredura.abrirEntrada(socket.getInputStream());
+
+            // Os batimentos saem de uma thread própria, então uma simulação longa não parece uma falha
+            batimentos.scheduleAtFixedRate(() -> {
+                try {
+                    enviar(MensagemVarredura.batimento());
+                } catch (IOException e) {
+                    // A perda da conexão é tratada pela leitura
+                }
+            }, intervaloBatimento, intervaloBatimento, TimeUnit.MILLISECONDS);
+
+            enviar(MensagemVarredura.pedido(paralelismo));
+            while (true) {
+                MensagemVarredura mensagem = (MensagemVarredura) entrada.readObject();
+                if (mensagem.tipo == MensagemVarredura.Tipo.FIM) {
+                    break;
+                }
+                if (mensagem.tipo == MensagemVarredura.Tipo.TAREFAS) {
+                    for (TarefaVarredura tarefa : mensagem.tarefas) {
+                        executor.submit(() -> executarTarefa(tarefa));
+                    }
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            // O coordenador encerrou a conexão
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Mensagem inválida do coordenador", e);
+        } finally {
+            batimentos.shutdownNow();
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void executarTarefa(TarefaVarredura tarefa) {
+        MensagemVarredura resposta;
+        try {
+            resposta = MensagemVarredura.resultado(tarefa.executar(identificacao));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException | Error e) {
+            resposta = MensagemVarredura.falha(tarefa.getId(), e.toString());
+        }
+        try {
+            enviar(resposta);
+        } catch (IOException e) {
+            // A perda da conexão é tratada pela leitura
+        }
+    }
+
+    private void enviar(MensagemVarredura mensagem) throws IOException {
+        synchronized (this) {
+            saida.writeObject(mensagem);
+            // Sem o reset o fluxo guardaria uma referência a cada objeto já enviado
+            saida.reset();
+            saida.flush();
+        }
+    }
+
+    private static String obterNomeMaquina() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "desconhecido";
+        }
+    }
+}